@@ -54,7 +54,16 @@ abstract class CloudletSchedulerRunner<T extends CloudletSchedulerExperiment> ex
      * this class.
      */
     CloudletSchedulerRunner() {
-        super(1475098589732L, 1200);
+        this(1200);
+    }
+
+    /**
+     * Instantiates a runner that executes experiments a given number of times.
+     * @param simulationRuns the number of times each experiment will be executed
+     * @see #CloudletSchedulerRunner()
+     */
+    CloudletSchedulerRunner(final int simulationRuns) {
+        super(1475098589732L, simulationRuns);
         this.setVerbose(true);
         cloudletsNumberPrng = new UniformDistr(VM_PES / 2, VM_PES + 1, getBaseSeed());
     }
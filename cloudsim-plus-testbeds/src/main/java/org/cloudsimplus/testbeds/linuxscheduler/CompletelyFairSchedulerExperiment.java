@@ -53,7 +53,7 @@ final class CompletelyFairSchedulerExperiment extends CloudletSchedulerExperimen
      * @param runner The {@link ExperimentRunner} that is in charge
      *               of executing this experiment a defined number of times and to collect
      */
-    CompletelyFairSchedulerExperiment(int index, CompletelyFairSchedulerRunner runner) {
+    CompletelyFairSchedulerExperiment(int index, ExperimentRunner runner) {
         super(index, runner);
     }
 
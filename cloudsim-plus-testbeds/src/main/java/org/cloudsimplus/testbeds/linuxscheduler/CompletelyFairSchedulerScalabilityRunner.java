@@ -0,0 +1,102 @@
+package org.cloudsimplus.testbeds.linuxscheduler;
+
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerCompletelyFair;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.cloudsimplus.testbeds.linuxscheduler.CloudletSchedulerExperiment.MAX_CLOUDLET_PES;
+import static org.cloudsimplus.testbeds.linuxscheduler.CloudletSchedulerExperiment.VMS;
+
+/**
+ * Runs the {@link CompletelyFairSchedulerExperiment} with an increasing number
+ * of Cloudlets per VM, measuring the wall-clock time spent by each simulation run.
+ * It shows how the {@link CloudletSchedulerCompletelyFair} scales as its runqueue grows,
+ * since the runqueue is a Red-Black tree that enables picking the next Cloudlet to run
+ * in O(log n) time, instead of sorting the waiting list at every scheduling round.
+ *
+ * <p>Cloudlets have 1 PE in this testbed, making the number of Cloudlets
+ * into the runqueue as large as possible for a given number of Cloudlets per VM.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+final class CompletelyFairSchedulerScalabilityRunner extends CloudletSchedulerRunner<CompletelyFairSchedulerExperiment> {
+    public static final String WALL_TIME = "Experiment Wall Time (ms)";
+
+    /**
+     * The number of Cloudlets to create for each VM in each testbed.
+     */
+    private static final int[] CLOUDLETS_PER_VM = {100, 500, 1000, 5000, 10000};
+
+    private static final int SIMULATION_RUNS = 5;
+
+    private final int cloudletsPerVm;
+
+    /**
+     * Maps the index of each experiment to the time (in nanoseconds) its simulation has started.
+     */
+    private final Map<Integer, Long> startTimes;
+
+    /**
+     * Starts a testbed for each number of Cloudlets per VM defined in {@link #CLOUDLETS_PER_VM},
+     * then prints the wall-clock time spent by each one.
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        final Map<Integer, SummaryStatistics> results = new LinkedHashMap<>();
+        for (final int cloudletsPerVm : CLOUDLETS_PER_VM) {
+            final CompletelyFairSchedulerScalabilityRunner runner = new CompletelyFairSchedulerScalabilityRunner(cloudletsPerVm);
+            runner.run();
+            results.put(cloudletsPerVm, runner.computeFinalStatistics(runner.getMetricValues(WALL_TIME)));
+        }
+
+        System.out.printf("%n%s results for %d runs of each testbed%n", CompletelyFairSchedulerScalabilityRunner.class.getSimpleName(), SIMULATION_RUNS);
+        System.out.println("Cloudlets/VM | Wall Time Avg (ms) | Std dev (ms) | Avg Time per Cloudlet (ms)");
+        results.forEach((cloudletsPerVm, stats) ->
+            System.out.printf(
+                "%12d | %18.2f | %12.2f | %26.4f%n",
+                cloudletsPerVm, stats.getMean(), stats.getStandardDeviation(), stats.getMean()/cloudletsPerVm));
+    }
+
+    private CompletelyFairSchedulerScalabilityRunner(final int cloudletsPerVm) {
+        super(SIMULATION_RUNS);
+        this.cloudletsPerVm = cloudletsPerVm;
+        this.startTimes = new HashMap<>();
+        setDescription(String.format("Completely Fair Scheduler scalability with %d Cloudlets per VM", cloudletsPerVm));
+    }
+
+    @Override
+    protected CompletelyFairSchedulerExperiment createExperimentInternal(int i) {
+        final CompletelyFairSchedulerExperiment exp = new CompletelyFairSchedulerExperiment(i, this);
+        final ContinuousDistribution cloudletPesPrng = createRandomGen(i, 1, 2);
+
+        exp
+            .setCloudletPesPrng(cloudletPesPrng)
+            .setNumCloudletsToCreate(cloudletsPerVm * VMS)
+            .setAfterExperimentBuild(this::afterExperimentBuild)
+            .setAfterExperimentFinish(this::afterExperimentFinish)
+            .setVerbose(false);
+
+        return exp;
+    }
+
+    private void afterExperimentBuild(final CompletelyFairSchedulerExperiment experiment) {
+        startTimes.put(experiment.getIndex(), System.nanoTime());
+    }
+
+    @Override
+    protected void afterExperimentFinish(final CompletelyFairSchedulerExperiment experiment) {
+        final long elapsedNanos = System.nanoTime() - startTimes.get(experiment.getIndex());
+        super.afterExperimentFinish(experiment);
+        addMetricValue(WALL_TIME, elapsedNanos / 1_000_000.0);
+    }
+
+    @Override
+    protected void printSimulationParameters() {
+        super.printSimulationParameters();
+        System.out.printf("Cloudlets per VM: %d | Cloudlet PEs: 1 (the max of %d PEs is ignored)%n", cloudletsPerVm, MAX_CLOUDLET_PES - 1);
+    }
+}
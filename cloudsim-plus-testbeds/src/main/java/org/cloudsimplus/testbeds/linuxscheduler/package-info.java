@@ -33,6 +33,10 @@
  * that allows to start a specific testbed. A testbed is a set of experiments executed
  * a given number of times defined by the runner class.</p>
  *
+ * <p>The {@link org.cloudsimplus.testbeds.linuxscheduler.CompletelyFairSchedulerScalabilityRunner}
+ * additionally runs the CFS experiment with an increasing number of Cloudlets per VM,
+ * to show how the scheduler scales as its runqueue grows.</p>
+ *
  * @author Manoel Campos da Silva Filho
  */
 package org.cloudsimplus.testbeds.linuxscheduler;
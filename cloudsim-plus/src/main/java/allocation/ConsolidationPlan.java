@@ -0,0 +1,46 @@
+package allocation;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+import vmtypes.SpotInstance;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The changes a {@link SpotConsolidationAllocation} plans to empty under-utilized Hosts:
+ * the VMs to migrate and the {@link SpotInstance}s to preempt.
+ * Computing a plan doesn't change any VM. It's up to the caller to request the migrations
+ * and to preempt the Spot instances through {@link SpotConsolidationAllocation#preempt(SpotInstance)}.
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class ConsolidationPlan {
+    private final Map<Vm, Host> migrations;
+    private final List<SpotInstance> preemptions;
+
+    ConsolidationPlan(final Map<Vm, Host> migrations, final List<SpotInstance> preemptions) {
+        this.migrations = migrations;
+        this.preemptions = preemptions;
+    }
+
+    /**
+     * Gets a <b>read-only</b> map of VMs to migrate, where each key is a VM
+     * and each value is the Host to migrate it to.
+     * It includes the migrations from over-utilized Hosts.
+     * @return
+     */
+    public Map<Vm, Host> getMigrations() {
+        return Collections.unmodifiableMap(migrations);
+    }
+
+    /**
+     * Gets a <b>read-only</b> list of Spot instances to preempt,
+     * which couldn't be migrated from the Hosts to empty.
+     * @return
+     */
+    public List<SpotInstance> getPreemptions() {
+        return Collections.unmodifiableList(preemptions);
+    }
+}
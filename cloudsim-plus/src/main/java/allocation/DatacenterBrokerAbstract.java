@@ -18,6 +18,7 @@ import org.cloudbus.cloudsim.datacenters.TimeZoned;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
 import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmCreationBatch;
 import org.cloudbus.cloudsim.vms.VmGroup;
 import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
@@ -157,6 +158,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     /** @see #isShutdownWhenIdle()  */
     private boolean shutdownWhenIdle;
 
+    /** @see #isBatchVmCreationRequests() */
+    private boolean batchVmCreationRequests;
+
     /**
      * Creates a DatacenterBroker giving a specific name.
      * Subclasses usually should provide this constructor and
@@ -177,6 +181,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         this.lastSelectedVm = Vm.NULL;
         this.lastSelectedDc = Datacenter.NULL;
         this.shutdownWhenIdle = true;
+        this.batchVmCreationRequests = true;
 
         vmCreationRequests = 0;
         vmCreationAcks = 0;
@@ -494,6 +499,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             case CloudSimTags.VM_CREATE_ACK:
                 processVmCreateResponseFromDatacenter(evt);
                 return true;
+            case CloudSimTags.VM_CREATE_BATCH_ACK:
+                processVmCreateBatchResponseFromDatacenter(evt);
+                return true;
             case CloudSimTags.VM_VERTICAL_SCALING:
                 requestVmVerticalScaling(evt);
                 return true;
@@ -638,6 +646,31 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      */
     private boolean processVmCreateResponseFromDatacenter(final SimEvent evt) {
         final Vm vm = (Vm) evt.getData();
+        processVmCreateResponse(vm);
+        requestWaitingCloudletsOrFallbackDatacenter();
+        return vm.isCreated();
+    }
+
+    /**
+     * Process the ack received from a Datacenter to a broker's request for
+     * creation of a batch of VMs in that Datacenter.
+     * The VMs are processed in the order they were requested, as if an ack was received for each one,
+     * then it's checked just once if Cloudlets can be submitted or a fallback Datacenter must be tried.
+     *
+     * @param evt a CloudSimEvent object
+     * @see CloudSimTags#VM_CREATE_BATCH_ACK
+     */
+    private void processVmCreateBatchResponseFromDatacenter(final SimEvent evt) {
+        final VmCreationBatch batch = (VmCreationBatch) evt.getData();
+        batch.getVmList().forEach(this::processVmCreateResponse);
+        requestWaitingCloudletsOrFallbackDatacenter();
+    }
+
+    /**
+     * Process the result of a request for creation of a Vm in a Datacenter.
+     * @param vm the Vm requested to be created
+     */
+    private void processVmCreateResponse(final Vm vm) {
         vmCreationAcks++;
 
         //if the VM was successfully created in the requested Datacenter
@@ -662,15 +695,20 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
             vm.notifyOnCreationFailureListeners(lastSelectedDc);
         }
+    }
 
+    /**
+     * Requests the creation of waiting Cloudlets if all VMs submitted with no delay were created,
+     * otherwise, if the response for all VM creation requests were received,
+     * tries to create the waiting VMs in another Datacenter.
+     */
+    private void requestWaitingCloudletsOrFallbackDatacenter() {
         if (allNonDelayedVmsCreated()) {
             requestDatacentersToCreateWaitingCloudlets();
             notifyOnVmsCreatedListeners();
         } else if (vmCreationRequests == vmCreationAcks) {
             requestCreationOfWaitingVmsToFallbackDatacenter();
         }
-
-        return vm.isCreated();
     }
 
     @SuppressWarnings("ForLoopReplaceableByForEach")
@@ -725,22 +763,104 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      * @param isFallbackDatacenter true to indicate that a fallback Datacenter will be tried,
      *                             after the previous one was not able to create all waiting VMs,
      *                             false to indicate it will try the default datacenter.
+     * <p>If {@link #isBatchVmCreationRequests() batching} is enabled,
+     * VMs to be created in the same Datacenter with the same submission delay
+     * are requested using a single event.</p>
+     *
      * @return true if some Datacenter was selected, false if all Datacenter were tried
      *         and not all VMs could be created
      * @see #submitVmList(List)
      */
     private boolean requestDatacenterToCreateWaitingVms(final boolean isFallbackDatacenter) {
+        final Map<Datacenter, Map<Double, List<Vm>>> batches = new LinkedHashMap<>();
         for (final Vm vm : vmWaitingList) {
             this.lastSelectedDc = isFallbackDatacenter && selectClosestDatacenter ?
                                         defaultDatacenterMapper(lastSelectedDc, vm) :
                                         datacenterMapper.apply(lastSelectedDc, vm);
 
-            this.vmCreationRequests += requestVmCreation(lastSelectedDc, isFallbackDatacenter, vm);
+            if (batchVmCreationRequests) {
+                this.vmCreationRequests += addVmToCreationBatch(batches, lastSelectedDc, isFallbackDatacenter, vm);
+            } else {
+                this.vmCreationRequests += requestVmCreation(lastSelectedDc, isFallbackDatacenter, vm);
+            }
         }
 
+        batches.forEach((datacenter, batchesByDelay) ->
+            batchesByDelay.forEach((delay, vmList) -> requestVmCreation(datacenter, delay, vmList)));
         return lastSelectedDc != Datacenter.NULL;
     }
 
+    /**
+     * Adds a VM to the batch of VMs to be created in a given Datacenter with the VM submission delay.
+     * @param batches the map where each key is a Datacenter and each value is the batches of VMs to create there,
+     *                grouped by submission delay
+     * @param datacenter the Datacenter to try creating the VM (or {@link Datacenter#NULL} if not Datacenter is available)
+     * @param isFallbackDatacenter indicate if the given Datacenter was selected when
+     *                             a previous one don't have enough capacity to place the requested VM
+     * @param vm the VM to be placed
+     * @return 1 to indicate a VM creation request will be sent to the datacenter,
+     *         0 to indicate the request will not be sent due to lack of available datacenter
+     */
+    private int addVmToCreationBatch(
+        final Map<Datacenter, Map<Double, List<Vm>>> batches,
+        final Datacenter datacenter, final boolean isFallbackDatacenter, final Vm vm)
+    {
+        if (datacenter == Datacenter.NULL || datacenter.equals(vm.getLastTriedDatacenter())) {
+            return 0;
+        }
+
+        logVmCreationRequest(datacenter, isFallbackDatacenter, vm);
+        batches.computeIfAbsent(datacenter, dc -> new LinkedHashMap<>())
+               .computeIfAbsent(vm.getSubmissionDelay(), delay -> new ArrayList<>())
+               .add(vm);
+        vm.setLastTriedDatacenter(datacenter);
+        return 1;
+    }
+
+    /**
+     * Sends a request to create a batch of VMs with the same submission delay into a given Datacenter.
+     * A single VM is requested using a regular {@link CloudSimTags#VM_CREATE_ACK} event.
+     * @param datacenter the Datacenter to create the VMs
+     * @param delay the submission delay of the VMs
+     * @param vmList the VMs to create
+     */
+    private void requestVmCreation(final Datacenter datacenter, final double delay, final List<Vm> vmList) {
+        if (vmList.size() == 1) {
+            send(datacenter, delay, CloudSimTags.VM_CREATE_ACK, vmList.get(0));
+            return;
+        }
+
+        send(datacenter, delay, CloudSimTags.VM_CREATE_BATCH_ACK, new VmCreationBatch(this, vmList));
+    }
+
+    /**
+     * Checks if the creation of VMs to be submitted to the same Datacenter at the same time
+     * is requested using a single event (which is the default), instead of one event for each VM.
+     * The Datacenter answers with a single event too.
+     * That reduces the number of events when a large number of VMs is submitted.
+     *
+     * @return true if VM creation requests are batched, false otherwise
+     * @see CloudSimTags#VM_CREATE_BATCH_ACK
+     */
+    public boolean isBatchVmCreationRequests() {
+        return batchVmCreationRequests;
+    }
+
+    /**
+     * Defines if the creation of VMs to be submitted to the same Datacenter at the same time
+     * must be requested using a single event, instead of one event for each VM.
+     * It must be disabled if the {@link Datacenter} in use doesn't handle
+     * {@link CloudSimTags#VM_CREATE_BATCH_ACK} events.
+     *
+     * @param batchVmCreationRequests true to batch VM creation requests, false to send one request for each VM
+     * @return this broker
+     * @see #isBatchVmCreationRequests()
+     */
+    public DatacenterBroker setBatchVmCreationRequests(final boolean batchVmCreationRequests) {
+        this.batchVmCreationRequests = batchVmCreationRequests;
+        return this;
+    }
+
     @Override
     public int getVmsNumber() {
         return vmCreatedList.size() + vmWaitingList.size() + vmFailedList.size();
@@ -832,10 +952,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             }
 
             if(isVmIdlenessVerificationRequired((VmSimple)vm)) {
-                getSimulation().send(
-                    new CloudSimEvent(vmDestructionDelayFunction.apply(vm),
-                        vm.getHost().getDatacenter(),
-                        CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING));
+                //Scheduled through the Datacenter, so that it can coalesce the update with its pending ones
+                final Datacenter dc = vm.getHost().getDatacenter();
+                dc.schedule(new CloudSimEvent(vmDestructionDelayFunction.apply(vm), dc, CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING));
                 return this;
             }
         }
@@ -1289,4 +1408,76 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         this.shutdownWhenIdle = shutdownWhenIdle;
         return this;
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeEntityList(datacenterList)
+              .writeVmList(vmWaitingList).writeVmList(vmExecList)
+              .writeVmList(vmCreatedList).writeVmList(vmFailedList)
+              .writeCloudletList(cloudletWaitingList).writeCloudletList(cloudletSubmittedList)
+              .writeCloudletList(cloudletsFinishedList).writeCloudletList(cloudletsCreatedList)
+              .writeVm(lastSelectedVm).writeEntity(lastSelectedDc)
+              .writeVm(lastSubmittedVm).writeCloudlet(lastSubmittedCloudlet)
+              .writeInt(vmCreationRequests).writeInt(vmCreationAcks)
+              .writeBoolean(wereThereWaitingCloudlets).writeBoolean(shutdownRequested);
+
+        writer.writeInt(vmCloudletHashMap.size());
+        vmCloudletHashMap.forEach((vm, vmCloudlets) -> writer.writeVm(vm).writeCloudletList(vmCloudlets));
+        //The broker owns its VMs and Cloudlets, so it writes their state
+        final Set<Vm> vms = new LinkedHashSet<>(vmWaitingList);
+        vms.addAll(vmExecList);
+        vms.addAll(vmCreatedList);
+        vms.addAll(vmFailedList);
+        writer.writeVmList(vms);
+        vms.forEach(writer::writeState);
+
+        final Set<Cloudlet> cloudlets = new LinkedHashSet<>(cloudletWaitingList);
+        cloudlets.addAll(cloudletSubmittedList);
+        cloudlets.addAll(cloudletsFinishedList);
+        cloudlets.addAll(cloudletsCreatedList);
+        writer.writeCloudletList(cloudlets);
+        cloudlets.forEach(writer::writeState);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        datacenterList = reader.readEntityList();
+        replaceItems(vmWaitingList, reader.readVmList());
+        replaceItems(vmExecList, reader.readVmList());
+        replaceItems(vmCreatedList, reader.readVmList());
+        replaceItems(vmFailedList, reader.readVmList());
+        replaceItems(cloudletWaitingList, reader.readCloudletList());
+        replaceItems(cloudletSubmittedList, reader.readCloudletList());
+        replaceItems(cloudletsFinishedList, reader.readCloudletList());
+        replaceItems(cloudletsCreatedList, reader.readCloudletList());
+        lastSelectedVm = reader.readVm();
+        lastSelectedDc = reader.readEntity(Datacenter.NULL);
+        lastSubmittedVm = reader.readVm();
+        lastSubmittedCloudlet = reader.readCloudlet();
+        vmCreationRequests = reader.readInt();
+        vmCreationAcks = reader.readInt();
+        wereThereWaitingCloudlets = reader.readBoolean();
+        shutdownRequested = reader.readBoolean();
+
+        vmCloudletHashMap.clear();
+        final int vmCloudletEntries = reader.readInt();
+        for (int i = 0; i < vmCloudletEntries; i++) {
+            final Vm vm = reader.readVm();
+            vmCloudletHashMap.put(vm, new LinkedHashSet<>(reader.readCloudletList()));
+        }
+        for (final Vm vm : reader.readVmList()) {
+            reader.readRequiredState(vm);
+        }
+
+        for (final Cloudlet cloudlet : reader.readCloudletList()) {
+            reader.readRequiredState(cloudlet);
+        }
+    }
+
+    private static <T> void replaceItems(final List<T> list, final List<? extends T> items) {
+        list.clear();
+        list.addAll(items);
+    }
 }
@@ -3,6 +3,8 @@ package allocation;
 
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
@@ -214,8 +216,18 @@ public class DatacenterBrokerDynamic extends allocation.DatacenterBrokerAbstract
         requestDatacentersToCreateWaitingCloudlets();
     }
 
-}
-
-
-
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeInt(lastSelectedVmIndex).writeInt(lastSelectedDcIndex).writeVmList(resubmittingList);
+    }
 
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        lastSelectedVmIndex = reader.readInt();
+        lastSelectedDcIndex = reader.readInt();
+        resubmittingList.clear();
+        resubmittingList.addAll(reader.readVmList());
+    }
+}
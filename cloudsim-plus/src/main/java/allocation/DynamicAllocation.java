@@ -4,6 +4,9 @@ import org.cloudbus.cloudsim.allocationpolicies.*;
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
+import org.cloudbus.cloudsim.core.Checkpointable;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.hosts.HostSuitability;
@@ -22,11 +25,17 @@ import java.util.stream.Stream;
 /**
  * This class has been adapted from {@link VmAllocationPolicySimple}
  */
-public class DynamicAllocation extends VmAllocationPolicyAbstract {
+public class DynamicAllocation extends VmAllocationPolicyAbstract implements Checkpointable {
 
     /** @see #getLastHostIndex() */
     private int lastHostIndex;
 
+    /**
+     * Records the Hosts found unsuitable for VMs, so that they aren't checked again
+     * for VMs of the same shape while their capacity doesn't change.
+     */
+    private final HostSuitabilityCache suitabilityCache = new HostSuitabilityCache();
+
     /**
      * Instantiates the DynamicAllocation allocation policy
      */
@@ -48,21 +57,16 @@ public class DynamicAllocation extends VmAllocationPolicyAbstract {
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
         final List<Host> hostList = getHostList();
-        /* The for loop just defines the maximum number of Hosts to try.
-         * When a suitable Host is found, the method returns immediately. */
-        final int maxTries = hostList.size();
-        for (int i = 0; i < maxTries; i++) {
-            final Host host = hostList.get(lastHostIndex);
-            if (host.isSuitableForVm(vm)) {
-                return Optional.of(host);
-            }
-
-            /* If it gets here, the previous Host doesn't have capacity to place the VM.
-             * Then, moves to the next Host.*/
-            incLastHostIndex();
+        /* Searches from the last Host to the end of the list, then from the beginning.
+         * Hosts which certainly don't have capacity to place the VM are skipped by the index. */
+        final int i = getHostFreeCapacityIndex().findFirst(
+            lastHostIndex, vm, position -> suitabilityCache.isSuitableForVm(position, hostList.get(position), vm));
+        if (i < 0) {
+            return Optional.empty();
         }
 
-        return Optional.empty();
+        lastHostIndex = i;
+        return Optional.of(hostList.get(i));
     }
 
     /**
@@ -189,7 +193,10 @@ public class DynamicAllocation extends VmAllocationPolicyAbstract {
         // vm or if no more spot instances are available
         int i = 0;
 
-        while (!host.isSuitableForVm(vm) && i < host.getVmList().size()) {
+        /* The suitability just changes when some VM is destroyed,
+         * so that it isn't checked again for every VM in the Host. */
+        boolean suitable = host.isSuitableForVm(vm);
+        while (!suitable && i < host.getVmList().size()) {
             if(i==0) {
                 LOGGER.warn("Checking for Spot Destruction");
             }
@@ -214,7 +221,7 @@ public class DynamicAllocation extends VmAllocationPolicyAbstract {
                             VmToDestroy.getHost());
 
                         terminationBehavior((SpotInstance) VmToDestroy);
-
+                        suitable = host.isSuitableForVm(vm);
                     }
                 }
             }
@@ -262,6 +269,17 @@ public class DynamicAllocation extends VmAllocationPolicyAbstract {
      * @param VmToDestroy the {@link SpotInstance} that needs to be deallocated from the host
      */
     public void terminationBehavior(SpotInstance VmToDestroy) {
+        interruptSpotInstance(VmToDestroy, getDatacenter());
+    }
+
+    /**
+     * Interrupts or terminates a Spot instance according to its {@link SpotInstance#getInterruptionBehavior()}.
+     *
+     * @param VmToDestroy the {@link SpotInstance} that needs to be deallocated from the host
+     * @param datacenter the {@link Datacenter} where the Spot instance is placed
+     * @see #terminationBehavior(SpotInstance)
+     */
+    static void interruptSpotInstance(SpotInstance VmToDestroy, Datacenter datacenter) {
 
         DatacenterBroker broker = VmToDestroy.getBroker();
         List<CloudletExecution> execCloudlets = VmToDestroy.getCloudletScheduler().getCloudletExecList();
@@ -277,7 +295,7 @@ public class DynamicAllocation extends VmAllocationPolicyAbstract {
 
                 broker.LOGGER.info(
                         "{}: {}: Pause Cloudlet {} on {} / executed {} mips",
-                        broker.getSimulation().clockStr(), getDatacenter().getClass().getSimpleName(), cloudlet,
+                        broker.getSimulation().clockStr(), datacenter.getClass().getSimpleName(), cloudlet,
                         VmToDestroy, cloudlet.getFinishedLengthSoFar());
             }
 
@@ -317,4 +335,15 @@ public class DynamicAllocation extends VmAllocationPolicyAbstract {
         }
         return null;
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeInt(lastHostIndex);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        lastHostIndex = reader.readInt();
+        suitabilityCache.clear();
+    }
 }
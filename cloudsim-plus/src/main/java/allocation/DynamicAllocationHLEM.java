@@ -1,11 +1,15 @@
 package allocation;
 
+import org.cloudbus.cloudsim.allocationpolicies.HostSuitabilityCache;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicyAbstract;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
+import org.cloudbus.cloudsim.core.Checkpointable;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.hosts.HostDynamic;
@@ -22,11 +26,17 @@ import java.util.function.Function;
 /**
  * This class has been adapted from {@link VmAllocationPolicySimple}
  */
-public class DynamicAllocationHLEM extends VmAllocationPolicyAbstract {
+public class DynamicAllocationHLEM extends VmAllocationPolicyAbstract implements Checkpointable {
 
     /** @see #getLastHostIndex() */
     private int lastHostIndex;
 
+    /**
+     * Records the Hosts found unsuitable for VMs, so that they aren't checked again
+     * for VMs of the same shape while their capacity doesn't change.
+     */
+    private final HostSuitabilityCache suitabilityCache = new HostSuitabilityCache();
+
     private final int threshold = 0;
 
     private final double resourceCarryingFactor = 0.95;
@@ -70,7 +80,7 @@ public class DynamicAllocationHLEM extends VmAllocationPolicyAbstract {
             final Host host = hostList.get(lastHostIndex);
 
             /* Step 1: Filter for suitable hosts based on Resource requirements */
-            if (host.isSuitableForVm(vm)) {
+            if (suitabilityCache.isSuitableForVm(lastHostIndex, host, vm)) {
 
                 /* RsDiff = (Requested Cpu − Host Cpu Utilization) * resourceCarryingFactor */
                 double rsDiff = (vm.getNumberOfPes() - host.getBusyPesNumber()) * resourceCarryingFactor;
@@ -276,7 +286,10 @@ public class DynamicAllocationHLEM extends VmAllocationPolicyAbstract {
         // vm or if no more spot instances are available
         int i = 0;
 
-        while (!host.isSuitableForVm(vm) && i < host.getVmList().size()) {
+        /* The suitability just changes when some VM is destroyed,
+         * so that it isn't checked again for every VM in the Host. */
+        boolean suitable = host.isSuitableForVm(vm);
+        while (!suitable && i < host.getVmList().size()) {
             if(i==0) {
                 LOGGER.warn("Checking for Spot Destruction");
             }
@@ -301,7 +314,7 @@ public class DynamicAllocationHLEM extends VmAllocationPolicyAbstract {
                             VmToDestroy.getHost());
 
                         terminationBehavior((SpotInstance) VmToDestroy);
-
+                        suitable = host.isSuitableForVm(vm);
                     }
                 }
             }
@@ -496,4 +509,15 @@ public class DynamicAllocationHLEM extends VmAllocationPolicyAbstract {
             resourceValues.put(resource, resourceMap);
         }
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeInt(lastHostIndex);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        lastHostIndex = reader.readInt();
+        suitabilityCache.clear();
+    }
 }
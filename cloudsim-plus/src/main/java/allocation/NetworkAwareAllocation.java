@@ -0,0 +1,111 @@
+package allocation;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.VmTrafficGraph;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A {@link DynamicAllocation} for {@link NetworkDatacenter}s which places VMs close to the VMs they communicate with,
+ * according to the {@link VmTrafficGraph} of the Datacenter
+ * (that must be enabled by {@link NetworkDatacenter#enableVmTrafficGraph()}).
+ * That way, Spot instances resumed after hibernation are placed back near their peers,
+ * instead of being spread across different {@link EdgeSwitch}es.
+ *
+ * <p>The Hosts connected to the Edge Switches where the peers of a VM are placed
+ * are scored by the expected number of bytes which will cross the switch
+ * (the traffic with peers connected to other switches) and, for ties,
+ * by the traffic with peers in other Hosts.
+ * The suitable Host with the lowest score is selected.
+ * If the VM has no placed peer or there is no suitable Host near them,
+ * the Host is selected as in {@link DynamicAllocation}.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public class NetworkAwareAllocation extends DynamicAllocation {
+
+    /**
+     * Instantiates the NetworkAwareAllocation allocation policy
+     */
+    public NetworkAwareAllocation() {
+        super();
+    }
+
+    /**
+     * Instantiates a NetworkAwareAllocation, changing the {@link Function} to select a Host for a Vm
+     * in order to define a different policy.
+     *
+     * @param findHostForVmFunction a {@link Function} to select a Host for a given Vm.
+     * @see VmAllocationPolicy#setFindHostForVmFunction(BiFunction)
+     */
+    public NetworkAwareAllocation(final BiFunction<VmAllocationPolicy, Vm, Optional<Host>> findHostForVmFunction) {
+        super(findHostForVmFunction);
+    }
+
+    @Override
+    protected Optional<Host> defaultFindHostForVm(final Vm vm) {
+        final VmTrafficGraph trafficGraph = getVmTrafficGraph();
+        if (trafficGraph == null) {
+            return super.defaultFindHostForVm(vm);
+        }
+
+        /* Sums the traffic with peers by the Host and Edge Switch where they are placed.
+         * Peers not currently placed in this Datacenter are ignored. */
+        final Map<Host, Long> hostTraffic = new HashMap<>();
+        final Map<EdgeSwitch, Long> switchTraffic = new HashMap<>();
+        long totalTraffic = 0;
+        for (final Map.Entry<Vm, Long> entry : trafficGraph.getNeighbours(vm).entrySet()) {
+            final Host host = entry.getKey().getHost();
+            if (!entry.getKey().isCreated() || !(host instanceof NetworkHost) || host.getDatacenter() != getDatacenter()) {
+                continue;
+            }
+
+            final long bytes = entry.getValue();
+            totalTraffic += bytes;
+            hostTraffic.merge(host, bytes, Long::sum);
+            final EdgeSwitch edgeSwitch = ((NetworkHost) host).getEdgeSwitch();
+            if (edgeSwitch != null) {
+                switchTraffic.merge(edgeSwitch, bytes, Long::sum);
+            }
+        }
+
+        if (hostTraffic.isEmpty()) {
+            return super.defaultFindHostForVm(vm);
+        }
+
+        final Set<Host> candidates = new LinkedHashSet<>(hostTraffic.keySet());
+        switchTraffic.keySet().forEach(edgeSwitch -> candidates.addAll(edgeSwitch.getHostList()));
+
+        final long total = totalTraffic;
+        final Function<Host, Long> crossSwitchTraffic =
+            host -> total - switchTraffic.getOrDefault(((NetworkHost) host).getEdgeSwitch(), 0L);
+        final Function<Host, Long> crossHostTraffic = host -> total - hostTraffic.getOrDefault(host, 0L);
+        final Optional<Host> optional = candidates
+            .stream()
+            .filter(host -> host.isSuitableForVm(vm))
+            .min(Comparator.comparing(crossSwitchTraffic).thenComparing(crossHostTraffic));
+
+        return optional.isPresent() ? optional : super.defaultFindHostForVm(vm);
+    }
+
+    /**
+     * Gets the {@link VmTrafficGraph} of the Datacenter.
+     * @return the VM traffic graph or null if the Datacenter isn't a {@link NetworkDatacenter}
+     *         or its traffic graph is not enabled
+     */
+    protected VmTrafficGraph getVmTrafficGraph() {
+        return getDatacenter() instanceof NetworkDatacenter ? ((NetworkDatacenter) getDatacenter()).getVmTrafficGraph() : null;
+    }
+}
@@ -0,0 +1,510 @@
+package allocation;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
+import org.cloudbus.cloudsim.allocationpolicies.migration.HostCapacityShadow;
+import org.cloudbus.cloudsim.allocationpolicies.migration.HostLoadIndex;
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationAbstract;
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationStaticThreshold;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostDynamic;
+import org.cloudbus.cloudsim.power.models.PowerModelHost;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.vms.Vm;
+import vmtypes.SpotInstance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A migration policy which consolidates {@link SpotInstance}s, so that under-utilized {@link HostDynamic}s
+ * running just Spot instances are emptied and powered off through {@link Host#setActive(boolean)}.
+ * Over-utilized Hosts are handled as in the {@link VmAllocationPolicyMigrationStaticThreshold}.
+ *
+ * <p>The Spot instances of an under-utilized Host are migrated to the fullest Hosts
+ * that can receive them without becoming over-utilized.
+ * If some Spot instance can't be migrated, it's planned to be preempted (if {@link #setPreemptionEnabled(boolean) enabled}),
+ * according to its {@link SpotInstance#getInterruptionBehavior() interruption behavior}.
+ * Spot instances with priority or which haven't run for their {@link SpotInstance#getMinimumRunningTime()}
+ * aren't preempted, so that Hosts running them are just emptied if they can be migrated.
+ * A Host is powered off when it becomes empty, after all migrations from it finish.</p>
+ *
+ * <p>The {@link #getConsolidationPlan(List)} returns both the VMs to migrate and the Spot instances to preempt,
+ * which are applied by the caller (such as the {@link infrastructure.DatacenterSimpleDynamic}).
+ * Since the {@link #getOptimizedAllocationMap(List)} can just return migrations,
+ * no Spot instance is planned to be preempted by it.</p>
+ *
+ * <p>The Hosts to be emptied are got from the underloaded ones into the {@link HostLoadIndex}
+ * kept by the {@link VmAllocationPolicyMigrationAbstract}, which is incrementally updated
+ * as the processing of each Host is updated. The resources of target Hosts are reserved for the
+ * VMs planned to be migrated into a {@link HostCapacityShadow}.</p>
+ *
+ * <p>The energy saved by powered-off Hosts is computed from the power their {@link PowerModelHost}
+ * measured when they were powered off, during the time they are off.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public class SpotConsolidationAllocation extends VmAllocationPolicyMigrationStaticThreshold {
+    /** The Hosts whose VMs are migrating out or being preempted, to be powered off when they become empty. */
+    private final Set<Host> drainingHosts;
+
+    /** The time each Host was powered off by this policy and the power it was using, for Hosts still off. */
+    private final Map<Host, PowerOff> powerOffs;
+
+    /** @see #isPreemptionEnabled() */
+    private boolean preemptionEnabled;
+
+    /** Indicates if the superclass is computing the migration map, so that its search for under-utilized Hosts is disabled. */
+    private boolean optimizing;
+
+    /** The energy (in Watt-seconds) saved by Hosts which were powered on again. */
+    private double savedEnergy;
+
+    /** @see #getPoweredOffHostsNumber() */
+    private int poweredOffHostsNumber;
+
+    /** @see #getPreemptedVmsNumber() */
+    private int preemptedVmsNumber;
+
+    /**
+     * Creates a SpotConsolidationAllocation with the
+     * {@link #DEF_OVER_UTILIZATION_THRESHOLD default over-utilization threshold}
+     * and the {@link #DEF_UNDER_UTILIZATION_THRESHOLD default under-utilization threshold}.
+     *
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration from over-utilized Hosts
+     */
+    public SpotConsolidationAllocation(final VmSelectionPolicy vmSelectionPolicy) {
+        this(vmSelectionPolicy, DEF_OVER_UTILIZATION_THRESHOLD, null);
+    }
+
+    /**
+     * Creates a SpotConsolidationAllocation.
+     *
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration from over-utilized Hosts
+     * @param overUtilizationThreshold the over-utilization threshold
+     * @param findHostForVmFunction a function to select a Host for a given Vm or null to use the default one
+     * @see VmAllocationPolicy#setFindHostForVmFunction(BiFunction)
+     */
+    public SpotConsolidationAllocation(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double overUtilizationThreshold,
+        final BiFunction<VmAllocationPolicy, Vm, Optional<Host>> findHostForVmFunction)
+    {
+        super(vmSelectionPolicy, overUtilizationThreshold, findHostForVmFunction);
+        this.drainingHosts = new HashSet<>();
+        this.powerOffs = new HashMap<>();
+        this.preemptionEnabled = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Since the returned map can just contain migrations, Spot instances aren't planned to be preempted,
+     * even if {@link #isPreemptionEnabled() preemption is enabled}.
+     * Use {@link #getConsolidationPlan(List)} to get the Spot instances to preempt too.</p>
+     *
+     * @param vmList {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
+        return getConsolidationPlan(vmList, false).getMigrations();
+    }
+
+    /**
+     * Computes the VMs to migrate from over-utilized Hosts and from the under-utilized Hosts to be emptied,
+     * and the Spot instances to preempt (if {@link #isPreemptionEnabled() enabled}).
+     * No VM is changed: it's up to the caller to request the migrations
+     * and to {@link #preempt(SpotInstance) preempt} the Spot instances.
+     * Hosts which became empty since the last call are powered off.
+     *
+     * @param vmList the list of VMs to be reallocated
+     * @return the consolidation plan
+     */
+    public ConsolidationPlan getConsolidationPlan(final List<? extends Vm> vmList) {
+        return getConsolidationPlan(vmList, preemptionEnabled);
+    }
+
+    private ConsolidationPlan getConsolidationPlan(final List<? extends Vm> vmList, final boolean preemption) {
+        updatePowerOffTimes();
+        powerOffDrainedHosts();
+
+        //Gets the underloaded Hosts before the superclass search for them is disabled
+        final List<Host> underloadedHosts = sortByRequestedCpu(getHostLoadIndex().getHosts(HostLoadIndex.Load.UNDERLOADED));
+        final List<Host> targetHosts = sortByRequestedCpu(getActiveHosts());
+        Collections.reverse(targetHosts);
+
+        optimizing = true;
+        final Map<Vm, Host> migrationMap;
+        try {
+            migrationMap = new HashMap<>(super.getOptimizedAllocationMap(vmList));
+        } finally {
+            optimizing = false;
+        }
+
+        final PlacementPlan plan = new PlacementPlan(migrationMap, preemption);
+        consolidateSpotInstances(underloadedHosts, targetHosts, plan);
+        return new ConsolidationPlan(migrationMap, plan.preemptions);
+    }
+
+    /**
+     * Preempts a Spot instance planned to be preempted by a {@link #getConsolidationPlan(List) consolidation plan},
+     * according to its {@link SpotInstance#getInterruptionBehavior() interruption behavior}.
+     * If its Host becomes empty, the Host is powered off.
+     *
+     * @param vm the Spot instance to preempt
+     */
+    public void preempt(final SpotInstance vm) {
+        final Host host = vm.getHost();
+        DynamicAllocation.interruptSpotInstance(vm, getDatacenter());
+        preemptedVmsNumber++;
+        if (drainingHosts.contains(host) && host.isActive() && host.getVmList().isEmpty() && host.getVmsMigratingIn().isEmpty()) {
+            drainingHosts.remove(host);
+            powerOff(host);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>While the migration map is being computed, the superclass search for under-utilized Hosts
+     * is disabled, since they are emptied by this class.</p>
+     */
+    @Override
+    public boolean isHostUnderloaded(final Host host) {
+        return !optimizing && super.isHostUnderloaded(host);
+    }
+
+    private List<Host> getActiveHosts() {
+        final List<Host> hosts = new ArrayList<>(getHostLoadIndex().getHosts(HostLoadIndex.Load.NORMAL));
+        hosts.addAll(getHostLoadIndex().getHosts(HostLoadIndex.Load.UNDERLOADED));
+        return hosts;
+    }
+
+    /**
+     * Sorts Hosts from the least to the most utilized one, according to the MIPS requested by their VMs.
+     * @param hosts the Hosts to sort
+     * @return a new sorted list
+     */
+    private static List<Host> sortByRequestedCpu(final Collection<Host> hosts) {
+        return hosts.stream().sorted(Comparator.comparingDouble(SpotConsolidationAllocation::getRequestedCpuPercent)).collect(toList());
+    }
+
+    /**
+     * Gets the percentage of the Host CPU requested by its VMs.
+     * @param host the Host to get its requested CPU
+     * @return the requested CPU percentage (between [0 and 1], if the Host isn't over-subscribed)
+     */
+    private static double getRequestedCpuPercent(final Host host) {
+        final double totalMips = host.getTotalMipsCapacity();
+        if (totalMips == 0) {
+            return 0;
+        }
+
+        return host.getVmList().stream().mapToDouble(Vm::getCurrentRequestedTotalMips).sum() / totalMips;
+    }
+
+    /**
+     * Accounts the energy saved by Hosts powered off by this policy and which were powered on again since then.
+     */
+    private void updatePowerOffTimes() {
+        final Iterator<Map.Entry<Host, PowerOff>> iterator = powerOffs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Host, PowerOff> entry = iterator.next();
+            final Host host = entry.getKey();
+            if (host.isActive()) {
+                savedEnergy += entry.getValue().getSavedEnergy(host.getStartTime());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Powers off the Hosts which became empty after their VMs were migrated.
+     */
+    private void powerOffDrainedHosts() {
+        final Iterator<Host> iterator = drainingHosts.iterator();
+        while (iterator.hasNext()) {
+            final Host host = iterator.next();
+            if (!host.isActive() || !host.getVmsMigratingIn().isEmpty()) {
+                iterator.remove();
+            } else if (host.getVmList().isEmpty()) {
+                powerOff(host);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Tries to empty the under-utilized Hosts running just Spot instances,
+     * from the least utilized ones, adding the VMs to migrate and to preempt to a given plan.
+     *
+     * @param underloadedHosts the Hosts to try to empty, sorted from the least utilized one
+     * @param targetHosts the Hosts which may receive VMs, sorted from the most utilized one
+     * @param plan the placement plan, containing the migrations from over-utilized Hosts
+     */
+    private void consolidateSpotInstances(
+        final List<Host> underloadedHosts, final List<Host> targetHosts, final PlacementPlan plan)
+    {
+        for (final Host host : underloadedHosts) {
+            if (!host.isActive() || !plan.canBeEmptied(host) || !isHostUnderloaded(host) || !isOnlyRunningSpotInstances(host)) {
+                continue;
+            }
+
+            if (host.getVmList().isEmpty()) {
+                powerOff(host);
+            } else {
+                emptyHost(host, targetHosts, plan);
+            }
+        }
+    }
+
+    /**
+     * Tries to migrate or preempt all Spot instances from a Host.
+     * If some VM can neither be migrated nor preempted, the Host is kept as is.
+     *
+     * @param host the Host to empty
+     * @param targetHosts the Hosts which may receive VMs, sorted from the most utilized one
+     * @param plan the placement plan to add the VMs to migrate and to preempt
+     */
+    private void emptyHost(final Host host, final List<Host> targetHosts, final PlacementPlan plan) {
+        final Map<Vm, Host> migrations = new HashMap<>();
+        final List<SpotInstance> preemptions = new ArrayList<>();
+        for (final Vm vm : host.getVmList()) {
+            final Optional<Host> target = findTargetHost(vm, host, targetHosts, plan);
+            if (target.isPresent()) {
+                plan.reserve(vm, target.get());
+                migrations.put(vm, target.get());
+            } else if (plan.preemption && isPreemptable((SpotInstance) vm)) {
+                preemptions.add((SpotInstance) vm);
+            } else {
+                migrations.forEach(plan::release);
+                return;
+            }
+        }
+
+        LOGGER.info(
+            "{}: {}: Emptying under-utilized {}: {} Spot instances to migrate and {} to preempt",
+            getDatacenter().getSimulation().clockStr(), getClass().getSimpleName(), host, migrations.size(), preemptions.size());
+
+        plan.ignore(host);
+        plan.addMigrations(migrations);
+        plan.preemptions.addAll(preemptions);
+        drainingHosts.add(host);
+    }
+
+    /**
+     * Finds a Host to migrate a VM to, starting from the most utilized one,
+     * that can receive the VM without becoming over-utilized.
+     * Hosts less utilized than the source one aren't selected.
+     *
+     * @param vm the VM to migrate
+     * @param source the Host where the VM is
+     * @param targetHosts the Hosts which may receive VMs, sorted from the most utilized one
+     * @param plan the placement plan with the resources reserved for VMs to migrate
+     * @return an {@link Optional} with the target Host or an empty one if no suitable Host was found
+     */
+    private Optional<Host> findTargetHost(final Vm vm, final Host source, final List<Host> targetHosts, final PlacementPlan plan) {
+        final double sourceCpuPercent = getRequestedCpuPercent(source);
+        for (final Host host : targetHosts) {
+            if (getRequestedCpuPercent(host) < sourceCpuPercent) {
+                break;
+            }
+
+            if (host != source && !plan.isIgnored(host) && !drainingHosts.contains(host) && plan.isSuitable(host, vm)) {
+                return Optional.of(host);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean isOnlyRunningSpotInstances(final Host host) {
+        if (!(host instanceof HostDynamic) || !host.getVmsMigratingIn().isEmpty()) {
+            return false;
+        }
+
+        //Checks the Spot capacity usage first to skip Hosts without Spot instances quickly
+        if (!host.getVmList().isEmpty() && ((HostDynamic) host).getSpotPeCapacityUsage() == 0) {
+            return false;
+        }
+
+        return host.getVmList().stream().allMatch(vm -> vm instanceof SpotInstance && !vm.isInMigration());
+    }
+
+    private boolean isPreemptable(final SpotInstance vm) {
+        final double runningTime = getDatacenter().getSimulation().clock() - vm.getStartTime();
+        return !vm.getPriority() && runningTime >= vm.getMinimumRunningTime();
+    }
+
+    private void powerOff(final Host host) {
+        //The power is measured before powering the Host off, since an empty Host may still be using its CPU
+        final double power = host.isActive() ? host.getPowerModel().getPower() : 0;
+        final PowerOff powerOff = new PowerOff(getDatacenter().getSimulation().clock(), power);
+        host.setActive(false);
+        getHostLoadIndex().update(host);
+        powerOffs.put(host, powerOff);
+        poweredOffHostsNumber++;
+        LOGGER.info(
+            "{}: {}: Powering off under-utilized {}",
+            getDatacenter().getSimulation().clockStr(), getClass().getSimpleName(), host);
+    }
+
+    @Override
+    protected Optional<Host> findHostForVmInternal(final Vm vm, final Stream<Host> hostStream) {
+        //Hosts being emptied don't receive new VMs
+        return super.findHostForVmInternal(vm, hostStream.filter(host -> !drainingHosts.contains(host)));
+    }
+
+    /**
+     * Gets the energy (in kWh) saved by powering off Hosts until the current simulation time,
+     * computed from the power such Hosts were using when they were powered off,
+     * during the time they were off.
+     * @return
+     */
+    public double getSavedEnergyKWh() {
+        final double clock = getDatacenter().getSimulation().clock();
+        double energy = savedEnergy;
+        for (final Map.Entry<Host, PowerOff> entry : powerOffs.entrySet()) {
+            final Host host = entry.getKey();
+            energy += entry.getValue().getSavedEnergy(host.isActive() ? host.getStartTime() : clock);
+        }
+
+        return Conversion.wattSecondsToKWattHours(energy);
+    }
+
+    /**
+     * Gets the number of times Hosts were powered off by this policy.
+     * @return
+     */
+    public int getPoweredOffHostsNumber() {
+        return poweredOffHostsNumber;
+    }
+
+    /**
+     * Gets the number of Spot instances {@link #preempt(SpotInstance) preempted} to empty Hosts.
+     * @return
+     */
+    public int getPreemptedVmsNumber() {
+        return preemptedVmsNumber;
+    }
+
+    /**
+     * Checks if Spot instances which can't be migrated are planned to be preempted to empty an under-utilized Host.
+     * @return
+     */
+    public boolean isPreemptionEnabled() {
+        return preemptionEnabled;
+    }
+
+    /**
+     * Defines if Spot instances which can't be migrated are planned to be preempted to empty an under-utilized Host.
+     * If disabled, a Host is just emptied if all its VMs can be migrated.
+     * @param preemptionEnabled true to enable preemption, false to disable
+     * @return
+     */
+    public SpotConsolidationAllocation setPreemptionEnabled(final boolean preemptionEnabled) {
+        this.preemptionEnabled = preemptionEnabled;
+        return this;
+    }
+
+    /**
+     * The time a Host was powered off and the power (in Watts) it was using at that time.
+     */
+    private static final class PowerOff {
+        private final double time;
+        private final double power;
+
+        PowerOff(final double time, final double power) {
+            this.time = time;
+            this.power = power;
+        }
+
+        /**
+         * Gets the energy (in Watt-seconds) saved from the time the Host was powered off until a given time.
+         * @param powerOnTime the time the Host was powered on again or the current time if it's still off
+         * @return
+         */
+        double getSavedEnergy(final double powerOnTime) {
+            return power * Math.max(powerOnTime - time, 0);
+        }
+    }
+
+    /**
+     * Keeps the VMs planned to be migrated and preempted,
+     * reserving the resources of target Hosts into a {@link HostCapacityShadow},
+     * without temporarily creating the VMs into such Hosts.
+     */
+    private final class PlacementPlan {
+        private final Map<Vm, Host> migrationMap;
+        private final List<SpotInstance> preemptions;
+
+        /** Indicates if Spot instances which can't be migrated can be preempted. */
+        private final boolean preemption;
+
+        /** Hosts which are neither sources nor targets of the consolidation. */
+        private final Set<Host> ignoredHosts;
+
+        /** Hosts selected to receive VMs, which cannot be emptied anymore. */
+        private final Set<Host> targetHosts;
+
+        private final HostCapacityShadow capacityShadow;
+
+        PlacementPlan(final Map<Vm, Host> migrationMap, final boolean preemption) {
+            this.migrationMap = migrationMap;
+            this.preemptions = new ArrayList<>();
+            this.preemption = preemption;
+            this.ignoredHosts = new HashSet<>(migrationMap.values());
+            migrationMap.keySet().forEach(vm -> ignoredHosts.add(vm.getHost()));
+            this.targetHosts = new HashSet<>();
+            this.capacityShadow = new HostCapacityShadow();
+        }
+
+        boolean isIgnored(final Host host) {
+            return ignoredHosts.contains(host);
+        }
+
+        boolean canBeEmptied(final Host host) {
+            return !ignoredHosts.contains(host) && !targetHosts.contains(host);
+        }
+
+        void ignore(final Host host) {
+            ignoredHosts.add(host);
+        }
+
+        void addMigrations(final Map<Vm, Host> migrations) {
+            migrationMap.putAll(migrations);
+            targetHosts.addAll(migrations.values());
+        }
+
+        boolean isSuitable(final Host host, final Vm vm) {
+            if (!capacityShadow.isSuitableForVm(host, vm)) {
+                return false;
+            }
+
+            final double requestedPercent = getRequestedCpuPercent(host) +
+                (capacityShadow.getReservedMips(host) + vm.getCurrentRequestedTotalMips()) / host.getTotalMipsCapacity();
+            return requestedPercent <= getOverUtilizationThreshold(host);
+        }
+
+        void reserve(final Vm vm, final Host host) {
+            capacityShadow.reserve(host, vm);
+        }
+
+        void release(final Vm vm, final Host host) {
+            capacityShadow.release(host, vm);
+        }
+    }
+}
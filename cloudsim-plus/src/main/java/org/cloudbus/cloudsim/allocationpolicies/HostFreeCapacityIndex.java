@@ -0,0 +1,367 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.HostEventInfo;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * An index of the Hosts of a {@link VmAllocationPolicy}, keeping them into buckets
+ * according to their number of free PEs and active state,
+ * so that placement policies don't need to scan or sort the entire Host list for each VM.
+ * Each bucket is a {@link BitSet} of Host positions into the list,
+ * so that Hosts into the same bucket are visited in the order of that list.
+ *
+ * <p>The index is kept up-to-date by listening to
+ * {@link Host#addOnCapacityChangeListener(EventListener) capacity changes} of each Host.
+ * The RAM, BW and storage of Hosts are used as secondary filters, which are
+ * read directly from each Host when it's visited, since they may be changed by other means
+ * (such as vertical VM scaling).</p>
+ *
+ * <p>The number of free PEs is just used to skip Hosts when their {@link org.cloudbus.cloudsim.schedulers.vm.VmScheduler}
+ * is a {@link VmSchedulerSpaceShared}, since a VM can't be placed into such Hosts
+ * without the number of free PEs it requires.
+ * Other schedulers (such as the time-shared one) may place VMs into busy PEs,
+ * so Hosts using them are kept into a different group of buckets which is never skipped.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class HostFreeCapacityIndex {
+    /**
+     * Bit set into the group of a Host when it is active.
+     */
+    private static final int ACTIVE = 2;
+
+    /**
+     * Bit set into the group of a Host when its VmScheduler requires free PEs to place a VM.
+     */
+    private static final int REQUIRES_FREE_PES = 1;
+
+    private static final int GROUPS = 4;
+
+    private static final int[] GROUPS_REQUIRING_FREE_PES = {REQUIRES_FREE_PES, ACTIVE | REQUIRES_FREE_PES};
+
+    private final Supplier<List<? extends Host>> hostListSupplier;
+
+    private Host[] hosts;
+    private final List<EventListener<HostEventInfo>> listeners;
+
+    /**
+     * The number of free PEs of the Host in each position, when it was last indexed.
+     */
+    private int[] keys;
+
+    /**
+     * The group of the Host in each position (a combination of {@link #ACTIVE} and {@link #REQUIRES_FREE_PES}),
+     * when it was last indexed.
+     */
+    private int[] groups;
+
+    /**
+     * The positions of the Hosts into each group and number of free PEs, indexed by [group][free PEs].
+     */
+    private final BitSet[][] buckets;
+
+    /**
+     * The positions of the Hosts whose VmScheduler doesn't require free PEs,
+     * which are candidates for any VM regardless of their number of free PEs.
+     */
+    private BitSet notRequiringFreePes;
+
+    /**
+     * The maximum number of free PEs any indexed Host had, or -1 if there is no indexed Host.
+     */
+    private int maxKey;
+
+    /**
+     * Creates an index for the Hosts in a given list.
+     * The list is got from the given supplier every time the index is queried,
+     * so that the index is rebuilt when it changes.
+     *
+     * @param hostListSupplier a {@link Supplier} for the Host list to index
+     */
+    public HostFreeCapacityIndex(final Supplier<List<? extends Host>> hostListSupplier) {
+        this.hostListSupplier = Objects.requireNonNull(hostListSupplier);
+        this.hosts = new Host[0];
+        this.listeners = new ArrayList<>();
+        this.keys = new int[0];
+        this.groups = new int[0];
+        this.buckets = new BitSet[GROUPS][0];
+        this.notRequiringFreePes = new BitSet();
+        this.maxKey = -1;
+    }
+
+    /**
+     * Finds the active Host with the largest number of free PEs which meets a given condition.
+     * If there is no such active Host, the inactive ones are searched.
+     * Ties are broken by the order of the Host list.
+     *
+     * @param vm the VM to find a Host for
+     * @param condition the condition the Host must meet (usually, if it is suitable for the VM)
+     * @return an {@link Optional} containing the Host found or an empty {@link Optional} otherwise
+     */
+    public Optional<Host> findHostWithMostFreePes(final Vm vm, final Predicate<Host> condition) {
+        sync();
+        for (int active = ACTIVE; active >= 0; active -= ACTIVE) {
+            for (int key = maxKey; key >= 0; key--) {
+                final int position = findIntoBucket(active, key, vm, condition);
+                if (position >= 0) {
+                    return Optional.of(hosts[position]);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the active Host with the smallest number of free PEs which meets a given condition.
+     * If there is no such active Host, the inactive ones are searched.
+     * Ties are broken by the order of the Host list.
+     *
+     * @param vm the VM to find a Host for
+     * @param condition the condition the Host must meet (usually, if it is suitable for the VM)
+     * @return an {@link Optional} containing the Host found or an empty {@link Optional} otherwise
+     */
+    public Optional<Host> findHostWithLeastFreePes(final Vm vm, final Predicate<Host> condition) {
+        sync();
+        for (int active = ACTIVE; active >= 0; active -= ACTIVE) {
+            for (int key = 0; key <= maxKey; key++) {
+                final int position = findIntoBucket(active, key, vm, condition);
+                if (position >= 0) {
+                    return Optional.of(hosts[position]);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the first Host meeting a given condition, starting from a given position
+     * of the Host list until its end, then from the beginning of the list.
+     * Hosts which certainly don't have capacity for the VM are skipped.
+     *
+     * @param startPosition the position to start the search from
+     * @param vm the VM to find a Host for
+     * @param condition the condition the Host in a given position must meet (usually, if it is suitable for the VM)
+     * @return the position of the Host found or -1 if not found
+     */
+    public int findFirst(final int startPosition, final Vm vm, final IntPredicate condition) {
+        final int position = findFirst(startPosition, Integer.MAX_VALUE, vm, condition);
+        return position < 0 ? findFirst(0, startPosition, vm, condition) : position;
+    }
+
+    private int findFirst(final int fromPosition, final int toPosition, final Vm vm, final IntPredicate condition) {
+        for (int i = nextCandidate(fromPosition, toPosition, vm); i >= 0; i = nextCandidate(i + 1, toPosition, vm)) {
+            if (condition.test(i)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the first Host into a range of positions from the Host list
+     * which may be suitable for a VM, according to the indexed free PEs
+     * and the current RAM, BW and storage of the Host.
+     * The returned Host still has to be checked with {@link Host#isSuitableForVm(Vm)}.
+     *
+     * @param fromPosition the first position of the range (inclusive)
+     * @param toPosition the last position of the range (exclusive)
+     * @param vm the VM to find a Host for
+     * @return the position of the Host found or -1 if there is no candidate Host into the range
+     */
+    public int nextCandidate(final int fromPosition, final int toPosition, final Vm vm) {
+        sync();
+        final int end = Math.min(toPosition, hosts.length);
+        int position = fromPosition;
+        while (position < end) {
+            position = nextIndexedPosition(position, vm);
+            if (position < 0 || position >= end) {
+                return -1;
+            }
+
+            if (mayBeSuitable(hosts[position], vm)) {
+                return position;
+            }
+
+            position++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the first position, starting from a given one, of a Host into any bucket that is not skipped for a VM.
+     * @param fromPosition the position to start from
+     * @param vm the VM to find a Host for
+     * @return the position found or -1 if there isn't any
+     */
+    private int nextIndexedPosition(final int fromPosition, final Vm vm) {
+        int next = notRequiringFreePes.nextSetBit(fromPosition);
+        if (next == fromPosition) {
+            return next;
+        }
+
+        final int minKey = minFreePes(vm);
+        for (final int group : GROUPS_REQUIRING_FREE_PES) {
+            for (int key = minKey; key <= maxKey; key++) {
+                final int position = buckets[group][key].nextSetBit(fromPosition);
+                if (position >= 0 && (next < 0 || position < next)) {
+                    next = position;
+                }
+            }
+        }
+
+        return next;
+    }
+
+    /**
+     * Finds the first Host meeting a condition into the buckets for a given number of free PEs and active state.
+     * Both groups of Hosts (the ones which require free PEs for a VM and the ones which don't)
+     * are visited together, in the order of the Host list.
+     *
+     * @return the position of the Host found or -1 if not found
+     */
+    private int findIntoBucket(final int active, final int key, final Vm vm, final Predicate<Host> condition) {
+        final BitSet others = buckets[active][key];
+        final BitSet requiringFreePes = key >= minFreePes(vm) ? buckets[active | REQUIRES_FREE_PES][key] : null;
+        int i = others.nextSetBit(0);
+        int j = requiringFreePes == null ? -1 : requiringFreePes.nextSetBit(0);
+        while (i >= 0 || j >= 0) {
+            final int position;
+            if (j < 0 || (i >= 0 && i < j)) {
+                position = i;
+                i = others.nextSetBit(i + 1);
+            } else {
+                position = j;
+                j = requiringFreePes.nextSetBit(j + 1);
+            }
+
+            final Host host = hosts[position];
+            if (mayBeSuitable(host, vm) && condition.test(host)) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the minimum number of free PEs a Host requiring free PEs must have to place a VM.
+     * PEs already allocated to a VM which is placed are counted as busy, so no Host is skipped for such VMs.
+     */
+    private static int minFreePes(final Vm vm) {
+        return vm.isCreated() ? 0 : (int) Math.min(Integer.MAX_VALUE, vm.getNumberOfPes());
+    }
+
+    /**
+     * Checks the secondary filters, which are necessary conditions for a VM that is not placed yet
+     * to be suitable for a Host.
+     */
+    private static boolean mayBeSuitable(final Host host, final Vm vm) {
+        if (vm.isCreated()) {
+            return true;
+        }
+
+        return host.getWorkingPesNumber() >= vm.getNumberOfPes() &&
+               host.getRam().getAvailableResource() >= vm.getRam().getCapacity() &&
+               host.getBw().getAvailableResource() >= vm.getBw().getCapacity() &&
+               host.getStorage().getAvailableResource() >= vm.getStorage().getCapacity();
+    }
+
+    /**
+     * Rebuilds the index if the Host list has changed.
+     */
+    private void sync() {
+        final List<? extends Host> list = hostListSupplier.get();
+        if (list.size() != hosts.length || !sameHosts(list)) {
+            rebuild(list);
+        }
+    }
+
+    /**
+     * Checks if the Hosts into the list (which has the same size as the index) are the indexed ones,
+     * in the same order.
+     * Every Host is checked, since a Host may be replaced at any position.
+     * That just compares references, which is much cheaper than a Host suitability check.
+     */
+    private boolean sameHosts(final List<? extends Host> list) {
+        int position = 0;
+        for (final Host host : list) {
+            if (host != hosts[position++]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void rebuild(final List<? extends Host> list) {
+        for (int position = 0; position < hosts.length; position++) {
+            hosts[position].removeOnCapacityChangeListener(listeners.get(position));
+        }
+
+        listeners.clear();
+        hosts = list.toArray(new Host[0]);
+        keys = new int[hosts.length];
+        groups = new int[hosts.length];
+        maxKey = -1;
+        notRequiringFreePes = new BitSet(hosts.length);
+        for (int group = 0; group < GROUPS; group++) {
+            buckets[group] = new BitSet[0];
+        }
+
+        for (int position = 0; position < hosts.length; position++) {
+            final int index = position;
+            final EventListener<HostEventInfo> listener = info -> update(index);
+            listeners.add(listener);
+            hosts[position].addOnCapacityChangeListener(listener);
+            keys[position] = -1;
+            update(position);
+        }
+    }
+
+    /**
+     * Moves a Host to the bucket for its current number of free PEs and state.
+     * @param position the position of the Host into the list
+     */
+    private void update(final int position) {
+        final Host host = hosts[position];
+        if (keys[position] >= 0) {
+            buckets[groups[position]][keys[position]].clear(position);
+        }
+
+        final int key = Math.max(0, host.getFreePesNumber());
+        ensureKey(key);
+        keys[position] = key;
+        groups[position] = (host.isActive() ? ACTIVE : 0) |
+                           (host.getVmScheduler() instanceof VmSchedulerSpaceShared ? REQUIRES_FREE_PES : 0);
+        buckets[groups[position]][key].set(position);
+        notRequiringFreePes.set(position, (groups[position] & REQUIRES_FREE_PES) == 0);
+    }
+
+    private void ensureKey(final int key) {
+        if (key < buckets[0].length) {
+            return;
+        }
+
+        for (int group = 0; group < GROUPS; group++) {
+            final int previousLength = buckets[group].length;
+            buckets[group] = Arrays.copyOf(buckets[group], key + 1);
+            for (int i = previousLength; i <= key; i++) {
+                buckets[group][i] = new BitSet(hosts.length);
+            }
+        }
+
+        maxKey = key;
+    }
+}
@@ -0,0 +1,133 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.Arrays;
+
+/**
+ * Records the last failed attempt to place a VM into each Host of a {@link VmAllocationPolicy},
+ * so that the policy can skip checking a Host again for a VM of the same shape
+ * (number of PEs, MIPS, RAM, BW and storage) while the
+ * {@link Host#getCapacityVersion() Host capacity version} doesn't change.
+ *
+ * <p>Hosts are identified by their position into the list the policy iterates,
+ * and the data for each Host is stored into a primitive array, so that
+ * checking the cache doesn't create any object.
+ * Just VMs which aren't placed yet are cached, since the suitability of a placed VM
+ * also depends on the resources already allocated to it.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class HostSuitabilityCache {
+    private static final int VERSION = 0;
+    private static final int PES = 1;
+    private static final int MIPS = 2;
+    private static final int RAM = 3;
+    private static final int BW = 4;
+    private static final int STORAGE = 5;
+    private static final int FIELDS = STORAGE + 1;
+
+    /**
+     * The Host which had a failed placement attempt at each position,
+     * or null if there was no failed attempt for that position.
+     */
+    private Host[] hosts;
+
+    /**
+     * The version of each Host and the shape of the VM which failed to be placed into it,
+     * where each Host position uses {@link #FIELDS} consecutive elements.
+     */
+    private long[] entries;
+
+    public HostSuitabilityCache() {
+        this.hosts = new Host[0];
+        this.entries = new long[0];
+    }
+
+    /**
+     * Checks if a Host is suitable for a VM, skipping the check if the Host
+     * was already found unsuitable for a VM of the same shape and its capacity didn't change since then.
+     *
+     * @param hostIndex the position of the Host into the list of Hosts being checked
+     * @param host the Host to check
+     * @param vm the VM to check
+     * @return true if the Host is suitable for the VM, false otherwise
+     * @see Host#isSuitableForVm(Vm)
+     */
+    public boolean isSuitableForVm(final int hostIndex, final Host host, final Vm vm) {
+        if (vm.isCreated()) {
+            return host.isSuitableForVm(vm);
+        }
+
+        if (isKnownUnsuitable(hostIndex, host, vm)) {
+            return false;
+        }
+
+        if (host.isSuitableForVm(vm)) {
+            return true;
+        }
+
+        recordUnsuitable(hostIndex, host, vm);
+        return false;
+    }
+
+    /**
+     * Checks if a Host was found unsuitable for a VM of the same shape as a given one
+     * and its capacity didn't change since then.
+     *
+     * @param hostIndex the position of the Host into the list of Hosts being checked
+     * @param host the Host to check
+     * @param vm the VM to check
+     * @return true if the Host is known to be unsuitable for the VM, false if it has to be checked
+     */
+    public boolean isKnownUnsuitable(final int hostIndex, final Host host, final Vm vm) {
+        if (hostIndex >= hosts.length || hosts[hostIndex] != host || vm.isCreated()) {
+            return false;
+        }
+
+        final int i = hostIndex * FIELDS;
+        return entries[i + PES] == vm.getNumberOfPes() &&
+               entries[i + MIPS] == Double.doubleToLongBits(vm.getMips()) &&
+               entries[i + RAM] == vm.getRam().getCapacity() &&
+               entries[i + BW] == vm.getBw().getCapacity() &&
+               entries[i + STORAGE] == vm.getStorage().getCapacity() &&
+               entries[i + VERSION] == host.getCapacityVersion();
+    }
+
+    /**
+     * Records that a Host was found unsuitable for a given VM.
+     * Just the last failed attempt for each Host is kept.
+     *
+     * @param hostIndex the position of the Host into the list of Hosts being checked
+     * @param host the Host which is unsuitable for the VM
+     * @param vm the VM which couldn't be placed into the Host
+     */
+    public void recordUnsuitable(final int hostIndex, final Host host, final Vm vm) {
+        if (vm.isCreated()) {
+            return;
+        }
+
+        if (hostIndex >= hosts.length) {
+            final int capacity = Math.max(hostIndex + 1, hosts.length * 2);
+            hosts = Arrays.copyOf(hosts, capacity);
+            entries = Arrays.copyOf(entries, capacity * FIELDS);
+        }
+
+        final int i = hostIndex * FIELDS;
+        hosts[hostIndex] = host;
+        entries[i + VERSION] = host.getCapacityVersion();
+        entries[i + PES] = vm.getNumberOfPes();
+        entries[i + MIPS] = Double.doubleToLongBits(vm.getMips());
+        entries[i + RAM] = vm.getRam().getCapacity();
+        entries[i + BW] = vm.getBw().getCapacity();
+        entries[i + STORAGE] = vm.getStorage().getCapacity();
+    }
+
+    /**
+     * Removes all recorded failed attempts.
+     */
+    public void clear() {
+        Arrays.fill(hosts, null);
+    }
+}
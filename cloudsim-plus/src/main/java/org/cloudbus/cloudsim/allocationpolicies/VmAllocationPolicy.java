@@ -190,6 +190,9 @@ public interface VmAllocationPolicy {
 
     /**
      * Sets the minimum number of Hosts to start using parallel search.
+     * Policies that find Hosts through a {@link HostFreeCapacityIndex},
+     * such as {@link VmAllocationPolicySimple} and {@link VmAllocationPolicyBestFit},
+     * always search sequentially and ignore this value.
      * @param hostCountForParallelSearch the value to set (use {@link Integer#MAX_VALUE} to disable parallel search)
      */
     void setHostCountForParallelSearch(int hostCountForParallelSearch);
@@ -58,6 +58,9 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
     /**@see #getHostCountForParallelSearch() */
     private int hostCountForParallelSearch;
 
+    /** @see #getHostFreeCapacityIndex() */
+    private HostFreeCapacityIndex hostFreeCapacityIndex;
+
     /**
      * Creates a VmAllocationPolicy.
      */
@@ -87,6 +90,20 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
         return datacenter;
     }
 
+    /**
+     * Gets an index of the {@link #getHostList() Hosts} according to their free capacity,
+     * which enables finding a Host for a VM without scanning the entire Host list.
+     * The index is created when this method is called for the first time.
+     * @return
+     */
+    protected HostFreeCapacityIndex getHostFreeCapacityIndex() {
+        if (hostFreeCapacityIndex == null) {
+            hostFreeCapacityIndex = new HostFreeCapacityIndex(this::getHostList);
+        }
+
+        return hostFreeCapacityIndex;
+    }
+
     /**
      * Sets the Datacenter associated to the Allocation Policy
      *
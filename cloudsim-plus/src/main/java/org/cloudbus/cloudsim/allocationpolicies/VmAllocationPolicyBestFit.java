@@ -26,18 +26,19 @@ package org.cloudbus.cloudsim.allocationpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.Comparator;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 /**
  * A Best Fit VmAllocationPolicy implementation that chooses, as
  * the host for a VM, the one with the most number of PEs in use,
  * which has enough free PEs for a VM.
  *
- * <p>This is a really computationally complex policy since the worst-case complexity
- * to allocate a Host for a VM is O(N), where N is the number of Hosts.
- * Such an implementation is not appropriate for large scale scenarios.</p>
+ * <p>Hosts are kept into a {@link HostFreeCapacityIndex}, so that they are visited
+ * in the order of their number of free PEs, without sorting or scanning the entire Host list for each VM.
+ * The worst-case complexity to allocate a Host for a VM is still O(N), where N is the number of Hosts,
+ * when just a few Hosts (or none) are suitable for the VM.
+ * Since the index is walked sequentially, this policy never searches Hosts in parallel,
+ * so {@link #setHostCountForParallelSearch(int)} has no effect on it.</p>
  *
  * <p><b>NOTE: This policy doesn't perform optimization of VM allocation by means of VM migration.</b></p>
  *
@@ -55,15 +56,8 @@ public class VmAllocationPolicyBestFit extends VmAllocationPolicyAbstract {
      */
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
-        /* Since it's being used the min operation, the active comparator must be reversed so that
-         * we get active hosts with minimum number of free PEs. */
-        final Comparator<Host> activeComparator = Comparator.comparing(Host::isActive).reversed();
-        final Comparator<Host> comparator = activeComparator.thenComparingLong(Host::getFreePesNumber);
-
-        final Stream<Host> stream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
-        return stream
-                .filter(host -> host.isSuitableForVm(vm))
-                .min(comparator);
+        //Gets active hosts with minimum number of free PEs, then inactive ones
+        return getHostFreeCapacityIndex().findHostWithLeastFreePes(vm, host -> host.isSuitableForVm(vm));
     }
 
 }
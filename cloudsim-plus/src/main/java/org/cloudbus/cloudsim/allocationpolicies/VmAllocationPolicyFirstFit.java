@@ -1,5 +1,8 @@
 package org.cloudbus.cloudsim.allocationpolicies;
 
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
+import org.cloudbus.cloudsim.core.Checkpointable;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
@@ -30,28 +33,22 @@ import java.util.Optional;
  * @see VmAllocationPolicyBestFit
  * @see VmAllocationPolicySimple
  */
-public class VmAllocationPolicyFirstFit extends VmAllocationPolicyAbstract implements VmAllocationPolicy {
+public class VmAllocationPolicyFirstFit extends VmAllocationPolicyAbstract implements VmAllocationPolicy, Checkpointable {
     /** @see #getLastHostIndex() */
     private int lastHostIndex;
 
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
         final List<Host> hostList = getHostList();
-        /* The for loop just defines the maximum number of Hosts to try.
-         * When a suitable Host is found, the method returns immediately. */
-        final int maxTries = hostList.size();
-        for (int i = 0; i < maxTries; i++) {
-            final Host host = hostList.get(lastHostIndex);
-            if (host.isSuitableForVm(vm)) {
-                return Optional.of(host);
-            }
-
-            /* If it gets here, the previous Host doesn't have capacity to place the VM.
-             * Then, moves to the next Host.*/
-            incLastHostIndex();
+        /* Searches from the last Host to the end of the list, then from the beginning.
+         * Hosts which certainly don't have capacity to place the VM are skipped by the index. */
+        final int i = getHostFreeCapacityIndex().findFirst(lastHostIndex, vm, position -> hostList.get(position).isSuitableForVm(vm));
+        if (i < 0) {
+            return Optional.empty();
         }
 
-        return Optional.empty();
+        lastHostIndex = i;
+        return Optional.of(hostList.get(i));
     }
 
     /**
@@ -67,4 +64,14 @@ public class VmAllocationPolicyFirstFit extends VmAllocationPolicyAbstract imple
     protected void incLastHostIndex() {
         lastHostIndex = ++lastHostIndex % getHostList().size();
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeInt(lastHostIndex);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        lastHostIndex = reader.readInt();
+    }
 }
@@ -1,5 +1,8 @@
 package org.cloudbus.cloudsim.allocationpolicies;
 
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
+import org.cloudbus.cloudsim.core.Checkpointable;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
@@ -29,7 +32,7 @@ import java.util.Optional;
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 4.4.2
  */
-public class VmAllocationPolicyRoundRobin extends VmAllocationPolicyAbstract implements VmAllocationPolicy {
+public class VmAllocationPolicyRoundRobin extends VmAllocationPolicyAbstract implements VmAllocationPolicy, Checkpointable {
     /**
      * The index of the last host used to place a VM.
      */
@@ -38,18 +41,25 @@ public class VmAllocationPolicyRoundRobin extends VmAllocationPolicyAbstract imp
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
         final List<Host> hostList = getHostList();
-        /* The for loop just defines the maximum number of Hosts to try.
-         * When a suitable Host is found, the method returns immediately. */
-        final int maxTries = hostList.size();
-        for (int i = 0; i < maxTries; i++) {
-            final Host host = hostList.get(lastHostIndex);
-            //Different from the FirstFit policy, it always increments the host index.
-            lastHostIndex = ++lastHostIndex % hostList.size();
-            if (host.isSuitableForVm(vm)) {
-                return Optional.of(host);
-            }
+        /* Searches from the last Host to the end of the list, then from the beginning.
+         * Hosts which certainly don't have capacity to place the VM are skipped by the index. */
+        final int i = getHostFreeCapacityIndex().findFirst(lastHostIndex, vm, position -> hostList.get(position).isSuitableForVm(vm));
+        if (i < 0) {
+            return Optional.empty();
         }
 
-        return Optional.empty();
+        //Different from the FirstFit policy, it always moves to the host after the selected one.
+        lastHostIndex = (i + 1) % hostList.size();
+        return Optional.of(hostList.get(i));
+    }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeInt(lastHostIndex);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        lastHostIndex = reader.readInt();
     }
 }
@@ -10,20 +10,21 @@ package org.cloudbus.cloudsim.allocationpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 /**
  * A VmAllocationPolicy implementation that chooses, as
  * the host for a VM, that one with the fewest PEs in use.
  * <b>It is therefore a Worst Fit policy</b>, allocating each VM into the host with most available PEs.
  *
- * <p>This is a really computationally complex policy since the worst-case complexity
- * to allocate a Host for a VM is O(N), where N is the number of Hosts.
- * Such an implementation is not appropriate for large scale scenarios.</p>
+ * <p>Hosts are kept into a {@link HostFreeCapacityIndex}, so that they are visited
+ * in the order of their number of free PEs, without sorting or scanning the entire Host list for each VM.
+ * The worst-case complexity to allocate a Host for a VM is still O(N), where N is the number of Hosts,
+ * when just a few Hosts (or none) are suitable for the VM.
+ * Since the index is walked sequentially, this policy never searches Hosts in parallel,
+ * so {@link #setHostCountForParallelSearch(int)} has no effect on it.</p>
  *
  * <p><b>NOTE: This policy doesn't perform optimization of VM allocation by means of VM migration.</b></p>
  *
@@ -60,13 +61,8 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
      */
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
-        final Comparator<Host> comparator = Comparator.comparing(Host::isActive)
-                                                      .thenComparingLong(Host::getFreePesNumber);
-
-        final Stream<Host> stream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
-        return stream
-                .filter(host -> host.isSuitableForVm(vm))
-                .max(comparator);
+        //Gets active hosts with maximum number of free PEs, then inactive ones
+        return getHostFreeCapacityIndex().findHostWithMostFreePes(vm, host -> host.isSuitableForVm(vm));
     }
 
 }
@@ -0,0 +1,105 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A lightweight copy of the capacity of Hosts while a migration plan is being computed,
+ * which keeps the resources reserved for the VMs planned to be migrated into each Host.
+ * That way, VMs aren't temporarily created into the target Hosts to check if such Hosts
+ * can receive other VMs, which would change the actual Hosts and VMs
+ * and require their state to be restored afterwards.
+ *
+ * <p>Just Hosts having reserved resources are kept into the shadow.
+ * For the other ones, the actual Host capacity is used.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class HostCapacityShadow {
+    /** The indexes of each resource into the arrays of {@link #reserved} resources. */
+    private static final int PES = 0;
+    private static final int MIPS = 1;
+    private static final int RAM = 2;
+    private static final int BW = 3;
+    private static final int STORAGE = 4;
+
+    /** The resources reserved into each Host for the VMs planned to be migrated into it. */
+    private final Map<Host, double[]> reserved;
+
+    public HostCapacityShadow() {
+        this.reserved = new HashMap<>();
+    }
+
+    /**
+     * Checks if a Host has enough resources for a VM, considering the resources
+     * already reserved for other VMs.
+     * @param host the Host to check
+     * @param vm the VM to check if it can be placed into the Host
+     * @return true if the Host has enough resources, false otherwise
+     */
+    public boolean isSuitableForVm(final Host host, final Vm vm) {
+        if (!host.isSuitableForVm(vm)) {
+            return false;
+        }
+
+        final double[] resources = reserved.get(host);
+        if (resources == null) {
+            return true;
+        }
+
+        //Time-shared schedulers may place VMs into busy PEs
+        final boolean requiresFreePes = host.getVmScheduler() instanceof VmSchedulerSpaceShared;
+        return (!requiresFreePes || host.getFreePesNumber() - resources[PES] >= vm.getNumberOfPes()) &&
+               host.getRam().getAvailableResource() - resources[RAM] >= vm.getRam().getCapacity() &&
+               host.getBw().getAvailableResource() - resources[BW] >= vm.getBw().getCapacity() &&
+               host.getStorage().getAvailableResource() - resources[STORAGE] >= vm.getStorage().getCapacity();
+    }
+
+    /**
+     * Reserves the resources of a Host for a VM planned to be migrated into it.
+     * @param host the target Host
+     * @param vm the VM to be migrated
+     */
+    public void reserve(final Host host, final Vm vm) {
+        addReservation(host, vm, 1);
+    }
+
+    /**
+     * Releases the resources of a Host reserved for a VM which isn't planned to be migrated into it anymore.
+     * @param host the target Host
+     * @param vm the VM which was planned to be migrated
+     */
+    public void release(final Host host, final Vm vm) {
+        addReservation(host, vm, -1);
+    }
+
+    private void addReservation(final Host host, final Vm vm, final int signal) {
+        final double[] resources = reserved.computeIfAbsent(host, key -> new double[5]);
+        resources[PES] += signal * vm.getNumberOfPes();
+        resources[MIPS] += signal * vm.getCurrentRequestedTotalMips();
+        resources[RAM] += signal * vm.getRam().getCapacity();
+        resources[BW] += signal * vm.getBw().getCapacity();
+        resources[STORAGE] += signal * vm.getStorage().getCapacity();
+    }
+
+    /**
+     * Gets the total MIPS reserved into a Host for VMs planned to be migrated into it.
+     * @param host the Host to get the reserved MIPS
+     * @return
+     */
+    public double getReservedMips(final Host host) {
+        final double[] resources = reserved.get(host);
+        return resources == null ? 0 : resources[MIPS];
+    }
+
+    /**
+     * Removes all reservations.
+     */
+    public void clear() {
+        reserved.clear();
+    }
+}
@@ -0,0 +1,171 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.HostEventInfo;
+import org.cloudsimplus.listeners.HostUpdatesVmsProcessingEventInfo;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * An index of the Hosts of a {@link VmAllocationPolicyMigrationAbstract}, keeping them into buckets
+ * according to their {@link Load} state, which is defined by the utilization thresholds of the policy.
+ * That way, the policy doesn't need to check every Host to find the overloaded and underloaded ones
+ * each time it looks for VMs to migrate.
+ *
+ * <p>The state of a Host is just evaluated again when its
+ * {@link Host#addOnUpdateProcessingListener(EventListener) processing is updated},
+ * its {@link Host#addOnCapacityChangeListener(EventListener) capacity changes}
+ * or a VM is allocated into or deallocated from it by the policy.
+ * Since the Datacenter updates the processing of its Hosts just before requesting the policy
+ * to compute VM migrations, the states are up-to-date at that time.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class HostLoadIndex {
+    /**
+     * The load states of a Host.
+     */
+    public enum Load {
+        /** The Host is powered off or failed. */
+        INACTIVE,
+
+        /** The Host is neither underloaded nor overloaded. */
+        NORMAL,
+
+        UNDERLOADED,
+        OVERLOADED
+    }
+
+    private final VmAllocationPolicyMigrationAbstract policy;
+    private final Supplier<List<Host>> hostListSupplier;
+
+    /** The last evaluated state of each indexed Host. */
+    private final Map<Host, Load> loads;
+
+    /** The Hosts into each state, in the order they entered it. */
+    private final Map<Load, Set<Host>> buckets;
+
+    private final Map<Host, EventListener<HostUpdatesVmsProcessingEventInfo>> processingListeners;
+    private final Map<Host, EventListener<HostEventInfo>> capacityListeners;
+
+    /** @see #getEvaluationsNumber() */
+    private long evaluationsNumber;
+
+    /**
+     * Creates an index for the Hosts of a given policy.
+     * @param policy the policy that defines when a Host is overloaded or underloaded
+     * @param hostListSupplier a {@link Supplier} for the Host list to index,
+     *                         which is got every time the index is queried, so that new Hosts are indexed
+     */
+    HostLoadIndex(final VmAllocationPolicyMigrationAbstract policy, final Supplier<List<Host>> hostListSupplier) {
+        this.policy = Objects.requireNonNull(policy);
+        this.hostListSupplier = Objects.requireNonNull(hostListSupplier);
+        this.loads = new HashMap<>();
+        this.buckets = new EnumMap<>(Load.class);
+        for (final Load load : Load.values()) {
+            buckets.put(load, new LinkedHashSet<>());
+        }
+
+        this.processingListeners = new HashMap<>();
+        this.capacityListeners = new HashMap<>();
+    }
+
+    /**
+     * Gets a <b>read-only</b> set of the Hosts currently into a given state.
+     * @param load the state to get the Hosts
+     * @return
+     */
+    public Set<Host> getHosts(final Load load) {
+        sync();
+        return Collections.unmodifiableSet(buckets.get(load));
+    }
+
+    /**
+     * Evaluates again the state of a Host and moves it to the bucket of the new state,
+     * if it has changed.
+     * It must be called when a policy changes a Host in a way that isn't notified by the Host listeners,
+     * such as powering the Host on or off.
+     * @param host the Host to update
+     */
+    public void update(final Host host) {
+        if (!loads.containsKey(host)) {
+            return;
+        }
+
+        final Load load = evaluate(host);
+        final Load previous = loads.put(host, load);
+        if (previous != load) {
+            buckets.get(previous).remove(host);
+            buckets.get(load).add(host);
+        }
+    }
+
+    /**
+     * Evaluates again the state of all Hosts,
+     * which is required when the utilization thresholds of the policy are changed.
+     */
+    void updateAll() {
+        new ArrayList<>(loads.keySet()).forEach(this::update);
+    }
+
+    private Load evaluate(final Host host) {
+        evaluationsNumber++;
+        if (!host.isActive() || host.isFailed()) {
+            return Load.INACTIVE;
+        }
+
+        if (policy.isHostOverloaded(host)) {
+            return Load.OVERLOADED;
+        }
+
+        return policy.isHostUnderloaded(host) ? Load.UNDERLOADED : Load.NORMAL;
+    }
+
+    /**
+     * Indexes the Hosts added to the list and removes the ones which aren't there anymore.
+     */
+    private void sync() {
+        final List<Host> hostList = hostListSupplier.get();
+        if (hostList.size() == loads.size() && (hostList.isEmpty() || loads.containsKey(hostList.get(hostList.size() - 1)))) {
+            return;
+        }
+
+        final Set<Host> removedHosts = new HashSet<>(loads.keySet());
+        for (final Host host : hostList) {
+            if (!removedHosts.remove(host)) {
+                add(host);
+            }
+        }
+
+        removedHosts.forEach(this::remove);
+    }
+
+    private void add(final Host host) {
+        final EventListener<HostUpdatesVmsProcessingEventInfo> processingListener = info -> update(info.getHost());
+        final EventListener<HostEventInfo> capacityListener = info -> update(info.getHost());
+        processingListeners.put(host, processingListener);
+        capacityListeners.put(host, capacityListener);
+        host.addOnUpdateProcessingListener(processingListener);
+        host.addOnCapacityChangeListener(capacityListener);
+
+        final Load load = evaluate(host);
+        loads.put(host, load);
+        buckets.get(load).add(host);
+    }
+
+    private void remove(final Host host) {
+        host.removeOnUpdateProcessingListener(processingListeners.remove(host));
+        host.removeOnCapacityChangeListener(capacityListeners.remove(host));
+        buckets.get(loads.remove(host)).remove(host);
+    }
+
+    /**
+     * Gets the number of times the state of any Host was evaluated since the index was created.
+     * @return
+     */
+    long getEvaluationsNumber() {
+        return evaluationsNumber;
+    }
+}
@@ -10,14 +10,16 @@ package org.cloudbus.cloudsim.allocationpolicies.migration;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicyAbstract;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSuitability;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
 import org.cloudbus.cloudsim.vms.Vm;
-import org.cloudbus.cloudsim.vms.VmSimple;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -52,16 +54,23 @@ import static java.util.stream.Collectors.toSet;
 public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPolicyAbstract implements VmAllocationPolicyMigration {
     public static final double DEF_UNDER_UTILIZATION_THRESHOLD = 0.35;
 
+    /** @see #getPartitionsNumber() */
+    private static final int PARTITIONS_PER_THREAD = 4;
+
     /** @see #getUnderUtilizationThreshold() */
     private double underUtilizationThreshold;
 
     /** @see #getVmSelectionPolicy() */
     private VmSelectionPolicy vmSelectionPolicy;
 
+    /** @see #getHostLoadIndex() */
+    private HostLoadIndex hostLoadIndex;
+
     /**
-     * A map between a VM and the host where it is placed.
+     * The resources reserved into target Hosts for the VMs planned to be migrated,
+     * while the migration map is being computed.
      */
-    private final Map<Vm, Host> savedAllocation;
+    private final HostCapacityShadow capacityShadow;
 
     /** @see #areHostsUnderloaded() */
     private boolean hostsUnderloaded;
@@ -95,26 +104,80 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     {
         super(findHostForVmFunction);
         this.underUtilizationThreshold = DEF_UNDER_UTILIZATION_THRESHOLD;
-        this.savedAllocation = new HashMap<>();
+        this.capacityShadow = new HostCapacityShadow();
         setVmSelectionPolicy(vmSelectionPolicy);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Just the Hosts which were found overloaded or underloaded when their
+     * state was last evaluated by the {@link #getHostLoadIndex() Host load index} are checked.
+     * The migrations are planned by reserving resources into a {@link HostCapacityShadow},
+     * so that the actual Hosts and VMs aren't changed while the map is computed.</p>
+     *
+     * @param vmList {@inheritDoc}
+     * @return {@inheritDoc}
+     */
     @Override
     public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
-        //@TODO See https://github.com/manoelcampos/cloudsim-plus/issues/94
         final Set<Host> overloadedHosts = getOverloadedHosts();
         this.hostsOverloaded = !overloadedHosts.isEmpty();
         printOverUtilizedHosts(overloadedHosts);
-        saveAllocation();
 
-        final Map<Vm, Host> migrationMap = getMigrationMapFromOverloadedHosts(overloadedHosts);
-        updateMigrationMapFromUnderloadedHosts(overloadedHosts, migrationMap);
-        if(migrationMap.isEmpty()){
+        capacityShadow.clear();
+        try {
+            final Map<Vm, Host> migrationMap = getMigrationMapFromOverloadedHosts(overloadedHosts);
+            updateMigrationMapFromUnderloadedHosts(overloadedHosts, migrationMap);
             return migrationMap;
+        } finally {
+            capacityShadow.clear();
         }
+    }
 
-        restoreAllocation();
-        return migrationMap;
+    @Override
+    public HostSuitability allocateHostForVm(final Vm vm, final Host host) {
+        final HostSuitability suitability = super.allocateHostForVm(vm, host);
+        updateHostLoad(host);
+        return suitability;
+    }
+
+    @Override
+    public void deallocateHostForVm(final Vm vm) {
+        final Host host = vm.getHost();
+        super.deallocateHostForVm(vm);
+        updateHostLoad(host);
+    }
+
+    /**
+     * Gets an index of the {@link #getHostList() Hosts} according to their load state
+     * (overloaded, underloaded or neither), which enables finding the Hosts whose VMs
+     * have to be migrated without checking every Host.
+     * The index is created when this method is called for the first time.
+     * @return
+     */
+    protected HostLoadIndex getHostLoadIndex() {
+        if (hostLoadIndex == null) {
+            hostLoadIndex = new HostLoadIndex(this, this::getHostList);
+        }
+
+        return hostLoadIndex;
+    }
+
+    private void updateHostLoad(final Host host) {
+        if (hostLoadIndex != null) {
+            hostLoadIndex.update(host);
+        }
+    }
+
+    /**
+     * Evaluates again the load state of all Hosts,
+     * which must be called when the utilization thresholds change.
+     */
+    void updateHostLoads() {
+        if (hostLoadIndex != null) {
+            hostLoadIndex.updateAll();
+        }
     }
 
     /**
@@ -133,31 +196,23 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         final Set<Host> ignoredSourceHosts = getIgnoredHosts(overloadedHosts, switchedOffHosts);
 
         /*
-        During the computation of the new placement for VMs,
-        the current VM placement is changed temporarily, before the actual migration of VMs.
-        If VMs are being migrated from overloaded Hosts, they in fact already were removed
-        from such Hosts and moved to destination ones.
-        The target Host that maybe was shut down, might become underloaded too.
+        The Hosts selected to receive VMs from overloaded Hosts have resources
+        reserved for such VMs, which will be migrated to them.
+        A target Host that maybe was shut down might look underloaded,
+        since the VMs aren't placed into it yet.
         This way, such Hosts are added to be ignored when
         looking for underloaded Hosts.
-        See https://github.com/manoelcampos/cloudsim-plus/issues/94
          */
         ignoredSourceHosts.addAll(migrationMap.values());
 
         // overloaded + underloaded hosts
         final Set<Host> ignoredTargetHosts = getIgnoredHosts(overloadedHosts, switchedOffHosts);
 
-        final int numberOfHosts = getHostList().size();
-
         this.hostsUnderloaded = false;
-        while (true) {
-            if (numberOfHosts == ignoredSourceHosts.size()) {
-                break;
-            }
-
-            final Host underloadedHost = getUnderloadedHost(ignoredSourceHosts);
-            if (underloadedHost == Host.NULL) {
-                break;
+        for (final Host underloadedHost : getUnderloadedHosts(ignoredSourceHosts)) {
+            //The Host may have been selected as target for VMs from a previous underloaded Host
+            if (ignoredSourceHosts.contains(underloadedHost)) {
+                continue;
             }
             this.hostsUnderloaded = true;
 
@@ -238,21 +293,13 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * Checks if a host will be over utilized after placing of a candidate VM.
      *
      * @param host the host to verify
-     * @param vm the candidate vm
+     * @param vmRequestedMips the total MIPS currently requested by the candidate VM
      * @return true, if the host will be over utilized after VM placement;
      *         false otherwise
      */
-    private boolean isNotHostOverloadedAfterAllocation(final Host host, final Vm vm) {
-        final Vm tempVm = new VmSimple(vm);
-
-        if (!host.createTemporaryVm(tempVm).fully()) {
-            return false;
-        }
-
-        final double usagePercent = getHostCpuPercentRequested(host);
-        final boolean notOverloadedAfterAllocation = !isHostOverloaded(host, usagePercent);
-        host.destroyTemporaryVm(tempVm);
-        return notOverloadedAfterAllocation;
+    private boolean isNotHostOverloadedAfterAllocation(final Host host, final double vmRequestedMips) {
+        final double requestedMips = getHostTotalRequestedMips(host) + capacityShadow.getReservedMips(host) + vmRequestedMips;
+        return !isHostOverloaded(host, requestedMips / host.getTotalMipsCapacity());
     }
 
     /**
@@ -273,16 +320,13 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @param cpuUsagePercent the Host's CPU utilization percent. The values may be:
      *                        <ul>
      *                          <li>the current CPU utilization if you want to check if the Host is overloaded right now;</li>
-     *                          <li>the requested CPU utilization after temporarily placing a VM into the Host
-     *                          just to check if it supports that VM without being overloaded.
-     *                          In this case, if the Host doesn't support the already placed temporary VM,
-     *                          the method will return true to indicate the Host will be overloaded
-     *                          if the VM is actually placed into it.
-     *                          </li>
+     *                          <li>the requested CPU utilization after supposedly placing a VM into the Host
+     *                          just to check if it supports that VM without being overloaded;</li>
+     *                          <li>the current CPU utilization without the VMs selected to be migrated out.</li>
      *                        </ul>
      * @return true if the Host is overloaded, false otherwise
      */
-    private boolean isHostOverloaded(final Host host, final double cpuUsagePercent){
+    protected boolean isHostOverloaded(final Host host, final double cpuUsagePercent){
         return cpuUsagePercent > getOverUtilizationThreshold(host);
     }
 
@@ -331,6 +375,13 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * <p>This method performs the basic filtering and delegates additional ones
      * and the final selection of the Host to other method.</p>
      *
+     * <p>If the {@link #isParallelHostSearchEnabled() parallel search is enabled},
+     * the Host list is split into partitions which are searched in parallel,
+     * each one selecting its own candidate Host.
+     * Then, the candidates are merged by selecting one of them in the order of the partitions,
+     * so that the selected Host is the same one the sequential search would select,
+     * regardless of the number of partitions and the order they finish.</p>
+     *
      * @param vm the VM
      * @param excludedHosts the excluded hosts
      * @param predicate an additional {@link Predicate} to be used to filter
@@ -339,20 +390,63 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @see #findHostForVmInternal(Vm, Stream)
      */
     private Optional<Host> findHostForVm(final Vm vm, final Set<? extends Host> excludedHosts, final Predicate<Host> predicate) {
-        final Stream<Host> stream = this.getHostList().stream()
+        final List<Host> hostList = getHostList();
+        final double vmRequestedMips = vm.getCurrentRequestedTotalMips();
+        if (!isParallelHostSearchEnabled() || hostList.size() < 2) {
+            return findHostForVmInternal(vm, filterHosts(hostList, vm, vmRequestedMips, excludedHosts, predicate));
+        }
+
+        final int partitions = Math.min(getPartitionsNumber(), hostList.size());
+        final int partitionSize = (hostList.size() + partitions - 1) / partitions;
+        /*The candidates are collected in the order of the partitions (not in the order they finish),
+        * so that the merge is deterministic.
+        * The partitions just read Hosts and VMs: the MIPS requested by the VM is computed above,
+        * in the simulation thread, and the MipsShare objects of VMs are created when set,
+        * not when read (see VmMipsTable), so that no state is written by multiple threads.*/
+        final List<Host> candidates = IntStream.range(0, partitions).parallel()
+            .mapToObj(partition -> {
+                final int from = partition * partitionSize;
+                final List<Host> partitionHosts = hostList.subList(Math.min(from, hostList.size()), Math.min(from + partitionSize, hostList.size()));
+                return findHostForVmInternal(vm, filterHosts(partitionHosts, vm, vmRequestedMips, excludedHosts, predicate));
+            })
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .collect(toList());
+
+        return findHostForVmInternal(vm, candidates.stream());
+    }
+
+    private Stream<Host> filterHosts(
+        final List<Host> hostList, final Vm vm, final double vmRequestedMips,
+        final Set<? extends Host> excludedHosts, final Predicate<Host> predicate)
+    {
+        return hostList.stream()
             .filter(host -> !excludedHosts.contains(host))
-            .filter(host -> host.isSuitableForVm(vm))
-            .filter(host -> isNotHostOverloadedAfterAllocation(host, vm))
+            .filter(host -> capacityShadow.isSuitableForVm(host, vm))
+            .filter(host -> isNotHostOverloadedAfterAllocation(host, vmRequestedMips))
             .filter(predicate);
+    }
 
-        return findHostForVmInternal(vm, stream);
+    /**
+     * Gets the number of partitions the Host list is split into when the
+     * {@link #isParallelHostSearchEnabled() parallel search} is enabled.
+     * There are some partitions for each thread, so that threads finishing
+     * their partitions earlier can search the remaining ones.
+     * @return
+     */
+    private static int getPartitionsNumber() {
+        return PARTITIONS_PER_THREAD * Math.max(1, ForkJoinPool.getCommonPoolParallelism());
     }
 
     /**
      * Applies additional filters to the Hosts Stream and performs the actual Host selection.
      * This method is a Stream's final operation, that it, it closes the Stream and returns an {@link Optional} value.
      *
-     * <p>This method can be overridden by sub-classes to change the method used to select the Host for the given VM.</p>
+     * <p>This method can be overridden by sub-classes to change the method used to select the Host for the given VM.
+     * When the {@link #isParallelHostSearchEnabled() parallel search} is enabled, it's called for each partition
+     * of the Host list and then for the Hosts selected into the partitions.
+     * Therefore, it must select a Host by a criterion that doesn't depend on which other Hosts are in the Stream
+     * (such as the Host with the minimum or maximum value of some metric), and it must not change any Host.</p>
      *
      * @param vm the VM to find a Host to be placed into
      * @param hostStream a {@link Stream} containing the Hosts after passing the basic filtering
@@ -432,7 +526,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         sortByCpuUtilization(vmsToMigrate, getDatacenter().getSimulation().clock());
         for (final Vm vm : vmsToMigrate) {
             //try to find a target Host to place a VM from an underloaded Host that is not underloaded too
-            final Optional<Host> optional = findHostForVm(vm, excludedHosts, host -> !isHostUnderloaded(host));
+            final Optional<Host> optional = findHostForVm(vm, excludedHosts, host -> !isHostUnderloadedAfterReservations(host));
             if (!optional.isPresent()) {
                 LOGGER.warn(
                     "{}: VmAllocationPolicy: A new Host, which isn't also underloaded or won't be overloaded, couldn't be found to migrate {}. Migration of VMs from the underloaded {} cancelled.",
@@ -445,6 +539,20 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         return migrationMap;
     }
 
+    /**
+     * Checks if a Host is underloaded, considering the MIPS reserved for VMs planned to be migrated into it.
+     * @param host the Host to check
+     * @return true if the Host is underloaded, false otherwise
+     */
+    private boolean isHostUnderloadedAfterReservations(final Host host) {
+        final double reservedMips = capacityShadow.getReservedMips(host);
+        if (reservedMips == 0) {
+            return isHostUnderloaded(host);
+        }
+
+        return (getHostTotalRequestedMips(host) + reservedMips) / host.getTotalMipsCapacity() < getUnderUtilizationThreshold();
+    }
+
     /**
      * Sort a given list of VMs by descending order of CPU utilization.
      *
@@ -458,13 +566,13 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
 
     private <T extends Host> void addVmToMigrationMap(final Map<Vm, T> migrationMap, final Vm vm, final T targetHost) {
         /*
-        Temporarily creates the VM into the target Host so that
+        Reserves the VM resources into the target Host so that
         when the next VM is got to be migrated, if the same Host
         is selected as destination, the resource to be
         used by the previous VM will be considered when
         assessing the suitability of such a Host for the next VM.
          */
-        targetHost.createTemporaryVm(vm);
+        capacityShadow.reserve(targetHost, vm);
         migrationMap.put(vm, targetHost);
     }
 
@@ -484,24 +592,25 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     }
 
     private List<Vm> getVmsToMigrateFromOverloadedHost(final Host host) {
-        /*
-        @TODO The method doesn't just gets a list of VMs to migrate from an overloaded Host,
-        but it temporarily destroys VMs on such Hosts.
-        See https://github.com/manoelcampos/cloudsim-plus/issues/94
-        */
         final List<Vm> vmsToMigrate = new LinkedList<>();
-        while (true) {
-            final Vm vm = getVmSelectionPolicy().getVmToMigrate(host);
-            if (Vm.NULL == vm) {
-                break;
-            }
-            vmsToMigrate.add(vm);
-            /*Temporarily destroys the selected VM into the overloaded Host so that
-            the loop gets VMs from such a Host until it is not overloaded anymore.*/
-            host.destroyTemporaryVm(vm);
-            if (!isHostOverloaded(host)) {
-                break;
+        double remainingMips = host.getCpuMipsUtilization();
+        try {
+            while (true) {
+                final Vm vm = getVmSelectionPolicy().getVmToMigrate(host);
+                if (Vm.NULL == vm) {
+                    break;
+                }
+                vmsToMigrate.add(vm);
+                /*Temporarily marks the selected VM as in migration, so that it isn't selected again,
+                and gets VMs from the overloaded Host until it is not overloaded anymore without the selected ones.*/
+                vm.setInMigration(true);
+                remainingMips -= vm.getTotalCpuMipsUtilization();
+                if (!isHostOverloaded(host, remainingMips / host.getTotalMipsCapacity())) {
+                    break;
+                }
             }
+        } finally {
+            vmsToMigrate.forEach(vm -> vm.setInMigration(false));
         }
 
         return vmsToMigrate;
@@ -523,13 +632,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @return the switched off hosts
      */
     protected List<Host> getSwitchedOffHosts() {
-        return this.getHostList().stream()
-            .filter(this::isShutdownOrFailed)
-            .collect(toList());
-    }
-
-    private boolean isShutdownOrFailed(final Host host) {
-        return !host.isActive() || host.isFailed();
+        return new ArrayList<>(getHostLoadIndex().getHosts(HostLoadIndex.Load.INACTIVE));
     }
 
     /**
@@ -542,14 +645,14 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @return the over utilized hosts
      */
     private Set<Host> getOverloadedHosts() {
-        return this.getHostList().stream()
+        return getHostLoadIndex().getHosts(HostLoadIndex.Load.OVERLOADED).stream()
             .filter(this::isHostOverloaded)
             .filter(host -> host.getVmsMigratingOut().isEmpty())
             .collect(toSet());
     }
 
     /**
-     * Gets the most underloaded Host.
+     * Gets the underloaded Hosts, sorted from the most underloaded one.
      * If a Host is underloaded but it has VMs migrating in,
      * then it's not included in the returned List
      * because the VMs to be migrated to move the Host from
@@ -558,18 +661,18 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * done anymore. It just has to wait the VMs to finish
      * the migration.
      *
-     * @param excludedHosts the Hosts that have to be ignored when looking for the under utilized Host
-     * @return the most under utilized host or {@link Host#NULL} if no Host is found
+     * @param excludedHosts the Hosts that have to be ignored when looking for the under utilized Hosts
+     * @return the under utilized Hosts
      */
-    private Host getUnderloadedHost(final Set<? extends Host> excludedHosts) {
-        return this.getHostList().stream()
+    private List<Host> getUnderloadedHosts(final Set<? extends Host> excludedHosts) {
+        return getHostLoadIndex().getHosts(HostLoadIndex.Load.UNDERLOADED).stream()
             .filter(host -> !excludedHosts.contains(host))
             .filter(Host::isActive)
             .filter(this::isHostUnderloaded)
             .filter(host -> host.getVmsMigratingIn().isEmpty())
             .filter(this::notAllVmsAreMigratingOut)
-            .min(comparingDouble(Host::getCpuPercentUtilization))
-            .orElse(Host.NULL);
+            .sorted(comparingDouble(Host::getCpuPercentUtilization))
+            .collect(toList());
     }
 
     private double getHostCpuPercentRequested(final Host host) {
@@ -599,51 +702,6 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         return host.getVmList().stream().anyMatch(vm -> !vm.isInMigration());
     }
 
-    /**
-     * Saves the current map between a VM and the host where it is placed.
-     *
-     * @see #savedAllocation
-     */
-    private void saveAllocation() {
-        savedAllocation.clear();
-        for (final Host host : getHostList()) {
-            for (final Vm vm : host.getVmList()) {
-                /* TODO: this VM loop has a quadratic wost-case complexity (when
-                    all Vms already in the VM list are migrating into this Host).
-                *  Instead of looping over the vmsMigratingIn list for every VM,
-                *  we could add a Host migratingIn attribute to the Vm.
-                * Then, for every VM on the Host, we check this VM attribute
-                * to see if the VM is migrating into the Host. */
-                if (!host.getVmsMigratingIn().contains(vm)) {
-                    savedAllocation.put(vm, host);
-                }
-            }
-        }
-    }
-
-    /**
-     * Restore VM allocation from the allocation history.
-     *  TODO: The allocation map only needs to be restored because
-     *  VMs are destroyed in order to assess a new VM placement.
-     *  After fixing this issue, there will be no need to restore VM mapping.
-     *  https://github.com/manoelcampos/cloudsim-plus/issues/94
-     *
-     * @see #savedAllocation
-     */
-    private void restoreAllocation() {
-        for (final Host host : getHostList()) {
-            host.destroyAllVms();
-            host.reallocateMigratingInVms();
-        }
-
-        for (final Vm vm : savedAllocation.keySet()) {
-            final Host host = savedAllocation.get(vm);
-            if (host.createTemporaryVm(vm).fully())
-                vm.setCreated(true);
-            else LOGGER.error("VmAllocationPolicy: Couldn't restore {} on {}", vm, host);
-        }
-    }
-
     /**
      * Gets the power consumption of a host after the supposed placement of a candidate VM.
      * The VM is not in fact placed at the host.
@@ -675,7 +733,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      */
     protected double getMaxUtilizationAfterAllocation(final Host host, final Vm vm) {
         final double requestedTotalMips = vm.getCurrentRequestedTotalMips();
-        final double hostUtilizationMips = getUtilizationOfCpuMips(host);
+        final double hostUtilizationMips = getUtilizationOfCpuMips(host) + capacityShadow.getReservedMips(host);
         final double hostPotentialMipsUse = hostUtilizationMips + requestedTotalMips;
         return hostPotentialMipsUse / host.getTotalMipsCapacity();
     }
@@ -736,6 +794,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         }
 
         this.underUtilizationThreshold = underUtilizationThreshold;
+        updateHostLoads();
     }
 
     @Override
@@ -69,6 +69,24 @@ public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit e
         return super.isHostOverloaded(host);
     }
 
+    /**
+     * {@inheritDoc}
+     * If the threshold can't be computed, the threshold of the {@link #getFallbackVmAllocationPolicy() fallback policy} is used.
+     *
+     * @param host {@inheritDoc}
+     * @param cpuUsagePercent {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected boolean isHostOverloaded(final Host host, final double cpuUsagePercent) {
+        final double threshold = getOverUtilizationThreshold(host);
+        if(threshold == Double.MAX_VALUE) {
+            return cpuUsagePercent > getFallbackVmAllocationPolicy().getOverUtilizationThreshold(host);
+        }
+
+        return cpuUsagePercent > threshold;
+    }
+
     /**
      * Gets a dynamically computed Host over utilization threshold based on the
      * Host CPU utilization history.
@@ -98,6 +98,7 @@ public class VmAllocationPolicyMigrationStaticThreshold extends VmAllocationPoli
         }
 
         this.overUtilizationThreshold = overUtilizationThreshold;
+        updateHostLoads();
     }
 
     /**
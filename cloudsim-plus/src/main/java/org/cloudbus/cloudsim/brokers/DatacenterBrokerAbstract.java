@@ -812,10 +812,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             }
 
             if(isVmIdlenessVerificationRequired((VmSimple)vm)) {
-                getSimulation().send(
-                    new CloudSimEvent(vmDestructionDelayFunction.apply(vm),
-                        vm.getHost().getDatacenter(),
-                        CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING));
+                //Scheduled through the Datacenter, so that it can coalesce the update with its pending ones
+                final Datacenter dc = vm.getHost().getDatacenter();
+                dc.schedule(new CloudSimEvent(vmDestructionDelayFunction.apply(vm), dc, CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING));
                 return this;
             }
         }
@@ -1268,4 +1267,68 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         this.shutdownWhenIdle = shutdownWhenIdle;
         return this;
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeEntityList(datacenterList)
+              .writeVmList(vmWaitingList).writeVmList(vmExecList)
+              .writeVmList(vmCreatedList).writeVmList(vmFailedList)
+              .writeCloudletList(cloudletWaitingList).writeCloudletList(cloudletSubmittedList)
+              .writeCloudletList(cloudletsFinishedList).writeCloudletList(cloudletsCreatedList)
+              .writeVm(lastSelectedVm).writeEntity(lastSelectedDc)
+              .writeVm(lastSubmittedVm).writeCloudlet(lastSubmittedCloudlet)
+              .writeInt(vmCreationRequests).writeInt(vmCreationAcks)
+              .writeBoolean(wereThereWaitingCloudlets).writeBoolean(shutdownRequested);
+
+        //The broker owns its VMs and Cloudlets, so it writes their state
+        final Set<Vm> vms = new LinkedHashSet<>(vmWaitingList);
+        vms.addAll(vmExecList);
+        vms.addAll(vmCreatedList);
+        vms.addAll(vmFailedList);
+        writer.writeVmList(vms);
+        vms.forEach(writer::writeState);
+
+        final Set<Cloudlet> cloudlets = new LinkedHashSet<>(cloudletWaitingList);
+        cloudlets.addAll(cloudletSubmittedList);
+        cloudlets.addAll(cloudletsFinishedList);
+        cloudlets.addAll(cloudletsCreatedList);
+        writer.writeCloudletList(cloudlets);
+        cloudlets.forEach(writer::writeState);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        datacenterList = reader.readEntityList();
+        replaceItems(vmWaitingList, reader.readVmList());
+        replaceItems(vmExecList, reader.readVmList());
+        replaceItems(vmCreatedList, reader.readVmList());
+        replaceItems(vmFailedList, reader.readVmList());
+        replaceItems(cloudletWaitingList, reader.readCloudletList());
+        replaceItems(cloudletSubmittedList, reader.readCloudletList());
+        replaceItems(cloudletsFinishedList, reader.readCloudletList());
+        replaceItems(cloudletsCreatedList, reader.readCloudletList());
+        lastSelectedVm = reader.readVm();
+        lastSelectedDc = reader.readEntity(Datacenter.NULL);
+        lastSubmittedVm = reader.readVm();
+        lastSubmittedCloudlet = reader.readCloudlet();
+        vmCreationRequests = reader.readInt();
+        vmCreationAcks = reader.readInt();
+        wereThereWaitingCloudlets = reader.readBoolean();
+        shutdownRequested = reader.readBoolean();
+
+        for (final Vm vm : reader.readVmList()) {
+            reader.readRequiredState(vm);
+        }
+
+        for (final Cloudlet cloudlet : reader.readCloudletList()) {
+            reader.readRequiredState(cloudlet);
+        }
+    }
+
+    private static <T> void replaceItems(final List<T> list, final List<? extends T> items) {
+        list.clear();
+        list.addAll(items);
+    }
 }
@@ -1,6 +1,8 @@
 package org.cloudbus.cloudsim.brokers;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.vms.Vm;
 
@@ -68,5 +70,15 @@ public class DatacenterBrokerFirstFit extends DatacenterBrokerSimple {
         return Vm.NULL;
     }
 
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeInt(lastVmIndex);
+    }
 
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        lastVmIndex = reader.readInt();
+    }
 }
@@ -8,6 +8,8 @@
 package org.cloudbus.cloudsim.brokers;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.vms.Vm;
@@ -129,4 +131,17 @@ public class DatacenterBrokerSimple extends DatacenterBrokerAbstract {
         lastSelectedVmIndex = ++lastSelectedVmIndex % getVmExecList().size();
         return getVmFromCreatedList(lastSelectedVmIndex);
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeInt(lastSelectedVmIndex).writeInt(lastSelectedDcIndex);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        lastSelectedVmIndex = reader.readInt();
+        lastSelectedDcIndex = reader.readInt();
+    }
 }
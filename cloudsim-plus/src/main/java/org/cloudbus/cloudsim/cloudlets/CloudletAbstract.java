@@ -8,6 +8,8 @@
 package org.cloudbus.cloudsim.cloudlets;
 
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.CustomerEntityAbstract;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
@@ -896,4 +898,50 @@ public abstract class CloudletAbstract extends CustomerEntityAbstract implements
         if (getId() != that.getId()) return false;
         return getBroker().equals(that.getBroker());
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeLong(length).writeEnum(status).writeBoolean(returnedToBroker)
+              .writeDouble(execStartTime).writeDouble(finishTime)
+              .writeDouble(submissionDelay).writeDouble(accumulatedBwCost)
+              .writeVm(vm).writeInt(lastExecutedDatacenterIdx);
+
+        writer.writeInt(datacenterExecutionList.size());
+        for (final CloudletDatacenterExecution dcExecution : datacenterExecutionList) {
+            writer.writeEntity(dcExecution.getDatacenter())
+                  .writeDouble(dcExecution.getArrivalTime())
+                  .writeDouble(dcExecution.getWallClockTime())
+                  .writeDouble(dcExecution.getActualCpuTime())
+                  .writeDouble(dcExecution.getCostPerSec())
+                  .writeLong(dcExecution.getFinishedSoFar());
+        }
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        length = reader.readLong();
+        status = reader.readEnum(Status.class);
+        returnedToBroker = reader.readBoolean();
+        execStartTime = reader.readDouble();
+        finishTime = reader.readDouble();
+        submissionDelay = reader.readDouble();
+        accumulatedBwCost = reader.readDouble();
+        vm = reader.readVm();
+        lastExecutedDatacenterIdx = reader.readInt();
+
+        datacenterExecutionList.clear();
+        final int dcExecutionsNumber = reader.readInt();
+        for (int i = 0; i < dcExecutionsNumber; i++) {
+            final CloudletDatacenterExecution dcExecution = new CloudletDatacenterExecution();
+            dcExecution.setDatacenter(reader.readEntity(Datacenter.NULL));
+            dcExecution.setArrivalTime(reader.readDouble());
+            dcExecution.setWallClockTime(reader.readDouble());
+            dcExecution.setActualCpuTime(reader.readDouble());
+            dcExecution.setCostPerSec(reader.readDouble());
+            dcExecution.addFinishedSoFar(reader.readLong());
+            datacenterExecutionList.add(dcExecution);
+        }
+    }
 }
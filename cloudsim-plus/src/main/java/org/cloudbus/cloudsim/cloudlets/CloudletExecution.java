@@ -7,6 +7,8 @@
  */
 package org.cloudbus.cloudsim.cloudlets;
 
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.Simulation;
@@ -132,6 +134,18 @@ public class CloudletExecution {
         this.instructionsFinishedSoFar = cloudlet.getFinishedLengthSoFar() * Conversion.MILLION;
     }
 
+    /**
+     * Instantiates a CloudletExecutionInfo object for a Cloudlet which had already arrived in a Datacenter,
+     * without registering a new arrival.
+     *
+     * @param cloudlet the Cloudlet to store execution information from
+     * @param arrivalTime the time the Cloudlet arrived in the Datacenter
+     */
+    private CloudletExecution(final Cloudlet cloudlet, final double arrivalTime) {
+        this.cloudlet = cloudlet;
+        this.arrivalTime = arrivalTime;
+    }
+
     /**
      * Gets the {@link Cloudlet#getLength() Cloudlet's length}.
      *
@@ -508,4 +522,39 @@ public class CloudletExecution {
             this.lastAllocatedMips = lastAllocatedMips;
         }
     }
+
+    /**
+     * Writes the execution information into a checkpoint.
+     * @param writer the writer to store the information into
+     * @see #fromCheckpoint(CheckpointReader)
+     */
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeCloudlet(cloudlet).writeDouble(arrivalTime)
+              .writeDouble(fileTransferTime).writeDouble(finishedTime).writeDouble(finishRequestTime)
+              .writeLong(instructionsFinishedSoFar).writeDouble(startExecTime)
+              .writeDouble(lastProcessingTime).writeDouble(totalCompletionTime)
+              .writeDouble(virtualRuntime).writeDouble(timeSlice).writeDouble(lastAllocatedMips);
+    }
+
+    /**
+     * Creates a CloudletExecution from the information stored into a checkpoint.
+     * @param reader the reader to get the information from
+     * @return the restored CloudletExecution
+     * @see #writeCheckpoint(CheckpointWriter)
+     */
+    public static CloudletExecution fromCheckpoint(final CheckpointReader reader) {
+        final Cloudlet cloudlet = reader.readCloudlet();
+        final CloudletExecution cle = new CloudletExecution(cloudlet, reader.readDouble());
+        cle.fileTransferTime = reader.readDouble();
+        cle.finishedTime = reader.readDouble();
+        cle.finishRequestTime = reader.readDouble();
+        cle.instructionsFinishedSoFar = reader.readLong();
+        cle.startExecTime = reader.readDouble();
+        cle.lastProcessingTime = reader.readDouble();
+        cle.totalCompletionTime = reader.readDouble();
+        cle.virtualRuntime = reader.readDouble();
+        cle.timeSlice = reader.readDouble();
+        cle.lastAllocatedMips = reader.readDouble();
+        return cle;
+    }
 }
@@ -0,0 +1,358 @@
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmCreationBatch;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Reads the state of simulation objects written by a {@link CheckpointWriter}.
+ * References to entities, Hosts, VMs and Cloudlets are resolved against the objects
+ * of the simulation the checkpoint is being restored into.
+ * Such objects are indexed before the restore starts, so that
+ * any of them can be resolved regardless of the order the state is read.
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class CheckpointReader {
+    private final DataInputStream in;
+    private final Index index;
+
+    /**
+     * Indexes the objects of a rebuilt simulation, so that the references
+     * stored into a checkpoint can be resolved.
+     */
+    /* default */ static final class Index {
+        private final Map<Long, SimEntity> entities = new HashMap<>();
+        private final Map<Long, Map<Long, Vm>> vms = new HashMap<>();
+        private final Map<Long, Map<Long, Cloudlet>> cloudlets = new HashMap<>();
+
+        /* default */ Index(final Simulation simulation) {
+            for (final SimEntity entity : simulation.getEntityList()) {
+                entities.put(entity.getId(), entity);
+                if (entity instanceof DatacenterBroker) {
+                    indexBroker((DatacenterBroker) entity);
+                }
+            }
+        }
+
+        private void indexBroker(final DatacenterBroker broker) {
+            final Map<Long, Vm> brokerVms = vms.computeIfAbsent(broker.getId(), id -> new HashMap<>());
+            for (final List<? extends Vm> list : Arrays.asList(
+                broker.getVmWaitingList(), broker.getVmExecList(),
+                broker.getVmCreatedList(), broker.getVmFailedList()))
+            {
+                list.forEach(vm -> brokerVms.put(vm.getId(), vm));
+            }
+
+            final Map<Long, Cloudlet> brokerCloudlets = cloudlets.computeIfAbsent(broker.getId(), id -> new HashMap<>());
+            for (final List<? extends Cloudlet> list : Arrays.asList(
+                broker.getCloudletWaitingList(), broker.getCloudletSubmittedList(),
+                broker.getCloudletCreatedList(), broker.getCloudletFinishedList()))
+            {
+                list.forEach(cloudlet -> brokerCloudlets.put(cloudlet.getId(), cloudlet));
+            }
+        }
+
+        /* default */ SimEntity getEntity(final long id) {
+            final SimEntity entity = entities.get(id);
+            if (entity == null) {
+                throw notFound("Entity", id, "the simulation");
+            }
+
+            return entity;
+        }
+
+        private <T> T get(final Map<Long, Map<Long, T>> map, final String type, final long brokerId, final long id) {
+            final T object = map.getOrDefault(brokerId, Collections.emptyMap()).get(id);
+            if (object == null) {
+                throw notFound(type, id, "broker " + brokerId);
+            }
+
+            return object;
+        }
+
+        private static IllegalStateException notFound(final String type, final long id, final String owner) {
+            return new IllegalStateException(String.format(
+                "%s %d from the checkpoint was not found in %s. " +
+                "A checkpoint must be restored into a rebuilt simulation having the same objects submitted before starting it.",
+                type, id, owner));
+        }
+    }
+
+    /* default */ CheckpointReader(final InputStream in, final Index index) {
+        this.in = new DataInputStream(in);
+        this.index = index;
+    }
+
+    /**
+     * An operation over the underlying stream which may throw an {@link IOException}.
+     */
+    private interface StreamOperation<T> {
+        T run() throws IOException;
+    }
+
+    private <T> T read(final StreamOperation<T> operation) {
+        try {
+            return operation.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean readBoolean() {
+        return read(in::readBoolean);
+    }
+
+    public int readInt() {
+        return read(in::readInt);
+    }
+
+    public long readLong() {
+        return read(in::readLong);
+    }
+
+    public double readDouble() {
+        return read(in::readDouble);
+    }
+
+    /**
+     * Reads a String, which may be null.
+     * @return the String read
+     */
+    public String readString() {
+        return readBoolean() ? read(in::readUTF) : null;
+    }
+
+    /**
+     * Reads an enum constant written by its name.
+     * @param enumClass the class of the enum
+     * @param <E> the type of the enum
+     * @return the constant read, which may be null
+     */
+    public <E extends Enum<E>> E readEnum(final Class<E> enumClass) {
+        final String name = readString();
+        return name == null ? null : Enum.valueOf(enumClass, name);
+    }
+
+    /* default */ byte readByte() {
+        return read(in::readByte);
+    }
+
+    private byte[] readBytes() {
+        final byte[] bytes = new byte[readInt()];
+        read(() -> { in.readFully(bytes); return bytes; });
+        return bytes;
+    }
+
+    private boolean isNullRef() {
+        return readByte() == CheckpointWriter.NULL_REF;
+    }
+
+    /**
+     * Casts an object read from the checkpoint to the type the caller stored.
+     * A checkpoint is restored into a rebuilt simulation having the same objects,
+     * so each reference resolves to an object of the type it was written from.
+     * A mismatch means a different scenario and fails with a {@link ClassCastException}
+     * when the object is used.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(final Object object) {
+        return (T) object;
+    }
+
+    /**
+     * Reads a reference to an entity.
+     * @return the entity from the simulation being restored or {@link SimEntity#NULL}
+     * @throws IllegalStateException when the entity is not found
+     */
+    public SimEntity readEntity() {
+        return readEntity(SimEntity.NULL);
+    }
+
+    /**
+     * Reads a reference to an entity of a specific type.
+     * @param nullObject the object to return when a null reference was written
+     *                   (such as {@link org.cloudbus.cloudsim.datacenters.Datacenter#NULL})
+     * @return the entity from the simulation being restored or the given null object
+     * @throws IllegalStateException when the entity is not found
+     */
+    public <T extends SimEntity> T readEntity(final T nullObject) {
+        return isNullRef() ? nullObject : cast(index.getEntity(readLong()));
+    }
+
+    /**
+     * Reads a reference to a Host.
+     * @return the Host from the simulation being restored or {@link Host#NULL}
+     * @throws IllegalStateException when the Host is not found
+     */
+    public <T extends Host> T readHost() {
+        if (isNullRef()) {
+            return cast(Host.NULL);
+        }
+
+        final Datacenter dc = (Datacenter) index.getEntity(readLong());
+        final long hostId = readLong();
+        final Host host = dc.getHostById(hostId);
+        if (host == Host.NULL) {
+            throw Index.notFound("Host", hostId, dc.getName());
+        }
+
+        return cast(host);
+    }
+
+    /**
+     * Reads a reference to a VM.
+     * @return the VM from the simulation being restored or {@link Vm#NULL}
+     * @throws IllegalStateException when the VM is not found
+     */
+    public <T extends Vm> T readVm() {
+        if (isNullRef()) {
+            return cast(Vm.NULL);
+        }
+
+        final long brokerId = readLong();
+        return cast(index.get(index.vms, "Vm", brokerId, readLong()));
+    }
+
+    /**
+     * Reads a reference to a Cloudlet.
+     * @return the Cloudlet from the simulation being restored or {@link Cloudlet#NULL}
+     * @throws IllegalStateException when the Cloudlet is not found
+     */
+    public <T extends Cloudlet> T readCloudlet() {
+        if (isNullRef()) {
+            return cast(Cloudlet.NULL);
+        }
+
+        final long brokerId = readLong();
+        return cast(index.get(index.cloudlets, "Cloudlet", brokerId, readLong()));
+    }
+
+    /**
+     * Reads a list of references to entities of a specific type.
+     * @return the list of entities from the simulation being restored,
+     *         where null references are read as null
+     * @throws IllegalStateException when some entity is not found
+     */
+    public <T extends SimEntity> List<T> readEntityList() {
+        final int size = readInt();
+        final List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readEntity(null));
+        }
+
+        return list;
+    }
+
+    public <T extends Host> List<T> readHostList() {
+        final int size = readInt();
+        final List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readHost());
+        }
+
+        return list;
+    }
+
+    public <T extends Vm> List<T> readVmList() {
+        final int size = readInt();
+        final List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readVm());
+        }
+
+        return list;
+    }
+
+    public <T extends Cloudlet> List<T> readCloudletList() {
+        final int size = readInt();
+        final List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readCloudlet());
+        }
+
+        return list;
+    }
+
+    /**
+     * Reads the data (payload) of an event written by {@link CheckpointWriter#writeData(Object)}.
+     * @return the data read
+     */
+    public Object readData() {
+        final byte type = readByte();
+        switch (type) {
+            case CheckpointWriter.DATA_NULL: return null;
+            case CheckpointWriter.DATA_INT: return readInt();
+            case CheckpointWriter.DATA_LONG: return readLong();
+            case CheckpointWriter.DATA_DOUBLE: return readDouble();
+            case CheckpointWriter.DATA_BOOLEAN: return readBoolean();
+            case CheckpointWriter.DATA_STRING: return readString();
+            case CheckpointWriter.DATA_ENTITY: return readEntity();
+            case CheckpointWriter.DATA_VM: return readVm();
+            case CheckpointWriter.DATA_CLOUDLET: return readCloudlet();
+            case CheckpointWriter.DATA_HOST: return readHost();
+            case CheckpointWriter.DATA_ENTITY_LIST: return this.<SimEntity>readEntityList();
+            case CheckpointWriter.DATA_ENTITY_SET: return new TreeSet<>(this.<SimEntity>readEntityList());
+            case CheckpointWriter.DATA_VM_HOST_ENTRY:
+                final Vm vm = readVm();
+                return new AbstractMap.SimpleEntry<>(vm, readHost());
+            case CheckpointWriter.DATA_VM_CREATION_BATCH: return readVmCreationBatch();
+            default: throw new IllegalStateException("Unknown event data type in checkpoint: " + type);
+        }
+    }
+
+    private VmCreationBatch readVmCreationBatch() {
+        final DatacenterBroker broker = readEntity(DatacenterBroker.NULL);
+        final List<Vm> vmList = readVmList();
+        final List<Vm> createdList = readVmList();
+        return new VmCreationBatch(broker, vmList, createdList, readVmList());
+    }
+
+    /**
+     * Reads the state of an object written by {@link CheckpointWriter#writeState(Object)}.
+     * The state is skipped if the object is not {@link Checkpointable}
+     * or its class is not the one the state was written from.
+     *
+     * @param object the object to restore the state
+     * @return true if the state was restored, false if it was skipped
+     */
+    public boolean readState(final Object object) {
+        final String className = readString();
+        if (className == null) {
+            return false;
+        }
+
+        final byte[] bytes = readBytes();
+        if (!(object instanceof Checkpointable) || !object.getClass().getName().equals(className)) {
+            return false;
+        }
+
+        ((Checkpointable) object).readCheckpoint(new CheckpointReader(new ByteArrayInputStream(bytes), index));
+        return true;
+    }
+
+    /**
+     * Reads the state of an object that must be of the same class the state was written from.
+     *
+     * @param object the object to restore the state
+     * @throws IllegalStateException when the state cannot be restored into the given object
+     * @see #readState(Object)
+     */
+    public void readRequiredState(final Object object) {
+        if (!readState(object)) {
+            throw new IllegalStateException(
+                "The state from the checkpoint cannot be restored into " + object +
+                " since it's of a different class than the checkpointed one.");
+        }
+    }
+}
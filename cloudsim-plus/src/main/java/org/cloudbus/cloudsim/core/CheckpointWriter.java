@@ -0,0 +1,303 @@
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmCreationBatch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the state of simulation objects using the compact binary format of a {@link SimulationCheckpoint}.
+ * Entities, Hosts, VMs and Cloudlets are written as references made of their ids,
+ * which are resolved against the objects of the rebuilt scenario
+ * when the checkpoint is restored by a {@link CheckpointReader}.
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class CheckpointWriter {
+    /* default */ static final byte NULL_REF = 0;
+    /* default */ static final byte REF = 1;
+
+    /* default */ static final byte DATA_NULL = 0;
+    /* default */ static final byte DATA_INT = 1;
+    /* default */ static final byte DATA_LONG = 2;
+    /* default */ static final byte DATA_DOUBLE = 3;
+    /* default */ static final byte DATA_BOOLEAN = 4;
+    /* default */ static final byte DATA_STRING = 5;
+    /* default */ static final byte DATA_ENTITY = 6;
+    /* default */ static final byte DATA_VM = 7;
+    /* default */ static final byte DATA_CLOUDLET = 8;
+    /* default */ static final byte DATA_HOST = 9;
+    /* default */ static final byte DATA_ENTITY_LIST = 10;
+    /* default */ static final byte DATA_ENTITY_SET = 11;
+    /* default */ static final byte DATA_VM_HOST_ENTRY = 12;
+    /* default */ static final byte DATA_VM_CREATION_BATCH = 13;
+
+    private final DataOutputStream out;
+
+    /* default */ CheckpointWriter(final OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    /**
+     * An operation over the underlying stream which may throw an {@link IOException}.
+     */
+    private interface StreamOperation {
+        void run() throws IOException;
+    }
+
+    private CheckpointWriter write(final StreamOperation operation) {
+        try {
+            operation.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return this;
+    }
+
+    public CheckpointWriter writeBoolean(final boolean value) {
+        return write(() -> out.writeBoolean(value));
+    }
+
+    public CheckpointWriter writeInt(final int value) {
+        return write(() -> out.writeInt(value));
+    }
+
+    public CheckpointWriter writeLong(final long value) {
+        return write(() -> out.writeLong(value));
+    }
+
+    public CheckpointWriter writeDouble(final double value) {
+        return write(() -> out.writeDouble(value));
+    }
+
+    /**
+     * Writes a String, which may be null.
+     * @param value the String to write
+     * @return this writer
+     */
+    public CheckpointWriter writeString(final String value) {
+        return write(() -> {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        });
+    }
+
+    /**
+     * Writes an enum constant by its name, which may be null.
+     * @param value the enum constant to write
+     * @return this writer
+     */
+    public CheckpointWriter writeEnum(final Enum<?> value) {
+        return writeString(value == null ? null : value.name());
+    }
+
+    private CheckpointWriter writeBytes(final byte[] bytes) {
+        return write(() -> {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        });
+    }
+
+    /* default */ CheckpointWriter writeByte(final int value) {
+        return write(() -> out.writeByte(value));
+    }
+
+    /**
+     * Writes a reference to an entity (its id).
+     * @param entity the entity to write, which may be null or {@link SimEntity#NULL}
+     * @return this writer
+     */
+    public CheckpointWriter writeEntity(final SimEntity entity) {
+        if (entity == null || entity == SimEntity.NULL || entity.getId() < 0) {
+            return writeByte(NULL_REF);
+        }
+
+        return writeByte(REF).writeLong(entity.getId());
+    }
+
+    /**
+     * Writes a reference to a Host (the id of its Datacenter and its own id).
+     * @param host the Host to write, which may be null or {@link Host#NULL}
+     * @return this writer
+     */
+    public CheckpointWriter writeHost(final Host host) {
+        if (host == null || host == Host.NULL) {
+            return writeByte(NULL_REF);
+        }
+
+        return writeByte(REF).writeLong(host.getDatacenter().getId()).writeLong(host.getId());
+    }
+
+    /**
+     * Writes a reference to a VM (the id of its broker and its own id).
+     * @param vm the VM to write, which may be null or {@link Vm#NULL}
+     * @return this writer
+     */
+    public CheckpointWriter writeVm(final Vm vm) {
+        if (vm == null || vm == Vm.NULL) {
+            return writeByte(NULL_REF);
+        }
+
+        return writeByte(REF).writeLong(vm.getBroker().getId()).writeLong(vm.getId());
+    }
+
+    /**
+     * Writes a reference to a Cloudlet (the id of its broker and its own id).
+     * @param cloudlet the Cloudlet to write, which may be null or {@link Cloudlet#NULL}
+     * @return this writer
+     */
+    public CheckpointWriter writeCloudlet(final Cloudlet cloudlet) {
+        if (cloudlet == null || cloudlet == Cloudlet.NULL) {
+            return writeByte(NULL_REF);
+        }
+
+        return writeByte(REF).writeLong(cloudlet.getBroker().getId()).writeLong(cloudlet.getId());
+    }
+
+    public CheckpointWriter writeEntityList(final Collection<? extends SimEntity> entities) {
+        writeInt(entities.size());
+        entities.forEach(this::writeEntity);
+        return this;
+    }
+
+    public CheckpointWriter writeHostList(final Collection<? extends Host> hosts) {
+        writeInt(hosts.size());
+        hosts.forEach(this::writeHost);
+        return this;
+    }
+
+    public CheckpointWriter writeVmList(final Collection<? extends Vm> vms) {
+        writeInt(vms.size());
+        vms.forEach(this::writeVm);
+        return this;
+    }
+
+    public CheckpointWriter writeCloudletList(final Collection<? extends Cloudlet> cloudlets) {
+        writeInt(cloudlets.size());
+        cloudlets.forEach(this::writeCloudlet);
+        return this;
+    }
+
+    /**
+     * Writes the data (payload) of an event.
+     * Besides null, primitive wrappers and Strings, just entities, Hosts, VMs, Cloudlets,
+     * collections of entities and VM/Host entries (such as the ones sent for VM migration)
+     * are supported.
+     *
+     * @param data the data to write
+     * @return this writer
+     * @throws IllegalArgumentException when the data type is not {@link #isDataSupported(Object) supported}
+     */
+    public CheckpointWriter writeData(final Object data) {
+        if (data == null) {
+            return writeByte(DATA_NULL);
+        }
+        if (data instanceof Integer) {
+            return writeByte(DATA_INT).writeInt((Integer) data);
+        }
+        if (data instanceof Long) {
+            return writeByte(DATA_LONG).writeLong((Long) data);
+        }
+        if (data instanceof Double) {
+            return writeByte(DATA_DOUBLE).writeDouble((Double) data);
+        }
+        if (data instanceof Boolean) {
+            return writeByte(DATA_BOOLEAN).writeBoolean((Boolean) data);
+        }
+        if (data instanceof String) {
+            return writeByte(DATA_STRING).writeString((String) data);
+        }
+        if (data instanceof SimEntity) {
+            return writeByte(DATA_ENTITY).writeEntity((SimEntity) data);
+        }
+        if (data instanceof Vm) {
+            return writeByte(DATA_VM).writeVm((Vm) data);
+        }
+        if (data instanceof Cloudlet) {
+            return writeByte(DATA_CLOUDLET).writeCloudlet((Cloudlet) data);
+        }
+        if (data instanceof Host) {
+            return writeByte(DATA_HOST).writeHost((Host) data);
+        }
+        if (data instanceof Collection && isEntityCollection((Collection<?>) data)) {
+            final Collection<?> entities = (Collection<?>) data;
+            writeByte(data instanceof Set ? DATA_ENTITY_SET : DATA_ENTITY_LIST).writeInt(entities.size());
+            entities.forEach(entity -> writeEntity((SimEntity) entity));
+            return this;
+        }
+        if (data instanceof VmCreationBatch) {
+            final VmCreationBatch batch = (VmCreationBatch) data;
+            return writeByte(DATA_VM_CREATION_BATCH)
+                      .writeEntity(batch.getBroker())
+                      .writeVmList(batch.getVmList())
+                      .writeVmList(batch.getCreatedList())
+                      .writeVmList(batch.getFailedList());
+        }
+        if (data instanceof Map.Entry && isVmHostEntry((Map.Entry<?, ?>) data)) {
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) data;
+            return writeByte(DATA_VM_HOST_ENTRY).writeVm((Vm) entry.getKey()).writeHost((Host) entry.getValue());
+        }
+
+        throw new IllegalArgumentException(
+            "Events with data of type " + data.getClass().getName() + " cannot be stored into a checkpoint.");
+    }
+
+    /**
+     * Checks if the data (payload) of an event can be written by {@link #writeData(Object)}.
+     * @param data the data to check
+     * @return true if the data can be written, false otherwise
+     */
+    public static boolean isDataSupported(final Object data) {
+        return data == null || data instanceof Integer || data instanceof Long || data instanceof Double ||
+               data instanceof Boolean || data instanceof String || data instanceof SimEntity ||
+               data instanceof Vm || data instanceof Cloudlet || data instanceof Host ||
+               data instanceof VmCreationBatch ||
+               data instanceof Collection && isEntityCollection((Collection<?>) data) ||
+               data instanceof Map.Entry && isVmHostEntry((Map.Entry<?, ?>) data);
+    }
+
+    private static boolean isEntityCollection(final Collection<?> collection) {
+        return collection.stream().allMatch(item -> item instanceof SimEntity);
+    }
+
+    private static boolean isVmHostEntry(final Map.Entry<?, ?> entry) {
+        return entry.getKey() instanceof Vm && entry.getValue() instanceof Host;
+    }
+
+    /**
+     * Writes the state of an object, if it is {@link Checkpointable},
+     * prefixed by its class name and size.
+     * This way, a {@link CheckpointReader} can skip the state when
+     * the object in the rebuilt scenario is of another class
+     * (such as when a different policy is being evaluated).
+     *
+     * @param object the object to write the state
+     * @return this writer
+     * @see CheckpointReader#readState(Object)
+     */
+    public CheckpointWriter writeState(final Object object) {
+        if (!(object instanceof Checkpointable)) {
+            return writeString(null);
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ((Checkpointable) object).writeCheckpoint(new CheckpointWriter(bytes));
+        return writeString(object.getClass().getName()).writeBytes(bytes.toByteArray());
+    }
+
+    /* default */ void flush() {
+        write(out::flush);
+    }
+}
@@ -0,0 +1,29 @@
+package org.cloudbus.cloudsim.core;
+
+/**
+ * An interface for simulation objects whose runtime state can be stored into a
+ * {@link SimulationCheckpoint} and restored later.
+ *
+ * <p>Just the state that changes along the simulation is expected to be written,
+ * such as statuses, times, progress and lists of objects.
+ * The configuration of an object (such as capacities, policies and listeners)
+ * comes from the rebuilt scenario the checkpoint is restored into.
+ * Implementations must read the values in the same order they were written
+ * and subclasses must call the super methods first.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public interface Checkpointable {
+    /**
+     * Writes the runtime state of this object into a checkpoint.
+     * @param writer the writer to store the state into
+     */
+    void writeCheckpoint(CheckpointWriter writer);
+
+    /**
+     * Reads the runtime state of this object from a checkpoint,
+     * replacing the current one.
+     * @param reader the reader to get the state from
+     */
+    void readCheckpoint(CheckpointReader reader);
+}
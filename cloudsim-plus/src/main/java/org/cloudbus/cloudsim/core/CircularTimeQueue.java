@@ -37,7 +37,7 @@ import java.util.function.Consumer;
  * @author Manoel Campos da Silva Filho
  * @see Simulation#addOnClockTickListener(EventListener)
  */
-class CircularTimeQueue {
+class CircularTimeQueue implements Checkpointable {
     /**
      * The simulation clock time queue.
      * It's an array that works as a circular queue with capacity for just 2 elements
@@ -134,4 +134,16 @@ class CircularTimeQueue {
     private boolean isTimeToUpdateClockTickListeners(){
         return simulation.clock() > lastClockTickUpdate;
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeDouble(queue[0]).writeDouble(queue[1]).writeDouble(lastClockTickUpdate);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        queue[0] = reader.readDouble();
+        queue[1] = reader.readDouble();
+        lastClockTickUpdate = reader.readDouble();
+    }
 }
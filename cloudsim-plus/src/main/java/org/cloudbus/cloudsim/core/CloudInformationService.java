@@ -119,4 +119,18 @@ public class CloudInformationService extends CloudSimEntity {
         list.forEach(entity -> super.send(entity, 0L, CloudSimTags.END_OF_SIMULATION));
     }
 
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeEntityList(datacenterList).writeEntityList(cisList);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        datacenterList.clear();
+        datacenterList.addAll(reader.readEntityList());
+        cisList.clear();
+        cisList.addAll(reader.readEntityList());
+    }
 }
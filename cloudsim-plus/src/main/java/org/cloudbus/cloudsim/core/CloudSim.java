@@ -19,6 +19,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -144,6 +145,20 @@ public class CloudSim implements Simulation {
     private final Set<EventListener<EventInfo>> onSimulationStartListeners;
     private boolean processEventsInParallel;
 
+    /**
+     * The profiler for event processing, which is null when it's not enabled,
+     * so that no time is measured.
+     * @see #enableEventProfiler()
+     */
+    private EventProfiler eventProfiler;
+
+    /**
+     * Listeners waiting for a {@link SimulationCheckpoint} to be taken,
+     * where each key is the time requested for the checkpoint.
+     * @see #checkpointAt(double, Consumer)
+     */
+    private final NavigableMap<Double, List<Consumer<SimulationCheckpoint>>> checkpointRequests;
+
     /**
      * Creates a CloudSim simulation.
      * Internally it creates a CloudInformationService.
@@ -177,6 +192,7 @@ public class CloudSim implements Simulation {
         this.onSimulationPauseListeners = new HashSet<>();
         this.onClockTickListeners = new HashSet<>();
         this.onSimulationStartListeners = new HashSet<>();
+        this.checkpointRequests = new TreeMap<>();
 
         // NOTE: the order for the lines below is important
         this.calendar = Calendar.getInstance();
@@ -212,12 +228,21 @@ public class CloudSim implements Simulation {
 
         shutdownEntities();
         running = false;
+        if(eventProfiler != null){
+            eventProfiler.stop();
+        }
 
         printSimulationFinished();
 
         LOGGER.debug(
             "DeferredQueue >> max size: {} added to middle: {} added to tail: {}",
             deferred.getMaxSize(), deferred.getAddedToMiddle(), deferred.getAddedToTail());
+
+        if(future.isTimerWheelEnabled()) {
+            LOGGER.debug(
+                "TimerWheel >> fired buckets: {} cascaded events: {}",
+                future.getTimerWheel().getFiredBuckets(), future.getTimerWheel().getCascadedEvents());
+        }
     }
 
     /**
@@ -275,6 +300,9 @@ public class CloudSim implements Simulation {
         LOGGER.info("{}================== Starting {} =================={}", System.lineSeparator(), VERSION,  System.lineSeparator());
         startEntitiesIfNotRunning();
         this.alreadyRunOnce = true;
+        if(eventProfiler != null){
+            eventProfiler.start();
+        }
     }
 
     private void notifyOnSimulationStartListeners() {
@@ -496,6 +524,7 @@ public class CloudSim implements Simulation {
      */
     private boolean runClockTickAndProcessFutureEvents(final double until) {
         executeRunnableEntities(until);
+        takeRequestedCheckpoints();
         if (future.isEmpty()) {
             return false;
         }
@@ -572,7 +601,7 @@ public class CloudSim implements Simulation {
         for (int i = 0; i < entities.size(); i++) {
             CloudSimEntity ent = entities.get(i);
             if (ent.getState() == SimEntity.State.RUNNABLE) {
-                ent.run(until);
+                ent.run(until, eventProfiler);
             }
         }
     }
@@ -650,9 +679,9 @@ public class CloudSim implements Simulation {
     @Override
     public SimEvent cancel(final SimEntity src, final Predicate<SimEvent> predicate) {
         final SimEvent canceled =
-                future.stream()
+                future.unorderedStream()
                       .filter(isEventSourceEqualsTo(predicate, src))
-                      .findFirst()
+                      .min(Comparator.naturalOrder())
                       .orElse(SimEvent.NULL);
         future.remove(canceled);
         return canceled;
@@ -888,12 +917,12 @@ public class CloudSim implements Simulation {
 
     @Override
     public long getNumberOfFutureEvents(final Predicate<SimEvent> predicate){
-        return future.stream().filter(predicate).count();
+        return future.unorderedStream().filter(predicate).count();
     }
 
     @Override
     public boolean isThereAnyFutureEvt(final Predicate<SimEvent> predicate){
-        return future.stream().anyMatch(predicate);
+        return future.unorderedStream().anyMatch(predicate);
     }
 
     private boolean isThereFutureEvtsAndNextOneHappensAfterTimeToPause() {
@@ -910,7 +939,7 @@ public class CloudSim implements Simulation {
     }
 
     private boolean isNextFutureEventHappeningAfterTimeToPause() {
-        return future.iterator().next().getTime() >= pauseAt;
+        return future.first().getTime() >= pauseAt;
     }
 
     @Override
@@ -983,6 +1012,234 @@ public class CloudSim implements Simulation {
         this.lastCloudletProcessingUpdate = lastCloudletProcessingUpdate;
     }
 
+    /**
+     * Enables a {@link TimerWheel} inside the {@link FutureQueue} to store short-horizon events,
+     * such as the periodic events sent due to a {@link Datacenter#getSchedulingInterval()}.
+     * Such events are kept into wheel buckets and just fed to the future queue
+     * when a bucket fires, making the cost of periodic events amortised O(1)
+     * regardless of how many of them are armed.
+     * The order in which events are processed is not changed.
+     *
+     * @param tickLength the length of each wheel tick (in seconds),
+     *                   which usually may be the {@link #getMinTimeBetweenEvents()}
+     * @return this simulation instance
+     */
+    public CloudSim enableTimerWheel(final double tickLength) {
+        future.enableTimerWheel(tickLength);
+        return this;
+    }
+
+    /**
+     * Enables a {@link TimerWheel} inside the {@link FutureQueue}
+     * using the {@link #getMinTimeBetweenEvents()} as the wheel tick length.
+     *
+     * @return this simulation instance
+     * @see #enableTimerWheel(double)
+     */
+    public CloudSim enableTimerWheel() {
+        return enableTimerWheel(minTimeBetweenEvents);
+    }
+
+    /**
+     * Enables an {@link EventProfiler} to measure the time entities spend processing
+     * each event, so that the entities and {@link CloudSimTags tags} slowing down
+     * the simulation can be found out.
+     * It must be called before starting the simulation.
+     *
+     * @return the enabled profiler, whose data can be printed or exported after the simulation finishes
+     * @see #getEventProfiler()
+     */
+    public EventProfiler enableEventProfiler() {
+        if(eventProfiler == null) {
+            eventProfiler = new EventProfiler(this);
+        }
+
+        return eventProfiler;
+    }
+
+    /**
+     * Gets the {@link EventProfiler} if it was {@link #enableEventProfiler() enabled}.
+     * @return an {@link Optional} containing the profiler or an empty one if it's not enabled
+     */
+    public Optional<EventProfiler> getEventProfiler() {
+        return Optional.ofNullable(eventProfiler);
+    }
+
+    /**
+     * Requests a {@link SimulationCheckpoint} to be taken at a given simulation time.
+     * The checkpoint is taken at the first consistent point where all events up to
+     * that time were processed and the next event happens after it.
+     * This way, its {@link SimulationCheckpoint#getTime() time} is the time of the last
+     * processed event (which may be earlier than the requested time).
+     * The running simulation is not changed in any way.
+     *
+     * @param time the simulation time to take the checkpoint
+     * @param listener a {@link Consumer} to be notified when the checkpoint is taken,
+     *                 which may store it into a file or use it to {@link #restore(SimulationCheckpoint) fork}
+     *                 new simulations
+     * @return this simulation instance
+     * @see #restore(SimulationCheckpoint)
+     */
+    public CloudSim checkpointAt(final double time, final Consumer<SimulationCheckpoint> listener) {
+        requireNonNull(listener);
+        checkpointRequests.computeIfAbsent(time, key -> new ArrayList<>()).add(listener);
+        return this;
+    }
+
+    /**
+     * Takes the checkpoints requested up to the time of the next future event.
+     * Since it is called after all runnable entities have processed the events up to the current time,
+     * the state of the simulation is consistent.
+     */
+    private void takeRequestedCheckpoints() {
+        while (!checkpointRequests.isEmpty() && (future.isEmpty() || future.first().getTime() > checkpointRequests.firstKey())) {
+            final SimulationCheckpoint checkpoint = new SimulationCheckpoint(this);
+            LOGGER.info("{}: Simulation: checkpoint taken ({} bytes)", clockStr(), checkpoint.size());
+            checkpointRequests.pollFirstEntry().getValue().forEach(listener -> listener.accept(checkpoint));
+        }
+    }
+
+    /**
+     * Restores a {@link SimulationCheckpoint} into this simulation, so that
+     * calling {@link #start()} continues from the checkpoint time.
+     *
+     * <p>This simulation must be a rebuilt scenario which is not started yet,
+     * having the same entities, Hosts, VMs and Cloudlets (with the same ids)
+     * created and submitted in the same order as in the checkpointed simulation.
+     * The configuration of such objects (such as capacities, policies and listeners)
+     * is given by the rebuilt scenario, while their runtime state comes from the checkpoint.
+     * This way, different policies can be evaluated from the same warmed-up state.</p>
+     *
+     * <p>Objects created after the checkpointed simulation started
+     * (and that are not created by the rebuilt scenario before starting),
+     * events carrying arbitrary data (such as {@link Runnable}s),
+     * entities' waiting predicates and statistics collected before the checkpoint
+     * (such as state histories) are not restored.
+     * Such events are logged when the checkpoint is taken.</p>
+     *
+     * @param checkpoint the checkpoint to restore
+     * @return this simulation instance
+     * @throws IllegalStateException when the simulation has already started or some object
+     *                               from the checkpoint is not found in this simulation
+     * @see #checkpointAt(double, Consumer)
+     */
+    public CloudSim restore(final SimulationCheckpoint checkpoint) {
+        if (running || alreadyRunOnce) {
+            throw new IllegalStateException("A checkpoint can just be restored into a simulation that has not started yet.");
+        }
+
+        checkpoint.restore(this);
+        LOGGER.info("{}: Simulation: restored from checkpoint", clockStr());
+        return this;
+    }
+
+    /**
+     * Writes the state of the simulation, its entities and events into a checkpoint.
+     * @param writer the writer to store the state into
+     */
+    /* default */ void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeDouble(clock)
+              .writeDouble(terminationTime)
+              .writeDouble(newTerminationTime)
+              .writeDouble(lastCloudletProcessingUpdate)
+              .writeBoolean(onSimulationStartListeners.isEmpty());
+        clockQueue.writeCheckpoint(writer);
+
+        writer.writeInt(entities.size());
+        for (final CloudSimEntity entity : entities) {
+            writer.writeEntity(entity).writeState(entity);
+        }
+
+        writeEvents(writer, future.stream());
+        writeEvents(writer, deferred.stream());
+    }
+
+    /**
+     * Writes the events whose data can be stored into a checkpoint.
+     * The other ones are logged and not stored, so that they are not restored.
+     * @param writer the writer to store the events into
+     * @param events the events to write
+     */
+    private void writeEvents(final CheckpointWriter writer, final Stream<SimEvent> events) {
+        final List<SimEvent> storableEvents = new ArrayList<>();
+        events.forEach(evt -> {
+            if (CheckpointWriter.isDataSupported(evt.getData())) {
+                storableEvents.add(evt);
+            } else {
+                LOGGER.warn(
+                    "{}: Simulation: event with tag {} and data of type {} not stored into the checkpoint",
+                    clockStr(), evt.getTag(), evt.getData().getClass().getName());
+            }
+        });
+
+        writer.writeInt(storableEvents.size());
+        storableEvents.forEach(evt -> writeEvent(writer, evt));
+    }
+
+    private void writeEvent(final CheckpointWriter writer, final SimEvent evt) {
+        writer.writeEnum(evt.getType())
+              .writeDouble(evt.getTime())
+              .writeEntity(evt.getSource())
+              .writeEntity(evt.getDestination())
+              .writeInt(evt.getTag())
+              .writeData(evt.getData());
+    }
+
+    /**
+     * Reads the state of the simulation, its entities and events from a checkpoint.
+     * Events are added to the queues in the order they were stored,
+     * which keeps their processing order.
+     * @param reader the reader to get the state from
+     */
+    /* default */ void readCheckpoint(final CheckpointReader reader) {
+        final double checkpointClock = reader.readDouble();
+        terminationTime = reader.readDouble();
+        newTerminationTime = reader.readDouble();
+        lastCloudletProcessingUpdate = reader.readDouble();
+        if (reader.readBoolean()) {
+            onSimulationStartListeners.clear();
+        }
+        clockQueue.readCheckpoint(reader);
+
+        final Set<SimEntity> restoredEntities = new HashSet<>();
+        final int entitiesNumber = reader.readInt();
+        for (int i = 0; i < entitiesNumber; i++) {
+            final SimEntity entity = reader.readEntity();
+            reader.readRequiredState(entity);
+            restoredEntities.add(entity);
+        }
+
+        //Entities not in the checkpoint had already finished and were removed from the simulation
+        final List<CloudSimEntity> finishedEntities = new ArrayList<>(entities);
+        finishedEntities.removeAll(restoredEntities);
+        finishedEntities.forEach(entity -> entity.setState(SimEntity.State.FINISHED));
+        entities.removeAll(finishedEntities);
+
+        //Events are created while the clock is zero, so that their delay is exactly their time
+        future.clear();
+        deferred.clear();
+        final int futureSize = reader.readInt();
+        for (int i = 0; i < futureSize; i++) {
+            future.addEvent(readEvent(reader));
+        }
+
+        final int deferredSize = reader.readInt();
+        for (int i = 0; i < deferredSize; i++) {
+            deferred.addEvent(readEvent(reader));
+        }
+
+        this.clock = checkpointClock;
+    }
+
+    private SimEvent readEvent(final CheckpointReader reader) {
+        final SimEvent.Type type = reader.readEnum(SimEvent.Type.class);
+        final double time = reader.readDouble();
+        final SimEntity src = reader.readEntity();
+        final SimEntity dest = reader.readEntity();
+        final int tag = reader.readInt();
+        return new CloudSimEvent(type, time, src, dest, tag, reader.readData());
+    }
+
     /**
      * Gets the maximum number of events that have ever existed at the same time
      * inside the {@link FutureQueue}.
@@ -991,6 +1248,14 @@ public class CloudSim implements Simulation {
         return future.getMaxEventsNumber();
     }
 
+    /**
+     * Gets the maximum number of events that have ever existed at the same time
+     * inside the {@link DeferredQueue}.
+     */
+    public long getMaxDeferredEventsNumber() {
+        return deferred.getMaxSize();
+    }
+
     /** Gets the total number of events generated in the {@link FutureQueue} */
     public long getGeneratedEventsNumber() {
         return future.getSerial();
@@ -23,7 +23,7 @@ import java.util.function.Predicate;
  * @author Marcos Dias de Assuncao
  * @since CloudSim Toolkit 1.0
  */
-public abstract class CloudSimEntity implements SimEntity {
+public abstract class CloudSimEntity implements SimEntity, Checkpointable {
     private static final Logger LOGGER = LoggerFactory.getLogger(CloudSimEntity.class.getSimpleName());
 
     /** @see #getStartTime() */
@@ -338,10 +338,28 @@ public abstract class CloudSimEntity implements SimEntity {
     }
 
     public void run(final double until) {
+        run(until, null);
+    }
+
+    /**
+     * Processes the events happening up to a given time,
+     * measuring the time to process each one if a profiler is given.
+     * @param until the time to process events up to
+     * @param profiler the {@link EventProfiler} to record the processing time of events
+     *                 or null to not profile events
+     */
+    /* default */ void run(final double until, final EventProfiler profiler) {
         SimEvent evt = buffer == null ? getNextEvent(e -> e.getTime() <= until) : buffer;
 
         while (evt != SimEvent.NULL) {
-            processEvent(evt);
+            if (profiler == null) {
+                processEvent(evt);
+            } else {
+                final long start = System.nanoTime();
+                processEvent(evt);
+                profiler.record(this, evt, System.nanoTime() - start);
+            }
+
             if (state != State.RUNNABLE) {
                 break;
             }
@@ -574,4 +592,16 @@ public abstract class CloudSimEntity implements SimEntity {
     public double getStartTime() {
         return startTime;
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeEnum(state).writeDouble(startTime).writeDouble(shutdownTime);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        state = reader.readEnum(State.class);
+        startTime = reader.readDouble();
+        shutdownTime = reader.readDouble();
+    }
 }
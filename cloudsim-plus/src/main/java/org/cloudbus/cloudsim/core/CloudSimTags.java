@@ -10,11 +10,14 @@ package org.cloudbus.cloudsim.core;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.network.FlowLevelNetwork;
 import org.cloudbus.cloudsim.power.PowerMeter;
 import org.cloudbus.cloudsim.power.models.PowerModel;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmCreationBatch;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
 import org.cloudsimplus.traces.google.GoogleTaskEventsTraceReader;
 
@@ -261,6 +264,17 @@ public final class CloudSimTags {
      */
     public static final int VM_MIGRATE_ACK = BASE + 36;
 
+    /**
+     * Denotes a request to create a batch of VMs in a {@link Datacenter},
+     * where the {@link SimEvent#getData()} of both the request and the reply events
+     * is a {@link VmCreationBatch} object.
+     * The Datacenter tries to create all VMs in the batch and acknowledges the request
+     * with a single reply, where {@link VmCreationBatch#getCreatedList()}
+     * and {@link VmCreationBatch#getFailedList()} inform which VMs were created or not.
+     * @see #VM_CREATE_ACK
+     */
+    public static final int VM_CREATE_BATCH_ACK = BASE + 37;
+
     /**
      * Denotes an internal event generated in a {@link Datacenter}
      * to notify itself to update the processing of cloudlets.
@@ -295,6 +309,41 @@ public final class CloudSimTags {
 
     public static final int NETWORK_EVENT_HOST = BASE + 47;
 
+    /**
+     * Denotes the transmission of a list of packets up through the network topology,
+     * which are processed individually when the event arrives.
+     * When an event of this type is sent, the {@link SimEvent#getData()}
+     * must be a {@code List<HostPacket>}.
+     * @see #NETWORK_EVENT_UP
+     */
+    public static final int NETWORK_EVENT_UP_BATCH = BASE + 50;
+
+    /**
+     * Denotes the transmission of a list of packets down through the network topology,
+     * which are processed individually when the event arrives.
+     * When an event of this type is sent, the {@link SimEvent#getData()}
+     * must be a {@code List<HostPacket>}.
+     * @see #NETWORK_EVENT_DOWN
+     */
+    public static final int NETWORK_EVENT_DOWN_BATCH = BASE + 51;
+
+    /**
+     * Denotes the delivery of a list of packets to hosts connected to a switch,
+     * which are processed individually when the event arrives.
+     * When an event of this type is sent, the {@link SimEvent#getData()}
+     * must be a {@code List<HostPacket>}.
+     * @see #NETWORK_EVENT_HOST
+     */
+    public static final int NETWORK_EVENT_HOST_BATCH = BASE + 52;
+
+    /**
+     * Denotes the expected completion time of a flow or delivery of a packet
+     * in a {@link FlowLevelNetwork}, sent by a {@link NetworkDatacenter} to itself.
+     * When an event of this type is sent, the {@link SimEvent#getData()}
+     * is the version of the bandwidth allocation the event was scheduled for.
+     */
+    public static final int NETWORK_FLOW_FINISH = BASE + 45;
+
     /**
      * Denotes failure events such as hosts or VMs failures.
     */
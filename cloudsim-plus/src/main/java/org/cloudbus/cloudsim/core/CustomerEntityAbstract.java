@@ -10,7 +10,7 @@ import static java.util.Objects.requireNonNull;
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 4.0.3
  */
-public abstract class CustomerEntityAbstract implements CustomerEntity {
+public abstract class CustomerEntityAbstract implements CustomerEntity, Checkpointable {
     /**
      * @see #getId()
      */
@@ -74,4 +74,14 @@ public abstract class CustomerEntityAbstract implements CustomerEntity {
     public Datacenter getLastTriedDatacenter() {
         return lastTriedDatacenter;
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeEntity(lastTriedDatacenter);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        lastTriedDatacenter = reader.readEntity(Datacenter.NULL);
+    }
 }
@@ -0,0 +1,368 @@
+package org.cloudbus.cloudsim.core;
+
+import com.google.gson.GsonBuilder;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudsimplus.builders.tables.TextTable;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Collects the wall-clock time entities spend processing simulation events,
+ * so that it can be found out which entity or {@link CloudSimTags tag}
+ * is slowing down a simulation.
+ * For each entity and tag, it records the number of processed events
+ * and a histogram of processing times (in nanoseconds).
+ * It also reports the maximum size reached by the future and deferred event queues.
+ *
+ * <p>It's enabled by {@link CloudSim#enableEventProfiler()} before starting the simulation.
+ * When it is not enabled, no time is measured at all.
+ * The collected data can be {@link #print(PrintStream) printed as tables}
+ * or {@link #toJson() exported as JSON} after the simulation finishes.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class EventProfiler {
+    /**
+     * Number of histogram buckets, where bucket i counts processing times in the
+     * range [2<sup>i</sup>, 2<sup>i+1</sup>[ nanoseconds (bucket 0 also includes 0).
+     */
+    public static final int HISTOGRAM_BUCKETS = Long.SIZE;
+
+    /**
+     * Maps the value of each {@link CloudSimTags} constant to its name.
+     */
+    private static final Map<Integer, String> TAG_NAMES = tagNames();
+
+    private final CloudSim simulation;
+    private final Map<SimEntity, EventStats> entityStats;
+    private final Map<Integer, EventStats> tagStats;
+    private long startNanos;
+    private long wallNanos;
+
+    /**
+     * The processing statistics for the events of a given entity or tag.
+     */
+    public static final class EventStats {
+        private final String name;
+        private final long[] histogram = new long[HISTOGRAM_BUCKETS];
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private EventStats(final String name) {
+            this.name = name;
+        }
+
+        private void add(final long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            histogram[bucket(nanos)]++;
+        }
+
+        private static int bucket(final long nanos) {
+            return nanos <= 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        }
+
+        /**
+         * Gets the name of the entity or tag these statistics are related to.
+         * @return
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the number of processed events.
+         * @return
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the total time spent processing events (in nanoseconds).
+         * @return
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Gets the mean time to process an event (in nanoseconds).
+         * @return
+         */
+        public double getMeanNanos() {
+            return count == 0 ? 0 : totalNanos / (double) count;
+        }
+
+        /**
+         * Gets the maximum time to process an event (in nanoseconds).
+         * @return
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Gets an upper bound of a percentile of the event processing times,
+         * according to the histogram buckets.
+         * @param percentile the percentile to get, between 0 and 100
+         * @return the percentile upper bound (in nanoseconds)
+         */
+        public long getPercentileNanos(final double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+            }
+
+            final double target = Math.ceil(count * percentile / 100.0);
+            long accumulated = 0;
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                accumulated += histogram[i];
+                if (accumulated >= target && accumulated > 0) {
+                    return Math.min(maxNanos, i == HISTOGRAM_BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1);
+                }
+            }
+
+            return maxNanos;
+        }
+
+        /**
+         * Gets a copy of the histogram of processing times,
+         * where the value at index i is the number of events which took
+         * [2<sup>i</sup>, 2<sup>i+1</sup>[ nanoseconds to be processed.
+         * @return
+         */
+        public long[] getHistogram() {
+            return Arrays.copyOf(histogram, histogram.length);
+        }
+
+        private Map<String, Object> toMap() {
+            final Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            map.put("count", count);
+            map.put("totalNanos", totalNanos);
+            map.put("meanNanos", getMeanNanos());
+            map.put("p50Nanos", getPercentileNanos(50));
+            map.put("p99Nanos", getPercentileNanos(99));
+            map.put("maxNanos", maxNanos);
+
+            //Trailing empty buckets are omitted
+            int last = HISTOGRAM_BUCKETS - 1;
+            while (last > 0 && histogram[last] == 0) {
+                last--;
+            }
+            map.put("histogram", Arrays.copyOf(histogram, last + 1));
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d events in %.3f ms", name, count, totalNanos / 1_000_000.0);
+        }
+    }
+
+    /* default */ EventProfiler(final CloudSim simulation) {
+        this.simulation = simulation;
+        this.entityStats = new LinkedHashMap<>();
+        this.tagStats = new HashMap<>();
+    }
+
+    /* default */ void start() {
+        startNanos = System.nanoTime();
+    }
+
+    /* default */ void stop() {
+        wallNanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Records the time an entity took to process an event.
+     * @param entity the entity that processed the event
+     * @param evt the processed event
+     * @param nanos the processing time (in nanoseconds)
+     */
+    /* default */ void record(final SimEntity entity, final SimEvent evt, final long nanos) {
+        EventStats stats = entityStats.get(entity);
+        if (stats == null) {
+            stats = new EventStats(entity.getName());
+            entityStats.put(entity, stats);
+        }
+        stats.add(nanos);
+
+        final int tag = evt.getTag();
+        stats = tagStats.get(tag);
+        if (stats == null) {
+            stats = new EventStats(tagName(tag));
+            tagStats.put(tag, stats);
+        }
+        stats.add(nanos);
+    }
+
+    /**
+     * Gets the processing statistics for each entity,
+     * sorted by the total processing time in descending order.
+     * @return
+     */
+    public List<EventStats> getEntityStats() {
+        return sorted(entityStats.values());
+    }
+
+    /**
+     * Gets the processing statistics for each event tag,
+     * sorted by the total processing time in descending order.
+     * @return
+     */
+    public List<EventStats> getTagStats() {
+        return sorted(tagStats.values());
+    }
+
+    private static List<EventStats> sorted(final Collection<EventStats> stats) {
+        return stats.stream().sorted(comparingLong(EventStats::getTotalNanos).reversed()).collect(toList());
+    }
+
+    /**
+     * Gets the total number of events processed by entities.
+     * @return
+     */
+    public long getEventsNumber() {
+        return entityStats.values().stream().mapToLong(EventStats::getCount).sum();
+    }
+
+    /**
+     * Gets the total time entities spent processing events (in nanoseconds).
+     * @return
+     */
+    public long getProcessingNanos() {
+        return entityStats.values().stream().mapToLong(EventStats::getTotalNanos).sum();
+    }
+
+    /**
+     * Gets the wall-clock time the simulation took to run (in nanoseconds),
+     * which is available only after it finishes.
+     * @return
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Prints the processing statistics for entities and tags as tables into the standard output.
+     * @see #print(PrintStream)
+     */
+    public void print() {
+        print(System.out);
+    }
+
+    /**
+     * Prints the processing statistics for entities and tags as tables into a given {@link PrintStream}.
+     * @param out the {@link PrintStream} to print the tables
+     */
+    public void print(final PrintStream out) {
+        Objects.requireNonNull(out);
+        out.printf(
+            "%nEvent profiler: %d events processed in %.3f ms (simulation wall time: %.3f ms)%n",
+            getEventsNumber(), getProcessingNanos() / 1_000_000.0, wallNanos / 1_000_000.0);
+        out.printf(
+            "Maximum queue sizes: %d future events, %d deferred events%n",
+            simulation.getMaxEventsNumber(), simulation.getMaxDeferredEventsNumber());
+        printTable(out, "Events processing by entity", "Entity", getEntityStats());
+        printTable(out, "Events processing by tag", "Tag", getTagStats());
+    }
+
+    private void printTable(final PrintStream out, final String title, final String nameColumn, final List<EventStats> statsList) {
+        final TextTable table = new TextTable(title);
+        table.setPrintStream(out);
+        table.addColumn(nameColumn);
+        table.addColumn("Events");
+        table.addColumn("Total", "ms").setFormat("%.3f");
+        table.addColumn("% Time").setFormat("%.1f");
+        table.addColumn("Mean", "µs").setFormat("%.2f");
+        table.addColumn("p50", "µs").setFormat("%.2f");
+        table.addColumn("p99", "µs").setFormat("%.2f");
+        table.addColumn("Max", "µs").setFormat("%.2f");
+
+        final long processingNanos = Math.max(1, getProcessingNanos());
+        for (final EventStats stats : statsList) {
+            final List<Object> row = table.newRow();
+            row.add(stats.getName());
+            row.add(stats.getCount());
+            row.add(stats.getTotalNanos() / 1_000_000.0);
+            row.add(stats.getTotalNanos() * 100.0 / processingNanos);
+            row.add(stats.getMeanNanos() / 1000.0);
+            row.add(stats.getPercentileNanos(50) / 1000.0);
+            row.add(stats.getPercentileNanos(99) / 1000.0);
+            row.add(stats.getMaxNanos() / 1000.0);
+        }
+
+        table.print();
+    }
+
+    /**
+     * Exports the collected data as a JSON String.
+     * @return the JSON String
+     */
+    public String toJson() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("events", getEventsNumber());
+        map.put("processingNanos", getProcessingNanos());
+        map.put("wallNanos", wallNanos);
+        map.put("maxFutureEvents", simulation.getMaxEventsNumber());
+        map.put("maxDeferredEvents", simulation.getMaxDeferredEventsNumber());
+        map.put("entities", toMapList(getEntityStats()));
+        map.put("tags", toMapList(getTagStats()));
+        return new GsonBuilder().setPrettyPrinting().create().toJson(map);
+    }
+
+    private static List<Map<String, Object>> toMapList(final List<EventStats> statsList) {
+        return statsList.stream().map(EventStats::toMap).collect(toList());
+    }
+
+    /**
+     * Writes the collected data as JSON into a file.
+     * @param file the path of the file to write
+     * @throws UncheckedIOException when the file cannot be written
+     * @see #toJson()
+     */
+    public void writeJson(final Path file) {
+        try {
+            Files.write(file, toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String tagName(final int tag) {
+        return TAG_NAMES.getOrDefault(tag, "TAG " + tag);
+    }
+
+    private static Map<Integer, String> tagNames() {
+        final Map<Integer, String> map = new HashMap<>();
+        for (final Field field : CloudSimTags.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == int.class) {
+                putTagName(map, field);
+            }
+        }
+
+        return map;
+    }
+
+    private static void putTagName(final Map<Integer, String> map, final Field field) {
+        try {
+            map.putIfAbsent(field.getInt(null), field.getName());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
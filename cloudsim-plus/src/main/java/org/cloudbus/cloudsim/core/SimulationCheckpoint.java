@@ -0,0 +1,157 @@
+package org.cloudbus.cloudsim.core;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A snapshot of a {@link CloudSim} simulation at a given time,
+ * stored into a compact (compressed) binary format.
+ * It includes the simulation clock, the future and deferred events,
+ * the state of entities, Hosts, VMs, Cloudlets (including their execution progress)
+ * and brokers' lists.
+ *
+ * <p>A checkpoint is requested by {@link CloudSim#checkpointAt(double, Consumer)}
+ * and may be stored into a file, so that a long simulation can be continued after a crash
+ * or a change in the simulation code.
+ * It can also be restored many times, in order to fork several what-if experiments
+ * from a single warmed-up state, instead of replaying the same simulation prefix every time.
+ * Check {@link CloudSim#restore(SimulationCheckpoint)} for the requirements to restore a checkpoint.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class SimulationCheckpoint {
+    /** Identifies the checkpoint format ("CSPC" in ASCII). */
+    private static final int MAGIC = 0x43535043;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Double.BYTES;
+
+    private final byte[] bytes;
+    private final double time;
+
+    /**
+     * Takes a checkpoint of a given simulation.
+     * @param simulation the simulation to take the checkpoint from
+     */
+    /* default */ SimulationCheckpoint(final CloudSim simulation) {
+        this.time = simulation.clock();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).putDouble(time);
+        out.write(header.array(), 0, HEADER_SIZE);
+
+        try (DeflaterOutputStream body = new DeflaterOutputStream(out)) {
+            final CheckpointWriter writer = new CheckpointWriter(body);
+            simulation.writeCheckpoint(writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.bytes = out.toByteArray();
+    }
+
+    private SimulationCheckpoint(final byte[] bytes) {
+        final ByteBuffer header = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IllegalArgumentException("The given data is not a simulation checkpoint.");
+        }
+
+        final int version = header.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported simulation checkpoint version: " + version);
+        }
+
+        this.time = header.getDouble();
+        this.bytes = bytes;
+    }
+
+    /**
+     * Creates a checkpoint from the bytes previously got from {@link #toByteArray()}.
+     * @param bytes the checkpoint bytes
+     * @return the checkpoint
+     * @throws IllegalArgumentException when the bytes don't represent a checkpoint
+     */
+    public static SimulationCheckpoint of(final byte[] bytes) {
+        return new SimulationCheckpoint(Arrays.copyOf(bytes, bytes.length));
+    }
+
+    /**
+     * Reads a checkpoint from a file.
+     * @param file the path of the file to read
+     * @return the checkpoint
+     * @throws UncheckedIOException when the file cannot be read
+     * @throws IllegalArgumentException when the file doesn't contain a checkpoint
+     */
+    public static SimulationCheckpoint readFrom(final Path file) {
+        try {
+            return new SimulationCheckpoint(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes this checkpoint into a file.
+     * @param file the path of the file to write
+     * @return this checkpoint
+     * @throws UncheckedIOException when the file cannot be written
+     */
+    public SimulationCheckpoint writeTo(final Path file) {
+        try {
+            Files.write(file, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return this;
+    }
+
+    /**
+     * Restores this checkpoint into a given simulation.
+     * @param simulation the simulation to restore the checkpoint into
+     * @see CloudSim#restore(SimulationCheckpoint)
+     */
+    /* default */ void restore(final CloudSim simulation) {
+        final InputStream body = new ByteArrayInputStream(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        try (InputStream in = new BufferedInputStream(new InflaterInputStream(body))) {
+            simulation.readCheckpoint(new CheckpointReader(in, new CheckpointReader.Index(simulation)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the simulation time the checkpoint was taken.
+     * @return the checkpoint time (in seconds)
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the size of the checkpoint.
+     * @return the checkpoint size (in bytes)
+     */
+    public int size() {
+        return bytes.length;
+    }
+
+    /**
+     * Gets a copy of the checkpoint bytes.
+     * @return the checkpoint bytes
+     * @see #of(byte[])
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, bytes.length);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationCheckpoint at %.2f (%d bytes)", time, bytes.length);
+    }
+}
@@ -19,6 +19,12 @@ import java.util.stream.Stream;
  * as defined by {@link DeferredQueue} to improve performance
  * doesn't work for this queue.
  *
+ * <p>If a {@link TimerWheel} is enabled by {@link #enableTimerWheel(double)},
+ * short-horizon events are kept into the wheel instead of the sorted set,
+ * which is just fed with the events from a wheel bucket when that bucket fires.
+ * This way, the depth of the sorted set doesn't grow with the number of
+ * periodic events armed by simulation entities.</p>
+ *
  * @author Marcos Dias de Assuncao
  * @author Manoel Campos da Silva Filho
  * @see java.util.TreeSet
@@ -39,11 +45,17 @@ public class FutureQueue implements EventQueue {
     /** @see #getMaxEventsNumber() */
     private long maxEventsNumber;
 
+    /** @see #getTimerWheel() */
+    private TimerWheel timerWheel;
+
     @Override
     public void addEvent(final SimEvent newEvent) {
         newEvent.setSerial(serial++);
-        sortedSet.add(newEvent);
-        maxEventsNumber = Math.max(maxEventsNumber, sortedSet.size());
+        if (timerWheel == null || !timerWheel.add(newEvent)) {
+            sortedSet.add(newEvent);
+        }
+
+        maxEventsNumber = Math.max(maxEventsNumber, size());
     }
 
     /**
@@ -56,24 +68,109 @@ public class FutureQueue implements EventQueue {
         sortedSet.add(newEvent);
     }
 
+    /**
+     * Enables a {@link TimerWheel} to store short-horizon events,
+     * using the {@link TimerWheel#DEFAULT_SLOTS_PER_LEVEL default number of slots}
+     * and {@link TimerWheel#DEFAULT_LEVELS levels}.
+     * Events already in the queue are kept into the sorted set.
+     *
+     * @param tickLength the length of each wheel tick (in seconds)
+     */
+    public void enableTimerWheel(final double tickLength) {
+        enableTimerWheel(new TimerWheel(tickLength));
+    }
+
+    /**
+     * Enables a given {@link TimerWheel} to store short-horizon events.
+     * Events already in the queue are kept into the sorted set.
+     *
+     * @param timerWheel the timer wheel to enable
+     */
+    public void enableTimerWheel(final TimerWheel timerWheel) {
+        if (isTimerWheelEnabled() && !this.timerWheel.isEmpty()) {
+            throw new IllegalStateException("The current timer wheel still has events and can't be replaced.");
+        }
+
+        this.timerWheel = Objects.requireNonNull(timerWheel);
+    }
+
+    /**
+     * Checks if a {@link TimerWheel} is enabled.
+     * @return
+     */
+    public boolean isTimerWheelEnabled() {
+        return timerWheel != null;
+    }
+
+    /**
+     * Gets the {@link TimerWheel} storing short-horizon events
+     * or null if it isn't enabled.
+     * @return
+     */
+    public TimerWheel getTimerWheel() {
+        return timerWheel;
+    }
+
+    /**
+     * Moves events from the {@link TimerWheel} to the sorted set
+     * while the next wheel bucket may contain events happening
+     * before (or at the same time of) the first event in the sorted set.
+     * After that, the first event in the sorted set is the first one in the entire queue.
+     */
+    private void feedFromTimerWheel() {
+        if (timerWheel == null) {
+            return;
+        }
+
+        while (!timerWheel.isEmpty() && (sortedSet.isEmpty() || timerWheel.nextBucketTime() <= sortedSet.first().getTime())) {
+            timerWheel.fireNextBucket(sortedSet);
+        }
+    }
+
+    private boolean isTimerWheelEmpty() {
+        return timerWheel == null || timerWheel.isEmpty();
+    }
+
     @Override
     public Iterator<SimEvent> iterator() {
-        return sortedSet.iterator();
+        return isTimerWheelEmpty() ? sortedSet.iterator() : stream().iterator();
     }
 
+    /**
+     * {@inheritDoc}
+     * If there are events in the {@link TimerWheel}, they are merged with the
+     * ones in the sorted set, so that the stream keeps the events order.
+     * @return {@inheritDoc}
+     */
     @Override
     public Stream<SimEvent> stream() {
-        return sortedSet.stream();
+        if (isTimerWheelEmpty()) {
+            return sortedSet.stream();
+        }
+
+        return Stream.concat(sortedSet.stream(), timerWheel.stream()).sorted();
+    }
+
+    /**
+     * Gets a stream of all events in the queue, without ensuring their order.
+     * It avoids sorting the events in the sorted set and the {@link TimerWheel}
+     * together, so it must be preferred when the order of events doesn't matter,
+     * such as for counting or checking the existence of events.
+     * @return
+     * @see #stream()
+     */
+    public Stream<SimEvent> unorderedStream() {
+        return isTimerWheelEmpty() ? sortedSet.stream() : Stream.concat(sortedSet.stream(), timerWheel.stream());
     }
 
     @Override
     public int size() {
-        return sortedSet.size();
+        return isTimerWheelEmpty() ? sortedSet.size() : sortedSet.size() + timerWheel.size();
     }
 
     @Override
     public boolean isEmpty() {
-        return sortedSet.isEmpty();
+        return sortedSet.isEmpty() && isTimerWheelEmpty();
     }
 
     /**
@@ -83,7 +180,7 @@ public class FutureQueue implements EventQueue {
      * @return true, if successful
      */
     public boolean remove(final SimEvent event) {
-        return sortedSet.remove(event);
+        return sortedSet.remove(event) || (!isTimerWheelEmpty() && timerWheel.remove(event));
     }
 
     /**
@@ -93,15 +190,22 @@ public class FutureQueue implements EventQueue {
      * @return true, if successful
      */
     public boolean removeAll(final Collection<SimEvent> events) {
-        return sortedSet.removeAll(events);
+        boolean removed = false;
+        for (final SimEvent evt : events) {
+            removed |= remove(evt);
+        }
+
+        return removed;
     }
 
     public boolean removeIf(final Predicate<SimEvent> predicate){
-        return sortedSet.removeIf(predicate);
+        final boolean removed = sortedSet.removeIf(predicate);
+        return (!isTimerWheelEmpty() && timerWheel.removeIf(predicate)) || removed;
     }
 
     @Override
     public SimEvent first() throws NoSuchElementException {
+        feedFromTimerWheel();
         return sortedSet.first();
     }
 
@@ -110,6 +214,9 @@ public class FutureQueue implements EventQueue {
      */
     public void clear() {
         sortedSet.clear();
+        if (timerWheel != null) {
+            timerWheel.clear();
+        }
     }
 
     /** Gets an incremental number used for {@link SimEvent#getSerial()} event attribute. */
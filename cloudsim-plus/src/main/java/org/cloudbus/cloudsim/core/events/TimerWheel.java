@@ -0,0 +1,462 @@
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A hashed hierarchical timer wheel that holds short-horizon {@link SimEvent}s
+ * outside the {@link FutureQueue} sorted set, such as the periodic
+ * events sent due to a Datacenter scheduling interval,
+ * host fault injection, autoscaling checks and VM destruction delays.
+ *
+ * <p>The simulation time is divided into ticks of a fixed length.
+ * Each level of the wheel has the same number of slots,
+ * where a slot at level {@code L} covers {@code slotsPerLevel^L} ticks.
+ * An event is stored into a slot (bucket) according to how far its time is from the
+ * current position of the wheel, which makes adding and removing an event O(1).
+ * Events are moved down to lower levels as the wheel advances (cascading),
+ * so that each event is cascaded at most one time per level.</p>
+ *
+ * <p>Events inside a bucket are not sorted. When a bucket fires,
+ * all its events are fed to the {@link FutureQueue} sorted set at once,
+ * which then keeps the regular event ordering.
+ * Events whose time is before the current wheel position or beyond
+ * the wheel horizon are not accepted and must be stored directly into the
+ * sorted set.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ * @see FutureQueue#enableTimerWheel(double)
+ */
+public class TimerWheel {
+    /**
+     * Default number of slots at each level of the wheel.
+     */
+    public static final int DEFAULT_SLOTS_PER_LEVEL = 64;
+
+    /**
+     * Default number of levels of the wheel.
+     */
+    public static final int DEFAULT_LEVELS = 4;
+
+    /** @see #getTickLength() */
+    private final double tickLength;
+
+    private final int slotsPerLevel;
+
+    /**
+     * The buckets at each level, lazily created.
+     * The first index is the level, the second one is the slot.
+     */
+    private final List<SimEvent>[][] buckets;
+
+    /**
+     * Number of events currently stored at each level.
+     */
+    private final int[] levelSizes;
+
+    /**
+     * The number of ticks covered by a single slot at each level,
+     * where the last position is the wheel horizon.
+     */
+    private final long[] ticksPerSlot;
+
+    /**
+     * The next tick to be fired, which defines the current position of the wheel.
+     */
+    private long currentTick;
+
+    /** @see #size() */
+    private int size;
+
+    /**
+     * A lower bound for the time of the earliest event stored into the wheel.
+     * It's just valid when {@link #nextBucketTimeComputed} is true.
+     */
+    private double nextBucketTime;
+
+    /**
+     * Indicates if the {@link #nextBucketTime} is up-to-date or has to be computed again.
+     */
+    private boolean nextBucketTimeComputed;
+
+    /** @see #getFiredBuckets() */
+    private long firedBuckets;
+
+    /** @see #getCascadedEvents() */
+    private long cascadedEvents;
+
+    /**
+     * Creates a timer wheel with {@link #DEFAULT_SLOTS_PER_LEVEL} slots per level
+     * and {@link #DEFAULT_LEVELS} levels.
+     *
+     * @param tickLength the length of each wheel tick (in seconds)
+     */
+    public TimerWheel(final double tickLength) {
+        this(tickLength, DEFAULT_SLOTS_PER_LEVEL, DEFAULT_LEVELS);
+    }
+
+    /**
+     * Creates a timer wheel.
+     *
+     * @param tickLength the length of each wheel tick (in seconds)
+     * @param slotsPerLevel the number of slots at each level
+     * @param levels the number of levels
+     */
+    public TimerWheel(final double tickLength, final int slotsPerLevel, final int levels) {
+        if (tickLength <= 0) {
+            throw new IllegalArgumentException("Tick length must be greater than 0.");
+        }
+
+        if (slotsPerLevel < 2 || levels < 1) {
+            throw new IllegalArgumentException("The timer wheel must have at least 1 level with 2 slots.");
+        }
+
+        this.tickLength = tickLength;
+        this.slotsPerLevel = slotsPerLevel;
+        this.buckets = newBuckets(levels, slotsPerLevel);
+        this.levelSizes = new int[levels];
+        this.ticksPerSlot = new long[levels + 1];
+        ticksPerSlot[0] = 1;
+        for (int level = 1; level <= levels; level++) {
+            ticksPerSlot[level] = Math.multiplyExact(ticksPerSlot[level - 1], slotsPerLevel);
+        }
+    }
+
+    /**
+     * Creates the matrix of buckets.
+     * Since generic arrays cannot be created, a wildcard one is cast,
+     * which is safe because the matrix is private and just stores {@code List<SimEvent>}.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<SimEvent>[][] newBuckets(final int levels, final int slotsPerLevel) {
+        return (List<SimEvent>[][]) new List<?>[levels][slotsPerLevel];
+    }
+
+    /**
+     * Tries to add an event to the wheel.
+     *
+     * @param evt the event to add
+     * @return true if the event was added, false if its time is before the current
+     *         wheel position or after the wheel horizon
+     */
+    public boolean add(final SimEvent evt) {
+        final long tick = toTick(evt.getTime());
+        if (tick < currentTick || tick - currentTick >= horizon()) {
+            return false;
+        }
+
+        if (!place(evt, tick)) {
+            return false;
+        }
+
+        size++;
+        return true;
+    }
+
+    /**
+     * Places an event into the bucket corresponding to its tick.
+     * @param evt the event to place
+     * @param tick the tick the event belongs to
+     * @return true if the event was placed, false if it is out of the wheel range
+     */
+    private boolean place(final SimEvent evt, final long tick) {
+        final int level = levelOf(tick);
+        if (level < 0) {
+            return false;
+        }
+
+        final int slot = slotOf(tick, level);
+        if (buckets[level][slot] == null) {
+            buckets[level][slot] = new ArrayList<>();
+        }
+
+        buckets[level][slot].add(evt);
+        levelSizes[level]++;
+        if (nextBucketTimeComputed) {
+            nextBucketTime = Math.min(nextBucketTime, lowerBoundTime(slotStartTick(tick, level)));
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the lowest level whose region contains both the given tick and
+     * the current wheel position.
+     * @param tick the tick to get the level
+     * @return the level or -1 if the tick is out of the wheel range
+     */
+    private int levelOf(final long tick) {
+        for (int level = 0; level < levelSizes.length; level++) {
+            if (tick / ticksPerSlot[level + 1] == currentTick / ticksPerSlot[level + 1]) {
+                return level;
+            }
+        }
+
+        return -1;
+    }
+
+    private int slotOf(final long tick, final int level) {
+        return (int) (tick / ticksPerSlot[level] % slotsPerLevel);
+    }
+
+    private long slotStartTick(final long tick, final int level) {
+        return tick / ticksPerSlot[level] * ticksPerSlot[level];
+    }
+
+    private long toTick(final double time) {
+        final double tick = Math.floor(time / tickLength);
+        return tick >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) tick;
+    }
+
+    /**
+     * Gets a time that is ensured to be lower or equal to the time of any event
+     * belonging to a given tick. Half a tick is subtracted from the tick start time
+     * to absorb floating-point rounding when converting times to ticks.
+     * @param tick the tick to get the time
+     * @return the lower bound time
+     */
+    private double lowerBoundTime(final long tick) {
+        return (tick - 0.5) * tickLength;
+    }
+
+    private long horizon() {
+        return ticksPerSlot[levelSizes.length];
+    }
+
+    /**
+     * Removes an event from the wheel.
+     * Since the bucket for an event depends only on its time and level,
+     * just one bucket per level needs to be checked.
+     *
+     * @param evt the event to remove
+     * @return true if the event was found and removed, false otherwise
+     */
+    public boolean remove(final SimEvent evt) {
+        if (size == 0) {
+            return false;
+        }
+
+        final long tick = toTick(evt.getTime());
+        for (int level = 0; level < levelSizes.length; level++) {
+            final List<SimEvent> bucket = buckets[level][slotOf(tick, level)];
+            if (bucket != null && bucket.remove(evt)) {
+                levelSizes[level]--;
+                size--;
+                nextBucketTimeComputed = false;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes all events matching a given predicate.
+     * @param predicate the predicate to select the events to remove
+     * @return true if any event was removed, false otherwise
+     */
+    public boolean removeIf(final Predicate<SimEvent> predicate) {
+        boolean removed = false;
+        for (int level = 0; level < levelSizes.length && size > 0; level++) {
+            for (final List<SimEvent> bucket : buckets[level]) {
+                if (bucket == null || bucket.isEmpty()) {
+                    continue;
+                }
+
+                final int previousSize = bucket.size();
+                if (bucket.removeIf(predicate)) {
+                    final int count = previousSize - bucket.size();
+                    levelSizes[level] -= count;
+                    size -= count;
+                    removed = true;
+                }
+            }
+        }
+
+        if (removed) {
+            nextBucketTimeComputed = false;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Gets a lower bound for the time of the earliest event in the wheel,
+     * which is the start time of the first non-empty bucket.
+     *
+     * @return the start time of the first non-empty bucket or {@link Double#MAX_VALUE} if the wheel is empty
+     */
+    public double nextBucketTime() {
+        if (size == 0) {
+            return Double.MAX_VALUE;
+        }
+
+        if (!nextBucketTimeComputed) {
+            final int level = lowestNonEmptyLevel();
+            nextBucketTime = lowerBoundTime(slotStartTick(firstNonEmptySlotTick(level), level));
+            nextBucketTimeComputed = true;
+        }
+
+        return nextBucketTime;
+    }
+
+    /**
+     * Fires the first non-empty bucket, moving all its events to a given collection
+     * and advancing the wheel position to the tick after the fired bucket.
+     *
+     * @param target the collection where the events from the fired bucket will be added
+     * @return the number of events moved to the target collection
+     */
+    public int fireNextBucket(final Collection<SimEvent> target) {
+        while (size > 0) {
+            final int level = lowestNonEmptyLevel();
+            final long tick = firstNonEmptySlotTick(level);
+            if (level > 0) {
+                /* Lower levels are empty, so the wheel can jump straight to the start of the slot,
+                 * whose events will be cascaded to lower levels. */
+                advanceTo(slotStartTick(tick, level));
+                continue;
+            }
+
+            final List<SimEvent> bucket = buckets[0][slotOf(tick, 0)];
+            final int count = bucket.size();
+            target.addAll(bucket);
+            bucket.clear();
+            levelSizes[0] -= count;
+            size -= count;
+            firedBuckets++;
+            nextBucketTimeComputed = false;
+            advanceTo(tick + 1);
+            return count;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Moves the wheel position to a given tick, cascading the events from
+     * the higher-level slots that start at that tick.
+     * @param tick the new wheel position
+     */
+    private void advanceTo(final long tick) {
+        currentTick = tick;
+        nextBucketTimeComputed = false;
+        for (int level = levelSizes.length - 1; level > 0; level--) {
+            if (tick % ticksPerSlot[level] == 0) {
+                cascade(level, slotOf(tick, level));
+            }
+        }
+    }
+
+    private void cascade(final int level, final int slot) {
+        final List<SimEvent> bucket = buckets[level][slot];
+        if (bucket == null || bucket.isEmpty()) {
+            return;
+        }
+
+        final List<SimEvent> events = new ArrayList<>(bucket);
+        bucket.clear();
+        levelSizes[level] -= events.size();
+        for (final SimEvent evt : events) {
+            place(evt, toTick(evt.getTime()));
+        }
+
+        cascadedEvents += events.size();
+    }
+
+    private int lowestNonEmptyLevel() {
+        for (int level = 0; level < levelSizes.length; level++) {
+            if (levelSizes[level] > 0) {
+                return level;
+            }
+        }
+
+        throw new IllegalStateException("The timer wheel is empty.");
+    }
+
+    /**
+     * Gets the first tick of the first non-empty slot at a given level,
+     * starting from the slot of the current wheel position.
+     * Since all events at a level belong to the same region of the upper level,
+     * there is no need to wrap around the slots.
+     */
+    private long firstNonEmptySlotTick(final int level) {
+        final long regionStart = currentTick / ticksPerSlot[level + 1] * ticksPerSlot[level + 1];
+        for (int slot = slotOf(currentTick, level); slot < slotsPerLevel; slot++) {
+            final List<SimEvent> bucket = buckets[level][slot];
+            if (bucket != null && !bucket.isEmpty()) {
+                return Math.max(currentTick, regionStart + slot * ticksPerSlot[level]);
+            }
+        }
+
+        throw new IllegalStateException("Inconsistent timer wheel: level " + level + " has no events.");
+    }
+
+    /**
+     * Gets a stream of all events into the wheel, in no specific order.
+     * @return the stream of events
+     */
+    public Stream<SimEvent> stream() {
+        return Stream.of(buckets)
+                     .flatMap(Stream::of)
+                     .filter(bucket -> bucket != null && !bucket.isEmpty())
+                     .flatMap(List::stream);
+    }
+
+    /**
+     * Removes all events from the wheel.
+     */
+    public void clear() {
+        for (final List<SimEvent>[] level : buckets) {
+            for (final List<SimEvent> bucket : level) {
+                if (bucket != null) {
+                    bucket.clear();
+                }
+            }
+        }
+
+        Arrays.fill(levelSizes, 0);
+        size = 0;
+        nextBucketTimeComputed = false;
+    }
+
+    /**
+     * Gets the number of events into the wheel.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the length of each wheel tick (in seconds).
+     * @return
+     */
+    public double getTickLength() {
+        return tickLength;
+    }
+
+    /**
+     * Gets the number of buckets that have fired so far.
+     * @return
+     */
+    public long getFiredBuckets() {
+        return firedBuckets;
+    }
+
+    /**
+     * Gets the total number of events moved from higher to lower levels so far.
+     * @return
+     */
+    public long getCascadedEvents() {
+        return cascadedEvents;
+    }
+}
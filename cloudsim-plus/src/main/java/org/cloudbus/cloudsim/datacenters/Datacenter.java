@@ -204,6 +204,42 @@ public interface Datacenter extends SimEntity, PowerAware<PowerModelDatacenter>,
      */
     Datacenter setSchedulingInterval(double schedulingInterval);
 
+    /**
+     * Gets the maximum time distance (in seconds) between a requested update of cloudlets processing
+     * and a pending one, so that the requested update is coalesced into the pending one,
+     * instead of creating a new event.
+     * That avoids storms of update events when lots of cloudlets finish close together.
+     *
+     * <p>The default value is zero, which just coalesces updates requested for the exact
+     * same time of a pending one, not changing simulation results.
+     * Larger values reduce the number of events, but cloudlets finishing inside the tolerance
+     * window may have their finish time delayed by up to such a tolerance.</p>
+     *
+     * @return the update coalescing tolerance (in seconds)
+     * @see #getCoalescedUpdatesNumber()
+     */
+    double getUpdateCoalescingTolerance();
+
+    /**
+     * Sets the maximum time distance (in seconds) between a requested update of cloudlets processing
+     * and a pending one, so that the requested update is coalesced into the pending one.
+     *
+     * @param tolerance the update coalescing tolerance to set (in seconds)
+     * @return
+     * @throws IllegalArgumentException when the tolerance is negative
+     * @see #getUpdateCoalescingTolerance()
+     */
+    Datacenter setUpdateCoalescingTolerance(double tolerance);
+
+    /**
+     * Gets the number of requested updates of cloudlets processing
+     * which were coalesced into pending ones, instead of creating new events.
+     *
+     * @return
+     * @see #getUpdateCoalescingTolerance()
+     */
+    long getCoalescedUpdatesNumber();
+
     /**
      * Gets the Datacenter characteristics.
      *
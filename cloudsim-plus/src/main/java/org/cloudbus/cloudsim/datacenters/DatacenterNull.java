@@ -44,6 +44,9 @@ final class DatacenterNull implements Datacenter, SimEntityNullBase {
     @Override public Datacenter addHost(Host host) { return this; }
     @Override public double getSchedulingInterval() { return 0; }
     @Override public Datacenter setSchedulingInterval(double schedulingInterval) { return this; }
+    @Override public double getUpdateCoalescingTolerance() { return 0; }
+    @Override public Datacenter setUpdateCoalescingTolerance(double tolerance) { return this; }
+    @Override public long getCoalescedUpdatesNumber() { return 0; }
     @Override public DatacenterCharacteristics getCharacteristics() { return DatacenterCharacteristics.NULL; }
     @Override public DatacenterStorage getDatacenterStorage() { return STORAGE; }
     @Override public void setDatacenterStorage(DatacenterStorage datacenterStorage) {/**/}
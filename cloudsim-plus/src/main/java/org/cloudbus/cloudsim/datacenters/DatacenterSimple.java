@@ -10,6 +10,8 @@ import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
 import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigration;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
 import org.cloudbus.cloudsim.core.CloudSimEntity;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.Simulation;
@@ -18,15 +20,16 @@ import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.hosts.HostSuitability;
 import org.cloudbus.cloudsim.network.IcmpPacket;
+import org.cloudbus.cloudsim.power.DatacenterEnergyMeter;
 import org.cloudbus.cloudsim.power.models.PowerModelDatacenter;
 import org.cloudbus.cloudsim.power.models.PowerModelDatacenterSimple;
 import org.cloudbus.cloudsim.resources.DatacenterStorage;
 import org.cloudbus.cloudsim.resources.FileStorage;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
-import org.cloudbus.cloudsim.util.Conversion;
 import org.cloudbus.cloudsim.util.MathUtil;
 import org.cloudbus.cloudsim.util.TimeUtil;
 import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmCreationBatch;
 import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
 import org.cloudsimplus.faultinjection.HostFaultInjection;
@@ -66,6 +69,9 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      */
     private double bandwidthPercentForMigration;
 
+    /** @see #getMigrationModel() */
+    private MigrationModel migrationModel;
+
     /**
      * Indicates if migrations are disabled or not.
      */
@@ -86,6 +92,18 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     /** @see #getSchedulingInterval() */
     private double schedulingInterval;
 
+    /** @see #getUpdateCoalescingTolerance() */
+    private double updateCoalescingTolerance;
+
+    /** @see #getCoalescedUpdatesNumber() */
+    private long coalescedUpdatesNumber;
+
+    /**
+     * Maps the time of each pending {@link CloudSimTags#VM_UPDATE_CLOUDLET_PROCESSING}
+     * event scheduled to this Datacenter to the number of such events at that time.
+     */
+    private final NavigableMap<Double, Integer> pendingUpdates;
+
     /** @see #getDatacenterStorage() */
 	private DatacenterStorage datacenterStorage;
 
@@ -103,6 +121,9 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
     private PowerModelDatacenter powerModel = PowerModelDatacenter.NULL;
 
+    /** @see #getEnergyMeter() */
+    private DatacenterEnergyMeter energyMeter;
+
     /**
      * Creates a Datacenter with an empty {@link #getDatacenterStorage() storage}
      * and a {@link VmAllocationPolicySimple} by default.
@@ -190,9 +211,11 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         setPowerModel(new PowerModelDatacenterSimple(this));
 
         this.onHostAvailableListeners = new ArrayList<>();
+        this.pendingUpdates = new TreeMap<>();
         this.onVmMigrationFinishListeners = new ArrayList<>();
         this.characteristics = new DatacenterCharacteristicsSimple(this);
         this.bandwidthPercentForMigration = DEF_BW_PERCENT_FOR_MIGRATION;
+        this.migrationModel = new MigrationModelSimple();
         this.migrationsEnabled = true;
         this.hostSearchRetryDelay = -1;
 
@@ -310,6 +333,9 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             case CloudSimTags.VM_CREATE_ACK:
                 processVmCreate(evt);
                 return true;
+            case CloudSimTags.VM_CREATE_BATCH_ACK:
+                processVmCreateBatch(evt);
+                return true;
             case CloudSimTags.VM_VERTICAL_SCALING:
                 requestVmVerticalScaling(evt);
                 return true;
@@ -326,6 +352,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
                 finishVmMigration(evt, true);
                 return true;
             case CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING:
+                removePendingUpdate(evt.getTime());
                 updateCloudletProcessing();
                 return true;
         }
@@ -572,16 +599,47 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      */
     private boolean processVmCreate(final SimEvent evt) {
         final Vm vm = (Vm) evt.getData();
+        final boolean hostAllocatedForVm = createVm(vm);
+
+        /* Acknowledges that the request was received by the Datacenter,
+          (the broker is expecting that if the Vm was created or not). */
+        send(vm.getBroker(), getSimulation().getMinTimeBetweenEvents(), CloudSimTags.VM_CREATE_ACK, vm);
+
+        return hostAllocatedForVm;
+    }
+
+    /**
+     * Process the event for a Broker which wants to create a batch of VMs in this
+     * Datacenter. This Datacenter will then send a single event back to the Broker,
+     * with the status of all VMs in the batch.
+     *
+     * @param evt information about the event just happened
+     * @see CloudSimTags#VM_CREATE_BATCH_ACK
+     */
+    private void processVmCreateBatch(final SimEvent evt) {
+        final VmCreationBatch batch = (VmCreationBatch) evt.getData();
+        for (final Vm vm : batch.getVmList()) {
+            if (!vm.isCreated()) {
+                createVm(vm);
+            }
+
+            batch.addResult(vm);
+        }
+
+        send(batch.getBroker(), getSimulation().getMinTimeBetweenEvents(), CloudSimTags.VM_CREATE_BATCH_ACK, batch);
+    }
 
+    /**
+     * Tries to place a VM into some Host of this Datacenter.
+     * @param vm the VM to create
+     * @return true if a host was allocated to the VM; false otherwise
+     */
+    private boolean createVm(final Vm vm) {
         final boolean hostAllocatedForVm = vmAllocationPolicy.allocateHostForVm(vm).fully();
         if (hostAllocatedForVm) {
             vm.updateProcessing(vm.getHost().getVmScheduler().getAllocatedMips(vm));
         }
 
-        /* Acknowledges that the request was received by the Datacenter,
-          (the broker is expecting that if the Vm was created or not). */
-        send(vm.getBroker(), getSimulation().getMinTimeBetweenEvents(), CloudSimTags.VM_CREATE_ACK, vm);
-
         return hostAllocatedForVm;
     }
 
@@ -741,6 +799,10 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             nextSimulationDelay = Math.min(delay, nextSimulationDelay);
         }
 
+        if (energyMeter != null) {
+            energyMeter.update(clock());
+        }
+
         // Guarantees a minimal interval before scheduling the event
         final double minTimeBetweenEvents = getSimulation().getMinTimeBetweenEvents()+0.01;
         nextSimulationDelay = nextSimulationDelay == 0 ? nextSimulationDelay : Math.max(nextSimulationDelay, minTimeBetweenEvents);
@@ -781,6 +843,57 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         return nextSimulationDelay;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A {@link CloudSimTags#VM_UPDATE_CLOUDLET_PROCESSING} event sent to this Datacenter
+     * is not scheduled if there is a pending one happening within
+     * the {@link #getUpdateCoalescingTolerance() coalescing tolerance},
+     * since such a pending update will process all cloudlets anyway.
+     * Such events must be scheduled through this Datacenter (instead of
+     * sending them directly through the {@link #getSimulation() simulation}),
+     * so that they are tracked as pending updates.</p>
+     */
+    @Override
+    public boolean schedule(final SimEvent evt) {
+        if (evt.getTag() != CloudSimTags.VM_UPDATE_CLOUDLET_PROCESSING || evt.getDestination() != this) {
+            return super.schedule(evt);
+        }
+
+        if (isTherePendingUpdate(evt.getTime())) {
+            coalescedUpdatesNumber++;
+            return true;
+        }
+
+        if (!super.schedule(evt)) {
+            return false;
+        }
+
+        pendingUpdates.merge(evt.getTime(), 1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * Checks if there is a pending cloudlets processing update
+     * happening within the {@link #getUpdateCoalescingTolerance() coalescing tolerance}
+     * from a given time.
+     * @param time the time of a requested update
+     * @return true if such an update exists, false otherwise
+     */
+    private boolean isTherePendingUpdate(final double time) {
+        final Double previous = pendingUpdates.floorKey(time);
+        if (previous != null && time - previous <= updateCoalescingTolerance) {
+            return true;
+        }
+
+        final Double next = pendingUpdates.ceilingKey(time);
+        return next != null && next - time <= updateCoalescingTolerance;
+    }
+
+    private void removePendingUpdate(final double time) {
+        pendingUpdates.computeIfPresent(time, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
     private boolean isTimeToUpdateCloudletsProcessing() {
         // if some time passed since last processing
         // R: for term is to allow loop at simulation start. Otherwise, one initial
@@ -862,33 +975,36 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             return;
         }
 
-        final double delay = timeToMigrateVm(sourceVm, targetHost);
+        final MigrationCost cost = timeToMigrateVm(sourceVm, targetHost);
         final String msg1 =
             sourceHost == Host.NULL ?
                 String.format("%s to %s", sourceVm, targetHost) :
                 String.format("%s from %s to %s", sourceVm, sourceHost, targetHost);
 
         final String msg2 = String.format(
-            "It's expected to finish in %.2f seconds, considering the %.0f%% of bandwidth allowed for migration and the VM RAM size.",
-            delay, getBandwidthPercentForMigration()*100);
+            "It's expected to finish in %.2f seconds after %d copy rounds and %.3f seconds of downtime, " +
+            "transferring %.0f MB at %.2f MB/s (%.0f%% of bandwidth allowed for migration).",
+            cost.getMigrationTime(), cost.getRounds(), cost.getDowntime(),
+            cost.getTransferredMegabytes(), cost.getBandwidth(), getBandwidthPercentForMigration()*100);
         LOGGER.info("{}: {}: Migration of {} is started. {}", currentTime, getName(), msg1, msg2);
 
         if(targetHost.addMigratingInVm(sourceVm)) {
             sourceHost.addVmMigratingOut(sourceVm);
-            send(this, delay, CloudSimTags.VM_MIGRATE, new TreeMap.SimpleEntry<>(sourceVm, targetHost));
+            migrationModel.account(cost);
+            send(this, cost.getMigrationTime(), CloudSimTags.VM_MIGRATE, new TreeMap.SimpleEntry<>(sourceVm, targetHost));
         }
     }
 
     /**
-     * Computes the expected time to migrate a VM to a given Host.
-     * It is computed as: VM RAM (MB)/Target Host Bandwidth (Mb/s).
+     * Computes the expected time to migrate a VM to a given Host,
+     * according to the {@link #getMigrationModel() migration model}.
      *
      * @param vm the VM to migrate.
-     * @param targetHost the Host where tto migrate the VM
-     * @return the time (in seconds) that is expected to migrate the VM
+     * @param targetHost the Host where to migrate the VM
+     * @return the cost of the migration, including the time (in seconds) that is expected to migrate the VM
      */
-    private double timeToMigrateVm(final Vm vm, final Host targetHost) {
-        return vm.getRam().getCapacity() / Conversion.bitesToBytes(targetHost.getBw().getCapacity() * getBandwidthPercentForMigration());
+    private MigrationCost timeToMigrateVm(final Vm vm, final Host targetHost) {
+        return migrationModel.computeCost(vm, targetHost, getBandwidthPercentForMigration());
     }
 
     @Override
@@ -957,6 +1073,26 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         this.lastProcessTime = lastProcessTime;
     }
 
+    @Override
+    public double getUpdateCoalescingTolerance() {
+        return updateCoalescingTolerance;
+    }
+
+    @Override
+    public final Datacenter setUpdateCoalescingTolerance(final double tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("The update coalescing tolerance cannot be negative.");
+        }
+
+        this.updateCoalescingTolerance = tolerance;
+        return this;
+    }
+
+    @Override
+    public long getCoalescedUpdatesNumber() {
+        return coalescedUpdatesNumber;
+    }
+
     @Override
     public DatacenterStorage getDatacenterStorage() {
         return this.datacenterStorage;
@@ -1103,6 +1239,27 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         this.bandwidthPercentForMigration = bandwidthPercentForMigration;
     }
 
+    /**
+     * Gets the model computing the time, downtime and transferred data of VM live migrations
+     * and accounting such values for the migrations started by this Datacenter.
+     * It's a {@link MigrationModelSimple} by default.
+     * @return
+     * @see PreCopyMigrationModel
+     */
+    public MigrationModel getMigrationModel() {
+        return migrationModel;
+    }
+
+    /**
+     * Sets the model computing the time, downtime and transferred data of VM live migrations.
+     * @param migrationModel the migration model to set
+     * @return
+     */
+    public Datacenter setMigrationModel(final MigrationModel migrationModel) {
+        this.migrationModel = requireNonNull(migrationModel);
+        return this;
+    }
+
     @Override
     public Datacenter addOnHostAvailableListener(final EventListener<HostEventInfo> listener) {
         onHostAvailableListeners.add(requireNonNull(listener));
@@ -1157,6 +1314,29 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         this.powerModel = powerModel;
     }
 
+    /**
+     * Enables a {@link DatacenterEnergyMeter} to account the power and energy consumption of the Hosts,
+     * integrating the energy at each processing update.
+     * It must be called before the simulation starts.
+     *
+     * @return the energy meter
+     */
+    public DatacenterEnergyMeter enableEnergyMeter() {
+        if (energyMeter == null) {
+            energyMeter = new DatacenterEnergyMeter(this);
+        }
+
+        return energyMeter;
+    }
+
+    /**
+     * Gets the {@link DatacenterEnergyMeter} accounting the power and energy consumption of the Hosts.
+     * @return the energy meter or null if it's not {@link #enableEnergyMeter() enabled}
+     */
+    public DatacenterEnergyMeter getEnergyMeter() {
+        return energyMeter;
+    }
+
     @Override
     public double getHostSearchRetryDelay() {
         return hostSearchRetryDelay;
@@ -1171,4 +1351,33 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         this.hostSearchRetryDelay = delay;
         return this;
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeDouble(lastProcessTime).writeDouble(lastTimeUnderOrOverloadedHostsDetected);
+        writer.writeLong(coalescedUpdatesNumber).writeInt(pendingUpdates.size());
+        pendingUpdates.forEach((time, count) -> writer.writeDouble(time).writeInt(count));
+        writer.writeHostList(hostList);
+        hostList.forEach(writer::writeState);
+        writer.writeState(vmAllocationPolicy);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        lastProcessTime = reader.readDouble();
+        lastTimeUnderOrOverloadedHostsDetected = reader.readDouble();
+        coalescedUpdatesNumber = reader.readLong();
+        pendingUpdates.clear();
+        for (int i = reader.readInt(); i > 0; i--) {
+            pendingUpdates.put(reader.readDouble(), reader.readInt());
+        }
+        for (final Host host : reader.readHostList()) {
+            reader.readRequiredState(host);
+        }
+
+        //The state is just restored if the policy is the same one used when the checkpoint was taken
+        reader.readState(vmAllocationPolicy);
+    }
 }
@@ -0,0 +1,75 @@
+package org.cloudbus.cloudsim.datacenters;
+
+/**
+ * The cost of migrating a VM, computed by a {@link MigrationModel}.
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class MigrationCost {
+    private final int rounds;
+    private final double migrationTime;
+    private final double downtime;
+    private final double transferredMegabytes;
+    private final double bandwidth;
+
+    /**
+     * Creates the cost of migrating a VM.
+     * @param rounds the number of rounds the VM RAM is copied while the VM is running
+     * @param migrationTime the total time (in seconds) to migrate the VM, including the downtime
+     * @param downtime the time (in seconds) the VM is paused
+     * @param transferredMegabytes the data (in Megabytes) transferred through the Host links
+     * @param bandwidth the bandwidth (in Megabytes/s) consumed on the Host links
+     */
+    public MigrationCost(
+        final int rounds, final double migrationTime, final double downtime,
+        final double transferredMegabytes, final double bandwidth)
+    {
+        this.rounds = rounds;
+        this.migrationTime = migrationTime;
+        this.downtime = downtime;
+        this.transferredMegabytes = transferredMegabytes;
+        this.bandwidth = bandwidth;
+    }
+
+    /**
+     * Gets the number of rounds the VM RAM is copied while the VM is running
+     * (such as the pre-copy rounds performed before the stop-and-copy phase).
+     * @return
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Gets the total time (in seconds) to migrate the VM, including the downtime.
+     * @return
+     */
+    public double getMigrationTime() {
+        return migrationTime;
+    }
+
+    /**
+     * Gets the time (in seconds) the VM is paused to copy the remaining dirty pages.
+     * @return
+     */
+    public double getDowntime() {
+        return downtime;
+    }
+
+    /**
+     * Gets the data (in Megabytes) transferred through the Host links,
+     * including the pages copied more than once.
+     * @return
+     */
+    public double getTransferredMegabytes() {
+        return transferredMegabytes;
+    }
+
+    /**
+     * Gets the bandwidth (in Megabytes/s) consumed on the Host links while the VM is migrated.
+     * @return
+     */
+    public double getBandwidth() {
+        return bandwidth;
+    }
+}
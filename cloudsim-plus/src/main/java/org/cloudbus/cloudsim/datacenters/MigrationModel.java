@@ -0,0 +1,58 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * An interface to be implemented by classes that compute the cost (time, downtime and transferred data)
+ * of VM live migrations started by a {@link Datacenter},
+ * accounting such values for all migrations.
+ *
+ * @since CloudSim Plus 6.3.0
+ * @see MigrationModelSimple
+ * @see PreCopyMigrationModel
+ */
+public interface MigrationModel {
+    /**
+     * An attribute that implements the Null Object Design Pattern for {@link MigrationModel}
+     * objects, which computes a zero cost for every migration and doesn't account it.
+     */
+    MigrationModel NULL = new MigrationModelNull();
+
+    /**
+     * Computes the cost of migrating a VM to a given Host, without accounting it.
+     *
+     * @param vm the VM to migrate
+     * @param targetHost the Host where to migrate the VM
+     * @param bandwidthPercent the percentage of the Hosts bandwidth allowed for migration (in scale from 0 to 1)
+     * @return the cost of the migration
+     * @see #account(MigrationCost)
+     */
+    MigrationCost computeCost(Vm vm, Host targetHost, double bandwidthPercent);
+
+    /**
+     * Accounts the cost of a started migration into the totals of this model.
+     * @param cost the cost of the migration
+     * @return the given cost
+     */
+    MigrationCost account(MigrationCost cost);
+
+    /**
+     * Gets the number of migrations {@link #account(MigrationCost) accounted} by this model.
+     * @return
+     */
+    long getMigrationsNumber();
+
+    /**
+     * Gets the total downtime (in seconds) of all {@link #account(MigrationCost) accounted} migrations.
+     * @return
+     */
+    double getTotalDowntime();
+
+    /**
+     * Gets the total data (in Megabytes) transferred through the Host links
+     * by all {@link #account(MigrationCost) accounted} migrations.
+     * @return
+     */
+    double getTotalTransferredMegabytes();
+}
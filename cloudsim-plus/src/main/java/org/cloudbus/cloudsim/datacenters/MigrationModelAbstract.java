@@ -0,0 +1,44 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An abstract class to implement {@link MigrationModel}s,
+ * which accounts the cost of the started migrations.
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public abstract class MigrationModelAbstract implements MigrationModel {
+    /** @see #getMigrationsNumber() */
+    private long migrationsNumber;
+
+    /** @see #getTotalDowntime() */
+    private double totalDowntime;
+
+    /** @see #getTotalTransferredMegabytes() */
+    private double totalTransferredMegabytes;
+
+    @Override
+    public MigrationCost account(final MigrationCost cost) {
+        requireNonNull(cost);
+        migrationsNumber++;
+        totalDowntime += cost.getDowntime();
+        totalTransferredMegabytes += cost.getTransferredMegabytes();
+        return cost;
+    }
+
+    @Override
+    public long getMigrationsNumber() {
+        return migrationsNumber;
+    }
+
+    @Override
+    public double getTotalDowntime() {
+        return totalDowntime;
+    }
+
+    @Override
+    public double getTotalTransferredMegabytes() {
+        return totalTransferredMegabytes;
+    }
+}
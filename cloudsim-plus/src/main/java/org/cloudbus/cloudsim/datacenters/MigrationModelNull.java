@@ -0,0 +1,21 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * A class that implements the Null Object Design Pattern for {@link MigrationModel}
+ * class.
+ *
+ * @see MigrationModel#NULL
+ * @since CloudSim Plus 6.3.0
+ */
+final class MigrationModelNull implements MigrationModel {
+    private static final MigrationCost COST = new MigrationCost(0, 0, 0, 0, 0);
+
+    @Override public MigrationCost computeCost(Vm vm, Host targetHost, double bandwidthPercent) { return COST; }
+    @Override public MigrationCost account(MigrationCost cost) { return cost; }
+    @Override public long getMigrationsNumber() { return 0; }
+    @Override public double getTotalDowntime() { return 0; }
+    @Override public double getTotalTransferredMegabytes() { return 0; }
+}
@@ -0,0 +1,26 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * A {@link MigrationModel} where the whole VM RAM is copied once while the VM keeps running,
+ * using the {@link Datacenter#getBandwidthPercentForMigration() bandwidth allowed for migration}
+ * of the target Host. The migration time is computed as:
+ * VM RAM (MB) / Target Host Bandwidth for migration (MB/s).
+ * The VM has no downtime.
+ *
+ * <p>It's the default model used by Datacenters.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ * @see PreCopyMigrationModel
+ */
+public class MigrationModelSimple extends MigrationModelAbstract {
+    @Override
+    public MigrationCost computeCost(final Vm vm, final Host targetHost, final double bandwidthPercent) {
+        final double ram = vm.getRam().getCapacity();
+        final double bandwidth = Conversion.bitesToBytes(targetHost.getBw().getCapacity() * bandwidthPercent);
+        return new MigrationCost(1, ram / bandwidth, 0, ram, bandwidth);
+    }
+}
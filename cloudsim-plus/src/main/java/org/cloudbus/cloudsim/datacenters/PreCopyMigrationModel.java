@@ -0,0 +1,208 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * Computes the cost of live-migrating a VM using iterative pre-copy,
+ * as performed by hypervisors such as Xen and KVM.
+ * The whole VM RAM is copied in a first round while the VM keeps running.
+ * The pages the VM writes during a round are copied again in the next one,
+ * until the remaining dirty pages can be copied within the {@link #getMaxDowntime() maximum downtime},
+ * the {@link #getMaxRounds() maximum number of rounds} is reached, the amount of dirty pages stops decreasing,
+ * or the transferred data reaches the {@link #getMaxTransferFactor() maximum transfer factor}.
+ * Then the VM is paused and the remaining pages are copied (stop-and-copy), which is the VM downtime.
+ *
+ * <p>The dirty-page rate is defined by the RAM currently requested by the Cloudlets running into the VM,
+ * according to their RAM {@link org.cloudbus.cloudsim.utilizationmodels.UtilizationModel},
+ * which is taken as the writable working set. Such a working set is rewritten at the
+ * {@link #getDirtyRate() dirty rate} and a round never copies more than it.
+ * The data is transferred at the {@link Datacenter#getBandwidthPercentForMigration() bandwidth allowed for migration}
+ * of the bottleneck link between the source and target Hosts.</p>
+ *
+ * <p>Each round is computed in closed form, so that no simulation event is sent for pages or rounds.</p>
+ *
+ * <p>Datacenters use a {@link MigrationModelSimple} by default.
+ * This model must be enabled by calling {@link DatacenterSimple#setMigrationModel(MigrationModel)}.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public class PreCopyMigrationModel extends MigrationModelAbstract {
+    /** @see #getDirtyRate() */
+    public static final double DEF_DIRTY_RATE = 0.1;
+
+    /** @see #getMaxRounds() */
+    public static final int DEF_MAX_ROUNDS = 30;
+
+    /** @see #getMaxDowntime() */
+    public static final double DEF_MAX_DOWNTIME = 0.3;
+
+    /** @see #getMaxTransferFactor() */
+    public static final double DEF_MAX_TRANSFER_FACTOR = 3;
+
+    private double dirtyRate;
+    private int maxRounds;
+    private double maxDowntime;
+    private double maxTransferFactor;
+
+    /**
+     * Creates a pre-copy migration model using the default parameters.
+     */
+    public PreCopyMigrationModel() {
+        this.dirtyRate = DEF_DIRTY_RATE;
+        this.maxRounds = DEF_MAX_ROUNDS;
+        this.maxDowntime = DEF_MAX_DOWNTIME;
+        this.maxTransferFactor = DEF_MAX_TRANSFER_FACTOR;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param vm {@inheritDoc}
+     * @param targetHost {@inheritDoc}
+     * @param bandwidthPercent {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws IllegalArgumentException when the link between the source and target Hosts has no bandwidth
+     */
+    @Override
+    public MigrationCost computeCost(final Vm vm, final Host targetHost, final double bandwidthPercent) {
+        final double bandwidth = Conversion.bitesToBytes(getLinkBandwidth(vm.getHost(), targetHost) * bandwidthPercent);
+        if (bandwidth <= 0) {
+            throw new IllegalArgumentException(String.format(
+                "%s cannot be migrated from %s to %s since there is no bandwidth for migration between such Hosts.",
+                vm, vm.getHost(), targetHost));
+        }
+
+        final double ram = vm.getRam().getCapacity();
+        final double workingSet = Math.min(ram, vm.getCurrentRequestedRam());
+        final double dirtyMegabytesPerSec = workingSet * dirtyRate;
+
+        double dataToCopy = ram;
+        double migrationTime = 0;
+        double transferred = 0;
+        int rounds = 0;
+        while (dataToCopy / bandwidth > maxDowntime && rounds < maxRounds &&
+               transferred + dataToCopy <= maxTransferFactor * ram)
+        {
+            final double roundTime = dataToCopy / bandwidth;
+            migrationTime += roundTime;
+            transferred += dataToCopy;
+            rounds++;
+
+            final double dirtyData = Math.min(workingSet, dirtyMegabytesPerSec * roundTime);
+            final boolean converging = dirtyData < dataToCopy;
+            dataToCopy = dirtyData;
+            if (!converging) {
+                break;
+            }
+        }
+
+        final double downtime = dataToCopy / bandwidth;
+        return new MigrationCost(rounds, migrationTime + downtime, downtime, transferred + dataToCopy, bandwidth);
+    }
+
+    /**
+     * Gets the capacity of the bottleneck link between the source and target Hosts.
+     * @param sourceHost the Host where the VM is, which may be {@link Host#NULL}
+     * @param targetHost the Host where to migrate the VM
+     * @return the link bandwidth (in Megabits/s)
+     */
+    private double getLinkBandwidth(final Host sourceHost, final Host targetHost) {
+        final long targetBw = targetHost.getBw().getCapacity();
+        return sourceHost == Host.NULL ? targetBw : Math.min(sourceHost.getBw().getCapacity(), targetBw);
+    }
+
+    /**
+     * Gets the fraction of the VM writable working set which is rewritten every second
+     * while the VM is migrated (in scale from 0 to 1).
+     * @return
+     */
+    public double getDirtyRate() {
+        return dirtyRate;
+    }
+
+    /**
+     * Sets the fraction of the VM writable working set which is rewritten every second
+     * while the VM is migrated.
+     * @param dirtyRate the rate to set (in scale from 0 to 1)
+     * @return
+     */
+    public PreCopyMigrationModel setDirtyRate(final double dirtyRate) {
+        if(dirtyRate < 0 || dirtyRate > 1){
+            throw new IllegalArgumentException("The dirty rate must be between 0 and 1.");
+        }
+
+        this.dirtyRate = dirtyRate;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of pre-copy rounds before stopping the VM to copy the remaining dirty pages.
+     * @return
+     */
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    /**
+     * Sets the maximum number of pre-copy rounds before stopping the VM to copy the remaining dirty pages.
+     * If zero, the VM is migrated using just stop-and-copy.
+     * @param maxRounds the maximum number of rounds to set
+     * @return
+     */
+    public PreCopyMigrationModel setMaxRounds(final int maxRounds) {
+        if(maxRounds < 0){
+            throw new IllegalArgumentException("The maximum number of rounds cannot be negative.");
+        }
+
+        this.maxRounds = maxRounds;
+        return this;
+    }
+
+    /**
+     * Gets the maximum downtime (in seconds) targeted for the stop-and-copy phase.
+     * Pre-copy rounds are performed while the remaining dirty pages
+     * cannot be copied within such a time.
+     * @return
+     */
+    public double getMaxDowntime() {
+        return maxDowntime;
+    }
+
+    /**
+     * Sets the maximum downtime (in seconds) targeted for the stop-and-copy phase.
+     * @param maxDowntime the maximum downtime to set
+     * @return
+     */
+    public PreCopyMigrationModel setMaxDowntime(final double maxDowntime) {
+        if(maxDowntime < 0){
+            throw new IllegalArgumentException("The maximum downtime cannot be negative.");
+        }
+
+        this.maxDowntime = maxDowntime;
+        return this;
+    }
+
+    /**
+     * Gets the maximum amount of data copied by pre-copy rounds, as a factor of the VM RAM.
+     * When the next round would exceed it, the VM is stopped to copy the remaining dirty pages.
+     * @return
+     */
+    public double getMaxTransferFactor() {
+        return maxTransferFactor;
+    }
+
+    /**
+     * Sets the maximum amount of data copied by pre-copy rounds, as a factor of the VM RAM.
+     * @param maxTransferFactor the factor to set, which must be at least 1
+     * @return
+     */
+    public PreCopyMigrationModel setMaxTransferFactor(final double maxTransferFactor) {
+        if(maxTransferFactor < 1){
+            throw new IllegalArgumentException("The maximum transfer factor must be at least 1.");
+        }
+
+        this.maxTransferFactor = maxTransferFactor;
+        return this;
+    }
+}
@@ -9,11 +9,15 @@ package org.cloudbus.cloudsim.datacenters.network;
 
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.network.FlowLevelNetwork;
+import org.cloudbus.cloudsim.network.VmTrafficGraph;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
 import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.vms.Vm;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -50,6 +54,16 @@ public class NetworkDatacenter extends DatacenterSimple {
      */
     private final List<Switch> switchMap;
 
+    /**
+     * @see #getFlowLevelNetwork()
+     */
+    private FlowLevelNetwork flowLevelNetwork;
+
+    /**
+     * @see #getVmTrafficGraph()
+     */
+    private VmTrafficGraph vmTrafficGraph;
+
     /**
      * Creates a NetworkDatacenter with the given parameters.
      *
@@ -100,4 +114,79 @@ public class NetworkDatacenter extends DatacenterSimple {
     public List<Switch> getSwitchMap() {
         return Collections.unmodifiableList(switchMap);
     }
+
+    /**
+     * Enables the {@link FlowLevelNetwork flow-level network model}, so that packets sent
+     * between VMs in different Hosts are transferred as flows sharing the bandwidth
+     * of network links, instead of being forwarded through the {@link Switch}es.
+     * That largely reduces the number of events for workloads sending many packets.
+     * It must be called before the simulation starts.
+     *
+     * @return this Datacenter
+     */
+    public NetworkDatacenter enableFlowLevelNetwork() {
+        if (flowLevelNetwork == null) {
+            flowLevelNetwork = new FlowLevelNetwork(this);
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks if the {@link FlowLevelNetwork flow-level network model} is enabled.
+     * @return true if packets are transferred as flows, false if they are forwarded through the switches
+     * @see #enableFlowLevelNetwork()
+     */
+    public boolean isFlowLevelNetworkEnabled() {
+        return flowLevelNetwork != null;
+    }
+
+    /**
+     * Gets the {@link FlowLevelNetwork flow-level network model} used to transfer packets between Hosts.
+     * @return the flow-level network or null if it's not {@link #enableFlowLevelNetwork() enabled}
+     */
+    public FlowLevelNetwork getFlowLevelNetwork() {
+        return flowLevelNetwork;
+    }
+
+    /**
+     * Enables the tracking of the traffic exchanged between VMs into a {@link VmTrafficGraph},
+     * which is updated as packets are sent by the Hosts.
+     * VMs are removed from the graph when they are destroyed.
+     * It must be called before the simulation starts.
+     *
+     * @return this Datacenter
+     */
+    public NetworkDatacenter enableVmTrafficGraph() {
+        if (vmTrafficGraph == null) {
+            vmTrafficGraph = new VmTrafficGraph();
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the {@link VmTrafficGraph} representing the traffic exchanged between VMs.
+     * @return the VM traffic graph or null if it's not {@link #enableVmTrafficGraph() enabled}
+     */
+    public VmTrafficGraph getVmTrafficGraph() {
+        return vmTrafficGraph;
+    }
+
+    @Override
+    protected void processVmDestroy(final SimEvent evt, final boolean ack) {
+        super.processVmDestroy(evt, ack);
+        if (vmTrafficGraph != null) {
+            vmTrafficGraph.remove((Vm) evt.getData());
+        }
+    }
+
+    @Override
+    public void processEvent(final SimEvent evt) {
+        if (flowLevelNetwork != null && flowLevelNetwork.processEvent(evt)) {
+            return;
+        }
+
+        super.processEvent(evt);
+    }
 }
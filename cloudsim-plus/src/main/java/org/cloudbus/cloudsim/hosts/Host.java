@@ -99,6 +99,18 @@ public interface Host extends Machine, Comparable<Host>, PowerAware<PowerModelHo
      */
     HostSuitability getSuitabilityFor(Vm vm);
 
+    /**
+     * Gets a number that changes whenever the amount of free resources of the Host
+     * (storage, RAM, BW, PEs and MIPS) or its failure status changes.
+     * If the version is the same as the one got when the Host
+     * was found not {@link #isSuitableForVm(Vm) suitable} for a VM,
+     * the Host is still unsuitable for any VM requiring the same resources,
+     * so that VM allocation policies may skip checking that Host again.
+     *
+     * @return the current capacity version
+     */
+    long getCapacityVersion();
+
     /**
      * Checks if the Host is powered-on or not.
      * @return true if the Host is powered-on, false otherwise.
@@ -567,6 +579,25 @@ public interface Host extends Machine, Comparable<Host>, PowerAware<PowerModelHo
      */
     boolean removeOnShutdownListener(EventListener<HostEventInfo> listener);
 
+    /**
+     * Adds a listener object that will be notified every time
+     * the number of free PEs of the host, its active/failed state
+     * or its {@link VmScheduler} changes.
+     * That enables keeping indexes of Hosts according to their free capacity,
+     * such as the ones used by VM allocation policies.
+     *
+     * @param listener the Listener to add
+     * @return
+     */
+    Host addOnCapacityChangeListener(EventListener<HostEventInfo> listener);
+
+    /**
+     * Removes a Listener object from the registered List.
+     * @param listener the Listener to remove
+     * @return true if the Listener was removed, false otherwise
+     */
+    boolean removeOnCapacityChangeListener(EventListener<HostEventInfo> listener);
+
     /**
      * Adds a listener object that will be notified every time
      * the host updates the processing of all its {@link Vm VMs}.
@@ -697,6 +728,36 @@ public interface Host extends Machine, Comparable<Host>, PowerAware<PowerModelHo
      */
     List<HostStateHistoryEntry> getStateHistory();
 
+    /**
+     * Sets the maximum number of entries to keep in the {@link #getStateHistory() state history}.
+     * When that number is reached, each new entry replaces the oldest one.
+     * If the history has more entries than the given capacity, the oldest ones are discarded.
+     *
+     * @param capacity the maximum number of entries to keep, or 0 to keep all entries (the default)
+     * @return this Host
+     */
+    Host setStateHistoryCapacity(int capacity);
+
+    /**
+     * Sets the minimum interval (in seconds) between two entries in the {@link #getStateHistory() state history},
+     * so that at most one entry is recorded for each interval.
+     *
+     * @param interval the minimum interval between two entries, or 0 to record an entry at every Host update (the default)
+     * @return this Host
+     */
+    Host setStateHistorySamplingInterval(double interval);
+
+    /**
+     * Defines if just changes in the Host state must be recorded in the {@link #getStateHistory() state history}.
+     * In that case, an entry with the same MIPS and active state as the previous one is not recorded
+     * and each recorded entry holds until the time of the next one.
+     *
+     * @param changesOnly true to record just entries which differ from the previous one,
+     *                    false to record all entries (the default)
+     * @return this Host
+     */
+    Host setStateHistoryChangesOnly(boolean changesOnly);
+
     /**
      * Gets the List of VMs that have finished executing.
      * @return
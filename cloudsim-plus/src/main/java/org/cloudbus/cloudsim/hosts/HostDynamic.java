@@ -6,6 +6,8 @@
  */
 package org.cloudbus.cloudsim.hosts;
 
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
 import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
 import org.cloudbus.cloudsim.resources.*;
 import org.cloudbus.cloudsim.vms.*;
@@ -164,4 +166,22 @@ public class HostDynamic extends HostSimple implements Host {
         return spotPeCapacityUsage;
     }
 
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeVmList(vmListSpot)
+              .writeLong(spotStorageCapacityUsage).writeLong(spotRamCapacityUsage)
+              .writeLong(spotBwCapacityUsage).writeLong(spotPeCapacityUsage);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        vmListSpot.clear();
+        vmListSpot.addAll(reader.readVmList());
+        spotStorageCapacityUsage = reader.readLong();
+        spotRamCapacityUsage = reader.readLong();
+        spotBwCapacityUsage = reader.readLong();
+        spotPeCapacityUsage = reader.readLong();
+    }
 }
@@ -0,0 +1,59 @@
+package org.cloudbus.cloudsim.hosts;
+
+/**
+ * A compact vector with the amount of free resources of a {@link Host},
+ * used to compute its {@link Host#getCapacityVersion() capacity version}.
+ *
+ * <p>The vector is {@link #refresh(HostSimple) refreshed} by reading the free amounts
+ * the Host resources already keep, instead of being updated at every point where
+ * resources are allocated or deallocated (which includes places outside the Host, such as
+ * vertical VM scaling). The version is increased whenever some amount is found to be changed.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+final class HostFreeCapacity {
+    private static final int STORAGE = 0;
+    private static final int RAM = 1;
+    private static final int BW = 2;
+    private static final int FREE_PES = 3;
+    private static final int WORKING_PES = 4;
+    private static final int MIPS = 5;
+    private static final int FAILED = 6;
+
+    private final long[] values;
+    private long version;
+
+    HostFreeCapacity() {
+        this.values = new long[FAILED + 1];
+    }
+
+    /**
+     * Reads the current free amounts of a Host, increasing the version if some of them changed.
+     * @param host the Host to read the free amounts from
+     * @return the current version
+     */
+    long refresh(final HostSimple host) {
+        final boolean changed =
+            set(STORAGE, host.getStorage().getAvailableResource()) |
+            set(RAM, host.getRamProvisioner().getAvailableResource()) |
+            set(BW, host.getBwProvisioner().getAvailableResource()) |
+            set(FREE_PES, host.getFreePesNumber()) |
+            set(WORKING_PES, host.getWorkingPesNumber()) |
+            set(MIPS, Double.doubleToLongBits(host.getVmScheduler().getTotalAvailableMips())) |
+            set(FAILED, host.isFailed() ? 1 : 0);
+        if (changed) {
+            version++;
+        }
+
+        return version;
+    }
+
+    private boolean set(final int index, final long value) {
+        if (values[index] == value) {
+            return false;
+        }
+
+        values[index] = value;
+        return true;
+    }
+}
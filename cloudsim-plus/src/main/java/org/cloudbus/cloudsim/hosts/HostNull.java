@@ -105,6 +105,7 @@ final class HostNull implements Host {
         return false;
     }
     @Override public HostSuitability getSuitabilityFor(Vm vm) { return new HostSuitability(); }
+    @Override public long getCapacityVersion() { return 0; }
     @Override public boolean isActive() { return false; }
     @Override public boolean hasEverStarted() { return false; }
     @Override public Host setActive(boolean activate) { return this; }
@@ -127,6 +128,8 @@ final class HostNull implements Host {
     @Override public void destroyAllVms() {/**/}
     @Override public Host addOnStartupListener(EventListener<HostEventInfo> listener) { return this; }
     @Override public boolean removeOnStartupListener(EventListener<HostEventInfo> listener) { return false; }
+    @Override public Host addOnCapacityChangeListener(EventListener<HostEventInfo> listener) { return this; }
+    @Override public boolean removeOnCapacityChangeListener(EventListener<HostEventInfo> listener) { return false; }
     @Override public Host addOnShutdownListener(EventListener<HostEventInfo> listener) { return this; }
     @Override public boolean removeOnShutdownListener(EventListener<HostEventInfo> listener) { return false; }
     @Override public boolean removeOnUpdateProcessingListener(EventListener<HostUpdatesVmsProcessingEventInfo> listener) { return false; }
@@ -165,7 +168,7 @@ final class HostNull implements Host {
     @Override public double getCpuMipsUtilization() { return 0.0; }
     @Override public long getBwUtilization() { return 0; }
     @Override public long getRamUtilization() { return 0; }
-    @Override public HostResourceStats getCpuUtilizationStats() { return new HostResourceStats(this, host -> 0.0); }
+    @Override public HostResourceStats getCpuUtilizationStats() { return HostResourceStats.NULL; }
     @Override public void enableUtilizationStats() {/**/}
     @Override public PowerModelHost getPowerModel() { return PowerModelHost.NULL; }
     @Override public void setPowerModel(PowerModelHost powerModel) {/**/}
@@ -173,6 +176,9 @@ final class HostNull implements Host {
     @Override public void disableStateHistory() {/**/}
     @Override public boolean isStateHistoryEnabled() { return false; }
     @Override public List<HostStateHistoryEntry> getStateHistory() { return Collections.emptyList(); }
+    @Override public Host setStateHistoryCapacity(int capacity) { return this; }
+    @Override public Host setStateHistorySamplingInterval(double interval) { return this; }
+    @Override public Host setStateHistoryChangesOnly(boolean changesOnly) { return this; }
     @Override public List<Vm> getFinishedVms() { return Collections.emptyList(); }
     @Override public List<Vm> getMigratableVms() { return Collections.emptyList(); }
     @Override public boolean isLazySuitabilityEvaluation() { return false; }
@@ -8,6 +8,9 @@ package org.cloudbus.cloudsim.hosts;
 
 import org.cloudbus.cloudsim.core.AbstractMachine;
 import org.cloudbus.cloudsim.core.ChangeableId;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
+import org.cloudbus.cloudsim.core.Checkpointable;
 import org.cloudbus.cloudsim.core.ResourceStatsComputer;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
@@ -44,13 +47,13 @@ import static java.util.stream.Collectors.toList;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 1.0
  */
-public class HostSimple implements Host {
+public class HostSimple implements Host, Checkpointable {
     private static long defaultRamCapacity = (long)Conversion.gigaToMega(10);
     private static long defaultBwCapacity = 1000;
     private static long defaultStorageCapacity = (long)Conversion.gigaToMega(500);
 
     /** @see #getStateHistory() */
-    private final List<HostStateHistoryEntry> stateHistory;
+    private final HostStateHistory stateHistory;
 
     /**@see #getPowerModel() */
     private PowerModelHost powerModel;
@@ -121,6 +124,12 @@ public class HostSimple implements Host {
     /** @see #addOnShutdownListener(EventListener) (EventListener) */
     private final Set<EventListener<HostEventInfo>> onShutdownListeners;
 
+    /**
+     * @see #addOnCapacityChangeListener(EventListener)
+     * It's initialized here because PE status may be changed before the end of the constructor.
+     */
+    private final Set<EventListener<HostEventInfo>> onCapacityChangeListeners = new HashSet<>();
+
     /** @see #getSimulation() */
     private Simulation simulation;
 
@@ -139,6 +148,9 @@ public class HostSimple implements Host {
     private boolean lazySuitabilityEvaluation;
     protected HostResourceStats cpuUtilizationStats;
 
+    /** @see #getCapacityVersion() */
+    private final HostFreeCapacity freeCapacity = new HostFreeCapacity();
+
     /**
      * Creates and powers on a Host without a pre-defined ID,
      * 10GB of RAM, 1000Mbps of Bandwidth and 500GB of Storage.
@@ -275,7 +287,7 @@ public class HostSimple implements Host {
         this.vmsMigratingIn = new HashSet<>();
         this.vmsMigratingOut = new HashSet<>();
         this.powerModel = PowerModelHost.NULL;
-        this.stateHistory = new LinkedList<>();
+        this.stateHistory = new HostStateHistory();
     }
 
     /**
@@ -449,9 +461,31 @@ public class HostSimple implements Host {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>It performs the same checks as {@link #getSuitabilityFor(Vm)},
+     * but stops at the first unmet requirement and doesn't create a {@link HostSuitability}
+     * object, since this method is called for many Hosts during VM placement.</p>
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc}
+     */
     @Override
     public boolean isSuitableForVm(final Vm vm) {
-        return getSuitabilityFor(vm).fully();
+        /* A VM not placed yet can't fit into a Host with less working PEs than the VM requires.
+         * That avoids creating the MipsShare the VmScheduler requires to check the VM suitability. */
+        if (!vm.isCreated() && vm.getNumberOfPes() > getWorkingPesNumber()) {
+            return false;
+        }
+
+        return storage.isAmountAvailable(vm.getStorage()) &&
+               ramProvisioner.isSuitableForVm(vm, vm.getRam()) &&
+               bwProvisioner.isSuitableForVm(vm, vm.getBw()) &&
+               vmScheduler.isSuitableForVm(vm);
+    }
+
+    @Override
+    public long getCapacityVersion() {
+        return freeCapacity.refresh(this);
     }
 
     @Override
@@ -527,6 +561,7 @@ public class HostSimple implements Host {
 
         this.active = activate;
         notifyStartupOrShutdown(activate, wasActive);
+        notifyOnCapacityChangeListeners();
         return this;
     }
 
@@ -615,6 +650,37 @@ public class HostSimple implements Host {
         return onStartupListeners.remove(listener);
     }
 
+    @Override
+    public Host addOnCapacityChangeListener(final EventListener<HostEventInfo> listener) {
+        if(EventListener.NULL.equals(listener)){
+            return this;
+        }
+
+        onCapacityChangeListeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
+    @Override
+    public boolean removeOnCapacityChangeListener(final EventListener<HostEventInfo> listener) {
+        return onCapacityChangeListeners.remove(listener);
+    }
+
+    /**
+     * Notifies registered listeners that the number of free PEs, the active/failed state
+     * or the VmScheduler of the Host has changed.
+     * @see #addOnCapacityChangeListener(EventListener)
+     */
+    private void notifyOnCapacityChangeListeners() {
+        if(onCapacityChangeListeners.isEmpty()){
+            return;
+        }
+
+        final double time = simulation == null ? 0 : simulation.clock();
+        for (final EventListener<HostEventInfo> listener : new ArrayList<>(onCapacityChangeListeners)) {
+            listener.update(HostEventInfo.of(listener, this, time));
+        }
+    }
+
     @Override
     public Host addOnShutdownListener(final EventListener<HostEventInfo> listener) {
         if(EventListener.NULL.equals(listener)){
@@ -755,6 +821,7 @@ public class HostSimple implements Host {
     public final Host setVmScheduler(final VmScheduler vmScheduler) {
         this.vmScheduler = requireNonNull(vmScheduler);
         vmScheduler.setHost(this);
+        notifyOnCapacityChangeListeners();
         return this;
     }
 
@@ -893,6 +960,7 @@ public class HostSimple implements Host {
         * it must remain inactive.*/
         if(failed && this.active){
             this.active = false;
+            notifyOnCapacityChangeListeners();
         }
 
         return true;
@@ -906,17 +974,25 @@ public class HostSimple implements Host {
     public final void setPeStatus(final List<Pe> peList, final Pe.Status newStatus){
         /*For performance reasons, stores the number of free and failed PEs
         instead of iterating over the PE list every time to find out.*/
+        boolean changed = false;
         for (final Pe pe : peList) {
-            updatePeStatus(pe, newStatus);
+            changed |= updatePeStatus(pe, newStatus);
+        }
+
+        if(changed){
+            notifyOnCapacityChangeListeners();
         }
     }
 
-    private void updatePeStatus(final Pe pe, final Pe.Status newStatus) {
+    private boolean updatePeStatus(final Pe pe, final Pe.Status newStatus) {
         if(pe.getStatus() != newStatus) {
             updateFailedAndFreePesNumber(pe.getStatus(), false);
             updateFailedAndFreePesNumber(newStatus, true);
             pe.setStatus(newStatus);
+            return true;
         }
+
+        return false;
     }
 
     /**
@@ -1306,21 +1382,30 @@ public class HostSimple implements Host {
         final double requestedMips,
         final boolean isActive)
     {
-        final HostStateHistoryEntry newState = new HostStateHistoryEntry(time, allocatedMips, requestedMips, isActive);
-        if (!stateHistory.isEmpty()) {
-            final HostStateHistoryEntry previousState = stateHistory.get(stateHistory.size() - 1);
-            if (previousState.getTime() == time) {
-                stateHistory.set(stateHistory.size() - 1, newState);
-                return;
-            }
-        }
-
-        stateHistory.add(newState);
+        stateHistory.add(time, allocatedMips, requestedMips, isActive);
     }
 
     @Override
     public List<HostStateHistoryEntry> getStateHistory() {
-        return Collections.unmodifiableList(stateHistory);
+        return stateHistory.asList();
+    }
+
+    @Override
+    public Host setStateHistoryCapacity(final int capacity) {
+        stateHistory.setCapacity(capacity);
+        return this;
+    }
+
+    @Override
+    public Host setStateHistorySamplingInterval(final double interval) {
+        stateHistory.setSamplingInterval(interval);
+        return this;
+    }
+
+    @Override
+    public Host setStateHistoryChangesOnly(final boolean changesOnly) {
+        stateHistory.setChangesOnly(changesOnly);
+        return this;
     }
 
     @Override
@@ -1345,4 +1430,72 @@ public class HostSimple implements Host {
         this.lazySuitabilityEvaluation = lazySuitabilityEvaluation;
         return this;
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeBoolean(active).writeBoolean(failed)
+              .writeDouble(startTime).writeDouble(firstStartTime)
+              .writeDouble(shutdownTime).writeDouble(totalUpTime).writeDouble(lastBusyTime)
+              .writeVmList(vmList).writeVmList(vmCreatedList)
+              .writeVmList(vmsMigratingIn).writeVmList(vmsMigratingOut);
+
+        writer.writeInt(peList.size());
+        peList.forEach(pe -> writer.writeEnum(pe.getStatus()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The VMs placed into the Host get their resources allocated again,
+     * without notifying any listener, since they were already notified
+     * when the checkpointed simulation was running.
+     */
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        if(!vmList.isEmpty()){
+            throw new IllegalStateException(this + " already has VMs placed and its state cannot be restored from a checkpoint.");
+        }
+
+        active = reader.readBoolean();
+        failed = reader.readBoolean();
+        startTime = reader.readDouble();
+        firstStartTime = reader.readDouble();
+        shutdownTime = reader.readDouble();
+        totalUpTime = reader.readDouble();
+        lastBusyTime = reader.readDouble();
+
+        for (final Vm vm : reader.readVmList()) {
+            restoreVmResources(vm);
+            vmList.add(vm);
+        }
+
+        vmCreatedList.clear();
+        vmCreatedList.addAll(reader.readVmList());
+        for (final Vm vm : reader.readVmList()) {
+            if (!vmList.contains(vm)) {
+                restoreVmResources(vm);
+            }
+            vmsMigratingIn.add(vm);
+        }
+
+        vmsMigratingOut.clear();
+        vmsMigratingOut.addAll(reader.readVmList());
+
+        final int pesNumber = reader.readInt();
+        for (int i = 0; i < pesNumber; i++) {
+            updatePeStatus(peList.get(i), reader.readEnum(Pe.Status.class));
+        }
+
+        notifyOnCapacityChangeListeners();
+    }
+
+    /**
+     * Allocates the resources a VM got when it was created into this Host.
+     * @param vm the VM to allocate resources for
+     */
+    private void restoreVmResources(final Vm vm) {
+        ramProvisioner.allocateResourceForVm(vm, vm.getRam().getCapacity());
+        bwProvisioner.allocateResourceForVm(vm, vm.getBw().getCapacity());
+        storage.allocateResource(vm.getStorage());
+        vmScheduler.allocatePesForVm(vm);
+    }
 }
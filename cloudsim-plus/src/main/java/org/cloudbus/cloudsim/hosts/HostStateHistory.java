@@ -0,0 +1,206 @@
+package org.cloudbus.cloudsim.hosts;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Stores the {@link Host#getStateHistory() state history of a Host} into primitive arrays
+ * (one for each {@link HostStateHistoryEntry} attribute), instead of keeping
+ * one object for each entry.
+ *
+ * <p>The arrays are used as a circular buffer, so that the history can be limited
+ * to a given {@link #setCapacity(int) capacity}, keeping just the most recent entries.
+ * The history can also be {@link #setSamplingInterval(double) downsampled},
+ * recording at most one entry for each interval,
+ * and can be set to {@link #setChangesOnly(boolean) record changes only},
+ * skipping entries which are equal to the previous one (apart from the time).
+ * By default, all entries are kept, as it was when using a List.</p>
+ *
+ * <p>Entries are just created when they are read from the {@link #asList() List view}.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+final class HostStateHistory {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private double[] times;
+    private double[] allocatedMips;
+    private double[] requestedMips;
+    private boolean[] active;
+
+    /** The position in the arrays of the oldest entry. */
+    private int head;
+
+    /** The number of stored entries. */
+    private int size;
+
+    /** @see #setCapacity(int) */
+    private int capacity;
+
+    /** @see #setSamplingInterval(double) */
+    private double samplingInterval;
+
+    /** @see #setChangesOnly(boolean) */
+    private boolean changesOnly;
+
+    private final List<HostStateHistoryEntry> view;
+
+    HostStateHistory() {
+        this.times = new double[INITIAL_CAPACITY];
+        this.allocatedMips = new double[INITIAL_CAPACITY];
+        this.requestedMips = new double[INITIAL_CAPACITY];
+        this.active = new boolean[INITIAL_CAPACITY];
+        this.view = new View();
+    }
+
+    /**
+     * Adds an entry to the history.
+     * If the last entry has the same time, it's replaced by the new one.
+     * @param time the time the data in the entry is related to
+     * @param allocated the total MIPS allocated from all PEs of the Host, to running VMs
+     * @param requested the total MIPS requested by running VMs to all PEs of the Host
+     * @param isActive if the Host is active at the given time
+     */
+    void add(final double time, final double allocated, final double requested, final boolean isActive) {
+        if (size > 0) {
+            final int last = index(size - 1);
+            if (times[last] == time) {
+                set(last, time, allocated, requested, isActive);
+                return;
+            }
+
+            if (time - times[last] < samplingInterval) {
+                return;
+            }
+
+            if (changesOnly && allocatedMips[last] == allocated && requestedMips[last] == requested && active[last] == isActive) {
+                return;
+            }
+        }
+
+        if (capacity > 0 && size == capacity) {
+            //The buffer is full: the new entry overwrites the oldest one
+            set(head, time, allocated, requested, isActive);
+            head = (head + 1) % capacity;
+            return;
+        }
+
+        if (size == times.length) {
+            resize(capacity > 0 ? Math.min(capacity, size * 2) : size * 2);
+        }
+
+        set(index(size), time, allocated, requested, isActive);
+        size++;
+    }
+
+    private void set(final int index, final double time, final double allocated, final double requested, final boolean isActive) {
+        times[index] = time;
+        allocatedMips[index] = allocated;
+        requestedMips[index] = requested;
+        active[index] = isActive;
+    }
+
+    /**
+     * Gets the position into the arrays of the i-th entry, counting from the oldest one.
+     */
+    private int index(final int i) {
+        final int index = head + i;
+        return index < times.length ? index : index - times.length;
+    }
+
+    /**
+     * Copies the stored entries into new arrays with a given length,
+     * so that the oldest entry is moved to the beginning of the arrays.
+     * If the new length is smaller than the number of entries, the oldest ones are discarded.
+     */
+    private void resize(final int length) {
+        final int discarded = Math.max(0, size - length);
+        final double[] newTimes = new double[length];
+        final double[] newAllocatedMips = new double[length];
+        final double[] newRequestedMips = new double[length];
+        final boolean[] newActive = new boolean[length];
+        for (int i = discarded; i < size; i++) {
+            final int index = index(i);
+            newTimes[i - discarded] = times[index];
+            newAllocatedMips[i - discarded] = allocatedMips[index];
+            newRequestedMips[i - discarded] = requestedMips[index];
+            newActive[i - discarded] = active[index];
+        }
+
+        times = newTimes;
+        allocatedMips = newAllocatedMips;
+        requestedMips = newRequestedMips;
+        active = newActive;
+        head = 0;
+        size -= discarded;
+    }
+
+    /**
+     * Sets the maximum number of entries to keep. When the history is full,
+     * each new entry replaces the oldest one. If there are more entries than the given capacity,
+     * the oldest ones are discarded.
+     * @param capacity the maximum number of entries to keep, or 0 to keep all entries
+     */
+    void setCapacity(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The state history capacity cannot be negative.");
+        }
+
+        this.capacity = capacity;
+        if (capacity > 0 && capacity != times.length) {
+            resize(capacity);
+        } else if (capacity == 0 && size == times.length) {
+            //Unrolls the circular buffer, so that it can grow again
+            resize(Math.max(INITIAL_CAPACITY, size * 2));
+        }
+    }
+
+    /**
+     * Sets the minimum interval (in seconds) between two recorded entries.
+     * Entries which arrive before that interval has elapsed since the last recorded entry are discarded.
+     * @param samplingInterval the minimum interval between entries, or 0 to record all entries
+     */
+    void setSamplingInterval(final double samplingInterval) {
+        if (samplingInterval < 0) {
+            throw new IllegalArgumentException("The state history sampling interval cannot be negative.");
+        }
+
+        this.samplingInterval = samplingInterval;
+    }
+
+    /**
+     * Defines if entries equal to the previous one (apart from the time) must be discarded.
+     * In that case, each recorded entry holds until the time of the next one.
+     * @param changesOnly true to record just entries which differ from the previous one, false to record all entries
+     */
+    void setChangesOnly(final boolean changesOnly) {
+        this.changesOnly = changesOnly;
+    }
+
+    /**
+     * Gets a read-only List view of the history, from the oldest to the newest entry,
+     * which reflects further changes in the history.
+     * @return the List view
+     */
+    List<HostStateHistoryEntry> asList() {
+        return view;
+    }
+
+    private final class View extends AbstractList<HostStateHistoryEntry> implements RandomAccess {
+        @Override
+        public HostStateHistoryEntry get(final int i) {
+            if (i < 0 || i >= size) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+            }
+
+            final int index = index(i);
+            return new HostStateHistoryEntry(times[index], allocatedMips[index], requestedMips[index], active[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
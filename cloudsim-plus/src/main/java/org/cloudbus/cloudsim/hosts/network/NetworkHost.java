@@ -8,10 +8,14 @@
 package org.cloudbus.cloudsim.hosts.network;
 
 import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.hosts.HostSuitability;
+import org.cloudbus.cloudsim.network.FlowLevelNetwork;
 import org.cloudbus.cloudsim.network.HostPacket;
 import org.cloudbus.cloudsim.network.VmPacket;
+import org.cloudbus.cloudsim.network.VmTrafficGraph;
+import org.cloudbus.cloudsim.network.switches.AbstractSwitch;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
@@ -23,7 +27,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * NetworkHost class extends {@link HostSimple} to support simulation of
@@ -172,15 +178,29 @@ public class NetworkHost extends HostSimple {
      * Sends packets from the local packets buffer to VMs outside this host.
      */
     private void sendPacketsToExternalVms() {
+        if (getDatacenter() instanceof NetworkDatacenter && ((NetworkDatacenter) getDatacenter()).isFlowLevelNetworkEnabled()) {
+            final FlowLevelNetwork network = ((NetworkDatacenter) getDatacenter()).getFlowLevelNetwork();
+            for (final HostPacket pkt : pktsToSendForExternalVms) {
+                totalDataTransferBytes += pkt.getSize();
+                network.startFlow(pkt);
+            }
+
+            pktsToSendForExternalVms.clear();
+            return;
+        }
+
+        //Packets with the same transfer delay are sent together in a single event
+        final int simultaneousPackets = pktsToSendForExternalVms.size();
+        final Map<Double, List<HostPacket>> batches = new LinkedHashMap<>();
         for (final HostPacket pkt : pktsToSendForExternalVms) {
-            final double delay = edgeSwitch.downlinkTransferDelay(pkt, pktsToSendForExternalVms.size());
+            final double delay = edgeSwitch.downlinkTransferDelay(pkt, simultaneousPackets);
             totalDataTransferBytes += pkt.getSize();
-
-            getSimulation().send(
-                    getDatacenter(), getEdgeSwitch(),
-                    delay, CloudSimTags.NETWORK_EVENT_UP, pkt);
+            batches.computeIfAbsent(delay, key -> new ArrayList<>()).add(pkt);
         }
 
+        batches.forEach((delay, batch) ->
+            AbstractSwitch.sendPackets(getDatacenter(), getEdgeSwitch(), delay, CloudSimTags.NETWORK_EVENT_UP, batch));
+
         pktsToSendForExternalVms.clear();
     }
 
@@ -235,6 +255,12 @@ public class NetworkHost extends HostSimple {
     private void collectPacketToSendFromVm(final VmPacket vmPkt) {
         final HostPacket hostPkt = new HostPacket(this, vmPkt);
         final Vm receiverVm = vmPkt.getDestination();
+        if (getDatacenter() instanceof NetworkDatacenter) {
+            final VmTrafficGraph trafficGraph = ((NetworkDatacenter) getDatacenter()).getVmTrafficGraph();
+            if (trafficGraph != null) {
+                trafficGraph.addPacket(hostPkt);
+            }
+        }
 
         //If the VM is inside this Host, the packet doesn't travel through the network
         final List<HostPacket> pktsToSend = getVmList().contains(receiverVm) ? pktsToSendForLocalVms : pktsToSendForExternalVms;
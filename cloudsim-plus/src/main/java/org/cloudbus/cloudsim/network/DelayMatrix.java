@@ -11,9 +11,12 @@ package org.cloudbus.cloudsim.network;
 import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
 import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
 
+import java.util.Arrays;
+
 /**
  * This class represents a delay matrix between every pair or nodes
  * inside a network topology, storing every distance between connected nodes.
+ * The matrix is stored into a flat row-major array.
  *
  * @author Thomas Hohnstein
  * @since CloudSim Toolkit 1.0
@@ -21,9 +24,10 @@ import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
 public class DelayMatrix {
 
 	/**
-	 * Matrix holding delay information between any two nodes.
+	 * Matrix holding delay information between any two nodes,
+	 * where the delay from node i to j is at position i*{@link #mTotalNodeNum}+j.
 	 */
-    private double[][] mDelayMatrix;
+    private double[] mDelayMatrix;
 
 	/**
 	 * Number of nodes in the distance-aware-topology.
@@ -31,7 +35,7 @@ public class DelayMatrix {
     private int mTotalNodeNum;
 
 	public DelayMatrix() {
-        mDelayMatrix = new double[0][0];
+        mDelayMatrix = new double[0];
 	}
 
 	/**
@@ -58,11 +62,11 @@ public class DelayMatrix {
 	 */
 	public double getDelay(final int srcID, final int destID) {
 		// check the nodeIDs against internal array-boundaries
-		if (srcID > mTotalNodeNum || destID > mTotalNodeNum) {
-			throw new ArrayIndexOutOfBoundsException("srcID or destID is higher than highest stored node-ID!");
+		if (srcID < 0 || destID < 0 || srcID >= mTotalNodeNum || destID >= mTotalNodeNum) {
+			throw new ArrayIndexOutOfBoundsException("srcID or destID is not a valid node-ID!");
 		}
 
-		return mDelayMatrix[srcID][destID];
+		return mDelayMatrix[srcID * mTotalNodeNum + destID];
 	}
 
 	/**
@@ -78,21 +82,16 @@ public class DelayMatrix {
 		// number of nodes inside the network
 		mTotalNodeNum = graph.getNumberOfNodes();
 
-		mDelayMatrix = new double[mTotalNodeNum][mTotalNodeNum];
-
-		// cleanup the complete distance-matrix with "0"s
-		for (int row = 0; row < mTotalNodeNum; ++row) {
-			for (int col = 0; col < mTotalNodeNum; ++col) {
-				mDelayMatrix[row][col] = Double.MAX_VALUE;
-			}
-		}
+		mDelayMatrix = new double[mTotalNodeNum * mTotalNodeNum];
 
+		// cleanup the complete distance-matrix
+		Arrays.fill(mDelayMatrix, Double.MAX_VALUE);
 
         for (final TopologicalLink edge : graph.getLinksList()) {
-			mDelayMatrix[edge.getSrcNodeID()][edge.getDestNodeID()] = edge.getLinkDelay();
+			mDelayMatrix[edge.getSrcNodeID() * mTotalNodeNum + edge.getDestNodeID()] = edge.getLinkDelay();
 			if (!directed) {
 				// according to symmetry to all communication-paths
-				mDelayMatrix[edge.getDestNodeID()][edge.getSrcNodeID()] = edge.getLinkDelay();
+				mDelayMatrix[edge.getDestNodeID() * mTotalNodeNum + edge.getSrcNodeID()] = edge.getLinkDelay();
 			}
 		}
 	}
@@ -101,8 +100,8 @@ public class DelayMatrix {
 	 * Calculates the shortest path between all pairs of nodes.
 	 */
 	private void calculateShortestPath() {
-		final FloydWarshall floyd = new FloydWarshall(mTotalNodeNum);
-		mDelayMatrix = floyd.computeShortestPaths(mDelayMatrix);
+		final FloydWarshall floyd = new FloydWarshall(mTotalNodeNum, false);
+		floyd.computeShortestPathsInPlace(mDelayMatrix);
 	}
 
 	@Override
@@ -120,10 +119,11 @@ public class DelayMatrix {
 			builder.append(System.lineSeparator()).append(row);
 
 			for (int col = 0; col < mTotalNodeNum; ++col) {
-				if (mDelayMatrix[row][col] == Double.MAX_VALUE) {
+				final double delay = mDelayMatrix[row * mTotalNodeNum + col];
+				if (delay == Double.MAX_VALUE) {
 					builder.append("\t-");
 				} else {
-					builder.append('\t').append(mDelayMatrix[row][col]);
+					builder.append('\t').append(delay);
 				}
 			}
 		}
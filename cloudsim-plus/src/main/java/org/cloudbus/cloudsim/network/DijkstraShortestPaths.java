@@ -0,0 +1,286 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.topologies.CompactTopologicalGraph;
+import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Computes the delay of the shortest path between pairs of nodes in a network topology on demand,
+ * using the <a href="https://en.wikipedia.org/wiki/Dijkstra%27s_algorithm">Dijkstra's algorithm</a>.
+ * It's an alternative to the {@link DelayMatrix}, which computes and stores the delay between all pairs
+ * of nodes using the {@link FloydWarshall} algorithm, for large and sparse topologies
+ * where just a few pairs of nodes are actually queried.
+ *
+ * <p>The links are stored in a compressed sparse row (CSR) structure, using primitive arrays.
+ * When the delay from a source node is requested, the delays from that node to all the other ones
+ * are computed and kept into a LRU cache holding the results for the most recently used source nodes.
+ * Therefore, memory grows with the number of links and the cache size,
+ * instead of the square of the number of nodes.</p>
+ *
+ * <p>Results are the same of the {@link DelayMatrix}: links with zero delay are ignored,
+ * the delay from a node to itself is 0 and the delay between unreachable nodes
+ * is {@link Double#MAX_VALUE}.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public class DijkstraShortestPaths {
+    /**
+     * The default maximum number of source nodes whose delays are kept in the cache.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private final int numVertices;
+
+    /**
+     * The position in {@link #targets} and {@link #delays} where the links of each node start.
+     * The links of node i go from position offsets[i] (inclusive) to offsets[i+1] (exclusive).
+     */
+    private final int[] offsets;
+
+    /** The destination node of each link. */
+    private final int[] targets;
+
+    /** The delay of each link. */
+    private final double[] delays;
+
+    /** The delays from recently used source nodes to every node, ordered by access. */
+    private final Map<Integer, double[]> cache;
+
+    /** Binary min-heap of nodes to visit, ordered by {@link #heapKeys}. */
+    private int[] heapNodes;
+    private double[] heapKeys;
+    private int heapSize;
+
+    /** @see #getComputedSourcesNumber() */
+    private long computedSourcesNumber;
+
+    /**
+     * Creates an object to compute shortest paths for a given network topology,
+     * using the {@link #DEFAULT_CACHE_SIZE default cache size}.
+     *
+     * @param graph the network topological graph
+     * @param directed indicates if the links are directed (true) or not (false)
+     */
+    public DijkstraShortestPaths(final TopologicalGraph graph, final boolean directed) {
+        this(graph, directed, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates an object to compute shortest paths for a given network topology.
+     *
+     * @param graph the network topological graph
+     * @param directed indicates if the links are directed (true) or not (false)
+     * @param cacheSize maximum number of source nodes whose delays are kept in the cache
+     */
+    public DijkstraShortestPaths(final TopologicalGraph graph, final boolean directed, final int cacheSize) {
+        this(CompactTopologicalGraph.of(graph), directed, cacheSize);
+    }
+
+    /**
+     * Creates an object to compute shortest paths for a given compact network topology,
+     * using the {@link #DEFAULT_CACHE_SIZE default cache size}.
+     *
+     * @param graph the compact network topological graph
+     * @param directed indicates if the links are directed (true) or not (false)
+     */
+    public DijkstraShortestPaths(final CompactTopologicalGraph graph, final boolean directed) {
+        this(graph, directed, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates an object to compute shortest paths for a given compact network topology.
+     *
+     * @param graph the compact network topological graph
+     * @param directed indicates if the links are directed (true) or not (false)
+     * @param cacheSize maximum number of source nodes whose delays are kept in the cache
+     */
+    public DijkstraShortestPaths(final CompactTopologicalGraph graph, final boolean directed, final int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1.");
+        }
+
+        this.numVertices = graph.getNumberOfNodes();
+        this.offsets = new int[numVertices + 1];
+        for (int src = 0; src < numVertices; src++) {
+            for (int link = graph.getLinksStart(src); link < graph.getLinksEnd(src); link++) {
+                if (graph.getLinkDelay(link) != 0) {
+                    offsets[src + 1]++;
+                    if (!directed) {
+                        offsets[graph.getLinkDestination(link) + 1]++;
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < numVertices; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        this.targets = new int[offsets[numVertices]];
+        this.delays = new double[targets.length];
+        final int[] next = Arrays.copyOf(offsets, numVertices);
+        for (int src = 0; src < numVertices; src++) {
+            for (int link = graph.getLinksStart(src); link < graph.getLinksEnd(src); link++) {
+                final double delay = graph.getLinkDelay(link);
+                if (delay != 0) {
+                    addLink(next, src, graph.getLinkDestination(link), delay);
+                    if (!directed) {
+                        addLink(next, graph.getLinkDestination(link), src, delay);
+                    }
+                }
+            }
+        }
+
+        this.cache = new LinkedHashMap<Integer, double[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, double[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.heapNodes = new int[Math.max(16, numVertices)];
+        this.heapKeys = new double[heapNodes.length];
+    }
+
+    private void addLink(final int[] next, final int src, final int dest, final double delay) {
+        final int pos = next[src]++;
+        targets[pos] = dest;
+        delays[pos] = delay;
+    }
+
+    /**
+     * Gets the delay of the shortest path between two nodes.
+     *
+     * @param srcID the id of the source node
+     * @param destID the id of the destination node
+     * @return the delay between the given two nodes or {@link Double#MAX_VALUE} if there is no path between them
+     * @throws ArrayIndexOutOfBoundsException if some id is not a valid node id
+     */
+    public double getDelay(final int srcID, final int destID) {
+        if (srcID < 0 || srcID >= numVertices || destID < 0 || destID >= numVertices) {
+            throw new ArrayIndexOutOfBoundsException("srcID or destID is not a valid node-ID!");
+        }
+
+        return getDelays(srcID)[destID];
+    }
+
+    /**
+     * Gets the delays from a source node to every node, from the cache or computing them.
+     */
+    private double[] getDelays(final int srcID) {
+        final double[] cached = cache.get(srcID);
+        if (cached != null) {
+            return cached;
+        }
+
+        final double[] distances = computeDelays(srcID);
+        cache.put(srcID, distances);
+        return distances;
+    }
+
+    /**
+     * Computes the delays from a source node to every node.
+     */
+    private double[] computeDelays(final int srcID) {
+        computedSourcesNumber++;
+        final double[] distances = new double[numVertices];
+        Arrays.fill(distances, Double.MAX_VALUE);
+        distances[srcID] = 0;
+        heapSize = 0;
+        push(srcID, 0);
+        while (heapSize > 0) {
+            final int node = heapNodes[0];
+            final double distance = heapKeys[0];
+            pop();
+
+            //Skips outdated entries, since nodes are pushed again instead of having their keys decreased
+            if (distance > distances[node]) {
+                continue;
+            }
+
+            for (int pos = offsets[node]; pos < offsets[node + 1]; pos++) {
+                final double candidate = distance + delays[pos];
+                final int target = targets[pos];
+                if (candidate < distances[target]) {
+                    distances[target] = candidate;
+                    push(target, candidate);
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    private void push(final int node, final double key) {
+        if (heapSize == heapNodes.length) {
+            heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+        }
+
+        int i = heapSize++;
+        while (i > 0) {
+            final int parent = (i - 1) / 2;
+            if (heapKeys[parent] <= key) {
+                break;
+            }
+
+            heapNodes[i] = heapNodes[parent];
+            heapKeys[i] = heapKeys[parent];
+            i = parent;
+        }
+
+        heapNodes[i] = node;
+        heapKeys[i] = key;
+    }
+
+    private void pop() {
+        heapSize--;
+        if (heapSize == 0) {
+            return;
+        }
+
+        final int node = heapNodes[heapSize];
+        final double key = heapKeys[heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                child++;
+            }
+
+            if (key <= heapKeys[child]) {
+                break;
+            }
+
+            heapNodes[i] = heapNodes[child];
+            heapKeys[i] = heapKeys[child];
+            i = child;
+        }
+
+        heapNodes[i] = node;
+        heapKeys[i] = key;
+    }
+
+    /**
+     * Gets the number of nodes in the topology.
+     * @return
+     */
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Gets the number of times the delays from a source node were computed,
+     * which is the number of cache misses.
+     * @return
+     */
+    public long getComputedSourcesNumber() {
+        return computedSourcesNumber;
+    }
+}
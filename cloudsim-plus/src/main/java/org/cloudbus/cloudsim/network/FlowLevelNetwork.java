@@ -0,0 +1,416 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.util.Conversion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * A flow-level model for the network of a {@link NetworkDatacenter}, used as an alternative
+ * to forwarding each {@link HostPacket} through the {@link Switch}es.
+ * Each packet sent between VMs in different Hosts is modelled as a flow
+ * that crosses the links between the source Host, the {@link EdgeSwitch}es,
+ * the Aggregate Switches and the Root Switch, up to the destination Host.
+ *
+ * <p>The bandwidth of every link is shared among the flows crossing it
+ * according to max-min fairness: a flow gets an equal share of its bottleneck link
+ * and the capacity left by flows limited elsewhere is shared among the other ones.
+ * The bandwidth allocation is just recomputed when a flow starts or finishes,
+ * and a single event is scheduled for the next flow completion, instead of
+ * one event for each packet at each hop.
+ * When a flow finishes, its packet is delivered to the destination Host after
+ * the switching delay of the switches it crossed. Packets to be delivered at the same time
+ * are delivered by the same event.</p>
+ *
+ * <p>It assumes the network is a tree, where each Edge Switch is connected
+ * to a single Aggregate Switch and each Aggregate Switch to a single Root Switch
+ * (the first uplink switch is used, as it's done when forwarding packets).
+ * If an Edge Switch has no uplink switch, packets are sent directly to the
+ * destination Host.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ * @see NetworkDatacenter#enableFlowLevelNetwork()
+ */
+public class FlowLevelNetwork {
+    /**
+     * The amount of data (in Megabits) under which a flow is considered finished,
+     * to avoid floating-point errors leaving tiny amounts of data to be sent.
+     */
+    private static final double MIN_REMAINING_DATA = 1e-9;
+
+    /**
+     * The minimum time tolerance (in seconds) to consider a flow is finished or a packet is due to be delivered.
+     * @see #getTimeTolerance()
+     */
+    private static final double TIME_TOLERANCE = 1e-9;
+
+    private final NetworkDatacenter datacenter;
+
+    /**
+     * Links from each Host or Switch to the node above it, where each key is the node below.
+     */
+    private final Map<Object, Link> uplinks;
+
+    /**
+     * Links from the node above to each Host or Switch, where each key is the node below.
+     */
+    private final Map<Object, Link> downlinks;
+
+    /** The flows which are transferring data. */
+    private final Set<Flow> flows;
+
+    /** The flows which have transferred all data, waiting their packets to be delivered, ordered by delivery time. */
+    private final Queue<Flow> deliveries;
+
+    /** A counter used to deliver packets due at the same time in the order their flows have finished. */
+    private long deliverySequence;
+
+    /** The last time the amount of data sent by the flows was updated. */
+    private double lastUpdateTime;
+
+    /**
+     * The version of the bandwidth allocation, increased every time it's recomputed,
+     * so that a scheduled flow completion event can be ignored if the allocation has changed after that.
+     */
+    private long allocationVersion;
+
+    /** @see #getFinishedFlowsNumber() */
+    private long finishedFlowsNumber;
+
+    /**
+     * Creates a flow-level network for a given Datacenter.
+     * @param datacenter the Datacenter whose network will be modelled
+     */
+    public FlowLevelNetwork(final NetworkDatacenter datacenter) {
+        this.datacenter = Objects.requireNonNull(datacenter);
+        this.uplinks = new HashMap<>();
+        this.downlinks = new HashMap<>();
+        this.flows = new LinkedHashSet<>();
+        this.deliveries = new PriorityQueue<>(
+            Comparator.comparingDouble((Flow flow) -> flow.deliveryTime).thenComparingLong(flow -> flow.deliverySequence));
+    }
+
+    /**
+     * Starts transferring a packet to the Host where the destination VM is placed.
+     * @param packet the packet to send
+     */
+    public void startFlow(final HostPacket packet) {
+        final NetworkHost destination = (NetworkHost) packet.getVmPacket().getDestination().getHost();
+        packet.setDestination(destination);
+
+        final List<Link> path = new ArrayList<>(6);
+        final double latency = buildPath(packet.getSource(), destination, path);
+        final Flow flow = new Flow(packet, path, latency, Conversion.bytesToMegaBits(packet.getSize()));
+        updateSentData();
+        if (flow.remainingData <= MIN_REMAINING_DATA) {
+            scheduleDelivery(flow);
+            scheduleNextEvent();
+            return;
+        }
+
+        flows.add(flow);
+        path.forEach(link -> link.flows.add(flow));
+        reallocateBandwidth();
+    }
+
+    /**
+     * Processes a flow completion event scheduled by this network,
+     * delivering the packets which are due.
+     * @param evt the event to process
+     * @return true if the event was processed, false if it's not a flow completion event
+     */
+    public boolean processEvent(final SimEvent evt) {
+        if (evt.getTag() != CloudSimTags.NETWORK_FLOW_FINISH) {
+            return false;
+        }
+
+        //Ignores completion events scheduled for a previous bandwidth allocation
+        if ((long) evt.getData() != allocationVersion) {
+            return true;
+        }
+
+        updateSentData();
+        boolean finished = false;
+        final double timeTolerance = getTimeTolerance();
+        for (final Iterator<Flow> it = flows.iterator(); it.hasNext(); ) {
+            final Flow flow = it.next();
+            if (isFinished(flow, timeTolerance)) {
+                it.remove();
+                flow.path.forEach(link -> link.flows.remove(flow));
+                scheduleDelivery(flow);
+                finished = true;
+            }
+        }
+
+        deliverDuePackets();
+        if (finished) {
+            reallocateBandwidth();
+        } else {
+            scheduleNextEvent();
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if a flow has sent all its data or if the time to send the remaining data
+     * is within a given tolerance.
+     */
+    private static boolean isFinished(final Flow flow, final double timeTolerance) {
+        return flow.remainingData <= MIN_REMAINING_DATA ||
+               flow.bandwidth > 0 && flow.remainingData / flow.bandwidth <= timeTolerance;
+    }
+
+    /**
+     * Gets the tolerance (in seconds) to consider a flow is finished or a packet is due to be delivered.
+     * It increases with the simulation clock, since the delay for a scheduled event is absorbed
+     * when it's smaller than the precision of the clock. Without such a tolerance,
+     * the event would be processed at the same time, without sending any data,
+     * and then scheduled again forever.
+     * @return
+     */
+    private double getTimeTolerance() {
+        return Math.max(TIME_TOLERANCE, 2 * Math.ulp(lastUpdateTime));
+    }
+
+    /**
+     * Updates the amount of data sent by each flow since the last update,
+     * according to the bandwidth currently allocated to it.
+     */
+    private void updateSentData() {
+        final double now = datacenter.getSimulation().clock();
+        final double elapsedTime = now - lastUpdateTime;
+        lastUpdateTime = now;
+        if (elapsedTime <= 0) {
+            return;
+        }
+
+        for (final Flow flow : flows) {
+            flow.remainingData = Math.max(0, flow.remainingData - flow.bandwidth * elapsedTime);
+        }
+    }
+
+    /**
+     * Allocates bandwidth to every flow according to max-min fairness (progressive filling),
+     * then schedules the next flow completion or packet delivery.
+     */
+    private void reallocateBandwidth() {
+        final List<Link> activeLinks = new ArrayList<>();
+        for (final Flow flow : flows) {
+            flow.bandwidth = -1;
+            for (final Link link : flow.path) {
+                if (link.unallocatedFlows == 0) {
+                    link.remainingCapacity = link.capacity;
+                    activeLinks.add(link);
+                }
+
+                link.unallocatedFlows++;
+            }
+        }
+
+        int unallocatedFlows = flows.size();
+        while (unallocatedFlows > 0) {
+            final Link bottleneck = findBottleneckLink(activeLinks);
+            final double share = Math.max(0, bottleneck.remainingCapacity / bottleneck.unallocatedFlows);
+            for (final Flow flow : bottleneck.flows) {
+                if (flow.bandwidth >= 0) {
+                    continue;
+                }
+
+                flow.bandwidth = share;
+                unallocatedFlows--;
+                for (final Link link : flow.path) {
+                    link.remainingCapacity -= share;
+                    link.unallocatedFlows--;
+                }
+            }
+        }
+
+        scheduleNextEvent();
+    }
+
+    /**
+     * Finds the link which provides the smallest bandwidth share to its flows without allocated bandwidth.
+     */
+    private Link findBottleneckLink(final List<Link> activeLinks) {
+        Link bottleneck = null;
+        double minShare = Double.MAX_VALUE;
+        for (final Link link : activeLinks) {
+            if (link.unallocatedFlows > 0) {
+                final double share = link.remainingCapacity / link.unallocatedFlows;
+                if (bottleneck == null || share < minShare) {
+                    bottleneck = link;
+                    minShare = share;
+                }
+            }
+        }
+
+        return bottleneck;
+    }
+
+    /**
+     * Schedules an event for the next time a flow finishes or a packet must be delivered.
+     */
+    private void scheduleNextEvent() {
+        allocationVersion++;
+        double delay = Double.MAX_VALUE;
+        for (final Flow flow : flows) {
+            if (flow.bandwidth > 0) {
+                delay = Math.min(delay, flow.remainingData / flow.bandwidth);
+            }
+        }
+
+        if (!deliveries.isEmpty()) {
+            delay = Math.min(delay, deliveries.peek().deliveryTime - lastUpdateTime);
+        }
+
+        if (delay < Double.MAX_VALUE) {
+            datacenter.getSimulation().send(datacenter, datacenter, Math.max(0, delay), CloudSimTags.NETWORK_FLOW_FINISH, allocationVersion);
+        }
+    }
+
+    /**
+     * Schedules the delivery of the packet of a finished flow,
+     * after the switching delay of the switches it crossed.
+     */
+    private void scheduleDelivery(final Flow flow) {
+        finishedFlowsNumber++;
+        flow.deliveryTime = lastUpdateTime + flow.latency;
+        flow.deliverySequence = deliverySequence++;
+        deliveries.add(flow);
+    }
+
+    /**
+     * Delivers the packets of finished flows which are due to the destination Hosts.
+     */
+    private void deliverDuePackets() {
+        while (!deliveries.isEmpty() && deliveries.peek().deliveryTime <= lastUpdateTime + getTimeTolerance()) {
+            final HostPacket packet = deliveries.poll().packet;
+            packet.getDestination().addReceivedNetworkPacket(packet);
+        }
+    }
+
+    /**
+     * Builds the list of links a packet crosses from a source to a destination Host.
+     * @param source the Host sending the packet
+     * @param destination the Host receiving the packet
+     * @param path the list where the links will be added
+     * @return the total switching delay of the switches in the path
+     */
+    private double buildPath(final NetworkHost source, final NetworkHost destination, final List<Link> path) {
+        final EdgeSwitch sourceEdge = source.getEdgeSwitch();
+        final EdgeSwitch destinationEdge = destination.getEdgeSwitch();
+        path.add(uplink(source, sourceEdge.getDownlinkBandwidth()));
+        double latency = sourceEdge.getSwitchingDelay();
+
+        if (sourceEdge != destinationEdge && !sourceEdge.getUplinkSwitches().isEmpty() && !destinationEdge.getUplinkSwitches().isEmpty()) {
+            final Switch sourceAggregate = sourceEdge.getUplinkSwitches().get(0);
+            final Switch destinationAggregate = destinationEdge.getUplinkSwitches().get(0);
+            path.add(uplink(sourceEdge, sourceEdge.getUplinkBandwidth()));
+            latency += sourceAggregate.getSwitchingDelay();
+
+            if (sourceAggregate != destinationAggregate && !sourceAggregate.getUplinkSwitches().isEmpty()) {
+                final Switch root = sourceAggregate.getUplinkSwitches().get(0);
+                path.add(uplink(sourceAggregate, sourceAggregate.getUplinkBandwidth()));
+                path.add(downlink(destinationAggregate, root.getDownlinkBandwidth()));
+                latency += root.getSwitchingDelay() + destinationAggregate.getSwitchingDelay();
+            }
+
+            path.add(downlink(destinationEdge, destinationAggregate.getDownlinkBandwidth()));
+            latency += destinationEdge.getSwitchingDelay();
+        }
+
+        path.add(downlink(destination, destinationEdge.getDownlinkBandwidth()));
+        return latency;
+    }
+
+    private Link uplink(final Object node, final double capacity) {
+        return uplinks.computeIfAbsent(node, key -> new Link(capacity));
+    }
+
+    private Link downlink(final Object node, final double capacity) {
+        return downlinks.computeIfAbsent(node, key -> new Link(capacity));
+    }
+
+    /**
+     * Gets the number of flows which are transferring data.
+     * @return
+     */
+    public int getActiveFlowsNumber() {
+        return flows.size();
+    }
+
+    /**
+     * Gets the number of flows which have finished transferring data.
+     * @return
+     */
+    public long getFinishedFlowsNumber() {
+        return finishedFlowsNumber;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d active flows", getClass().getSimpleName(), flows.size());
+    }
+
+    /**
+     * A directed link between two network nodes.
+     */
+    private static final class Link {
+        /** The link capacity (in Megabits/s). */
+        private final double capacity;
+        private final Set<Flow> flows;
+
+        /** The capacity not allocated yet while the bandwidth allocation is computed. */
+        private double remainingCapacity;
+
+        /** The number of flows without allocated bandwidth while the allocation is computed. */
+        private int unallocatedFlows;
+
+        private Link(final double capacity) {
+            this.capacity = capacity;
+            this.flows = new LinkedHashSet<>();
+        }
+    }
+
+    /**
+     * The transfer of a packet through a path in the network.
+     */
+    private static final class Flow {
+        private final HostPacket packet;
+        private final List<Link> path;
+        private final double latency;
+
+        /** The amount of data still to be sent (in Megabits). */
+        private double remainingData;
+
+        /** The bandwidth allocated to the flow (in Megabits/s). */
+        private double bandwidth;
+
+        /** The time the packet will be delivered after all its data is transferred. */
+        private double deliveryTime;
+        private long deliverySequence;
+
+        private Flow(final HostPacket packet, final List<Link> path, final double latency, final double data) {
+            this.packet = packet;
+            this.path = path;
+            this.latency = latency;
+            this.remainingData = data;
+        }
+    }
+}
@@ -7,49 +7,54 @@
  */
 package org.cloudbus.cloudsim.network;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * <a href="https://en.wikipedia.org/wiki/Floyd-Warshall_algorithm">Floyd-Warshall algorithm</a> to calculate the predecessor matrix and the delay
  * between all pairs of nodes. The delay represents the distance between the two vertices and it works as the weight for the Floyd-Warshall algorithm.
  *
+ * <p>The matrices are stored into flat row-major arrays and updated in place,
+ * using the blocked (tiled) version of the algorithm: the matrix is split into
+ * {@link #BLOCK_SIZE}x{@link #BLOCK_SIZE} blocks that fit into the CPU cache and,
+ * for each block k in the diagonal, the blocks are updated in three phases:
+ * the diagonal block itself; the blocks in the same row and column of it;
+ * and all the remaining ones. Blocks inside the second and third phases are independent
+ * and are updated in parallel, using the common Fork/Join pool, for graphs with
+ * more than {@link #PARALLEL_THRESHOLD} vertices.</p>
+ *
+ * <p>For large and sparse graphs where just a few pairs of nodes are queried,
+ * consider using {@link DijkstraShortestPaths} instead.</p>
+ *
  * @author Rahul Simha
  * @author Weishuai Yang
  * @version 1.2, 6/20/2005
  * @since CloudSim Toolkit 1.0
  */
 public class FloydWarshall {
-
     /**
-     * Number of vertices (network nodes).
+     * Number of rows and columns of each block the matrices are split into.
      */
-    private final int numVertices;
+    static final int BLOCK_SIZE = 64;
 
     /**
-     * List with the indexes of all vertices, from 0 to {@link #numVertices}-1.
+     * Minimum number of vertices for the blocks to be updated in parallel.
      */
-    private final List<Integer> vertices;
+    static final int PARALLEL_THRESHOLD = 4 * BLOCK_SIZE;
 
     /**
-     * Weights when k is equal to -1.
-     * (used for dynamic programming).
+     * Number of vertices (network nodes).
      */
-    private final double[][] dk_minus_one;
+    private final int numVertices;
 
     /**
-     * The predecessor matrix (used for dynamic programming).
+     * Indicates if the predecessor matrix must be computed.
      */
-    private final int[][] pk;
+    private final boolean predecessors;
 
     /**
-     * (used for dynamic programming).
+     * The predecessor matrix, where the element [i][j] is at position i*{@link #numVertices}+j.
      */
-    private final int[][] pk_minus_one;
+    private int[] pk;
 
     /**
      * Creates a matrix of network nodes.
@@ -57,24 +62,24 @@ public class FloydWarshall {
      * @param numVertices number of network nodes
      */
     public FloydWarshall(final int numVertices) {
-        this.numVertices = numVertices;
-        this.vertices = IntStream.range(0, numVertices).boxed().collect(toList());
-        dk_minus_one = new double[numVertices][numVertices];
-        pk = new int[numVertices][numVertices];
-        pk_minus_one = new int[numVertices][numVertices];
+        this(numVertices, true);
     }
 
     /**
-     * Computes the shortest path between a vertex to all the other ones,
-     * for all existing vertices.
-     * This is represented by the delay between all pairs vertices.
+     * Creates a matrix of network nodes, defining if the predecessor matrix must be computed.
+     * Skipping it saves a matrix of integers when just the delays are required.
      *
-     * @param originalDelayMatrix original delay matrix
-     * @return the new delay matrix (dk)
+     * @param numVertices number of network nodes
+     * @param predecessors true to compute the {@link #getPk() predecessor matrix}, false otherwise
      */
-    public double[][] computeShortestPaths(double[][] originalDelayMatrix) {
-        savePreviousDelays(originalDelayMatrix);
-        return computeShortestPaths();
+    public FloydWarshall(final int numVertices, final boolean predecessors) {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Number of vertices cannot be negative.");
+        }
+
+        this.numVertices = numVertices;
+        this.predecessors = predecessors;
+        this.pk = new int[0];
     }
 
     /**
@@ -82,13 +87,20 @@ public class FloydWarshall {
      * for all existing vertices.
      * This is represented by the delay between all pairs vertices.
      *
+     * @param originalDelayMatrix original delay matrix, where 0 means there is no link between two vertices
      * @return the new delay matrix (dk)
      */
-    private double[][] computeShortestPaths() {
-        final double[][] dk = new double[numVertices][numVertices];
+    public double[][] computeShortestPaths(final double[][] originalDelayMatrix) {
+        final double[] delays = new double[numVertices * numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            System.arraycopy(originalDelayMatrix[i], 0, delays, i * numVertices, numVertices);
+        }
 
-        for(final int k: vertices) {
-            computeShortestPathForSpecificNumberOfHops(dk, k);
+        computeShortestPathsInPlace(delays);
+        final double[][] dk = new double[numVertices][];
+        for (int i = 0; i < numVertices; i++) {
+            dk[i] = new double[numVertices];
+            System.arraycopy(delays, i * numVertices, dk[i], 0, numVertices);
         }
 
         return dk;
@@ -96,79 +108,115 @@ public class FloydWarshall {
 
     /**
      * Computes the shortest path between a vertex to all the other ones,
-     * for all existing vertices, limited to a maximum number of hops.
-     * This is represented by the delay between all pairs vertices.
+     * for all existing vertices, overwriting a flat delay matrix with the result.
+     * Unreachable vertices have a {@link Double#MAX_VALUE} delay.
      *
-     * @param dk the delay matrix to be updated
-     * @param k maximum number of hops to try finding the shortest path between each vertex i and j
+     * @param delays the original delay matrix in row-major order, where the delay from vertex i to j
+     *               is at position i*{@link #getNumVertices()}+j and 0 means there is no link between them.
+     *               It's updated with the delay of the shortest path between every pair of vertices.
+     * @return the given array, with the new delays
      */
-    private void computeShortestPathForSpecificNumberOfHops(double[][] dk, int k) {
-        for(final int i: vertices) {
-            computeShortestPathFromVertexToAllVertices(dk, k, i);
+    public double[] computeShortestPathsInPlace(final double[] delays) {
+        if (delays.length != numVertices * numVertices) {
+            throw new IllegalArgumentException("The delay matrix must have " + numVertices + "x" + numVertices + " elements.");
         }
 
-        updateMatrices((i,j) -> {
-            dk_minus_one[i][j] = dk[i][j];
-            pk_minus_one[i][j] = pk[i][j];
-        });
-    }
+        initialize(delays);
+        final int blocks = (numVertices + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final boolean parallel = numVertices > PARALLEL_THRESHOLD;
+        for (int kb = 0; kb < blocks; kb++) {
+            final int k = kb;
+            updateBlock(delays, k, k, k);
+
+            //The blocks in the same row and column of the diagonal block depend only on it
+            range(2 * blocks, parallel).forEach(b -> {
+                final int other = b / 2;
+                if (other == k) {
+                    return;
+                }
 
-    /**
-     * Iterates over the path from one vertex to all the other ones, for all existing vertices,
-     * updating some matrices as defined by a  {@link BiConsumer}.
-     *
-     * @param updater a {@link BiConsumer} that updates all elements of any matrices, where the parameters
-     *                that this BiConsumer receives are the index i and j representing the path
-     *                between two vertices, for all existing vertices
-     */
-    private void updateMatrices(BiConsumer<Integer, Integer> updater){
-        for(final int i: vertices) {
-            for(final int j: vertices) {
-                updater.accept(i, j);
-            }
+                if (b % 2 == 0) {
+                    updateBlock(delays, k, other, k);
+                } else {
+                    updateBlock(delays, other, k, k);
+                }
+            });
+
+            //The remaining blocks depend only on the blocks in the same row and column of the diagonal one
+            range(blocks * blocks, parallel).forEach(b -> {
+                final int ib = b / blocks;
+                final int jb = b % blocks;
+                if (ib != k && jb != k) {
+                    updateBlock(delays, ib, jb, k);
+                }
+            });
         }
+
+        return delays;
+    }
+
+    private static IntStream range(final int endExclusive, final boolean parallel) {
+        final IntStream stream = IntStream.range(0, endExclusive);
+        return parallel ? stream.parallel() : stream;
     }
 
     /**
-     * Computes the shortest path between only a specific vertex to all the other ones,
-     * limited to a maximum number of hops, and then updating the delay matrix.
-     * This is represented by the delay between all pairs vertices.
-     *
-     * @param dk the delay matrix to be updated
-     * @param k maximum number of hops to try finding the shortest path between each vertex i and j
-     * @param i the index of the vertex to compute its distance to all the other vertices
+     * Replaces the 0 delays (no link) by {@link Double#MAX_VALUE} and sets the delay
+     * from each vertex to itself as 0, initializing the predecessor matrix accordingly.
+     * @param delays the original delay matrix
      */
-    private void computeShortestPathFromVertexToAllVertices(double[][] dk, int k, int i) {
-        for(final int j: vertices) {
-            pk[i][j] = -1;
-            if (i != j) {
-                // D_k[i][j] = min ( D_k-1[i][j], D_k-1[i][k] + D_k-1[k][j].
-                if (dk_minus_one[i][j] <= dk_minus_one[i][k] + dk_minus_one[k][j]) {
-                    dk[i][j] = dk_minus_one[i][j];
-                    pk[i][j] = pk_minus_one[i][j];
-                } else {
-                    dk[i][j] = dk_minus_one[i][k] + dk_minus_one[k][j];
-                    pk[i][j] = pk_minus_one[k][j];
+    private void initialize(final double[] delays) {
+        pk = predecessors ? new int[delays.length] : new int[0];
+        for (int i = 0; i < numVertices; i++) {
+            for (int j = 0; j < numVertices; j++) {
+                final int ij = i * numVertices + j;
+                final boolean linked = i != j && delays[ij] != 0;
+                if (predecessors) {
+                    pk[ij] = linked ? i : -1;
+                }
+
+                if (i == j) {
+                    delays[ij] = 0;
+                } else if (!linked) {
+                    delays[ij] = Double.MAX_VALUE;
                 }
             }
         }
     }
 
     /**
-     * Saves the delay matrix before updating.
+     * Updates the delays from the vertices in a block row to the ones in a block column,
+     * trying the vertices in a given block as intermediate ones.
      *
-     * @param originalDelayMatrix the original delay matrix
+     * @param delays the delay matrix being computed
+     * @param ib the row of the block to update
+     * @param jb the column of the block to update
+     * @param kb the index of the block containing the intermediate vertices
      */
-    private void savePreviousDelays(double[][] originalDelayMatrix) {
-        for(final int i: vertices) {
-            for(final int j: vertices) {
-                dk_minus_one[i][j] = Double.MAX_VALUE;
-                pk_minus_one[i][j] = -1;
-                if (originalDelayMatrix[i][j] != 0) {
-                    dk_minus_one[i][j] = originalDelayMatrix[i][j];
-                    pk_minus_one[i][j] = i;
+    private void updateBlock(final double[] delays, final int ib, final int jb, final int kb) {
+        final int n = numVertices;
+        final int iEnd = Math.min(n, (ib + 1) * BLOCK_SIZE);
+        final int jStart = jb * BLOCK_SIZE;
+        final int jEnd = Math.min(n, jStart + BLOCK_SIZE);
+        final int kEnd = Math.min(n, (kb + 1) * BLOCK_SIZE);
+        for (int k = kb * BLOCK_SIZE; k < kEnd; k++) {
+            final int kRow = k * n;
+            for (int i = ib * BLOCK_SIZE; i < iEnd; i++) {
+                final int iRow = i * n;
+                final double dik = delays[iRow + k];
+                if (dik == Double.MAX_VALUE) {
+                    continue;
+                }
+
+                for (int j = jStart; j < jEnd; j++) {
+                    final double viaK = dik + delays[kRow + j];
+                    if (viaK < delays[iRow + j]) {
+                        delays[iRow + j] = viaK;
+                        if (predecessors) {
+                            pk[iRow + j] = pk[kRow + j];
+                        }
+                    }
                 }
-                // NOTE: we have set the value to infinity and will exploit this to avoid a comparison.
             }
         }
     }
@@ -177,9 +225,24 @@ public class FloydWarshall {
      * Gets a <b>copy</b> of the predecessor matrix.
      *
      * @return the predecessor matrix copy
+     * @throws IllegalStateException if the predecessor matrix is not being computed
      */
     public int[][] getPk() {
-        return Arrays.copyOf(pk, pk.length);
+        if (!predecessors) {
+            throw new IllegalStateException("The predecessor matrix is not computed by this " + getClass().getSimpleName());
+        }
+
+        if (pk.length == 0) {
+            return new int[0][0];
+        }
+
+        final int[][] copy = new int[numVertices][];
+        for (int i = 0; i < numVertices; i++) {
+            copy[i] = new int[numVertices];
+            System.arraycopy(pk, i * numVertices, copy[i], 0, numVertices);
+        }
+
+        return copy;
     }
 
     public int getNumVertices(){
@@ -0,0 +1,120 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An undirected graph representing the traffic affinity between VMs,
+ * where the weight of the edge between two VMs is the number of bytes they have exchanged
+ * (in both directions).
+ * It's incrementally updated as {@link HostPacket}s are sent,
+ * so that VMs which communicate can be placed close to each other.
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public class VmTrafficGraph {
+    /**
+     * Maps each VM to the VMs it has communicated with and the number of bytes exchanged.
+     */
+    private final Map<Vm, Map<Vm, Long>> edges;
+
+    /** @see #getTotalTraffic(Vm) */
+    private final Map<Vm, Long> totalTraffic;
+
+    public VmTrafficGraph() {
+        this.edges = new HashMap<>();
+        this.totalTraffic = new HashMap<>();
+    }
+
+    /**
+     * Adds the size of a packet to the traffic between its sender and receiver VMs.
+     * @param pkt the packet sent
+     */
+    public void addPacket(final HostPacket pkt) {
+        final VmPacket vmPacket = pkt.getVmPacket();
+        addTraffic(vmPacket.getSource(), vmPacket.getDestination(), pkt.getSize());
+    }
+
+    /**
+     * Adds a number of bytes to the traffic between two VMs.
+     * Traffic from a VM to itself is ignored.
+     *
+     * @param vm1 a VM
+     * @param vm2 another VM
+     * @param bytes the number of bytes exchanged
+     */
+    public void addTraffic(final Vm vm1, final Vm vm2, final long bytes) {
+        if (vm1 == vm2 || bytes <= 0) {
+            return;
+        }
+
+        edges.computeIfAbsent(vm1, vm -> new HashMap<>()).merge(vm2, bytes, Long::sum);
+        edges.computeIfAbsent(vm2, vm -> new HashMap<>()).merge(vm1, bytes, Long::sum);
+        totalTraffic.merge(vm1, bytes, Long::sum);
+        totalTraffic.merge(vm2, bytes, Long::sum);
+    }
+
+    /**
+     * Gets the number of bytes exchanged between two VMs.
+     * @param vm1 a VM
+     * @param vm2 another VM
+     * @return
+     */
+    public long getTraffic(final Vm vm1, final Vm vm2) {
+        return edges.getOrDefault(vm1, Collections.emptyMap()).getOrDefault(vm2, 0L);
+    }
+
+    /**
+     * Gets the total number of bytes exchanged between a VM and all the other ones.
+     * @param vm the VM to get its traffic
+     * @return
+     */
+    public long getTotalTraffic(final Vm vm) {
+        return totalTraffic.getOrDefault(vm, 0L);
+    }
+
+    /**
+     * Gets a <b>read-only</b> map of the VMs which have communicated with a given VM,
+     * where each value is the number of bytes exchanged between them.
+     * @param vm the VM to get its neighbours
+     * @return
+     */
+    public Map<Vm, Long> getNeighbours(final Vm vm) {
+        return Collections.unmodifiableMap(edges.getOrDefault(vm, Collections.emptyMap()));
+    }
+
+    /**
+     * Removes a VM and all its traffic from the graph,
+     * for instance when the VM is finished and won't be placed anymore.
+     * @param vm the VM to remove
+     */
+    public void remove(final Vm vm) {
+        final Map<Vm, Long> neighbours = edges.remove(vm);
+        totalTraffic.remove(vm);
+        if (neighbours == null) {
+            return;
+        }
+
+        neighbours.forEach((neighbour, bytes) -> {
+            final Map<Vm, Long> neighbourEdges = edges.get(neighbour);
+            neighbourEdges.remove(vm);
+            if (neighbourEdges.isEmpty()) {
+                edges.remove(neighbour);
+                totalTraffic.remove(neighbour);
+            } else {
+                totalTraffic.merge(neighbour, -bytes, Long::sum);
+            }
+        });
+    }
+
+    /**
+     * Gets the number of VMs which have communicated with some other VM.
+     * @return
+     */
+    public int getVmsNumber() {
+        return edges.size();
+    }
+}
@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.network.switches;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimEntity;
 import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.SimEntity;
 import org.cloudbus.cloudsim.core.events.PredicateType;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
@@ -22,12 +23,28 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * A base class for implementing Network Switch.
  *
+ * <p>Packets queued to the same next hop (switch or host) which have the same transfer delay
+ * are sent together in a single event, instead of one event for each packet.
+ * Such events have dedicated tags (such as {@link CloudSimTags#NETWORK_EVENT_UP_BATCH}),
+ * their data is a {@code List<HostPacket>}
+ * and each packet is processed individually when the event arrives,
+ * so that the delivery time of each packet is not changed.
+ * Events with the regular tags (such as {@link CloudSimTags#NETWORK_EVENT_UP})
+ * always carry a single {@link HostPacket}.</p>
+ *
+ * <p>Subclasses must process packets by overriding {@link #processPacketUp(HostPacket)}
+ * and {@link #processPacketDown(HostPacket)}.
+ * A switch which processes packets by overriding methods receiving packet events
+ * (such as {@link #processPacketUp(SimEvent)}) must override {@link #isPacketBatchingSupported()}
+ * to return false, so that it just receives events carrying one packet.</p>
+ *
  * @author Saurabh Kumar Garg
  * @author Manoel Campos da Silva Filho
  */
@@ -120,29 +137,128 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
             case CloudSimTags.NETWORK_EVENT_HOST:
                 processHostPacket(evt);
             break;
+            case CloudSimTags.NETWORK_EVENT_UP_BATCH:
+                scheduleForwarding();
+                getPackets(evt).forEach(this::processPacketUp);
+            break;
+            case CloudSimTags.NETWORK_EVENT_DOWN_BATCH:
+                scheduleForwarding();
+                getPackets(evt).forEach(this::processPacketDown);
+            break;
+            case CloudSimTags.NETWORK_EVENT_HOST_BATCH:
+                getPackets(evt).forEach(this::processHostPacket);
+            break;
         }
     }
 
     /**
-     * Process a packet sent to a host.
+     * Schedules the forwarding of the queued packets after the {@link #getSwitchingDelay() switching delay},
+     * cancelling any forwarding previously scheduled.
+     */
+    private void scheduleForwarding() {
+        getSimulation().cancelAll(this, new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
+        schedule(this, switchingDelay, CloudSimTags.NETWORK_EVENT_SEND);
+    }
+
+    /**
+     * Process a packet sent to a host, delivering it to its destination host.
      *
-     * @param evt The packet sent.
+     * @param evt The event containing the packet sent.
      */
     protected void processHostPacket(final SimEvent evt) {
-        final HostPacket pkt = (HostPacket) evt.getData();
-        final NetworkHost host = pkt.getDestination();
-        host.addReceivedNetworkPacket(pkt);
+        processHostPacket((HostPacket) evt.getData());
+    }
+
+    private void processHostPacket(final HostPacket pkt) {
+        pkt.getDestination().addReceivedNetworkPacket(pkt);
     }
 
     /**
      * Sends a packet to Datacenter connected through a downlink port.
      *
-     * @param evt Event/packet to process
+     * @param evt Event containing the packet to process
+     * @see #processPacketDown(HostPacket)
      */
     protected void processPacketDown(final SimEvent evt) {
         // Packet coming from up level router has to send downward.
-        getSimulation().cancelAll(this, new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
-        schedule(this, getSwitchingDelay(), CloudSimTags.NETWORK_EVENT_SEND);
+        scheduleForwarding();
+        processPacketDown((HostPacket) evt.getData());
+    }
+
+    /**
+     * Processes a single packet coming from an uplink switch,
+     * usually queueing it to be sent to the next hop.
+     * It does nothing by default.
+     *
+     * @param pkt the packet to process
+     */
+    protected void processPacketDown(final HostPacket pkt) {/**/}
+
+    /**
+     * Checks if this switch can receive events carrying a list of packets,
+     * which are processed individually by {@link #processPacketUp(HostPacket)}
+     * and {@link #processPacketDown(HostPacket)}.
+     * Subclasses which process packets by overriding the methods receiving packet events
+     * (such as {@link #processPacketUp(SimEvent)}) must return false,
+     * so that such methods receive every packet sent to the switch.
+     * @return true by default
+     */
+    protected boolean isPacketBatchingSupported() {
+        return true;
+    }
+
+    /**
+     * Sends packets with the same transfer delay to a switch,
+     * using a single event if the switch {@link #isPacketBatchingSupported() supports it}
+     * or one event for each packet otherwise.
+     *
+     * @param src the entity sending the packets
+     * @param destination the switch to send the packets to
+     * @param delay the transfer delay of the packets
+     * @param cloudSimTag the tag to send each packet individually,
+     *                    which is mapped to its batch counterpart when packets are sent together
+     * @param packets the packets to send
+     */
+    public static void sendPackets(
+        final SimEntity src, final Switch destination, final double delay,
+        final int cloudSimTag, final List<HostPacket> packets)
+    {
+        final boolean batch = packets.size() > 1 &&
+                              destination instanceof AbstractSwitch &&
+                              ((AbstractSwitch) destination).isPacketBatchingSupported();
+        if (batch) {
+            src.getSimulation().send(src, destination, delay, batchTag(cloudSimTag), packets);
+            return;
+        }
+
+        for (final HostPacket pkt : packets) {
+            src.getSimulation().send(src, destination, delay, cloudSimTag, pkt);
+        }
+    }
+
+    /**
+     * Gets the tag to send a list of packets together,
+     * corresponding to a tag used to send a single packet.
+     * @param cloudSimTag a tag to send a single packet
+     * @return the batch tag
+     */
+    private static int batchTag(final int cloudSimTag) {
+        switch (cloudSimTag) {
+            case CloudSimTags.NETWORK_EVENT_UP: return CloudSimTags.NETWORK_EVENT_UP_BATCH;
+            case CloudSimTags.NETWORK_EVENT_DOWN: return CloudSimTags.NETWORK_EVENT_DOWN_BATCH;
+            case CloudSimTags.NETWORK_EVENT_HOST: return CloudSimTags.NETWORK_EVENT_HOST_BATCH;
+            default: throw new IllegalArgumentException("There is no batch tag for the network event " + cloudSimTag);
+        }
+    }
+
+    /**
+     * Gets the packets sent together in an event with a batch tag.
+     * @param evt the event containing the list of packets
+     * @return the list of packets
+     */
+    @SuppressWarnings("unchecked")
+    private static List<HostPacket> getPackets(final SimEvent evt) {
+        return (List<HostPacket>) evt.getData();
     }
 
     /**
@@ -157,14 +273,24 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
     /**
      * Sends a packet to Datacenter connected through a uplink port.
      *
-     * @param evt Event/packet to process
+     * @param evt Event containing the packet to process
+     * @see #processPacketUp(HostPacket)
      */
     protected void processPacketUp(final SimEvent evt) {
         // Packet coming from down level router has to be sent up.
-        getSimulation().cancelAll(this, new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
-        schedule(this, switchingDelay, CloudSimTags.NETWORK_EVENT_SEND);
+        scheduleForwarding();
+        processPacketUp((HostPacket) evt.getData());
     }
 
+    /**
+     * Processes a single packet coming from a downlink switch or host,
+     * usually queueing it to be sent to the next hop.
+     * It does nothing by default.
+     *
+     * @param pkt the packet to process
+     */
+    protected void processPacketUp(final HostPacket pkt) {/**/}
+
     /**
      * Sends a packet to hosts connected to the switch.
      */
@@ -188,15 +314,22 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
         }
     }
 
+    /**
+     * Sends the packets queued to a next hop, sending the packets with the same
+     * transfer delay together in a single event.
+     */
     private void forwardPacketsToSwitch(
         final Switch destinationSwitch, final List<HostPacket> packetList,
         final double bandwidth, final int cloudSimTag)
     {
+        final Map<Double, List<HostPacket>> batches = new LinkedHashMap<>();
         for (final HostPacket pkt : packetList) {
             final double delay = packetTransferDelay(pkt, bandwidth, packetList.size());
-            send(destinationSwitch, delay, cloudSimTag, pkt);
+            batches.computeIfAbsent(delay, key -> new ArrayList<>()).add(pkt);
         }
 
+        batches.forEach((delay, batch) -> sendPackets(this, destinationSwitch, delay, cloudSimTag, batch));
+
         packetList.clear();
     }
 
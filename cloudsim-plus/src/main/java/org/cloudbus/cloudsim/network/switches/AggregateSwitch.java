@@ -8,7 +8,6 @@
 package org.cloudbus.cloudsim.network.switches;
 
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.network.HostPacket;
 import org.cloudbus.cloudsim.util.Conversion;
@@ -74,22 +73,18 @@ public class AggregateSwitch extends AbstractSwitch {
     }
 
     @Override
-    protected void processPacketDown(SimEvent evt) {
+    protected void processPacketDown(final HostPacket netPkt) {
         // packet is coming from root so need to be sent to edge switch
         // find the id for edge switch
-        super.processPacketDown(evt);
-        final HostPacket netPkt = (HostPacket) evt.getData();
         final Switch downlinkSw = getVmEdgeSwitch(netPkt);
         addPacketToSendToDownlinkSwitch(downlinkSw, netPkt);
     }
 
     @Override
-    protected void processPacketUp(SimEvent evt) {
+    protected void processPacketUp(final HostPacket netPkt) {
         // packet is coming from edge router so need to be sent to
         // either root or another edge switch
         // find the id for edge switch
-        super.processPacketUp(evt);
-        final HostPacket netPkt = (HostPacket) evt.getData();
         final Switch downlinkSw = getVmEdgeSwitch(netPkt);
 
         if (findConnectedEdgeSwitch(downlinkSw)) {
@@ -8,7 +8,6 @@
 package org.cloudbus.cloudsim.network.switches;
 
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.hosts.network.NetworkHost;
@@ -89,29 +88,23 @@ public class EdgeSwitch extends AbstractSwitch {
     }
 
     @Override
-    protected void processPacketDown(SimEvent evt) {
-        super.processPacketDown(evt);
-
+    protected void processPacketDown(final HostPacket pkt) {
         // packet is to be received by host
-        final HostPacket pkt = extractReceivedHostPacket(evt);
+        setReceiverHost(pkt);
         addPacketToSendToHost(pkt.getDestination(), pkt);
     }
 
-    private HostPacket extractReceivedHostPacket(final SimEvent evt) {
-        final HostPacket pkt = (HostPacket) evt.getData();
+    private void setReceiverHost(final HostPacket pkt) {
         final Vm receiverVm = pkt.getVmPacket().getDestination();
         final NetworkHost host = getVmHost(receiverVm);
         pkt.setDestination(host);
-        return pkt;
     }
 
     @Override
-    protected void processPacketUp(SimEvent evt) {
-        super.processPacketUp(evt);
-
+    protected void processPacketUp(final HostPacket pkt) {
         // packet is received from host
         // packet is to be sent to aggregate level or to another host in the same level
-        final HostPacket pkt = extractReceivedHostPacket(evt);
+        setReceiverHost(pkt);
 
         // packet needs to go to a host which is connected directly to switch
         if (pkt.getDestination() != null && pkt.getDestination() != Host.NULL) {
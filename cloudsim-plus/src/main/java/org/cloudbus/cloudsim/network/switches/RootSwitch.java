@@ -8,7 +8,6 @@
 package org.cloudbus.cloudsim.network.switches;
 
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.network.HostPacket;
 import org.cloudbus.cloudsim.util.Conversion;
@@ -79,9 +78,7 @@ public class RootSwitch extends AbstractSwitch {
     }
 
     @Override
-    protected void processPacketUp(SimEvent evt) {
-        super.processPacketUp(evt);
-        final HostPacket netPkt = (HostPacket) evt.getData();
+    protected void processPacketUp(final HostPacket netPkt) {
         final Switch edgeSwitch = getVmEdgeSwitch(netPkt);
 
         final Switch aggSwitch = findAggregateSwitchConnectedToGivenEdgeSwitch(edgeSwitch);
@@ -9,6 +9,7 @@ package org.cloudbus.cloudsim.network.topologies;
 
 import org.cloudbus.cloudsim.core.SimEntity;
 import org.cloudbus.cloudsim.network.DelayMatrix;
+import org.cloudbus.cloudsim.network.DijkstraShortestPaths;
 import org.cloudbus.cloudsim.network.topologies.readers.TopologyReaderBrite;
 import org.cloudbus.cloudsim.util.ResourceLoader;
 import org.slf4j.Logger;
@@ -34,6 +35,12 @@ import java.util.Map;
  * to one (and only one) BRITE node to allow proper work of the network
  * simulation. Each BRITE node can be mapped to only one entity at a time.</p>
  *
+ * <p>The topology file is read into a {@link CompactTopologicalGraph} and delays
+ * are computed on demand by {@link DijkstraShortestPaths}, so that very large topologies
+ * fit into memory. The {@link #getTopologicalGraph() topological graph},
+ * the {@link #getDelayMatrix() delay matrix} and the {@link #getBwMatrix() bandwidth matrix}
+ * are just created when requested.</p>
+ *
  * @author Rodrigo N. Calheiros
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 1.0
@@ -52,10 +59,13 @@ public final class BriteNetworkTopology implements NetworkTopology {
     private boolean networkEnabled;
 
     /**
-     * A matrix containing the delay between every pair of nodes in the network.
+     * @see #getDelayMatrix()
      */
     private DelayMatrix delayMatrix;
 
+    /**
+     * @see #getBwMatrix()
+     */
     private double[][] bwMatrix;
 
     /**
@@ -63,6 +73,16 @@ public final class BriteNetworkTopology implements NetworkTopology {
      */
     private TopologicalGraph graph;
 
+    /**
+     * The graph of the network, with links stored into primitive arrays.
+     */
+    private CompactTopologicalGraph compactGraph;
+
+    /**
+     * Computes the delay between pairs of nodes in the network on demand.
+     */
+    private DijkstraShortestPaths shortestPaths;
+
     /**
      * The entitiesMap between CloudSim entities and BRITE entities.
      * Each key is a CloudSim entity and each value the corresponding BRITE entity ID.
@@ -87,9 +107,8 @@ public final class BriteNetworkTopology implements NetworkTopology {
      */
     public BriteNetworkTopology() {
         entitiesMap = new HashMap<>();
-        bwMatrix = new double[0][0];
         graph = new TopologicalGraph();
-        delayMatrix = new DelayMatrix();
+        compactGraph = CompactTopologicalGraph.of(graph);
     }
 
     /**
@@ -120,60 +139,25 @@ public final class BriteNetworkTopology implements NetworkTopology {
     private BriteNetworkTopology(final InputStreamReader reader) {
         this();
         final TopologyReaderBrite instance = new TopologyReaderBrite();
-        graph = instance.readGraphFile(reader);
-        generateMatrices();
+        compactGraph = instance.readCompactGraphFile(reader);
+        graph = null;
+        updateNetwork();
     }
 
     /**
-     * Generates the matrices used internally to set latency and bandwidth
-     * between elements.
+     * Creates the object used internally to compute the latency between elements
+     * and discards the matrices which were created from the previous graph.
      */
-    private void generateMatrices() {
-        // creates the delay matrix
-        delayMatrix = new DelayMatrix(getTopologicalGraph(), false);
-
-        // creates the bw matrix
-        bwMatrix = createBwMatrix(getTopologicalGraph(), false);
-
+    private void updateNetwork() {
+        shortestPaths = new DijkstraShortestPaths(compactGraph, false);
+        delayMatrix = null;
+        bwMatrix = null;
         networkEnabled = true;
     }
 
-    /**
-     * Creates the matrix containing the available bandwidth between every pair
-     * of nodes.
-     *
-     * @param graph topological graph describing the topology
-     * @param directed true if the graph is directed; false otherwise
-     * @return the bandwidth graph
-     */
-    private double[][] createBwMatrix(final TopologicalGraph graph, final boolean directed) {
-        final int nodes = graph.getNumberOfNodes();
-
-        final double[][] mtx = new double[nodes][nodes];
-
-        // cleanup matrix
-        for (int i = 0; i < nodes; i++) {
-            for (int j = 0; j < nodes; j++) {
-                mtx[i][j] = 0.0;
-            }
-        }
-
-        for (final TopologicalLink edge : graph.getLinksList()) {
-            mtx[edge.getSrcNodeID()][edge.getDestNodeID()] = edge.getLinkBw();
-            if (!directed) {
-                mtx[edge.getDestNodeID()][edge.getSrcNodeID()] = edge.getLinkBw();
-            }
-        }
-
-        return mtx;
-    }
-
     @Override
     public void addLink(final SimEntity src, final SimEntity dest, final double bandwidth, final double latency) {
-        if (graph == null) {
-            graph = new TopologicalGraph();
-        }
-
+        graph = getTopologicalGraph();
         if (entitiesMap == null) {
             entitiesMap = new HashMap<>();
         }
@@ -185,7 +169,8 @@ public final class BriteNetworkTopology implements NetworkTopology {
         // generate a new link
         graph.addLink(new TopologicalLink(entitiesMap.get(src), entitiesMap.get(dest), (float) latency, (float) bandwidth));
 
-        generateMatrices();
+        compactGraph = CompactTopologicalGraph.of(graph);
+        updateNetwork();
     }
 
     @Override
@@ -244,7 +229,7 @@ public final class BriteNetworkTopology implements NetworkTopology {
         }
 
         try {
-            return delayMatrix.getDelay(entitiesMap.getOrDefault(src, -1), entitiesMap.getOrDefault(dest, -1));
+            return shortestPaths.getDelay(entitiesMap.getOrDefault(src, -1), entitiesMap.getOrDefault(dest, -1));
         } catch (ArrayIndexOutOfBoundsException e) {
             return 0.0;
         }
@@ -262,18 +247,41 @@ public final class BriteNetworkTopology implements NetworkTopology {
     }
 
     /**
-     * Gets the Topological Graph of the network.
+     * Gets the Topological Graph of the network,
+     * which is created from the compact graph the first time it's requested.
      * @return
      */
     public TopologicalGraph getTopologicalGraph() {
+        if (graph == null) {
+            graph = compactGraph.toTopologicalGraph();
+        }
+
         return graph;
     }
 
+    /**
+     * Gets a matrix containing the delay between every pair of nodes in the network,
+     * which is computed the first time it's requested.
+     * It requires memory proportional to the square of the number of nodes.
+     * @return
+     */
+    public DelayMatrix getDelayMatrix() {
+        if (delayMatrix == null) {
+            delayMatrix = networkEnabled ? new DelayMatrix(getTopologicalGraph(), false) : new DelayMatrix();
+        }
+
+        return delayMatrix;
+    }
+
     /**
      * Gets a<b>copy</b> of the matrix containing the bandwidth between every pair of nodes in the
-     * network.
+     * network, which is created the first time it's requested.
      */
     public double[][] getBwMatrix() {
+        if (bwMatrix == null) {
+            bwMatrix = networkEnabled ? compactGraph.createBwMatrix(false) : new double[0][0];
+        }
+
         return Arrays.copyOf(bwMatrix, bwMatrix.length);
     }
 }
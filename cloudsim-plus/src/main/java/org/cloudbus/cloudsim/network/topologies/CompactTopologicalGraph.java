@@ -0,0 +1,273 @@
+package org.cloudbus.cloudsim.network.topologies;
+
+import java.util.Arrays;
+
+/**
+ * An immutable network graph which stores its links in a compressed sparse row (CSR) structure,
+ * using primitive arrays instead of one {@link TopologicalNode} and {@link TopologicalLink} object
+ * for each element, as the {@link TopologicalGraph} does.
+ * That way, very large topologies can be loaded with a fraction of the memory.
+ *
+ * <p>The links are grouped by source node: the links from node i are
+ * in the positions from {@link #getLinksStart(int) getLinksStart(i)} (inclusive) to
+ * {@link #getLinksEnd(int) getLinksEnd(i)} (exclusive) and the data of each link is
+ * got by its position.
+ * Links are directed, as they were added (or read from a file).</p>
+ *
+ * <p>Use a {@link Builder} to create a graph.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class CompactTopologicalGraph {
+    private final int[] nodeIds;
+    private final int[] nodeX;
+    private final int[] nodeY;
+
+    /** @see #getNumberOfNodes() */
+    private final int numberOfNodes;
+
+    /**
+     * The position in the link arrays where the links of each node start.
+     */
+    private final int[] offsets;
+    private final int[] destinations;
+    private final double[] delays;
+    private final double[] bandwidths;
+
+    private CompactTopologicalGraph(final Builder builder) {
+        final int nodes = builder.nodes;
+        this.nodeIds = Arrays.copyOf(builder.nodeIds, nodes);
+        this.nodeX = Arrays.copyOf(builder.nodeX, nodes);
+        this.nodeY = Arrays.copyOf(builder.nodeY, nodes);
+        this.numberOfNodes = Math.max(nodes, builder.maxNodeId + 1);
+
+        //Counting sort of links by source node, keeping the order links were added for each node
+        final int links = builder.links;
+        this.offsets = new int[numberOfNodes + 1];
+        for (int i = 0; i < links; i++) {
+            offsets[builder.sources[i] + 1]++;
+        }
+
+        for (int node = 0; node < numberOfNodes; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+
+        this.destinations = new int[links];
+        this.delays = new double[links];
+        this.bandwidths = new double[links];
+        final int[] next = Arrays.copyOf(offsets, numberOfNodes);
+        for (int i = 0; i < links; i++) {
+            final int pos = next[builder.sources[i]]++;
+            destinations[pos] = builder.destinations[i];
+            delays[pos] = builder.delays[i];
+            bandwidths[pos] = builder.bandwidths[i];
+        }
+    }
+
+    /**
+     * Creates a compact graph with the nodes and links of a {@link TopologicalGraph}.
+     * @param graph the graph to get the nodes and links from
+     * @return the new compact graph
+     */
+    public static CompactTopologicalGraph of(final TopologicalGraph graph) {
+        final Builder builder = new Builder();
+        for (final TopologicalNode node : graph.getNodeList()) {
+            final Point2D coordinates = node.getWorldCoordinates();
+            builder.addNode(node.getId(), coordinates.getX(), coordinates.getY());
+        }
+
+        for (final TopologicalLink link : graph.getLinksList()) {
+            builder.addLink(link.getSrcNodeID(), link.getDestNodeID(), link.getLinkDelay(), link.getLinkBw());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a {@link TopologicalGraph} with the nodes and links of this graph.
+     * @return the new topological graph
+     */
+    public TopologicalGraph toTopologicalGraph() {
+        final TopologicalGraph graph = new TopologicalGraph();
+        for (int i = 0; i < nodeIds.length; i++) {
+            graph.addNode(new TopologicalNode(nodeIds[i], new Point2D(nodeX[i], nodeY[i])));
+        }
+
+        for (int node = 0; node < numberOfNodes; node++) {
+            for (int pos = offsets[node]; pos < offsets[node + 1]; pos++) {
+                graph.addLink(new TopologicalLink(node, destinations[pos], delays[pos], bandwidths[pos]));
+            }
+        }
+
+        return graph;
+    }
+
+    /**
+     * Gets the number of nodes, which is the number of added nodes or
+     * the highest node id plus 1, if greater, so that every node id is a valid index.
+     * @return
+     */
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    public int getNumberOfLinks() {
+        return destinations.length;
+    }
+
+    /**
+     * Gets the position of the first link from a given node.
+     * @param node the id of the source node
+     * @return
+     */
+    public int getLinksStart(final int node) {
+        return offsets[node];
+    }
+
+    /**
+     * Gets the position after the last link from a given node.
+     * @param node the id of the source node
+     * @return
+     */
+    public int getLinksEnd(final int node) {
+        return offsets[node + 1];
+    }
+
+    /**
+     * Gets the id of the destination node of the link at a given position.
+     * @param link the position of the link
+     * @return
+     */
+    public int getLinkDestination(final int link) {
+        return destinations[link];
+    }
+
+    /**
+     * Gets the delay of the link at a given position.
+     * @param link the position of the link
+     * @return
+     */
+    public double getLinkDelay(final int link) {
+        return delays[link];
+    }
+
+    /**
+     * Gets the bandwidth of the link at a given position.
+     * @param link the position of the link
+     * @return
+     */
+    public double getLinkBw(final int link) {
+        return bandwidths[link];
+    }
+
+    /**
+     * Creates the matrix containing the bandwidth between every pair of nodes
+     * directly connected by a link (0 for nodes not directly connected).
+     * @param directed true if links are directed; false otherwise
+     * @return the bandwidth matrix
+     */
+    public double[][] createBwMatrix(final boolean directed) {
+        final double[][] matrix = new double[numberOfNodes][numberOfNodes];
+        for (int node = 0; node < numberOfNodes; node++) {
+            for (int pos = offsets[node]; pos < offsets[node + 1]; pos++) {
+                matrix[node][destinations[pos]] = bandwidths[pos];
+                if (!directed) {
+                    matrix[destinations[pos]][node] = bandwidths[pos];
+                }
+            }
+        }
+
+        return matrix;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d nodes, %d links", getClass().getSimpleName(), numberOfNodes, getNumberOfLinks());
+    }
+
+    /**
+     * Builds a {@link CompactTopologicalGraph}, storing the added nodes and links into
+     * growing primitive arrays.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private int[] nodeIds = new int[INITIAL_CAPACITY];
+        private int[] nodeX = new int[INITIAL_CAPACITY];
+        private int[] nodeY = new int[INITIAL_CAPACITY];
+        private int nodes;
+        private int maxNodeId = -1;
+
+        private int[] sources = new int[INITIAL_CAPACITY];
+        private int[] destinations = new int[INITIAL_CAPACITY];
+        private double[] delays = new double[INITIAL_CAPACITY];
+        private double[] bandwidths = new double[INITIAL_CAPACITY];
+        private int links;
+
+        /**
+         * Adds a node to the graph.
+         * @param id the node id
+         * @param x the x world coordinate of the node
+         * @param y the y world coordinate of the node
+         * @return this builder
+         */
+        public Builder addNode(final int id, final int x, final int y) {
+            checkNodeId(id);
+            if (nodes == nodeIds.length) {
+                final int capacity = nodes * 2;
+                nodeIds = Arrays.copyOf(nodeIds, capacity);
+                nodeX = Arrays.copyOf(nodeX, capacity);
+                nodeY = Arrays.copyOf(nodeY, capacity);
+            }
+
+            nodeIds[nodes] = id;
+            nodeX[nodes] = x;
+            nodeY[nodes] = y;
+            nodes++;
+            return this;
+        }
+
+        /**
+         * Adds a directed link to the graph.
+         * @param src the id of the source node
+         * @param dest the id of the destination node
+         * @param delay the link delay
+         * @param bandwidth the link bandwidth
+         * @return this builder
+         */
+        public Builder addLink(final int src, final int dest, final double delay, final double bandwidth) {
+            checkNodeId(src);
+            checkNodeId(dest);
+            if (links == sources.length) {
+                final int capacity = links * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+                delays = Arrays.copyOf(delays, capacity);
+                bandwidths = Arrays.copyOf(bandwidths, capacity);
+            }
+
+            sources[links] = src;
+            destinations[links] = dest;
+            delays[links] = delay;
+            bandwidths[links] = bandwidth;
+            links++;
+            return this;
+        }
+
+        private void checkNodeId(final int id) {
+            if (id < 0) {
+                throw new IllegalArgumentException("Node id cannot be negative: " + id);
+            }
+
+            maxNodeId = Math.max(maxNodeId, id);
+        }
+
+        /**
+         * Creates the graph with the added nodes and links.
+         * @return the new graph
+         */
+        public CompactTopologicalGraph build() {
+            return new CompactTopologicalGraph(this);
+        }
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.network.topologies.readers;
 
+import org.cloudbus.cloudsim.network.topologies.CompactTopologicalGraph;
 import org.cloudbus.cloudsim.network.topologies.Point2D;
 import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
 import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
@@ -18,8 +19,8 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.StringTokenizer;
-import java.util.function.Function;
 
 /**
  * A network graph (topology) readers that creates a network topology from
@@ -41,9 +42,20 @@ public class TopologyReaderBrite implements TopologyReader {
     private int state = PARSE_NOTHING;
 
     /**
-     * The network Topological Graph.
+     * Reused array with the fields parsed from the current line.
      */
-    private TopologicalGraph graph;
+    private final double[] parsedFields = new double[6];
+
+    /**
+     * A consumer for the fields parsed from a line of the BRITE file.
+     */
+    private interface LineConsumer {
+        /**
+         * Consumes the fields parsed from a line.
+         * @param fields the parsed fields (missing fields are 0)
+         */
+        void accept(double[] fields);
+    }
 
     @Override
     public TopologicalGraph readGraphFile(final String filename) {
@@ -52,7 +64,52 @@ public class TopologyReaderBrite implements TopologyReader {
 
     @Override
     public TopologicalGraph readGraphFile(final InputStreamReader sreader) {
-        graph = new TopologicalGraph();
+        final TopologicalGraph graph = new TopologicalGraph();
+        read(sreader,
+            fields -> graph.addNode(new TopologicalNode((int) fields[0], new Point2D((int) fields[1], (int) fields[2]))),
+            fields -> graph.addLink(new TopologicalLink((int) fields[1], (int) fields[2], fields[4], fields[5])));
+        return graph;
+    }
+
+    /**
+     * Reads a file and creates a {@link CompactTopologicalGraph}, storing nodes and links
+     * into primitive arrays as they are read, without creating objects for them.
+     *
+     * @param filename Name of the file to read
+     * @return The created graph
+     * @throws UncheckedIOException when the file cannot be accessed
+     */
+    public CompactTopologicalGraph readCompactGraphFile(final String filename) {
+        return readCompactGraphFile(ResourceLoader.newInputStreamReader(filename));
+    }
+
+    /**
+     * Reads a file and creates a {@link CompactTopologicalGraph}, storing nodes and links
+     * into primitive arrays as they are read, without creating objects for them.
+     *
+     * @param sreader the {@link InputStreamReader} to read the file
+     * @return The created graph
+     * @throws UncheckedIOException when the file cannot be accessed
+     */
+    public CompactTopologicalGraph readCompactGraphFile(final InputStreamReader sreader) {
+        final CompactTopologicalGraph.Builder builder = new CompactTopologicalGraph.Builder();
+        read(sreader,
+            fields -> builder.addNode((int) fields[0], (int) fields[1], (int) fields[2]),
+            fields -> builder.addLink((int) fields[1], (int) fields[2], fields[4], fields[5]));
+        return builder.build();
+    }
+
+    /**
+     * Reads a BRITE file line by line, sending the fields of each node and edge line to a given consumer.
+     *
+     * @param sreader the {@link InputStreamReader} to read the file
+     * @param nodeConsumer consumer for the fields of node lines:
+     *                     NodeID, xpos, ypos, inDegree, outDegree, AS_id, type(router/AS)
+     * @param edgeConsumer consumer for the fields of edge lines:
+     *                     EdgeID, fromNode, toNode, euclideanLength, linkDelay, linkBandwidth, AS_from, AS_to, type
+     */
+    private void read(final InputStreamReader sreader, final LineConsumer nodeConsumer, final LineConsumer edgeConsumer) {
+        state = PARSE_NOTHING;
         try(BufferedReader reader = new BufferedReader(sreader)) {
             String nextLine;
             while ((nextLine = reader.readLine()) != null) {
@@ -65,89 +122,40 @@ public class TopologyReaderBrite implements TopologyReader {
                 }
                 // the state to retrieve all node-information
                 else if (state == PARSE_NODES) {
-                    // perform the parsing of this node-line
-                    parseNodeString(nextLine);
+                    // first test to step to the next parsing-state (edges)
+                    if (nextLine.contains("Edges:")) {
+                        state = PARSE_EDGES;
+                    } else if (parseLine(nextLine, 3)) {
+                        nodeConsumer.accept(parsedFields);
+                    }
                 }
                 // the state to retrieve all edges-information
-                else if (state == PARSE_EDGES) {
-                    parseEdgesString(nextLine);
+                else if (state == PARSE_EDGES && parseLine(nextLine, 6)) {
+                    edgeConsumer.accept(parsedFields);
                 }
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
-
-        return graph;
-    }
-
-
-    /**
-     * Parses nodes inside a line from the BRITE file.
-     *
-     * @param nodeLine A line read from the file
-     */
-    private void parseNodeString(String nodeLine) {
-        // first test to step to the next parsing-state (edges)
-        if (nodeLine.contains("Edges:")) {
-            state = PARSE_EDGES;
-            return;
-        }
-
-        // List of fields in the line to parse
-        // NodeID, xpos, ypos, inDegree, outDegree, AS_id, type(router/AS)
-        final Integer[] parsedFields = {0, 0, 0};
-        if(!parseLine(nodeLine, parsedFields, Integer::valueOf)){
-            return;
-        }
-
-        final Point2D coordinates = new Point2D(parsedFields[1], parsedFields[2]);
-        final TopologicalNode topoNode = new TopologicalNode(parsedFields[0], coordinates);
-        graph.addNode(topoNode);
     }
 
     /**
-     * Parses edges inside a line from the BRITE file.
-     *
-     * @param nodeLine A line read from the file
-     */
-    private void parseEdgesString(String nodeLine) {
-
-        // List of fields in the line to parse
-        // EdgeID, fromNode, toNode, euclideanLength, linkDelay, linkBandwidth, AS_from, AS_to, type
-        final Double[] parsedFields = {0.0, 0.0, 0.0, 0.0, 0.0, 0.0};
-        if(!parseLine(nodeLine, parsedFields, Double::valueOf)){
-            return;
-        }
-
-        final int fromNode = parsedFields[1].intValue();
-        final int toNode = parsedFields[2].intValue();
-        final double linkDelay = parsedFields[4];
-        final double linkBandwidth = parsedFields[5];
-
-        graph.addLink(new TopologicalLink(fromNode, toNode, linkDelay, linkBandwidth));
-    }
-
-
-    /**
-     * Gets a line from a file and parses its fields, considering that all fields have the same type.
+     * Parses the first fields of a line from a file into the {@link #parsedFields} array.
+     * Missing fields are set as 0.
      *
-     * @param nodeLine the line to be parsed
-     * @param parsedFields an output array that will be filled with the values of the parsed fields.
-     *                     The array is given empty and returned with the parsed values.
-     *                     The number of elements in the array defines the number of fields to be parsed.
-     * @param castFunction a function that will convert the String value from each parsed field to
-     *                     the value of the elements of the output array.
-     * @param <T>          the type of the values of the output array
+     * @param line the line to be parsed
+     * @param fieldsNumber the number of fields to be parsed
      * @return true if any field was parsed, false otherwise
      */
-    private <T extends Number> boolean parseLine(String nodeLine, T[] parsedFields, Function<String, T> castFunction){
-        final StringTokenizer tokenizer = new StringTokenizer(nodeLine);
+    private boolean parseLine(final String line, final int fieldsNumber){
+        final StringTokenizer tokenizer = new StringTokenizer(line);
         if (!tokenizer.hasMoreElements()) {
             return false;
         }
 
-        for (int i = 0; tokenizer.hasMoreElements() && i < parsedFields.length; i++) {
-            parsedFields[i] = castFunction.apply(tokenizer.nextToken());
+        Arrays.fill(parsedFields, 0);
+        for (int i = 0; tokenizer.hasMoreElements() && i < fieldsNumber; i++) {
+            parsedFields[i] = Double.parseDouble(tokenizer.nextToken());
         }
 
         return true;
@@ -0,0 +1,275 @@
+package org.cloudbus.cloudsim.power;
+
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.power.models.PowerModelHost;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSimple;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSpec;
+import org.cloudbus.cloudsim.util.Conversion;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Accounts the power and energy consumption of all Hosts in a {@link Datacenter},
+ * integrating the energy incrementally at each processing update of the Datacenter.
+ * That way, the total and per-Host energy is available at any time,
+ * without post-processing the {@link Host#getStateHistory() state history} of every Host.
+ *
+ * <p>The CPU utilization and power of the Hosts are kept in primitive arrays.
+ * The power of Hosts using a {@link PowerModelHostSimple linear} or a {@link PowerModelHostSpec spec-table}
+ * power model is computed in a single loop over such arrays, instead of calling the power model of each Host.
+ * Other power models are evaluated calling {@link PowerModelHost#getPower(double)}.
+ * The parameters of such models are cached when a Host is added and read again
+ * just if the Host {@link Host#setPowerModel(PowerModelHost) power model} is replaced.
+ * The power of an inactive Host is zero.</p>
+ *
+ * <p>The utilization of a Host is assumed to be constant between two {@link #update(double) updates}.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public class DatacenterEnergyMeter {
+    /** The kind of power model of a Host, defining how its power is computed. */
+    private static final byte LINEAR = 0;
+    private static final byte SPEC = 1;
+    private static final byte OTHER = 2;
+
+    private final Datacenter datacenter;
+
+    private Host[] hosts;
+    private final Map<Host, Integer> hostIndexes;
+
+    /** The power model of each Host from which the cached parameters were read. */
+    private PowerModelHost[] models;
+    private byte[] modelKinds;
+
+    /** The static power and the power increase from idle to full load of Hosts with a linear model. */
+    private double[] staticPower;
+    private double[] powerSlope;
+
+    /** The power table of Hosts with a spec-table model. */
+    private double[][] powerSpecs;
+
+    /** The CPU utilization fraction of each Host at the last update. */
+    private double[] utilization;
+    private boolean[] active;
+
+    /** The power (in Watts) of each Host since the last update. */
+    private double[] power;
+
+    /** The energy (in Watt-seconds) consumed by each Host until the last update. */
+    private double[] energy;
+
+    /** The energy (in Watt-seconds) consumed by Hosts removed from the Datacenter. */
+    private double removedHostsEnergy;
+
+    private double lastUpdateTime;
+
+    /**
+     * Creates an energy meter for a given Datacenter.
+     * @param datacenter the Datacenter to account the energy consumption of its Hosts
+     */
+    public DatacenterEnergyMeter(final Datacenter datacenter) {
+        this.datacenter = Objects.requireNonNull(datacenter);
+        this.hostIndexes = new IdentityHashMap<>();
+        this.hosts = new Host[0];
+        this.models = new PowerModelHost[0];
+        this.modelKinds = new byte[0];
+        this.staticPower = new double[0];
+        this.powerSlope = new double[0];
+        this.powerSpecs = new double[0][];
+        this.utilization = new double[0];
+        this.active = new boolean[0];
+        this.power = new double[0];
+        this.energy = new double[0];
+        this.lastUpdateTime = datacenter.getSimulation().clock();
+    }
+
+    /**
+     * Integrates the energy consumed by every Host since the last update, then reads the current
+     * CPU utilization of the Hosts and computes their power to be used until the next update.
+     * It's called by the Datacenter after the processing of its Hosts is updated.
+     *
+     * @param time the current simulation time
+     */
+    public void update(final double time) {
+        final double interval = time - lastUpdateTime;
+        if (interval > 0) {
+            for (int i = 0; i < hosts.length; i++) {
+                energy[i] += power[i] * interval;
+            }
+
+            lastUpdateTime = time;
+        }
+
+        updateHostList();
+        for (int i = 0; i < hosts.length; i++) {
+            final Host host = hosts[i];
+            active[i] = host.isActive();
+            if (host.getPowerModel() != models[i]) {
+                setModel(i, host.getPowerModel());
+            }
+
+            final double capacity = host.getTotalMipsCapacity();
+            utilization[i] = capacity > 0 ? Math.min(host.getCpuMipsUtilization() / capacity, 1) : 0;
+        }
+
+        computePower();
+    }
+
+    /**
+     * Computes the power of every Host according to its current utilization.
+     */
+    private void computePower() {
+        for (int i = 0; i < hosts.length; i++) {
+            if (!active[i]) {
+                power[i] = 0;
+                continue;
+            }
+
+            switch (modelKinds[i]) {
+                case LINEAR:
+                    power[i] = staticPower[i] + powerSlope[i] * utilization[i];
+                    break;
+                case SPEC:
+                    final double[] spec = powerSpecs[i];
+                    power[i] = spec[(int) Math.round(utilization[i] * (spec.length - 1))];
+                    break;
+                default:
+                    power[i] = hosts[i].getPowerModel().getPower(utilization[i]);
+            }
+        }
+    }
+
+    /**
+     * Updates the arrays when Hosts are added to or removed from the Datacenter.
+     * The energy consumed by removed Hosts is kept into the total energy.
+     */
+    private void updateHostList() {
+        final List<Host> hostList = datacenter.getHostList();
+        final int size = hostList.size();
+        if (isSameHostList(hostList)) {
+            return;
+        }
+
+        final double[] oldEnergy = energy;
+        final Map<Host, Integer> oldIndexes = new IdentityHashMap<>(hostIndexes);
+        hosts = hostList.toArray(new Host[size]);
+        models = new PowerModelHost[size];
+        modelKinds = new byte[size];
+        staticPower = new double[size];
+        powerSlope = new double[size];
+        powerSpecs = new double[size][];
+        utilization = new double[size];
+        active = new boolean[size];
+        power = new double[size];
+        energy = new double[size];
+        hostIndexes.clear();
+        for (int i = 0; i < size; i++) {
+            final Integer oldIndex = oldIndexes.remove(hosts[i]);
+            energy[i] = oldIndex == null ? 0 : oldEnergy[oldIndex];
+            hostIndexes.put(hosts[i], i);
+            setModel(i, hosts[i].getPowerModel());
+        }
+
+        //The remaining old Hosts were removed from the Datacenter
+        for (final int oldIndex : oldIndexes.values()) {
+            removedHostsEnergy += oldEnergy[oldIndex];
+        }
+    }
+
+    private boolean isSameHostList(final List<Host> hostList) {
+        if (hostList.size() != hosts.length) {
+            return false;
+        }
+
+        for (int i = 0; i < hosts.length; i++) {
+            if (hosts[i] != hostList.get(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Caches the parameters of the power model of a Host.
+     * @param i the index of the Host
+     * @param model the power model of the Host
+     */
+    private void setModel(final int i, final PowerModelHost model) {
+        models[i] = model;
+        powerSpecs[i] = null;
+        if (model instanceof PowerModelHostSimple) {
+            final PowerModelHostSimple linear = (PowerModelHostSimple) model;
+            modelKinds[i] = LINEAR;
+            staticPower[i] = linear.getStaticPower();
+            powerSlope[i] = linear.getMaxPower() - linear.getStaticPower();
+        } else if (model instanceof PowerModelHostSpec) {
+            modelKinds[i] = SPEC;
+            powerSpecs[i] = ((PowerModelHostSpec) model).getPowerSpec().stream().mapToDouble(Double::doubleValue).toArray();
+        } else {
+            modelKinds[i] = OTHER;
+        }
+    }
+
+    /**
+     * Gets the current power (in Watts) of all Hosts.
+     * @return
+     */
+    public double getTotalPower() {
+        double total = 0;
+        for (final double hostPower : power) {
+            total += hostPower;
+        }
+
+        return total;
+    }
+
+    /**
+     * Gets the current power (in Watts) of a Host.
+     * @param host the Host to get its power
+     * @return the Host power or 0 if the Host isn't accounted yet
+     */
+    public double getPower(final Host host) {
+        final Integer i = hostIndexes.get(host);
+        return i == null ? 0 : power[i];
+    }
+
+    /**
+     * Gets the energy (in kWh) consumed by all Hosts until the current simulation time.
+     * @return
+     */
+    public double getTotalEnergyKWh() {
+        final double elapsed = elapsedTime();
+        double total = removedHostsEnergy;
+        for (int i = 0; i < hosts.length; i++) {
+            total += energy[i] + power[i] * elapsed;
+        }
+
+        return Conversion.wattSecondsToKWattHours(total);
+    }
+
+    /**
+     * Gets the energy (in kWh) consumed by a Host until the current simulation time.
+     * @param host the Host to get its energy consumption
+     * @return the Host energy consumption or 0 if the Host isn't accounted yet
+     */
+    public double getEnergyKWh(final Host host) {
+        final Integer i = hostIndexes.get(host);
+        return i == null ? 0 : Conversion.wattSecondsToKWattHours(energy[i] + power[i] * elapsedTime());
+    }
+
+    /**
+     * Gets the time passed since the last update, during which the power of Hosts hasn't changed.
+     */
+    private double elapsedTime() {
+        return Math.max(datacenter.getSimulation().clock() - lastUpdateTime, 0);
+    }
+
+    public Datacenter getDatacenter() {
+        return datacenter;
+    }
+}
@@ -2,6 +2,7 @@ package org.cloudbus.cloudsim.power.models;
 
 import org.cloudbus.cloudsim.power.PowerMeasurement;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -38,21 +39,22 @@ public class PowerModelHostSpec extends PowerModelHost {
      * value, the power consumption for that
      * percentage.
      *
-     * <p>If there are 100 elements in this list,
+     * <p>The first element represents the power consumption at 0% of CPU utilization
+     * and the last one at 100%. The other elements are evenly spread between them.
+     * If there are 101 elements in this list,
      * element at position 1 represents the power consumption
-     * for 1% of CPU utilization, where element 100,</p>
-     * represents power consumption for 100% of CPU utilization.
+     * for 1% of CPU utilization, where element 100
+     * represents power consumption for 100% of CPU utilization.</p>
      *
-     * <p>If there are only 10 elements in this list,
+     * <p>If there are only 11 elements in this list,
      * each element represents the power consumption
-     * when the CPU utilization is between an interval between [p .. p+10],
-     * where p is the CPU utilization percentage.
-     * For instance, element 0 represents the power consumption
-     * when CPU utilization is between [0 .. 10%].</p>
+     * at every 10% of CPU utilization, which is rounded to the closest element.
+     * For instance, element 1 represents the power consumption
+     * when CPU utilization is between [5% .. 15%).</p>
      */
     public PowerModelHostSpec(final List<Double> powerSpec) {
         Objects.requireNonNull(powerSpec, "powerSpec cannot be null");
-        if (powerSpec.size() >= 2) {
+        if (powerSpec.size() < 2) {
             throw new IllegalArgumentException("powerSpec has to contain at least 2 elements " +
                 "(utilizazion at 0% and 100% load)");
         }
@@ -63,14 +65,30 @@ public class PowerModelHostSpec extends PowerModelHost {
     @Override
     public PowerMeasurement getPowerMeasurement() {
         final double utilizationFraction = getHost().getCpuMipsUtilization() / getHost().getTotalMipsCapacity();
-        final int utilizationIndex = (int) Math.round(utilizationFraction * powerSpec.size());
-        final double powerUsage = powerSpec.get(utilizationIndex);
+        final double powerUsage = powerSpec.get(getUtilizationIndex(utilizationFraction));
         return new PowerMeasurement(powerSpec.get(0), powerUsage - powerSpec.get(0));
     }
 
     @Override
     public double getPower(final double utilizationFraction) throws IllegalArgumentException {
-        int utilizationIndex = (int) Math.round(utilizationFraction * powerSpec.size());
-        return powerSpec.get(utilizationIndex);
+        return powerSpec.get(getUtilizationIndex(utilizationFraction));
+    }
+
+    /**
+     * Gets the index of the {@link #getPowerSpec() power spec} element closest to a given CPU utilization.
+     * @param utilizationFraction the CPU utilization (in scale from 0 to 1)
+     * @return
+     */
+    private int getUtilizationIndex(final double utilizationFraction) {
+        return (int) Math.round(utilizationFraction * (powerSpec.size() - 1));
+    }
+
+    /**
+     * Gets a <b>read-only</b> list with the power consumption (in Watts) for different CPU utilization percentages.
+     * @return
+     * @see #PowerModelHostSpec(List)
+     */
+    public List<Double> getPowerSpec() {
+        return Collections.unmodifiableList(powerSpec);
     }
 }
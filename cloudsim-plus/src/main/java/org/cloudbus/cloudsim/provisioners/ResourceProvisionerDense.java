@@ -0,0 +1,160 @@
+package org.cloudbus.cloudsim.provisioners;
+
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.ResourceManageable;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSlotIndex;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link ResourceProvisionerSimple} that stores the amount of resource allocated to each VM
+ * into a primitive {@code long} array, indexed by a slot assigned to each VM
+ * while it has some resource allocated from the Host.
+ * That avoids boxing and hash map entries when allocating resources and checking
+ * if a VM is suitable for a Host, which is performed for every Host and VM
+ * during VM placement.
+ *
+ * <p>The total amount of resource allocated is tracked incrementally by the
+ * {@link #getResource() managed resource}, so that checking if a VM is suitable
+ * just requires finding the VM slot and a subtraction.
+ * The {@link #getResourceAllocationMap()} returns a read-only snapshot of the allocations,
+ * since the map isn't used to store them anymore.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public class ResourceProvisionerDense extends ResourceProvisionerSimple {
+    private final VmSlotIndex slots;
+
+    /**
+     * The amount of resource allocated to the VM in each slot.
+     */
+    private long[] allocations;
+
+    /**
+     * Creates a new ResourceProvisionerDense which the {@link ResourceManageable}
+     * it will manage have to be set further.
+     *
+     * @see #setResource(ResourceManageable)
+     */
+    public ResourceProvisionerDense() {
+        this(ResourceManageable.NULL);
+    }
+
+    /**
+     * Creates a ResourceProvisionerDense for a given {@link ResourceManageable}.
+     *
+     * @param resource the resource to be managed by the provisioner
+     */
+    protected ResourceProvisionerDense(final ResourceManageable resource) {
+        super(resource);
+        this.slots = new VmSlotIndex();
+        this.allocations = new long[8];
+    }
+
+    @Override
+    public boolean allocateResourceForVm(final Vm vm, final long newTotalVmResourceCapacity) {
+        Objects.requireNonNull(vm);
+
+        final int slot = slots.get(vm);
+        if (!isSuitableForVm(slot, newTotalVmResourceCapacity)) {
+            return false;
+        }
+
+        //See the superclass for details about the allocation process
+        final long prevVmResourceAllocation = vm.getResource(getResourceClass()).getAllocatedResource();
+        if (slot >= 0) {
+            deallocateResourceForVm(vm);
+        }
+
+        if(!getResource().isSubClassOf(Pe.class) && !vm.getResource(getResourceClass()).setCapacity(newTotalVmResourceCapacity)){
+            return false;
+        }
+
+        getResource().allocateResource(newTotalVmResourceCapacity);
+        final int newSlot = slots.add(vm);
+        if (newSlot >= allocations.length) {
+            allocations = Arrays.copyOf(allocations, Math.max(newSlot + 1, allocations.length * 2));
+        }
+
+        allocations[newSlot] = newTotalVmResourceCapacity;
+        vm.getResource(getResourceClass()).setAllocatedResource(prevVmResourceAllocation);
+        return true;
+    }
+
+    @Override
+    public boolean deallocateResourceForVm(final Vm vm) {
+        final long amountFreed = deallocateResourceForVmAndSetAllocationMapEntryToZero(vm);
+        slots.remove(vm);
+        return amountFreed > 0;
+    }
+
+    @Override
+    protected long deallocateResourceForVmAndSetAllocationMapEntryToZero(final Vm vm) {
+        final int slot = slots.get(vm);
+        return slot < 0 ? 0 : deallocateResourceFromSlot(slot);
+    }
+
+    private long deallocateResourceFromSlot(final int slot) {
+        final long vmAllocatedResource = allocations[slot];
+        allocations[slot] = 0;
+        slots.vm(slot).deallocateResource(getResourceClass());
+        getResource().deallocateResource(vmAllocatedResource);
+        return vmAllocatedResource;
+    }
+
+    @Override
+    public void deallocateResourceForAllVms() {
+        for (int slot = 0; slot < slots.usedSlots(); slot++) {
+            if (slots.vm(slot) != null) {
+                deallocateResourceFromSlot(slot);
+            }
+        }
+
+        slots.clear();
+    }
+
+    @Override
+    public long getAllocatedResourceForVm(final Vm vm) {
+        final int slot = slots.get(vm);
+        return slot < 0 ? 0 : allocations[slot];
+    }
+
+    @Override
+    public boolean isSuitableForVm(final Vm vm, final long newVmTotalAllocatedResource) {
+        return isSuitableForVm(slots.get(vm), newVmTotalAllocatedResource);
+    }
+
+    private boolean isSuitableForVm(final int slot, final long newVmTotalAllocatedResource) {
+        final long currentAllocatedResource = slot < 0 ? 0 : allocations[slot];
+        return getResource().getAvailableResource() >= newVmTotalAllocatedResource - currentAllocatedResource;
+    }
+
+    @Override
+    public boolean isResourceAllocatedToVm(final Vm vm) {
+        return slots.get(vm) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>This provisioner doesn't store allocations into a map,
+     * so the returned one is just a read-only snapshot of the current allocations.</p>
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Map<Vm, Long> getResourceAllocationMap() {
+        final Map<Vm, Long> map = new HashMap<>(slots.size() * 2);
+        for (int slot = 0; slot < slots.usedSlots(); slot++) {
+            final Vm vm = slots.vm(slot);
+            if (vm != null) {
+                map.put(vm, allocations[slot]);
+            }
+        }
+
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,261 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A list of {@link CloudletExecution} objects that keeps an index of its elements
+ * by Cloudlet id, so that a Cloudlet can be found into the list in constant time,
+ * instead of scanning it.
+ * The index is kept up-to-date whenever the list is changed,
+ * even by code outside the {@link CloudletSchedulerAbstract}
+ * (such as subclasses and examples adding elements directly to the lists it exposes).
+ *
+ * <p>Since {@link CloudletExecution#equals(Object)} compares Cloudlet ids,
+ * the index maps each id to the first element having it, as {@link #indexOf(Object)} does.
+ * Elements sharing the same id are not expected, but if they exist,
+ * the index is rebuilt when any of them is removed.</p>
+ *
+ * <p>Views returned by {@link #subList(int, int)} are read-only,
+ * since changes made through them could not be tracked by the index.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+final class CloudletExecutionList extends ArrayList<CloudletExecution> {
+    private static final long serialVersionUID = -2894180386564937120L;
+
+    private final Map<Long, CloudletExecution> index;
+
+    /**
+     * Number of elements added whose id was already in the list.
+     */
+    private int duplicates;
+
+    /** @see #getAdditions() */
+    private long additions;
+
+    /**
+     * @see #getTotalPes()
+     */
+    private long totalPes;
+
+    CloudletExecutionList() {
+        super();
+        this.index = new HashMap<>();
+        this.totalPes = -1;
+    }
+
+    /**
+     * Gets the number of times elements were added to the list
+     * (including replacements), so that it can be checked if new elements
+     * were added since a given moment, by any code.
+     * @return
+     */
+    long getAdditions() {
+        return additions;
+    }
+
+    /**
+     * Gets the total number of PEs required by the Cloudlets into the list.
+     * The value is just computed again after the list is changed.
+     * @return
+     */
+    long getTotalPes() {
+        if (totalPes < 0) {
+            totalPes = stream().map(CloudletExecution::getCloudlet).mapToLong(Cloudlet::getNumberOfPes).sum();
+        }
+
+        return totalPes;
+    }
+
+    /**
+     * Indicates the list was changed.
+     * @param added true if elements may have been added, false if they were just removed
+     */
+    private void changed(final boolean added) {
+        totalPes = -1;
+        if (added) {
+            additions++;
+        }
+    }
+
+    /**
+     * Finds a Cloudlet into the list.
+     * @param cloudletId the id of the Cloudlet to find
+     * @return an {@link Optional} containing the found Cloudlet
+     *         or an empty Optional if the Cloudlet is not into the list
+     */
+    Optional<CloudletExecution> find(final long cloudletId) {
+        return Optional.ofNullable(index.get(cloudletId));
+    }
+
+    private void addToIndex(final CloudletExecution cle) {
+        if (index.putIfAbsent(cle.getCloudletId(), cle) != null) {
+            duplicates++;
+        }
+    }
+
+    private void removeFromIndex(final CloudletExecution cle) {
+        if (duplicates == 0) {
+            index.remove(cle.getCloudletId());
+        } else rebuildIndex();
+    }
+
+    private void rebuildIndex() {
+        index.clear();
+        duplicates = 0;
+        for (final CloudletExecution cle : this) {
+            addToIndex(cle);
+        }
+    }
+
+    @Override
+    public boolean add(final CloudletExecution cle) {
+        super.add(cle);
+        addToIndex(cle);
+        changed(true);
+        return true;
+    }
+
+    @Override
+    public void add(final int position, final CloudletExecution cle) {
+        super.add(position, cle);
+        changed(true);
+        if (duplicates == 0 && !index.containsKey(cle.getCloudletId())) {
+            index.put(cle.getCloudletId(), cle);
+        } else rebuildIndex();
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends CloudletExecution> collection) {
+        final boolean changed = super.addAll(collection);
+        collection.forEach(this::addToIndex);
+        changed(true);
+        return changed;
+    }
+
+    @Override
+    public boolean addAll(final int position, final Collection<? extends CloudletExecution> collection) {
+        final boolean changed = super.addAll(position, collection);
+        changed(true);
+        rebuildIndex();
+        return changed;
+    }
+
+    @Override
+    public CloudletExecution set(final int position, final CloudletExecution cle) {
+        final CloudletExecution previous = super.set(position, cle);
+        changed(true);
+        rebuildIndex();
+        return previous;
+    }
+
+    @Override
+    public CloudletExecution remove(final int position) {
+        final CloudletExecution cle = super.remove(position);
+        changed(false);
+        removeFromIndex(cle);
+        return cle;
+    }
+
+    @Override
+    public boolean remove(final Object object) {
+        //Avoids scanning the list when the element is not there
+        if (!(object instanceof CloudletExecution) || !index.containsKey(((CloudletExecution) object).getCloudletId())) {
+            return false;
+        }
+
+        final boolean removed = super.remove(object);
+        if (removed) {
+            changed(false);
+            removeFromIndex((CloudletExecution) object);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        return object instanceof CloudletExecution && index.containsKey(((CloudletExecution) object).getCloudletId());
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super CloudletExecution> filter) {
+        final boolean changed = super.removeIf(filter);
+        if (changed) {
+            changed(false);
+            rebuildIndex();
+        }
+
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> collection) {
+        final boolean changed = super.removeAll(collection);
+        if (changed) {
+            changed(false);
+            rebuildIndex();
+        }
+
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> collection) {
+        final boolean changed = super.retainAll(collection);
+        if (changed) {
+            changed(false);
+            rebuildIndex();
+        }
+
+        return changed;
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        super.removeRange(fromIndex, toIndex);
+        changed(false);
+        rebuildIndex();
+    }
+
+    @Override
+    public void replaceAll(final UnaryOperator<CloudletExecution> operator) {
+        super.replaceAll(operator);
+        changed(true);
+        rebuildIndex();
+    }
+
+    @Override
+    public void sort(final Comparator<? super CloudletExecution> comparator) {
+        super.sort(comparator);
+        //The first element having a duplicated id may have changed
+        if (duplicates > 0) {
+            rebuildIndex();
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        changed(false);
+        index.clear();
+        duplicates = 0;
+    }
+
+    @Override
+    public List<CloudletExecution> subList(final int fromIndex, final int toIndex) {
+        return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+    }
+
+    @Override
+    public Object clone() {
+        final CloudletExecutionList copy = new CloudletExecutionList();
+        copy.addAll(this);
+        return copy;
+    }
+}
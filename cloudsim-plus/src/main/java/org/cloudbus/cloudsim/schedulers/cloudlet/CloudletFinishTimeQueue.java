@@ -0,0 +1,183 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A priority queue of executing Cloudlets, ordered by their estimated finish time,
+ * used by a {@link CloudletSchedulerAbstract} to find out the next finishing Cloudlets
+ * without estimating the finish time of every Cloudlet at each processing update.
+ *
+ * <p>The finish times are stored as absolute simulation times.
+ * While the MIPS allocated to each Cloudlet don't change, that time remains the same
+ * as processing goes on, so the queue doesn't need to be updated.
+ * The queue must be {@link #invalidate() invalidated} when the MIPS allocated
+ * to some Cloudlet changes, then it's rebuilt at the next time it's used.
+ * Cloudlets added to the execution list by other means than {@link #offer(CloudletExecution, long)}
+ * are detected by {@link CloudletExecutionList#getAdditions()}, which also causes the queue to be rebuilt.
+ * Cloudlets removed from the execution list (or re-added with a new finish time)
+ * just have their outdated entries discarded when they reach the head of the queue.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+final class CloudletFinishTimeQueue {
+    /**
+     * An entry in the queue, storing the estimated finish time of a Cloudlet.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final CloudletExecution cle;
+        private final double finishTime;
+
+        private Entry(final CloudletExecution cle, final double finishTime) {
+            this.cle = cle;
+            this.finishTime = finishTime;
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            final int result = Double.compare(finishTime, other.finishTime);
+            return result == 0 ? Long.compare(cle.getCloudletId(), other.cle.getCloudletId()) : result;
+        }
+    }
+
+    private final CloudletExecutionList execList;
+
+    /**
+     * A function that computes the estimated finish time of a Cloudlet,
+     * as an absolute simulation time.
+     */
+    private final ToDoubleFunction<CloudletExecution> finishTimeFunction;
+
+    private PriorityQueue<Entry> queue;
+
+    /**
+     * Maps the id of each Cloudlet into the queue to its current entry.
+     */
+    private final Map<Long, Entry> currentEntries;
+
+    /**
+     * The value of {@link CloudletExecutionList#getAdditions()} when the queue was last synchronized.
+     */
+    private long knownAdditions;
+
+    private boolean valid;
+
+    /**
+     * Creates a queue for the Cloudlets into a given execution list.
+     * @param execList the list of executing Cloudlets
+     * @param finishTimeFunction a function that computes the estimated finish time of a Cloudlet,
+     *                           as an absolute simulation time
+     */
+    CloudletFinishTimeQueue(final CloudletExecutionList execList, final ToDoubleFunction<CloudletExecution> finishTimeFunction) {
+        this.execList = execList;
+        this.finishTimeFunction = finishTimeFunction;
+        this.queue = new PriorityQueue<>();
+        this.currentEntries = new HashMap<>();
+    }
+
+    /**
+     * Indicates the estimated finish times are not valid anymore,
+     * so that the queue has to be rebuilt.
+     */
+    void invalidate() {
+        valid = false;
+    }
+
+    boolean isValid() {
+        return valid && knownAdditions == execList.getAdditions();
+    }
+
+    /**
+     * Adds a Cloudlet that has just been included into the execution list,
+     * or updates the finish time of a Cloudlet already into it.
+     * If the queue is not valid, it will be rebuilt anyway, so the Cloudlet is not added.
+     * @param cle the Cloudlet to add
+     * @param previousAdditions the value of {@link CloudletExecutionList#getAdditions()}
+     *                          before the Cloudlet was added
+     */
+    void offer(final CloudletExecution cle, final long previousAdditions) {
+        if (valid && knownAdditions == previousAdditions) {
+            add(new Entry(cle, finishTimeFunction.applyAsDouble(cle)));
+            knownAdditions = execList.getAdditions();
+        }
+    }
+
+    /**
+     * Rebuilds the queue if it is not valid, computing the finish time of every executing Cloudlet.
+     */
+    private void rebuildIfInvalid() {
+        //Removed Cloudlets are kept until reaching the head, so the queue is also rebuilt if it grows too much
+        if (isValid() && queue.size() <= execList.size() * 2 + 16) {
+            return;
+        }
+
+        final List<Entry> entries = new ArrayList<>(execList.size());
+        currentEntries.clear();
+        for (final CloudletExecution cle : execList) {
+            final Entry entry = new Entry(cle, finishTimeFunction.applyAsDouble(cle));
+            entries.add(entry);
+            currentEntries.put(cle.getCloudletId(), entry);
+        }
+
+        queue = new PriorityQueue<>(entries);
+        knownAdditions = execList.getAdditions();
+        valid = true;
+    }
+
+    private void add(final Entry entry) {
+        queue.add(entry);
+        currentEntries.put(entry.cle.getCloudletId(), entry);
+    }
+
+    /**
+     * Gets the estimated finish time of the next finishing Cloudlet.
+     * @return the next finish time (as an absolute simulation time)
+     *         or {@link Double#MAX_VALUE} if there is no executing Cloudlet
+     */
+    double nextFinishTime() {
+        rebuildIfInvalid();
+        final Entry head = peekExecuting();
+        return head == null ? Double.MAX_VALUE : head.finishTime;
+    }
+
+    /**
+     * Removes from the queue the Cloudlets estimated to finish up to a given time.
+     * @param time the time to get the Cloudlets estimated to finish up to
+     * @return the list of Cloudlets removed from the queue, in the order they are estimated to finish
+     */
+    List<CloudletExecution> pollUntil(final double time) {
+        rebuildIfInvalid();
+        final List<CloudletExecution> list = new ArrayList<>();
+        for (Entry head = peekExecuting(); head != null && head.finishTime <= time; head = peekExecuting()) {
+            currentEntries.remove(head.cle.getCloudletId());
+            list.add(queue.poll().cle);
+        }
+
+        return list;
+    }
+
+    /**
+     * Gets the head of the queue, discarding outdated entries
+     * and the ones for Cloudlets removed from the execution list.
+     * @return the head of the queue or null if it's empty
+     */
+    private Entry peekExecuting() {
+        Entry head = queue.peek();
+        while (head != null && !isCurrent(head)) {
+            queue.poll();
+            if (currentEntries.get(head.cle.getCloudletId()) == head) {
+                currentEntries.remove(head.cle.getCloudletId());
+            }
+            head = queue.peek();
+        }
+
+        return head;
+    }
+
+    private boolean isCurrent(final Entry entry) {
+        final long id = entry.cle.getCloudletId();
+        return currentEntries.get(id) == entry && execList.find(id).orElse(null) == entry.cle;
+    }
+}
@@ -0,0 +1,177 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * A <a href="https://en.wikipedia.org/wiki/Run_queue">run queue</a> that keeps the Cloudlets
+ * into a waiting list ordered by their virtual runtime (vruntime), priority and id,
+ * used by the {@link CloudletSchedulerCompletelyFair}.
+ * It's backed by a Red-Black tree ({@link TreeSet}), as real implementations of CFS,
+ * so that adding a Cloudlet and picking the next one to run takes O(log n),
+ * instead of sorting the waiting list at every scheduling round.
+ *
+ * <p>Since the vruntime of a Cloudlet may change while it is into the tree,
+ * each entry stores the vruntime and priority of the Cloudlet when it was added.
+ * That avoids breaking the tree order. The queue must be {@link #update(CloudletExecution) updated}
+ * when the vruntime of a waiting Cloudlet is changed; otherwise, the entry is just
+ * re-inserted into the right position when it's found to be outdated.
+ * Cloudlets added to the waiting list by other means than {@link #add(CloudletExecution, long)}
+ * are detected by {@link CloudletExecutionList#getAdditions()}, which causes the queue to be rebuilt.
+ * Cloudlets removed from the waiting list by other means than {@link #remove(CloudletExecution)}
+ * just have their entries discarded when they are reached.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+final class CloudletRunqueue {
+    /**
+     * An entry in the queue, storing the values of a Cloudlet used to sort the queue.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final CloudletExecution cle;
+        private final double virtualRuntime;
+        private final int priority;
+
+        private Entry(final CloudletExecution cle) {
+            this.cle = cle;
+            this.virtualRuntime = cle.getVirtualRuntime();
+            this.priority = cle.getCloudlet().getPriority();
+        }
+
+        private boolean isOutdated() {
+            return Double.compare(virtualRuntime, cle.getVirtualRuntime()) != 0 || priority != cle.getCloudlet().getPriority();
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            int result = Double.compare(virtualRuntime, other.virtualRuntime);
+            if (result == 0) {
+                result = Integer.compare(priority, other.priority);
+            }
+
+            return result == 0 ? Long.compare(cle.getCloudletId(), other.cle.getCloudletId()) : result;
+        }
+    }
+
+    private final CloudletExecutionList waitingList;
+
+    private final NavigableSet<Entry> tree;
+
+    /**
+     * Maps the id of each Cloudlet into the tree to its current entry.
+     */
+    private final Map<Long, Entry> currentEntries;
+
+    /**
+     * The value of {@link CloudletExecutionList#getAdditions()} when the queue was last synchronized.
+     */
+    private long knownAdditions;
+
+    /**
+     * Creates a run queue for the Cloudlets into a given waiting list.
+     * @param waitingList the list of waiting Cloudlets
+     */
+    CloudletRunqueue(final CloudletExecutionList waitingList) {
+        this.waitingList = waitingList;
+        this.tree = new TreeSet<>();
+        this.currentEntries = new HashMap<>();
+        rebuild();
+    }
+
+    /**
+     * Adds a Cloudlet that has just been included into the waiting list.
+     * If the queue is outdated, it will be rebuilt anyway, so the Cloudlet is not added.
+     * @param cle the Cloudlet to add
+     * @param previousAdditions the value of {@link CloudletExecutionList#getAdditions()}
+     *                          before the Cloudlet was added
+     */
+    void add(final CloudletExecution cle, final long previousAdditions) {
+        if (knownAdditions == previousAdditions) {
+            put(cle);
+            knownAdditions = waitingList.getAdditions();
+        }
+    }
+
+    /**
+     * Removes a Cloudlet from the queue.
+     * @param cle the Cloudlet to remove
+     */
+    void remove(final CloudletExecution cle) {
+        final Entry entry = currentEntries.remove(cle.getCloudletId());
+        if (entry != null) {
+            tree.remove(entry);
+        }
+    }
+
+    /**
+     * Moves a Cloudlet to its right position in the queue,
+     * after its vruntime or priority was changed.
+     * Cloudlets which aren't into the queue are ignored.
+     * @param cle the Cloudlet to update
+     */
+    void update(final CloudletExecution cle) {
+        final Entry entry = currentEntries.get(cle.getCloudletId());
+        if (entry != null && entry.cle == cle && entry.isOutdated()) {
+            tree.remove(entry);
+            put(cle);
+        }
+    }
+
+    /**
+     * Finds the first Cloudlet in the queue (the one with the lowest vruntime) meeting a given condition.
+     * @param condition the condition the Cloudlet must meet
+     * @return an {@link Optional} containing the found Cloudlet or an empty Optional otherwise
+     */
+    Optional<CloudletExecution> findFirst(final Predicate<CloudletExecution> condition) {
+        if (knownAdditions != waitingList.getAdditions() || tree.size() > waitingList.size() * 2 + 16) {
+            rebuild();
+        }
+
+        while (true) {
+            Entry outdated = null;
+            for (final Iterator<Entry> it = tree.iterator(); it.hasNext() && outdated == null; ) {
+                final Entry entry = it.next();
+                if (!isCurrent(entry)) {
+                    it.remove();
+                    currentEntries.remove(entry.cle.getCloudletId(), entry);
+                } else if (entry.isOutdated()) {
+                    it.remove();
+                    outdated = entry;
+                } else if (condition.test(entry.cle)) {
+                    return Optional.of(entry.cle);
+                }
+            }
+
+            if (outdated == null) {
+                return Optional.empty();
+            }
+
+            //The Cloudlet may have to be placed before the entries already checked, so the search is performed again
+            put(outdated.cle);
+        }
+    }
+
+    private boolean isCurrent(final Entry entry) {
+        final long id = entry.cle.getCloudletId();
+        return currentEntries.get(id) == entry && waitingList.find(id).orElse(null) == entry.cle;
+    }
+
+    private void put(final CloudletExecution cle) {
+        final Entry entry = new Entry(cle);
+        final Entry previous = currentEntries.put(cle.getCloudletId(), entry);
+        if (previous != null) {
+            tree.remove(previous);
+        }
+
+        tree.add(entry);
+    }
+
+    private void rebuild() {
+        tree.clear();
+        currentEntries.clear();
+        waitingList.forEach(this::put);
+        knownAdditions = waitingList.getAdditions();
+    }
+}
@@ -10,7 +10,11 @@ package org.cloudbus.cloudsim.schedulers.cloudlet;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet.Status;
 import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
+import org.cloudbus.cloudsim.core.Checkpointable;
 import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.resources.Bandwidth;
 import org.cloudbus.cloudsim.resources.Pe;
@@ -48,20 +52,20 @@ import static org.cloudsimplus.listeners.CloudletResourceAllocationFailEventInfo
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Toolkit 1.0
  */
-public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
+public abstract class CloudletSchedulerAbstract implements CloudletScheduler, Checkpointable {
 
     /**
      * @see #getCloudletPausedList()
      */
-    private final List<CloudletExecution> cloudletPausedList;
+    private final CloudletExecutionList cloudletPausedList;
     /**
      * @see #getCloudletFinishedList()
      */
-    private final List<CloudletExecution> cloudletFinishedList;
+    private final CloudletExecutionList cloudletFinishedList;
     /**
      * @see #getCloudletFailedList()
      */
-    private final List<CloudletExecution> cloudletFailedList;
+    private final CloudletExecutionList cloudletFailedList;
     /**
      * @see #getTaskScheduler()
      */
@@ -77,17 +81,23 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     /**
      * @see #getCloudletExecList()
      */
-    private final List<CloudletExecution> cloudletExecList;
+    private final CloudletExecutionList cloudletExecList;
     /**
      * @see #getCloudletWaitingList()
      */
-    private final List<CloudletExecution> cloudletWaitingList;
+    private final CloudletExecutionList cloudletWaitingList;
 
     /**
      * @see #getVm()
      */
     private Vm vm;
 
+    /**
+     * The queue of executing Cloudlets ordered by finish time,
+     * or null if it's not {@link #isFinishTimeQueueEnabled() enabled}.
+     */
+    private CloudletFinishTimeQueue finishTimeQueue;
+
     /**
      * @see #getCloudletReturnedList()
      */
@@ -104,11 +114,11 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     protected CloudletSchedulerAbstract() {
         setPreviousTime(0.0);
         vm = Vm.NULL;
-        cloudletExecList = new ArrayList<>();
-        cloudletPausedList = new ArrayList<>();
-        cloudletFinishedList = new ArrayList<>();
-        cloudletFailedList = new ArrayList<>();
-        cloudletWaitingList = new ArrayList<>();
+        cloudletExecList = new CloudletExecutionList();
+        cloudletPausedList = new CloudletExecutionList();
+        cloudletFinishedList = new CloudletExecutionList();
+        cloudletFailedList = new CloudletExecutionList();
+        cloudletWaitingList = new CloudletExecutionList();
         cloudletReturnedList = new HashSet<>();
         currentMipsShare = new MipsShare();
         taskScheduler = CloudletTaskScheduler.NULL;
@@ -197,9 +207,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * @return
      */
     private long totalPesOfAllExecCloudlets() {
-        return cloudletExecList.stream()
-            .map(CloudletExecution::getCloudlet)
-            .mapToLong(Cloudlet::getNumberOfPes).sum();
+        return cloudletExecList.getTotalPes();
     }
 
     private double getTotalMipsShare(){
@@ -250,6 +258,15 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         return Collections.unmodifiableList(cloudletWaitingList);
     }
 
+    /**
+     * Gets the actual {@link #cloudletWaitingList}, so that classes in this package
+     * can keep track of the Cloudlets added to it.
+     * @return
+     */
+    CloudletExecutionList getCloudletWaitingListInternal() {
+        return cloudletWaitingList;
+    }
+
     /**
      * Sorts the {@link #cloudletWaitingList} using a given {@link Comparator}.
      * @param comparator the {@link Comparator} to sort the Waiting Cloudlets List
@@ -298,8 +315,12 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     protected void addCloudletToExecList(final CloudletExecution cle) {
         cle.setStatus(Cloudlet.Status.INEXEC);
         cle.setLastProcessingTime(getVm().getSimulation().clock());
+        final long previousAdditions = cloudletExecList.getAdditions();
         cloudletExecList.add(cle);
         addUsedPes(cle.getNumberOfPes());
+        if (finishTimeQueue != null) {
+            finishTimeQueue.offer(cle, previousAdditions);
+        }
     }
 
     @Override
@@ -315,21 +336,24 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * Cloudlet was found or not
      */
     protected Optional<CloudletExecution> findCloudletInAllLists(final double cloudletId) {
-        //Concatenate all lists into a stream
-        final Stream<List<CloudletExecution>> streamOfAllLists
-            = Stream.of(cloudletExecList, cloudletPausedList, cloudletWaitingList,
-            cloudletFinishedList, cloudletFailedList);
-
-        //Gets all elements in each list and makes them a single full list,
-        //returning the first Cloudlet with the given id
-        return streamOfAllLists
-            .flatMap(List::stream)
-            .filter(cle -> cle.getCloudletId() == cloudletId)
-            .findFirst();
+        final long id = (long) cloudletId;
+        if (id != cloudletId) {
+            return Optional.empty();
+        }
+
+        for (final CloudletExecutionList list : cloudletLists()) {
+            final Optional<CloudletExecution> optional = list.find(id);
+            if (optional.isPresent()) {
+                return optional;
+            }
+        }
+
+        return Optional.empty();
     }
 
     /**
      * Search for a Cloudlet into a given list.
+     * The search takes constant time for the lists managed by this scheduler.
      *
      * @param cloudlet the Cloudlet to search for
      * @param list       the list to search the Cloudlet into
@@ -337,6 +361,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * Cloudlet was found or not
      */
     protected Optional<CloudletExecution> findCloudletInList(final Cloudlet cloudlet, final List<CloudletExecution> list) {
+        if (list instanceof CloudletExecutionList) {
+            return ((CloudletExecutionList) list).find(cloudlet.getId());
+        }
+
         return list.stream()
             .filter(cle -> cle.getCloudletId() == cloudlet.getId())
             .findFirst();
@@ -541,15 +569,98 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         for (int i = 0; i < cloudletExecList.size(); i++) {
             final CloudletExecution cle = cloudletExecList.get(i);
             updateCloudletProcessingAndPacketsDispatch(cle, currentTime);
-            nextCloudletFinishTime = Math.min(nextCloudletFinishTime, cloudletEstimatedFinishTime(cle, currentTime));
+            if (finishTimeQueue == null) {
+                nextCloudletFinishTime = Math.min(nextCloudletFinishTime, cloudletEstimatedFinishTime(cle, currentTime));
+            } else checkCloudletAllocatedMipsChange(cle, currentTime);
             usedPes += cle.getCloudlet().getNumberOfPes();
         }
 
         ((VmSimple) vm).setFreePesNumber(vm.getNumberOfPes() - usedPes);
 
+        if (finishTimeQueue != null) {
+            return nextCloudletFinishTimeFromQueue(currentTime);
+        }
+
         return nextCloudletFinishTime;
     }
 
+    /**
+     * Invalidates the {@link #finishTimeQueue} if the MIPS allocated to a Cloudlet
+     * is different from the one used to estimate its finish time.
+     * @param cle the Cloudlet to check
+     * @param currentTime current simulation time
+     */
+    private void checkCloudletAllocatedMipsChange(final CloudletExecution cle, final double currentTime) {
+        if (finishTimeQueue.isValid() && getAllocatedMipsForCloudlet(cle, currentTime) != cle.getLastAllocatedMips()) {
+            finishTimeQueue.invalidate();
+        }
+    }
+
+    /**
+     * Gets the predicted completion time of the earliest finishing cloudlet
+     * from the {@link #finishTimeQueue}.
+     * @param currentTime current simulation time
+     * @return the predicted completion time of the earliest finishing cloudlet
+     * (which is a relative delay from the current simulation time),
+     * or {@link Double#MAX_VALUE} if there is no next Cloudlet to execute
+     */
+    private double nextCloudletFinishTimeFromQueue(final double currentTime) {
+        final double nextFinishTime = finishTimeQueue.nextFinishTime();
+        if (nextFinishTime == Double.MAX_VALUE) {
+            return nextFinishTime;
+        }
+
+        return Math.max(nextFinishTime - currentTime, vm.getSimulation().getMinTimeBetweenEvents());
+    }
+
+    /**
+     * Gets the estimated finish time of a Cloudlet as an absolute simulation time.
+     * @param cle the Cloudlet to get the estimated finish time
+     * @return
+     * @see #cloudletEstimatedFinishTime(CloudletExecution, double)
+     */
+    private double cloudletAbsoluteEstimatedFinishTime(final CloudletExecution cle) {
+        final double currentTime = vm.getSimulation().clock();
+        return currentTime + cloudletEstimatedFinishTime(cle, currentTime);
+    }
+
+    /**
+     * Checks if the executing Cloudlets are kept into a priority queue ordered by
+     * their estimated finish time.
+     *
+     * <p>When enabled, the scheduler doesn't estimate the finish time of every executing Cloudlet
+     * at each processing update, neither scans all of them to find the finished ones.
+     * Finish times are just estimated again when the MIPS allocated to some Cloudlet changes
+     * or Cloudlets are added to the execution list by other means than the scheduler itself.
+     * This way, getting the next finishing Cloudlet takes constant time and
+     * finishing k Cloudlets takes O(k log n) time.</p>
+     *
+     * <p>It's intended for schedulers such as the {@link CloudletSchedulerTimeShared},
+     * where the MIPS allocated to each Cloudlet rarely changes
+     * (that is, when Cloudlets use a constant CPU {@link UtilizationModel}).
+     * Since finish times are estimated less frequently, the time of the next processing
+     * update may differ slightly (up to the time to execute 1 MI)
+     * from the one computed when the queue is disabled, which is the default.</p>
+     *
+     * @return true if the finish time queue is enabled, false otherwise
+     */
+    public boolean isFinishTimeQueueEnabled() {
+        return finishTimeQueue != null;
+    }
+
+    /**
+     * Enables or disables keeping the executing Cloudlets into a priority queue ordered by
+     * their estimated finish time.
+     *
+     * @param enabled true to enable the finish time queue, false to disable it
+     * @return this scheduler
+     * @see #isFinishTimeQueueEnabled()
+     */
+    public CloudletSchedulerAbstract setFinishTimeQueueEnabled(final boolean enabled) {
+        this.finishTimeQueue = enabled ? new CloudletFinishTimeQueue(cloudletExecList, this::cloudletAbsoluteEstimatedFinishTime) : null;
+        return this;
+    }
+
     /**
      * Updates the processing of a specific cloudlet of the Vm using this
      * scheduler. Then process tasks such a Cloudlet may have
@@ -734,10 +845,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * {@link #getCloudletExecList() execution list}
      */
     private int addCloudletsToFinishedList() {
-        final List<CloudletExecution> finishedCloudlets
-            = cloudletExecList.stream()
-            .filter(cle -> cle.getCloudlet().isFinished())
-            .collect(toList());
+        final List<CloudletExecution> finishedCloudlets =
+            finishTimeQueue == null ?
+                cloudletExecList.stream().filter(cle -> cle.getCloudlet().isFinished()).collect(toList()) :
+                pollFinishedCloudletsFromQueue();
 
         for (final CloudletExecution c : finishedCloudlets) {
             addCloudletToFinishedList(c);
@@ -746,6 +857,30 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         return finishedCloudlets.size();
     }
 
+    /**
+     * Gets the finished Cloudlets from the {@link #finishTimeQueue}.
+     * Since processing updates can't happen in intervals smaller than the
+     * {@link Simulation#getMinTimeBetweenEvents()}, all the Cloudlets expected to
+     * finish up to such an interval from now are checked.
+     * The ones which haven't finished yet have their finish time estimated again.
+     *
+     * @return the list of finished Cloudlets
+     */
+    private List<CloudletExecution> pollFinishedCloudletsFromQueue() {
+        final Simulation simulation = vm.getSimulation();
+        final List<CloudletExecution> candidates =
+            finishTimeQueue.pollUntil(simulation.clock() + simulation.getMinTimeBetweenEvents());
+
+        final List<CloudletExecution> finishedCloudlets = new ArrayList<>(candidates.size());
+        for (final CloudletExecution cle : candidates) {
+            if (cle.getCloudlet().isFinished()) {
+                finishedCloudlets.add(cle);
+            } else finishTimeQueue.offer(cle, cloudletExecList.getAdditions());
+        }
+
+        return finishedCloudlets;
+    }
+
     private void addCloudletToFinishedList(final CloudletExecution cle) {
         setCloudletFinishTimeAndAddToFinishedList(cle);
         removeCloudletFromExecList(cle);
@@ -1117,4 +1252,43 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         this.cloudletWaitingList.clear();
         this.cloudletExecList.clear();
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        writer.writeDouble(previousTime)
+              .writeLong(currentMipsShare.pes()).writeDouble(currentMipsShare.mips());
+        for (final CloudletExecutionList list : cloudletLists()) {
+            writer.writeInt(list.size());
+            list.forEach(cle -> cle.writeCheckpoint(writer));
+        }
+
+        writer.writeCloudletList(cloudletReturnedList);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        previousTime = reader.readDouble();
+        final long pes = reader.readLong();
+        currentMipsShare = new MipsShare(pes, reader.readDouble());
+
+        for (final CloudletExecutionList list : cloudletLists()) {
+            list.clear();
+            final int size = reader.readInt();
+            for (int i = 0; i < size; i++) {
+                list.add(CloudletExecution.fromCheckpoint(reader));
+            }
+        }
+
+        cloudletReturnedList.clear();
+        cloudletReturnedList.addAll(reader.readCloudletList());
+    }
+
+    /**
+     * Gets the lists of Cloudlets managed by the scheduler,
+     * in the order they are stored into a checkpoint.
+     * @return the list of Cloudlet lists
+     */
+    private List<CloudletExecutionList> cloudletLists() {
+        return Arrays.asList(cloudletExecList, cloudletWaitingList, cloudletPausedList, cloudletFinishedList, cloudletFailedList);
+    }
 }
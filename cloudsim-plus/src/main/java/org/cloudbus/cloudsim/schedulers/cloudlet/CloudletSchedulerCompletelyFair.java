@@ -24,11 +24,11 @@
 package org.cloudbus.cloudsim.schedulers.cloudlet;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet.Status;
 import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.MipsShare;
-import org.cloudbus.cloudsim.util.MathUtil;
 
 import java.util.List;
 import java.util.Optional;
@@ -65,6 +65,14 @@ import static java.util.stream.Collectors.toList;
  *     room for other process to run.
  *     The CFS scheduler uses a dynamic defined timeslice.
  *     </li>
+ *     <li>Uses a Red-Black tree (a {@link java.util.TreeSet}), as real implementations of CFS,
+ *     to sort waiting Cloudlets (runqueue) increasingly, based on their virtual runtime (vruntime or VRT)
+ *     (placing the Cloudlets that have run the least at the top of the tree).
+ *     Since different Cloudlets may have the same virtual runtime, ties are broken
+ *     by Cloudlet priority and id, so that each Cloudlet has a unique position into the tree.
+ *     This way, adding a Cloudlet to the runqueue and picking the next one to run takes O(log n) time,
+ *     instead of sorting the waiting list at every scheduling round.
+ *     </li>
  * </ul>
  *
  * And it currently <b>DOES NOT</b> implement the following features:
@@ -87,14 +95,6 @@ import static java.util.stream.Collectors.toList;
  *     (application execution is simulated just computing the amount of instructions
  *     that can be run), it doesn't matter which PEs are "running" the application.
  *     </li>
- *	   <li>It doesn't use a Red-Black tree (such as the TreeSet), as in real implementations of CFS,
- *	   to sort waiting Cloudlets (runqueue list) increasingly, based on their virtual runtime (vruntime or VRT)
- *	   (placing the Cloudlets that have run the least at the top of the tree).
- *	   Furthermore, the use of such a data structure added some complexity to the implementation.
- *	   Since different Cloudlets may have the same virtual runtime, this introduced some issues when adding or
- *	   removing elements in a structure such as the TreeSet, that requires
- *	   each value (the virtual runtime in this case) used to sort the Set to be unique.
- *	   </li>
  * </ul>
  * </p>
  *
@@ -135,28 +135,13 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
 	private int latency = 3;
 
     /**
-     * A comparator used to increasingly sort Cloudlets into the waiting list
-     * based on their virtual runtime (vruntime or VRT). By this way, the Cloudlets in the beginning
-     * of such a list will be that ones which have run the least and have to be
-     * prioritized when getting Cloudlets from this list to add to the execution
+     * The runqueue that keeps the Cloudlets in the waiting list increasingly sorted
+     * by their virtual runtime (vruntime or VRT). By this way, the Cloudlets in the beginning
+     * of the runqueue will be that ones which have run the least and have to be
+     * prioritized when getting Cloudlets from the waiting list to add to the execution
      * list.
-     *
-     * @param c1 first Cloudlet to compare
-     * @param c2 second Cloudlet to compare
-     * @return a negative value if c1 is lower than c2, zero if they are equals,
-     * a positive value if c1 is greater than c2
      */
-    private int waitingCloudletsComparator(final CloudletExecution c1, final CloudletExecution c2){
-        final double vRuntimeDiff = c1.getVirtualRuntime() - c2.getVirtualRuntime();
-        if (vRuntimeDiff != 0) {
-            return MathUtil.doubleToInt(vRuntimeDiff);
-        }
-
-        final long priorityDiff = c1.getCloudlet().getPriority() - c2.getCloudlet().getPriority();
-        final long idDiff = c1.getCloudletId() - c2.getCloudletId();
-        //Since the computed value is long but the comparator return must be int, rounds the value to the closest int
-        return Math.round(priorityDiff == 0 ? idDiff : priorityDiff);
-    }
+    private final CloudletRunqueue runqueue = new CloudletRunqueue(getCloudletWaitingListInternal());
 
     /**
 	 * Gets the latency, which is the amount of time (in seconds)
@@ -226,6 +211,9 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      * there is no point in using different run queues.
      * </p>
      *
+     * <p>The order of the Cloudlets in this list doesn't define which one will run next.
+     * Such an order is kept by a Red-Black tree, based on the Cloudlets virtual runtime.</p>
+     *
      * @return
      */
     @Override
@@ -235,7 +223,7 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
 
     /**
      * {@inheritDoc}
-     * The cloudlet waiting list (runqueue) is sorted according to the virtual runtime (vruntime or VRT),
+     * The cloudlets are got from the runqueue according to the virtual runtime (vruntime or VRT),
      * which indicates the amount of time the Cloudlet has run.
      * This runtime increases as the Cloudlet executes.
      *
@@ -243,8 +231,27 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      */
     @Override
     protected Optional<CloudletExecution> findSuitableWaitingCloudlet() {
-        sortCloudletWaitingList(this::waitingCloudletsComparator);
-        return super.findSuitableWaitingCloudlet();
+        //Avoids traversing the whole runqueue when no Cloudlet can be executed
+        if (getVm().getProcessor().getAvailableResource() == 0) {
+            return Optional.empty();
+        }
+
+        return runqueue.findFirst(cle -> cle.getCloudlet().getStatus().ordinal() < Status.FROZEN.ordinal() && canExecuteCloudletInternal(cle));
+    }
+
+    @Override
+    protected void addCloudletToWaitingList(final CloudletExecution cle) {
+        final long previousAdditions = getCloudletWaitingListInternal().getAdditions();
+        super.addCloudletToWaitingList(cle);
+        if (getCloudletWaitingListInternal().getAdditions() != previousAdditions) {
+            runqueue.add(cle, previousAdditions);
+        }
+    }
+
+    @Override
+    protected CloudletExecution addWaitingCloudletToExecList(final CloudletExecution cle) {
+        runqueue.remove(cle);
+        return super.addWaitingCloudletToExecList(cle);
     }
 
 	/**
@@ -494,6 +501,7 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
         the processor again.*/
         for(final CloudletExecution c: preemptedCloudlets) {
             c.setVirtualRuntime(computeCloudletInitialVirtualRuntime(c));
+            runqueue.update(c);
         }
 
         return nextCloudletFinishTime;
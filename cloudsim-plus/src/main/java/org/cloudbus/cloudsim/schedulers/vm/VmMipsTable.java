@@ -0,0 +1,391 @@
+package org.cloudbus.cloudsim.schedulers.vm;
+
+import org.cloudbus.cloudsim.schedulers.MipsShare;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSlotIndex;
+
+import java.util.*;
+
+/**
+ * A table storing the MIPS requested and allocated for each VM in a {@link VmSchedulerAbstract}.
+ * Each VM is assigned a dense slot by a {@link VmSlotIndex} when it's added to the table,
+ * which is released when the VM has neither requested nor allocated MIPS anymore.
+ * The number of PEs and MIPS of each VM are stored into primitive arrays indexed by such slots,
+ * so that iterating over all VMs (as performed at every Host processing update)
+ * doesn't require traversing hash map entries or unboxing values.
+ *
+ * <p>The table has two columns: {@link #REQUESTED} and {@link #ALLOCATED}.
+ * {@link #mapView(int)} provides a {@code Map<Vm, MipsShare>} view of a column,
+ * keeping compatibility with the maps formerly exposed by the scheduler.
+ * The {@link MipsShare} returned for a VM is created when the values for that VM are set,
+ * so that getting the MIPS of a VM doesn't create a new object each time.
+ * Since getting values never changes the table, it can be read by multiple threads
+ * (such as the ones of a parallel Host search) while no value is set.
+ * Changes made into such an object must be stored back by calling {@link #put(int, Vm, MipsShare)}.
+ * Each column keeps its own {@link MipsShare} objects, therefore the requested and allocated
+ * MIPS of a VM are never the same instance, even when they have the same values.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+final class VmMipsTable {
+    /**
+     * The column storing the MIPS requested by each VM.
+     */
+    static final int REQUESTED = 0;
+
+    /**
+     * The column storing the MIPS allocated to each VM.
+     */
+    static final int ALLOCATED = 1;
+
+    private static final int COLUMNS = 2;
+
+    /**
+     * The number of PEs for a VM into a column which has no value for that VM.
+     */
+    private static final long ABSENT = -1;
+
+    /**
+     * Maps each VM to its slot.
+     */
+    private final VmSlotIndex slots;
+
+    /**
+     * The number of PEs of each VM into each column, indexed by [column][slot].
+     * An {@link #ABSENT} value indicates the VM has no value into the column.
+     */
+    private long[][] pes;
+
+    /**
+     * The MIPS of each VM PE into each column, indexed by [column][slot].
+     */
+    private double[][] mips;
+
+    /**
+     * The {@link MipsShare} objects returned for each VM, indexed by [column][slot].
+     */
+    private MipsShare[][] shares;
+
+    /**
+     * The number of VMs having a value into each column.
+     */
+    private final int[] sizes;
+
+    VmMipsTable() {
+        this.slots = new VmSlotIndex();
+        this.sizes = new int[COLUMNS];
+        allocateArrays(8);
+    }
+
+    private void allocateArrays(final int capacity) {
+        if (pes == null) {
+            pes = new long[COLUMNS][];
+            mips = new double[COLUMNS][];
+            shares = new MipsShare[COLUMNS][];
+        }
+
+        for (int col = 0; col < COLUMNS; col++) {
+            final int previousCapacity = pes[col] == null ? 0 : pes[col].length;
+            pes[col] = pes[col] == null ? new long[capacity] : Arrays.copyOf(pes[col], capacity);
+            mips[col] = mips[col] == null ? new double[capacity] : Arrays.copyOf(mips[col], capacity);
+            shares[col] = shares[col] == null ? new MipsShare[capacity] : Arrays.copyOf(shares[col], capacity);
+            Arrays.fill(pes[col], previousCapacity, capacity, ABSENT);
+        }
+    }
+
+    /**
+     * Gets the slot of a VM.
+     * @param vm the VM to get its slot
+     * @return the slot index or -1 if the VM is not into the table
+     */
+    int slotOf(final Vm vm) {
+        return slots.get(vm);
+    }
+
+    /**
+     * Gets the number of slots ever used, which is the upper bound for iterating over the slots.
+     * Some slots below such a number may be free, which is indicated by {@link #vm(int)} returning null.
+     * @return
+     */
+    int usedSlots() {
+        return slots.usedSlots();
+    }
+
+    /**
+     * Gets the VM assigned to a slot.
+     * @param slot the slot index
+     * @return the VM or null if the slot is free
+     */
+    Vm vm(final int slot) {
+        return slots.vm(slot);
+    }
+
+    boolean contains(final int column, final int slot) {
+        return slot >= 0 && pes[column][slot] != ABSENT;
+    }
+
+    /**
+     * Gets the number of PEs for the VM in a given slot.
+     * @param column the column to get the value from
+     * @param slot the slot index
+     * @return the number of PEs or 0 if there is no value for the slot
+     */
+    long pes(final int column, final int slot) {
+        return contains(column, slot) ? pes[column][slot] : 0;
+    }
+
+    /**
+     * Gets the MIPS of each PE for the VM in a given slot.
+     * @param column the column to get the value from
+     * @param slot the slot index
+     * @return the MIPS or 0 if there is no value for the slot
+     */
+    double mips(final int column, final int slot) {
+        return contains(column, slot) ? mips[column][slot] : 0;
+    }
+
+    /**
+     * Gets the total MIPS (across all PEs) for the VM in a given slot.
+     * @param column the column to get the value from
+     * @param slot the slot index
+     * @return the total MIPS or 0 if there is no value for the slot
+     */
+    double totalMips(final int column, final int slot) {
+        return pes(column, slot) * mips(column, slot);
+    }
+
+    /**
+     * Gets the number of PEs summed for all VMs into a column.
+     * @param column the column to get the values from
+     * @return
+     */
+    long totalPes(final int column) {
+        long sum = 0;
+        for (int slot = 0; slot < slots.usedSlots(); slot++) {
+            sum += pes(column, slot);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Gets the MIPS share of a VM.
+     * @param column the column to get the value from
+     * @param vm the VM to get its MIPS share
+     * @return the MIPS share or null if there is no value for the VM
+     */
+    MipsShare get(final int column, final Vm vm) {
+        final int slot = slotOf(vm);
+        return contains(column, slot) ? shares[column][slot] : null;
+    }
+
+    /**
+     * Sets the MIPS share of a VM.
+     * @param column the column to set the value
+     * @param vm the VM to set its MIPS share
+     * @param share the MIPS share to set. Just its values are stored, so that
+     *              further changes in the given object aren't reflected into the table.
+     * @return the previous MIPS share of the VM or null if there was no value for it
+     */
+    MipsShare put(final int column, final Vm vm, final MipsShare share) {
+        final MipsShare previous = get(column, vm);
+        set(column, vm, share.pes(), share.mips());
+        return previous;
+    }
+
+    /**
+     * Sets the number of PEs and MIPS of each PE for a VM.
+     * @param column the column to set the values
+     * @param vm the VM to set its values
+     * @param vmPes the number of PEs to set
+     * @param peMips the MIPS of each PE to set
+     */
+    void set(final int column, final Vm vm, final long vmPes, final double peMips) {
+        final int slot = assignSlot(vm);
+        if (pes[column][slot] == ABSENT) {
+            sizes[column]++;
+        }
+
+        pes[column][slot] = vmPes;
+        mips[column][slot] = peMips;
+        shares[column][slot] = new MipsShare(vmPes, peMips);
+    }
+
+    /**
+     * Removes the MIPS share of a VM.
+     * @param column the column to remove the value from
+     * @param vm the VM to remove its MIPS share
+     * @return the removed MIPS share or null if there was no value for the VM
+     */
+    MipsShare remove(final int column, final Vm vm) {
+        final MipsShare previous = get(column, vm);
+        if (previous != null) {
+            removeFromSlot(column, slotOf(vm));
+        }
+
+        return previous;
+    }
+
+    /**
+     * Removes all the values from a column.
+     * @param column the column to clear
+     */
+    void clear(final int column) {
+        for (int slot = 0; slot < slots.usedSlots(); slot++) {
+            if (contains(column, slot)) {
+                removeFromSlot(column, slot);
+            }
+        }
+    }
+
+    private void removeFromSlot(final int column, final int slot) {
+        pes[column][slot] = ABSENT;
+        mips[column][slot] = 0;
+        shares[column][slot] = null;
+        sizes[column]--;
+        releaseSlotIfEmpty(slot);
+    }
+
+    private int assignSlot(final Vm vm) {
+        final int slot = slots.add(vm);
+        if (slot == pes[0].length) {
+            allocateArrays(pes[0].length * 2);
+        }
+
+        return slot;
+    }
+
+    private void releaseSlotIfEmpty(final int slot) {
+        for (int col = 0; col < COLUMNS; col++) {
+            if (pes[col][slot] != ABSENT) {
+                return;
+            }
+        }
+
+        slots.remove(slots.vm(slot));
+    }
+
+    /**
+     * Gets a {@code Map<Vm, MipsShare>} view of a column.
+     * Changes into the table are reflected into the map and vice-versa.
+     * Entries are iterated in the order of VM slots.
+     * @param column the column to get a view
+     * @return
+     */
+    Map<Vm, MipsShare> mapView(final int column) {
+        return new ColumnView(column);
+    }
+
+    /**
+     * A {@code Map<Vm, MipsShare>} view of a table column.
+     */
+    private final class ColumnView extends AbstractMap<Vm, MipsShare> {
+        private final int column;
+
+        private ColumnView(final int column) {
+            this.column = column;
+        }
+
+        @Override
+        public int size() {
+            return sizes[column];
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof Vm && contains(column, slotOf((Vm) key));
+        }
+
+        @Override
+        public MipsShare get(final Object key) {
+            return key instanceof Vm ? VmMipsTable.this.get(column, (Vm) key) : null;
+        }
+
+        @Override
+        public MipsShare put(final Vm key, final MipsShare value) {
+            return VmMipsTable.this.put(column, Objects.requireNonNull(key), Objects.requireNonNull(value));
+        }
+
+        @Override
+        public MipsShare remove(final Object key) {
+            return key instanceof Vm ? VmMipsTable.this.remove(column, (Vm) key) : null;
+        }
+
+        @Override
+        public void clear() {
+            VmMipsTable.this.clear(column);
+        }
+
+        @Override
+        public Set<Entry<Vm, MipsShare>> entrySet() {
+            return new AbstractSet<Entry<Vm, MipsShare>>() {
+                @Override
+                public Iterator<Entry<Vm, MipsShare>> iterator() {
+                    return new EntryIterator(column);
+                }
+
+                @Override
+                public int size() {
+                    return sizes[column];
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterates over the slots having a value into a column.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Vm, MipsShare>> {
+        private final int column;
+        private int next;
+        private int last;
+
+        private EntryIterator(final int column) {
+            this.column = column;
+            this.last = -1;
+            this.next = findNext(0);
+        }
+
+        private int findNext(final int from) {
+            int slot = from;
+            while (slot < slots.usedSlots() && !contains(column, slot)) {
+                slot++;
+            }
+
+            return slot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < slots.usedSlots();
+        }
+
+        @Override
+        public Map.Entry<Vm, MipsShare> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            last = next;
+            next = findNext(next + 1);
+            final Vm vm = slots.vm(last);
+            return new AbstractMap.SimpleEntry<Vm, MipsShare>(vm, get(column, vm)) {
+                @Override
+                public MipsShare setValue(final MipsShare value) {
+                    put(column, vm, Objects.requireNonNull(value));
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+
+            removeFromSlot(column, last);
+            last = -1;
+        }
+    }
+}
@@ -12,12 +12,13 @@ import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.MipsShare;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toList;
+import static org.cloudbus.cloudsim.schedulers.vm.VmMipsTable.ALLOCATED;
+import static org.cloudbus.cloudsim.schedulers.vm.VmMipsTable.REQUESTED;
 
 /**
  * An abstract class for implementation of {@link VmScheduler}s.
@@ -35,6 +36,13 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
      */
     public static final double DEFAULT_VM_MIGRATION_CPU_OVERHEAD = 0.1;
 
+    /**
+     * Stores the MIPS requested and allocated for each VM.
+     * @see #getRequestedMipsMap()
+     * @see #getAllocatedMipsMap()
+     */
+    private final VmMipsTable mipsTable;
+
     /**
      * @see #getRequestedMipsMap()
      */
@@ -48,7 +56,7 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
     /**
      * @see #getAllocatedMipsMap()
      */
-    private Map<Vm, MipsShare> allocatedMipsMap;
+    private final Map<Vm, MipsShare> allocatedMipsMap;
 
     /**
      * @see #getVmMigrationCpuOverhead()
@@ -65,9 +73,11 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
             throw new IllegalArgumentException("vmMigrationCpuOverhead must be a percentage value between [0 and 1[");
         }
 
+        this.mipsTable = new VmMipsTable();
+        this.requestedMipsMap = mipsTable.mapView(REQUESTED);
+        this.allocatedMipsMap = mipsTable.mapView(ALLOCATED);
         setHost(Host.NULL);
         this.vmMigrationCpuOverhead = vmMigrationCpuOverhead;
-        this.requestedMipsMap = new HashMap<>();
     }
 
     @Override
@@ -105,41 +115,41 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
             host.removeVmMigratingOut(vm);
         }
 
-        requestedMipsMap.put(vm, new MipsShare(requestedMips));
+        mipsTable.set(REQUESTED, vm, requestedMips.pes(), requestedMips.mips());
         if(allocatePesForVmInternal(vm, requestedMips)) {
-            updateStatusOfHostPesUsedByVm(vm, getHost().getFreePeList(), Pe.Status.BUSY);
+            updateStatusOfHostPes(Pe.Status.FREE, Pe.Status.BUSY, vm.getNumberOfPes());
             return true;
         }
 
         return false;
     }
 
-    /**
-     * Based on the number of PEs required by a given VM, sets the status of the same
-     * number of physical PEs in its Host to a given status.
-     *
-     * @param vm the VM to set its the status of its used physical PEs
-     * @param peList the list of physical PEs from which the corresponding virtual PEs will have the status changed
-     * @param newStatus the status to set
-     */
-    private void updateStatusOfHostPesUsedByVm(final Vm vm, final List<Pe> peList, final Pe.Status newStatus) {
-        updateStatusOfHostPesUsedByVm(peList, newStatus, vm.getNumberOfPes());
-    }
-
     /**
      * Based on a specific number of virtual PEs, sets the status of the same
      * number of physical PEs in its Host to a given status.
+     * The first Host PEs having a given current status are selected,
+     * traversing the Host PE list just once, without building filtered PE lists.
      *
-     * @param peList the list of physical PEs from which the corresponding virtual PEs will have the status changed
+     * @param currentStatus the current status of the physical PEs to select
      * @param newStatus the status to set
      * @param vPesNumber the number of Virtual PEs that correspond to the number of physical PEs to have their status changed
      */
-    private void updateStatusOfHostPesUsedByVm(final List<Pe> peList, final Pe.Status newStatus, final long vPesNumber) {
+    private void updateStatusOfHostPes(final Pe.Status currentStatus, final Pe.Status newStatus, final long vPesNumber) {
         if(vPesNumber <= 0) {
             return;
         }
 
-        final List<Pe> selectedPes = peList.stream().limit(vPesNumber).collect(toList());
+        final List<Pe> selectedPes = new ArrayList<>((int)Math.min(vPesNumber, host.getPeList().size()));
+        for (final Pe pe : host.getPeList()) {
+            if(selectedPes.size() >= vPesNumber) {
+                break;
+            }
+
+            if(pe.getStatus() == currentStatus) {
+                selectedPes.add(pe);
+            }
+        }
+
         ((HostSimple)host).setPeStatus(selectedPes, newStatus);
     }
 
@@ -166,10 +176,16 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
      */
     private void updateHostUsedPesToFree() {
         //Gets the total virtual PEs of currently created VMs
-        final long totalVirtualPes = getAllocatedMipsMap().values().stream().mapToLong(MipsShare::pes).sum();
-        final List<Pe> busyPeList = host.getBusyPeList();
-        final long virtualPesToFree = Math.max(busyPeList.size() - totalVirtualPes, 0);
-        updateStatusOfHostPesUsedByVm(busyPeList, Pe.Status.FREE, virtualPesToFree);
+        final long totalVirtualPes = mipsTable.totalPes(ALLOCATED);
+        long busyPes = 0;
+        for (final Pe pe : host.getPeList()) {
+            if(pe.isBusy()) {
+                busyPes++;
+            }
+        }
+
+        final long virtualPesToFree = Math.max(busyPes - totalVirtualPes, 0);
+        updateStatusOfHostPes(Pe.Status.BUSY, Pe.Status.FREE, virtualPesToFree);
     }
 
     /**
@@ -194,7 +210,7 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
         final long removedPes = mipsShare.remove(Math.min(vm.getNumberOfPes(), pesToRemove));
         if(mipsShare.isEmpty()){
             map.remove(vm);
-        }
+        } else map.put(vm, mipsShare); //Stores the change back, since the map may not keep the MipsShare object
 
         return removedPes;
     }
@@ -203,13 +219,14 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
 
     @Override
     public void deallocatePesForAllVms() {
-        allocatedMipsMap.clear();
+        mipsTable.clear(ALLOCATED);
         getWorkingPeList().forEach(pe -> pe.getPeProvisioner().deallocateResourceForAllVms());
     }
 
     @Override
     public MipsShare getAllocatedMips(final Vm vm) {
-        final MipsShare mipsShare = allocatedMipsMap.getOrDefault(vm, new MipsShare());
+        final MipsShare allocatedMips = mipsTable.get(ALLOCATED, vm);
+        final MipsShare mipsShare = allocatedMips == null ? new MipsShare() : allocatedMips;
 
         /*
         When a VM is migrating out of the source Host, its allocated MIPS
@@ -279,7 +296,8 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
 
     @Override
     public MipsShare getRequestedMips(final Vm vm) {
-        return requestedMipsMap.getOrDefault(vm, new MipsShare());
+        final MipsShare requestedMips = mipsTable.get(REQUESTED, vm);
+        return requestedMips == null ? new MipsShare() : requestedMips;
     }
 
     /**
@@ -302,16 +320,27 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
 
     /** @see #getAllocatedMips(Vm) */
     protected final void putAllocatedMipsMap(final Vm vm, final MipsShare requestedMips) {
-        allocatedMipsMap.put(vm, requestedMips);
+        mipsTable.set(ALLOCATED, vm, requestedMips.pes(), requestedMips.mips());
+    }
+
+    /**
+     * Gets the table storing the MIPS requested and allocated for each VM,
+     * which enables iterating over all VMs without traversing the
+     * {@link #getRequestedMipsMap()} and {@link #getAllocatedMipsMap()}.
+     * @return
+     */
+    final VmMipsTable getMipsTable() {
+        return mipsTable;
     }
 
     @Override
     public double getTotalAvailableMips() {
-        final double allocatedMips =
-            allocatedMipsMap.entrySet()
-                            .stream()
-                            .mapToDouble(this::actualVmTotalRequestedMips)
-                            .sum();
+        double allocatedMips = 0;
+        for (int slot = 0; slot < mipsTable.usedSlots(); slot++) {
+            if(mipsTable.contains(ALLOCATED, slot)) {
+                allocatedMips += actualVmTotalRequestedMips(slot);
+            }
+        }
 
         return host.getTotalMipsCapacity() - allocatedMips;
     }
@@ -326,13 +355,12 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
      * returns the 1000 MIPS, which is the actual MIPS being
      * used by the Host (900 by the VM and 100 by migration overhead).</p>
      *
-     * @param entry an entry from {@link #allocatedMipsMap}
+     * @param slot the slot of a VM into the {@link #mipsTable}
      * @return the actual requested MIPS sum across all VM PEs,
      * including the CPU overhead of the VM is in migration to this Host
      */
-    private double actualVmTotalRequestedMips(final Map.Entry<Vm, MipsShare> entry) {
-        final MipsShare vmMipsShare = entry.getValue() == null ? new MipsShare() : entry.getValue();
-        final double totalVmRequestedMips = vmMipsShare.totalMips();
+    private double actualVmTotalRequestedMips(final int slot) {
+        final double totalVmRequestedMips = mipsTable.totalMips(ALLOCATED, slot);
 
         /*If the VM is migrating in or out this Host,
         there is a migration overhead.
@@ -345,7 +373,7 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
         The line below computes the original
         requested MIPS (which correspond to 100%)
         */
-        return totalVmRequestedMips / percentOfMipsToRequest(entry.getKey());
+        return totalVmRequestedMips / percentOfMipsToRequest(mipsTable.vm(slot));
     }
 
     /**
@@ -412,7 +440,7 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
         }
 
         this.host = host;
-        allocatedMipsMap = new HashMap<>();
+        mipsTable.clear(ALLOCATED);
         return this;
     }
 
@@ -13,9 +13,6 @@ import org.cloudbus.cloudsim.vms.Vm;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 
 /**
  * VmSchedulerSpaceShared is a VMM allocation policy that allocates one or more
@@ -53,47 +50,48 @@ public class VmSchedulerSpaceShared extends VmSchedulerAbstract {
 
     @Override
     protected boolean isSuitableForVmInternal(final Vm vm, final MipsShare requestedMips) {
-        final List<Pe> selectedPes = getTotalCapacityToBeAllocatedToVm(requestedMips);
-        return selectedPes.size() >= requestedMips.pes();
+        return isThereEnoughFreePesForVm(requestedMips);
     }
 
     /**
-     * Checks if the requested amount of MIPS is available to be allocated to a VM
-     * @param requestedMips a list of MIPS requested by a VM
-     * @return the list of PEs that may be allocated to the VM. If the size of this list is
-     *         lower than the size of the requestedMips, it means there aren't enough PEs
-     *         with requested MIPS to be allocated to the VM
+     * Checks if the requested amount of MIPS is available to be allocated to a VM.
+     * The free PEs are counted directly from the Host PE list,
+     * without building a list of free PEs or of the PEs that may be allocated to the VM.
+     *
+     * @param requestedMips the MIPS share requested by a VM
+     * @return true if there are enough free PEs with the requested MIPS capacity
+     *         to be allocated to the VM, false otherwise
      */
-    private List<Pe> getTotalCapacityToBeAllocatedToVm(final MipsShare requestedMips) {
-        if (getHost().getWorkingPesNumber() < requestedMips.pes()) {
-            return getHost().getWorkingPeList();
+    private boolean isThereEnoughFreePesForVm(final MipsShare requestedMips) {
+        final long requestedPes = requestedMips.pes();
+        if (getHost().getWorkingPesNumber() < requestedPes) {
+            return false;
         }
 
-        final List<Pe> freePeList = getHost().getFreePeList();
-        final List<Pe> selectedPes = new ArrayList<>();
-        if(freePeList.isEmpty()){
-            return selectedPes;
-        }
+        long selectedPes = 0;
+        for (final Pe pe : getHost().getPeList()) {
+            if(selectedPes >= requestedPes) {
+                break;
+            }
 
-        final Iterator<Pe> peIterator = freePeList.iterator();
-        Pe pe = peIterator.next();
-        for (int i = 0; i < requestedMips.pes(); i++) {
-            if (requestedMips.mips() <= pe.getCapacity()) {
-                selectedPes.add(pe);
-                if (!peIterator.hasNext()) {
-                    break;
-                }
-                pe = peIterator.next();
+            if(!pe.isFree()) {
+                continue;
             }
+
+            //Once a free PE doesn't have the requested capacity, no other PE is selected
+            if (requestedMips.mips() > pe.getCapacity()) {
+                break;
+            }
+
+            selectedPes++;
         }
 
-        return selectedPes;
+        return selectedPes >= requestedPes;
     }
 
     @Override
     public boolean allocatePesForVmInternal(final Vm vm, final MipsShare requestedMips) {
-        final List<Pe> selectedPes = getTotalCapacityToBeAllocatedToVm(requestedMips);
-        if(selectedPes.size() < requestedMips.pes()){
+        if(!isThereEnoughFreePesForVm(requestedMips)){
             return false;
         }
 
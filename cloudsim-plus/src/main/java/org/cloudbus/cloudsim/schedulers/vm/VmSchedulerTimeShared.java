@@ -13,7 +13,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
-import java.util.Map;
+
+import static org.cloudbus.cloudsim.schedulers.vm.VmMipsTable.ALLOCATED;
+import static org.cloudbus.cloudsim.schedulers.vm.VmMipsTable.REQUESTED;
 
 /**
  * VmSchedulerTimeShared is a Virtual Machine Monitor (VMM), also called Hypervisor,
@@ -120,7 +122,12 @@ public class VmSchedulerTimeShared extends VmSchedulerAbstract {
      */
     private void updatePesAllocationForAllVms() {
         clearAllocationOfPesForAllVms();
-        getAllocatedMipsMap().forEach(this::allocatePesListForVm);
+        final VmMipsTable table = getMipsTable();
+        for (int slot = 0; slot < table.usedSlots(); slot++) {
+            if(table.contains(ALLOCATED, slot)) {
+                allocatePesListForVm(table.vm(slot), table.pes(ALLOCATED, slot), table.mips(ALLOCATED, slot));
+            }
+        }
     }
 
     /**
@@ -137,14 +144,15 @@ public class VmSchedulerTimeShared extends VmSchedulerAbstract {
     /**
      * Allocates Host PEs for a given VM.
      * @param vm the VM to allocate MIPS for its PEs
-     * @param mipsShare the {@link #getAllocatedMipsMap()} for that VM
+     * @param vmPes the number of PEs allocated to that VM, according to the {@link #getAllocatedMipsMap()}
+     * @param peMips the MIPS allocated to each VM PE, according to the {@link #getAllocatedMipsMap()}
      */
-    private void allocatePesListForVm(final Vm vm, final MipsShare mipsShare) {
+    private void allocatePesListForVm(final Vm vm, final long vmPes, final double peMips) {
         final Iterator<Pe> hostPesIterator = getWorkingPeList().iterator();
-        for (int i = 0; i < mipsShare.pes(); i++) {
-            final double allocatedPeMips = allocateMipsFromHostPesToGivenVirtualPe(vm, mipsShare.mips(), hostPesIterator);
-            if(mipsShare.mips() > 0.1 && allocatedPeMips <= 0.1){
-                logMipsUnavailable(vm, mipsShare.mips(), allocatedPeMips);
+        for (int i = 0; i < vmPes; i++) {
+            final double allocatedPeMips = allocateMipsFromHostPesToGivenVirtualPe(vm, peMips, hostPesIterator);
+            if(peMips > 0.1 && allocatedPeMips <= 0.1){
+                logMipsUnavailable(vm, peMips, allocatedPeMips);
             }
         }
     }
@@ -325,8 +333,12 @@ public class VmSchedulerTimeShared extends VmSchedulerAbstract {
         removePesFromMap(vm, getAllocatedMipsMap(), pesToRemove);
 
         //After removing some PEs from a VM, updates the MIPS allocation for all VMs on this scheduler
-        for (final Map.Entry<Vm, MipsShare> entry : getRequestedMipsMap().entrySet()) {
-            allocateMipsShareForVmInternal(entry.getKey(), entry.getValue());
+        final VmMipsTable table = getMipsTable();
+        for (int slot = 0; slot < table.usedSlots(); slot++) {
+            if(table.contains(REQUESTED, slot)) {
+                final Vm requestingVm = table.vm(slot);
+                allocateMipsShareForVmInternal(requestingVm, table.get(REQUESTED, requestingVm));
+            }
         }
 
         updatePesAllocationForAllVms();
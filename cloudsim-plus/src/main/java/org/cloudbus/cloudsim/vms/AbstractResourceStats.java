@@ -1,6 +1,5 @@
 package org.cloudbus.cloudsim.vms;
 
-import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.cloudbus.cloudsim.core.AbstractMachine;
 import org.cloudbus.cloudsim.resources.Resource;
 
@@ -11,6 +10,10 @@ import java.util.function.Function;
  * Computes statistics about {@link Resource} utilization for a given machine (VM or Host).
  * Such a resource can be, for instance, CPU, RAM or BW.
  *
+ * <p>The statistics are computed as utilization values are collected,
+ * using a fixed amount of memory for each machine and without creating objects,
+ * so that they can be enabled for a large number of machines.</p>
+ *
  * @param <T> The kind of machine to collect resource utilization statistics
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 6.1.0
@@ -18,7 +21,7 @@ import java.util.function.Function;
 public abstract class AbstractResourceStats<T extends AbstractMachine> {
     private final Function<T, Double> resourceUtilizationFunction;
     private final T machine;
-    private final SummaryStatistics stats;
+    private final StreamingStatistics stats;
     private double previousTime;
     private double previousUtilization;
 
@@ -31,7 +34,7 @@ public abstract class AbstractResourceStats<T extends AbstractMachine> {
     public AbstractResourceStats(final T machine, final Function<T, Double> resourceUtilizationFunction){
         this.resourceUtilizationFunction = Objects.requireNonNull(resourceUtilizationFunction);
         this.machine = Objects.requireNonNull(machine);
-        this.stats = new SummaryStatistics();
+        this.stats = new StreamingStatistics();
     }
 
     /**
@@ -59,7 +62,7 @@ public abstract class AbstractResourceStats<T extends AbstractMachine> {
                 return false;
             }
 
-            this.stats.addValue(utilization);
+            this.stats.add(time, utilization);
             this.previousUtilization = utilization;
             return true;
         } finally {
@@ -112,7 +115,27 @@ public abstract class AbstractResourceStats<T extends AbstractMachine> {
      * @return
      */
     public double count(){
-        return stats.getN();
+        return stats.getCount();
+    }
+
+    /**
+     * Gets the average resource utilization percentage (from 0 to 1),
+     * where each collected sample is weighted by the time elapsed since the previous one.
+     * That gives a more accurate average when samples are not collected at regular intervals.
+     * @return the time-weighted average, or the {@link #getMean() average} if samples were collected at a single time
+     */
+    public double getTimeWeightedMean(){
+        return stats.getTimeWeightedMean();
+    }
+
+    /**
+     * Gets an estimate of a given percentile of the resource utilization percentage (from 0 to 1).
+     * Since samples are not stored, the estimate has a resolution of 1% of utilization.
+     * @param percentile the percentile to get, in scale from 0 to 100
+     * @return the estimated percentile or NaN if no sample was collected
+     */
+    public double getPercentile(final double percentile){
+        return stats.getPercentile(percentile);
     }
 
     /**
@@ -0,0 +1,150 @@
+package org.cloudbus.cloudsim.vms;
+
+/**
+ * Computes statistics for a stream of resource utilization percentages (in scale from 0 to 1)
+ * using a fixed amount of memory, without storing the collected values.
+ * Adding a value doesn't create any object, so that the statistics can be
+ * collected for a large number of machines.
+ *
+ * <ul>
+ *   <li>mean and variance are computed using the Welford's online algorithm;</li>
+ *   <li>percentiles are estimated from a fixed-width histogram with {@link #BINS} bins
+ *   covering the utilization range [0..1], interpolating inside each bin;</li>
+ *   <li>the time-weighted mean weights each value by the time elapsed since the previous one.</li>
+ * </ul>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+final class StreamingStatistics {
+    /**
+     * Number of bins of the histogram used to estimate percentiles,
+     * defining a resolution of 1% for the utilization range.
+     */
+    static final int BINS = 100;
+
+    private final int[] histogram;
+    private long count;
+    private double mean;
+
+    /** Sum of squared differences from the mean (Welford's M2). */
+    private double squaredDiffSum;
+    private double min;
+    private double max;
+
+    private double weightedSum;
+    private double totalWeight;
+    private double lastTime;
+
+    StreamingStatistics() {
+        this.histogram = new int[BINS];
+        this.min = Double.NaN;
+        this.max = Double.NaN;
+        this.lastTime = -1;
+    }
+
+    /**
+     * Adds a value collected at a given time.
+     * @param time the time the value was collected
+     * @param value the value to add
+     */
+    void add(final double time, final double value) {
+        count++;
+        final double delta = value - mean;
+        mean += delta / count;
+        squaredDiffSum += delta * (value - mean);
+
+        if (count == 1) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        histogram[bin(value)]++;
+
+        if (lastTime >= 0 && time > lastTime) {
+            weightedSum += value * (time - lastTime);
+            totalWeight += time - lastTime;
+        }
+        lastTime = time;
+    }
+
+    private static int bin(final double value) {
+        if (value <= 0) {
+            return 0;
+        }
+
+        return value >= 1 ? BINS - 1 : (int) (value * BINS);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getMin() {
+        return min;
+    }
+
+    double getMax() {
+        return max;
+    }
+
+    double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Gets the sample variance.
+     * @return the variance, 0 if there is a single value or NaN if there is no value
+     */
+    double getVariance() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        return count == 1 ? 0 : squaredDiffSum / (count - 1);
+    }
+
+    double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Gets the mean where each value is weighted by the time elapsed since the previous one.
+     * @return the time-weighted mean, or the {@link #getMean() mean} if no time has elapsed between values
+     */
+    double getTimeWeightedMean() {
+        return totalWeight > 0 ? weightedSum / totalWeight : getMean();
+    }
+
+    /**
+     * Estimates a percentile of the values.
+     * @param percentile the percentile to estimate, in scale from 0 to 100
+     * @return the estimated percentile or NaN if there is no value
+     */
+    double getPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in range [0..100]");
+        }
+
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        final double rank = percentile / 100.0 * count;
+        long accumulated = 0;
+        for (int i = 0; i < BINS; i++) {
+            final int binCount = histogram[i];
+            if (binCount > 0 && accumulated + binCount >= rank) {
+                final double fraction = (rank - accumulated) / binCount;
+                final double estimate = (i + fraction) / BINS;
+                return Math.max(min, Math.min(max, estimate));
+            }
+
+            accumulated += binCount;
+        }
+
+        return max;
+    }
+}
@@ -0,0 +1,110 @@
+package org.cloudbus.cloudsim.vms;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A batch of VMs a {@link DatacenterBroker} requests a {@link Datacenter} to create
+ * using a single {@link CloudSimTags#VM_CREATE_BATCH_ACK} event.
+ * The Datacenter tries to create every VM in the batch and sends the same
+ * object back to the broker, listing which VMs were created and which ones failed.
+ * That way, a single event is sent in each direction, instead of one for each VM.
+ * The broker processes the results in the order of the {@link #getVmList() requested VMs},
+ * as it would do receiving one event for each VM.
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class VmCreationBatch {
+    private final DatacenterBroker broker;
+    private final List<Vm> vmList;
+    private final List<Vm> createdList;
+    private final List<Vm> failedList;
+
+    /**
+     * Creates a batch of VMs to be created.
+     * @param broker the broker requesting the creation of the VMs
+     * @param vmList the VMs to be created
+     */
+    public VmCreationBatch(final DatacenterBroker broker, final List<Vm> vmList) {
+        this.broker = Objects.requireNonNull(broker);
+        this.vmList = Objects.requireNonNull(vmList);
+        this.createdList = new ArrayList<>(vmList.size());
+        this.failedList = new ArrayList<>();
+    }
+
+    /**
+     * Creates a batch of VMs holding the results of a previous attempt to create them,
+     * such as when the batch is restored from a {@link org.cloudbus.cloudsim.core.SimulationCheckpoint}.
+     * @param broker the broker requesting the creation of the VMs
+     * @param vmList the VMs to be created
+     * @param createdList the VMs which were created
+     * @param failedList the VMs which couldn't be created
+     */
+    public VmCreationBatch(
+        final DatacenterBroker broker, final List<Vm> vmList,
+        final List<Vm> createdList, final List<Vm> failedList)
+    {
+        this(broker, vmList);
+        this.createdList.addAll(createdList);
+        this.failedList.addAll(failedList);
+    }
+
+    /**
+     * Gets the broker requesting the creation of the VMs, to which the result is sent.
+     * @return
+     */
+    public DatacenterBroker getBroker() {
+        return broker;
+    }
+
+    /**
+     * Gets a read-only List of the VMs requested to be created.
+     * @return
+     */
+    public List<Vm> getVmList() {
+        return Collections.unmodifiableList(vmList);
+    }
+
+    /**
+     * Gets a read-only List of the VMs which were created.
+     * @return
+     */
+    public List<Vm> getCreatedList() {
+        return Collections.unmodifiableList(createdList);
+    }
+
+    /**
+     * Gets a read-only List of the VMs which couldn't be created.
+     * @return
+     */
+    public List<Vm> getFailedList() {
+        return Collections.unmodifiableList(failedList);
+    }
+
+    /**
+     * Records the result of the attempt to create a VM from the batch,
+     * according to {@link Vm#isCreated()}.
+     * @param vm the VM the Datacenter tried to create
+     */
+    public void addResult(final Vm vm) {
+        if (vm.isCreated()) {
+            createdList.add(vm);
+        } else {
+            failedList.add(vm);
+        }
+    }
+
+    /**
+     * Gets the number of VMs in the batch.
+     * @return
+     */
+    public int size() {
+        return vmList.size();
+    }
+}
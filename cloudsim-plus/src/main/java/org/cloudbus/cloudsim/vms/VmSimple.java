@@ -10,6 +10,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.AbstractMachine;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
 import org.cloudbus.cloudsim.core.CustomerEntityAbstract;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.hosts.Host;
@@ -1061,4 +1063,33 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
         this.timeZone = validateTimeZone(timeZone);
         return this;
     }
+
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeBoolean(created).writeBoolean(failed).writeBoolean(inMigration)
+              .writeHost(host)
+              .writeDouble(startTime).writeDouble(stopTime).writeDouble(lastBusyTime)
+              .writeDouble(submissionDelay)
+              .writeLong(freePesNumber).writeLong(expectedFreePesNumber)
+              .writeLong(processor.getAllocatedResource())
+              .writeState(cloudletScheduler);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        created = reader.readBoolean();
+        failed = reader.readBoolean();
+        inMigration = reader.readBoolean();
+        host = reader.readHost();
+        startTime = reader.readDouble();
+        stopTime = reader.readDouble();
+        lastBusyTime = reader.readDouble();
+        submissionDelay = reader.readDouble();
+        freePesNumber = reader.readLong();
+        expectedFreePesNumber = reader.readLong();
+        processor.setAllocatedResource(reader.readLong());
+        reader.readRequiredState(cloudletScheduler);
+    }
 }
@@ -0,0 +1,203 @@
+package org.cloudbus.cloudsim.vms;
+
+import java.util.Arrays;
+
+/**
+ * Maps VMs to dense int slots, used to index primitive arrays
+ * storing some value for each VM (such as the resources allocated by a
+ * {@link org.cloudbus.cloudsim.provisioners.ResourceProvisionerDense}
+ * or the MIPS allocated by a {@link org.cloudbus.cloudsim.schedulers.vm.VmSchedulerAbstract}).
+ * Slots are assigned when a VM is added and reused after the VM is removed,
+ * so that they are always lower than the maximum number of VMs stored at the same time.
+ *
+ * <p>It's an open-addressing hash table with linear probing that stores the slots
+ * into an int array, avoiding the boxing performed by a {@code Map<Vm, Integer>}.
+ * As a {@link java.util.HashMap}, VMs are compared using {@link Vm#equals(Object)}.</p>
+ *
+ * @since CloudSim Plus 6.3.0
+ */
+public final class VmSlotIndex {
+    /**
+     * The value returned when a VM isn't into the index.
+     */
+    public static final int NO_SLOT = -1;
+
+    private Vm[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * The VM assigned to each slot, or null if the slot is free.
+     */
+    private Vm[] vms;
+
+    /**
+     * Released slots, which are reused before creating new ones.
+     */
+    private int[] freeSlots;
+    private int freeSlotsNumber;
+
+    /**
+     * The number of slots ever created, which is the upper bound for iterating over the slots.
+     */
+    private int usedSlots;
+
+    public VmSlotIndex() {
+        this.keys = new Vm[16];
+        this.values = new int[16];
+        this.vms = new Vm[8];
+        this.freeSlots = new int[8];
+    }
+
+    /**
+     * Gets the slot of a VM.
+     * @param vm the VM to get its slot
+     * @return the slot or -1 if the VM isn't into the index
+     */
+    public int get(final Vm vm) {
+        final int mask = keys.length - 1;
+        for (int i = hash(vm) & mask; keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i].equals(vm)) {
+                return values[i];
+            }
+        }
+
+        return NO_SLOT;
+    }
+
+    /**
+     * Gets the slot of a VM, assigning a new one if the VM isn't into the index yet.
+     * @param vm the VM to get its slot
+     * @return the slot of the VM
+     */
+    public int add(final Vm vm) {
+        final int existing = get(vm);
+        if (existing != NO_SLOT) {
+            return existing;
+        }
+
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+
+        final int slot = freeSlotsNumber > 0 ? freeSlots[--freeSlotsNumber] : usedSlots++;
+        if (slot == vms.length) {
+            vms = Arrays.copyOf(vms, vms.length * 2);
+        }
+
+        vms[slot] = vm;
+        insert(vm, slot);
+        size++;
+        return slot;
+    }
+
+    /**
+     * Removes a VM from the index, releasing its slot.
+     * @param vm the VM to remove
+     * @return the slot the VM had or -1 if it wasn't into the index
+     */
+    public int remove(final Vm vm) {
+        final int mask = keys.length - 1;
+        int i = hash(vm) & mask;
+        while (keys[i] != null && !keys[i].equals(vm)) {
+            i = (i + 1) & mask;
+        }
+
+        if (keys[i] == null) {
+            return NO_SLOT;
+        }
+
+        final int slot = values[i];
+        deleteAt(i);
+        size--;
+        vms[slot] = null;
+        if (freeSlotsNumber == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+
+        freeSlots[freeSlotsNumber++] = slot;
+        return slot;
+    }
+
+    /**
+     * Removes all VMs from the index.
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(vms, 0, usedSlots, null);
+        size = 0;
+        usedSlots = 0;
+        freeSlotsNumber = 0;
+    }
+
+    /**
+     * Gets the VM assigned to a slot.
+     * @param slot the slot to get its VM
+     * @return the VM or null if the slot is free
+     */
+    public Vm vm(final int slot) {
+        return vms[slot];
+    }
+
+    /**
+     * Gets the number of slots ever created (since the last {@link #clear()}),
+     * which is the upper bound for iterating over the slots.
+     * @return
+     */
+    public int usedSlots() {
+        return usedSlots;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int hash(final Vm vm) {
+        final int h = vm.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private void insert(final Vm vm, final int slot) {
+        final int mask = keys.length - 1;
+        int i = hash(vm) & mask;
+        while (keys[i] != null) {
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = vm;
+        values[i] = slot;
+    }
+
+    /**
+     * Removes the entry at a given position, shifting back the next entries in the same
+     * probe sequence, so that no tombstone is required.
+     * @param position the position of the entry to remove
+     */
+    private void deleteAt(final int position) {
+        final int mask = keys.length - 1;
+        int gap = position;
+        for (int i = (gap + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            final int home = hash(keys[i]) & mask;
+            //Moves the entry to the gap if its home position is not between the gap and its current position
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+
+        keys[gap] = null;
+    }
+
+    private void resize(final int capacity) {
+        final Vm[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new Vm[capacity];
+        values = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
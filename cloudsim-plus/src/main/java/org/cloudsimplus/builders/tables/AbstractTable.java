@@ -152,7 +152,7 @@ public abstract class AbstractTable implements Table {
         printRowClosing();
         if(isThereAnySubtitledColumn()){
             printRowOpening();
-            columns.forEach(col -> System.out.print(col.generateSubtitleHeader()));
+            columns.forEach(col -> getPrintStream().print(col.generateSubtitleHeader()));
             printRowClosing();
         }
     }
@@ -28,6 +28,7 @@ import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationCheckpoint;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
 import org.cloudbus.cloudsim.hosts.Host;
@@ -139,7 +140,9 @@ public abstract class Experiment extends AbstractExperiment {
             return seed;
         }
 
-        if (runner.isToReuseSeedFromFirstHalfOfExperiments(index)) {
+        if(runner.isForkFromWarmUp()) {
+            seed = runner.getBaseSeed();
+        } else if (runner.isToReuseSeedFromFirstHalfOfExperiments(index)) {
             final int previousExperiment = index - runner.halfSimulationRuns();
             seed = runner.getSeed(previousExperiment);
         } else {
@@ -178,6 +181,10 @@ public abstract class Experiment extends AbstractExperiment {
         }
 
         build();
+        if(runner != null && runner.isForkFromWarmUp()){
+            forkFromWarmUp();
+        }
+
         simulation.start();
         afterExperimentFinish(this);
         printResultsInternal();
@@ -186,6 +193,22 @@ public abstract class Experiment extends AbstractExperiment {
         }
     }
 
+    /**
+     * Requests a checkpoint to be taken at the end of the warm-up if this is the first experiment,
+     * or restores such a checkpoint into this experiment otherwise.
+     * It must be called after the experiment is {@link #build() built},
+     * since the checkpoint is restored into the objects of the built scenario.
+     * @see ExperimentRunner#forkFromWarmUp(double)
+     */
+    private void forkFromWarmUp() {
+        final SimulationCheckpoint checkpoint = runner.getWarmUpCheckpoint();
+        if(checkpoint == null) {
+            simulation.checkpointAt(runner.getWarmUpTime(), runner::setWarmUpCheckpoint);
+        } else {
+            simulation.restore(checkpoint);
+        }
+    }
+
     public boolean isFirstExperimentCreated(){
         return index == runner.getFirstExperimentCreated();
     }
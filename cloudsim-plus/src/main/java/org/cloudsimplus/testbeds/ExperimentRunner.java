@@ -28,6 +28,7 @@ import org.apache.commons.math3.distribution.TDistribution;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationCheckpoint;
 import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
 import org.cloudbus.cloudsim.distributions.StatisticalDistribution;
 import org.cloudbus.cloudsim.distributions.UniformDistr;
@@ -130,6 +131,16 @@ public abstract class ExperimentRunner<T extends Experiment> extends AbstractExp
     private boolean latexTableResultsGeneration;
     private List<Experiment> experiments;
 
+    /** @see #forkFromWarmUp(double) */
+    private double warmUpTime;
+
+    /**
+     * The checkpoint taken when the first experiment reaches the {@link #getWarmUpTime() warm-up time},
+     * which the other experiments are forked from.
+     * @see #forkFromWarmUp(double)
+     */
+    private SimulationCheckpoint warmUpCheckpoint;
+
     /**
      * Creates an experiment runner with a given {@link #getBaseSeed() base seed}
      * that runs sequentially.
@@ -415,7 +426,8 @@ public abstract class ExperimentRunner<T extends Experiment> extends AbstractExp
     }
 
     long getSeed(final int experimentIndex) {
-        return seeds.get(experimentIndex);
+        //All branches forked from the warm-up share the same seed, so that they just differ by their policies
+        return isForkFromWarmUp() ? baseSeed : seeds.get(experimentIndex);
     }
 
     /**
@@ -492,7 +504,7 @@ public abstract class ExperimentRunner<T extends Experiment> extends AbstractExp
     }
 
     public boolean isToReuseSeedFromFirstHalfOfExperiments(final int currentExperimentIndex) {
-        return isApplyAntitheticVariatesTechnique() &&
+        return isApplyAntitheticVariatesTechnique() && !isForkFromWarmUp() &&
                simulationRuns > 1 && currentExperimentIndex >= halfSimulationRuns();
     }
 
@@ -548,7 +560,11 @@ public abstract class ExperimentRunner<T extends Experiment> extends AbstractExp
 
         experimentsStartTimeSecs = Math.round(System.currentTimeMillis()/1000.0);
         printProgress(0);
-        getStream(this.experiments).forEach(Experiment::run);
+        if(isForkFromWarmUp()){
+            runForkedExperiments();
+        } else {
+            getStream(this.experiments).forEach(Experiment::run);
+        }
         System.out.println();
         experimentsExecutionTimeSecs = TimeUtil.elapsedSeconds(experimentsStartTimeSecs);
 
@@ -565,6 +581,22 @@ public abstract class ExperimentRunner<T extends Experiment> extends AbstractExp
             simulationRuns, TimeUtil.secondsToStr(experimentsExecutionTimeSecs), LocalTime.now());
     }
 
+    /**
+     * Runs the first experiment, which takes a checkpoint when the warm-up time is reached,
+     * then runs the other experiments (sequentially or in {@link #parallel})
+     * starting from that checkpoint.
+     * @see #forkFromWarmUp(double)
+     */
+    private void runForkedExperiments() {
+        experiments.get(0).run();
+        if(warmUpCheckpoint == null){
+            throw new IllegalStateException("The warm-up checkpoint was not taken by the first experiment.");
+        }
+
+        println("%nForking %d experiments from %s", experiments.size()-1, warmUpCheckpoint);
+        getStream(experiments.subList(1, experiments.size())).forEach(Experiment::run);
+    }
+
     /** Since experiments may execute in parallel and during execution
      * they access the shared seeds list, all experiments have to
      * be created before starting execution.
@@ -971,4 +1003,74 @@ public abstract class ExperimentRunner<T extends Experiment> extends AbstractExp
     public boolean isParallel() {
         return parallel;
     }
+
+    /**
+     * Enables the execution of experiments as what-if branches forked from a shared warm-up.
+     * The first experiment runs the simulation prefix up to the given warm-up time,
+     * when a {@link SimulationCheckpoint} is taken and it continues up to the end.
+     * Each other experiment builds its own scenario and restores that checkpoint,
+     * continuing from the warm-up time (sequentially or in {@link #isParallel() parallel}),
+     * instead of simulating the warm-up again.
+     * Just the warm-up simulation is shared: every experiment still
+     * {@link Experiment#build() builds} its scenario, including any trace ingestion it performs,
+     * since a checkpoint is restored into rebuilt simulation objects having the same IDs.
+     *
+     * <p>This way, each experiment is expected to be a different branch,
+     * such as one evaluating a different {@link org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy}
+     * (which can be defined inside {@link #createExperimentInternal(int)} according to the experiment index).
+     * Since all branches must build the same scenario,
+     * all of them use the {@link #getBaseSeed() base seed},
+     * therefore the {@link #isApplyAntitheticVariatesTechnique() Antithetic Variates Technique} doesn't apply.
+     * Check {@link CloudSim#restore(SimulationCheckpoint)} for the requirements to restore a checkpoint.</p>
+     *
+     * <p>This method must be called before {@link #run() running} the experiments.</p>
+     *
+     * @param warmUpTime the simulation time (in seconds) that ends the shared warm-up
+     * @return this runner
+     */
+    public ExperimentRunner<T> forkFromWarmUp(final double warmUpTime) {
+        if(warmUpTime <= 0){
+            throw new IllegalArgumentException("Warm-up time must be greater than zero.");
+        }
+
+        if(experiments != null){
+            throw new IllegalStateException("Forking from warm-up must be enabled before experiments are created.");
+        }
+
+        this.warmUpTime = warmUpTime;
+        return this;
+    }
+
+    /**
+     * Checks if experiments are executed as branches forked from a shared warm-up.
+     * @return
+     * @see #forkFromWarmUp(double)
+     */
+    public boolean isForkFromWarmUp() {
+        return warmUpTime > 0;
+    }
+
+    /**
+     * Gets the simulation time (in seconds) that ends the shared warm-up,
+     * or zero if experiments are not forked from a warm-up.
+     * @return
+     * @see #forkFromWarmUp(double)
+     */
+    public double getWarmUpTime() {
+        return warmUpTime;
+    }
+
+    /**
+     * Gets the checkpoint taken at the end of the warm-up
+     * or null if it wasn't taken yet.
+     * @return
+     * @see #forkFromWarmUp(double)
+     */
+    SimulationCheckpoint getWarmUpCheckpoint() {
+        return warmUpCheckpoint;
+    }
+
+    void setWarmUpCheckpoint(final SimulationCheckpoint warmUpCheckpoint) {
+        this.warmUpCheckpoint = warmUpCheckpoint;
+    }
 }
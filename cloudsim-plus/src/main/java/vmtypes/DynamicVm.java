@@ -1,6 +1,8 @@
 package vmtypes;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.vms.Vm;
@@ -221,4 +223,24 @@ public abstract class DynamicVm extends VmSimple {
         }
     }
 
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeEnum(state).writeBoolean(persistentRequest)
+              .writeDouble(waitingTime).writeDouble(initialRequestTime)
+              .writeCloudletList(pausedCloudlets).writeCloudletList(failedCloudlets)
+              .writeCloudletList(waitingCloudlets);
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        state = reader.readEnum(State.class);
+        persistentRequest = reader.readBoolean();
+        waitingTime = reader.readDouble();
+        initialRequestTime = reader.readDouble();
+        pausedCloudlets = reader.readCloudletList();
+        failedCloudlets = reader.readCloudletList();
+        waitingCloudlets = reader.readCloudletList();
+    }
 }
@@ -1,5 +1,7 @@
 package vmtypes;
 
+import org.cloudbus.cloudsim.core.CheckpointReader;
+import org.cloudbus.cloudsim.core.CheckpointWriter;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudsimplus.listeners.VmHostEventInfo;
 
@@ -176,4 +178,26 @@ public class SpotInstance extends DynamicVm {
         history.add(newEntry);
     }
 
+    @Override
+    public void writeCheckpoint(final CheckpointWriter writer) {
+        super.writeCheckpoint(writer);
+        writer.writeInt(executionHistory.size());
+        for (final ExecutionHistory entry : executionHistory) {
+            writer.writeDouble(entry.getStartTime()).writeDouble(entry.getStopTime()).writeHost(entry.getHost());
+        }
+    }
+
+    @Override
+    public void readCheckpoint(final CheckpointReader reader) {
+        super.readCheckpoint(reader);
+        executionHistory.clear();
+        final int entries = reader.readInt();
+        for (int i = 0; i < entries; i++) {
+            final ExecutionHistory entry = new ExecutionHistory();
+            entry.setStartTime(reader.readDouble());
+            entry.setStopTime(reader.readDouble());
+            entry.setHost(reader.readHost());
+            executionHistory.add(entry);
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package allocation;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.VmTrafficGraph;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class NetworkAwareAllocationTest {
+    private static Vm createVm(final int id, final int pes) {
+        return new VmSimple(id, 1000, pes).setRam(512).setBw(100).setSize(1000);
+    }
+
+    @Test
+    void vmIsPlacedNextToThePeersItCommunicatesWith() {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            //Host 2 hasn't enough PEs for a 2-PE VM
+            final int pes = i == 2 ? 1 : 2;
+            final List<Pe> peList = new ArrayList<>();
+            for (int j = 0; j < pes; j++) {
+                peList.add(new PeSimple(1000));
+            }
+
+            hostList.add(new NetworkHost(4096, 100_000, 1_000_000, peList));
+        }
+
+        final NetworkDatacenter datacenter = new NetworkDatacenter(simulation, hostList, new NetworkAwareAllocation());
+        datacenter.enableVmTrafficGraph();
+        for (int i = 0; i < 2; i++) {
+            final EdgeSwitch edgeSwitch = new EdgeSwitch(simulation, datacenter);
+            datacenter.addSwitch(edgeSwitch);
+            edgeSwitch.connectHost((NetworkHost) hostList.get(i * 2));
+            edgeSwitch.connectHost((NetworkHost) hostList.get(i * 2 + 1));
+        }
+
+        final Vm peer = createVm(0, 1);
+        peer.setHost(hostList.get(2));
+        peer.setCreated(true);
+
+        final Vm small = createVm(1, 1);
+        final Vm large = createVm(2, 2);
+        final Vm isolated = createVm(3, 1);
+        final VmTrafficGraph graph = datacenter.getVmTrafficGraph();
+        graph.addTraffic(small, peer, 1000);
+        graph.addTraffic(large, peer, 1000);
+
+        //Placed into the same Host as its peer
+        assertEquals(Optional.of(hostList.get(2)), datacenter.getVmAllocationPolicy().findHostForVm(small));
+
+        //Placed into another Host connected to the same Edge Switch
+        assertEquals(Optional.of(hostList.get(3)), datacenter.getVmAllocationPolicy().findHostForVm(large));
+
+        //Without peers, the Host is selected as usual
+        assertEquals(Optional.of(hostList.get(0)), datacenter.getVmAllocationPolicy().findHostForVm(isolated));
+    }
+}
@@ -0,0 +1,144 @@
+package allocation;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostDynamic;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+import vmtypes.SpotInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class SpotConsolidationAllocationTest {
+    private static final int HOST_PES = 4;
+
+    private static List<Host> createHosts(final int hostsNumber) {
+        final List<Host> hostList = new ArrayList<>(hostsNumber);
+        for (int i = 0; i < hostsNumber; i++) {
+            final List<Pe> peList = new ArrayList<>(HOST_PES);
+            for (int j = 0; j < HOST_PES; j++) {
+                peList.add(new PeSimple(1000));
+            }
+
+            final Host host = new HostDynamic(4096, 100_000, 1_000_000, peList);
+            host.setPowerModel(new PowerModelHostSimple(200, 100));
+            hostList.add(host);
+        }
+
+        return hostList;
+    }
+
+    private static Vm createVm(final Vm vm, final DatacenterBroker broker, final Host host) {
+        vm.setRam(512).setBw(100).setSize(1000);
+        vm.setBroker(broker);
+        assertTrue(host.createVm(vm).fully());
+        return vm;
+    }
+
+    @Test
+    void spotInstancesAreMigratedToTheFullestHostAndEmptiedHostsArePoweredOff() {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = createHosts(4);
+        final SpotConsolidationAllocation policy = new SpotConsolidationAllocation(new VmSelectionPolicyMinimumUtilization());
+        new DatacenterSimple(simulation, hostList, policy);
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+
+        final Vm spot0 = createVm(new SpotInstance(0, 1000, 1, false), broker, hostList.get(0));
+        final Vm spot1 = createVm(new SpotInstance(1, 1000, 1, false), broker, hostList.get(1));
+        //Host 2 is empty and Host 3 runs an on-demand VM
+        final Vm onDemand = createVm(new VmSimple(2, 1000, 2), broker, hostList.get(3));
+
+        final List<Vm> vmList = new ArrayList<>();
+        vmList.add(spot0);
+        vmList.add(spot1);
+        vmList.add(onDemand);
+        final ConsolidationPlan plan = policy.getConsolidationPlan(vmList);
+
+        //Host 3 can receive just one of the Spot instances without becoming over-utilized
+        final Map<Vm, Host> migrationMap = plan.getMigrations();
+        assertEquals(1, migrationMap.size());
+        assertEquals(hostList.get(3), migrationMap.get(spot0));
+        assertEquals(1, plan.getPreemptions().size());
+        assertSame(spot1, plan.getPreemptions().get(0));
+
+        //Computing the plan doesn't preempt any VM
+        assertEquals(0, policy.getPreemptedVmsNumber());
+        assertEquals(hostList.get(1), spot1.getHost());
+        assertTrue(hostList.get(1).isActive());
+        assertFalse(hostList.get(2).isActive());
+        assertEquals(1, policy.getPoweredOffHostsNumber());
+
+        //The Host whose Spot instance is preempted is powered off after it becomes empty
+        plan.getPreemptions().forEach(policy::preempt);
+        assertEquals(1, policy.getPreemptedVmsNumber());
+        assertTrue(hostList.get(1).getVmList().isEmpty());
+        assertFalse(hostList.get(1).isActive());
+
+        //Hosts being emptied are kept active until their VMs are migrated
+        assertTrue(hostList.get(0).isActive());
+        assertTrue(hostList.get(3).isActive());
+        assertEquals(2, policy.getPoweredOffHostsNumber());
+        assertEquals(0, policy.getSavedEnergyKWh());
+
+        //After the migrations, the emptied Hosts are powered off
+        hostList.get(0).destroyVm(spot0);
+        assertTrue(policy.getOptimizedAllocationMap(vmList).isEmpty());
+        assertFalse(hostList.get(0).isActive());
+        assertEquals(3, policy.getPoweredOffHostsNumber());
+    }
+
+    @Test
+    void spotInstancesWhichCannotBeMigratedArePreemptedJustIfEnabled() {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = createHosts(2);
+        final SpotConsolidationAllocation policy = new SpotConsolidationAllocation(new VmSelectionPolicyMinimumUtilization());
+        new DatacenterSimple(simulation, hostList, policy);
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+
+        final SpotInstance spot = new SpotInstance(0, 1000, 1, false);
+        spot.setInterruptionBehavior(SpotInstance.InterruptionBehavior.HIBERNATE);
+        createVm(spot, broker, hostList.get(0));
+        //Host 1 would become over-utilized receiving the Spot instance
+        final Vm onDemand = createVm(new VmSimple(1, 1000, 3), broker, hostList.get(1));
+
+        final List<Vm> vmList = new ArrayList<>();
+        vmList.add(spot);
+        vmList.add(onDemand);
+
+        policy.setPreemptionEnabled(false);
+        assertTrue(policy.getOptimizedAllocationMap(vmList).isEmpty());
+        assertTrue(hostList.get(0).isActive());
+        assertEquals(0, policy.getPoweredOffHostsNumber());
+
+        policy.setPreemptionEnabled(true);
+        //A migration map can't contain preemptions, so no VM is preempted
+        assertTrue(policy.getOptimizedAllocationMap(vmList).isEmpty());
+        assertEquals(0, policy.getPreemptedVmsNumber());
+        assertEquals(hostList.get(0), spot.getHost());
+        assertTrue(hostList.get(0).isActive());
+
+        final ConsolidationPlan plan = policy.getConsolidationPlan(vmList);
+        assertTrue(plan.getMigrations().isEmpty());
+        assertEquals(1, plan.getPreemptions().size());
+        plan.getPreemptions().forEach(policy::preempt);
+        assertEquals(1, policy.getPreemptedVmsNumber());
+        assertTrue(hostList.get(0).getVmList().isEmpty());
+        assertFalse(hostList.get(0).isActive());
+        assertTrue(hostList.get(1).isActive());
+    }
+}
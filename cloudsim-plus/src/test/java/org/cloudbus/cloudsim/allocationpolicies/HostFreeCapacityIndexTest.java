@@ -0,0 +1,110 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class HostFreeCapacityIndexTest {
+    private static List<Host> createHosts(final Random random, final int count) {
+        final List<Host> hosts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final HostSimple host = HostSimpleTest.createHostSimple(i, 2 + random.nextInt(7), 1000, 4096, 4096, 100_000);
+            if (i % 2 == 0) {
+                host.setVmScheduler(new VmSchedulerSpaceShared());
+            }
+
+            host.setActive(random.nextBoolean());
+            hosts.add(host);
+        }
+
+        return hosts;
+    }
+
+    private static Vm createVm(final Random random, final int id) {
+        return VmTestUtil.createVm(id, 250 * (1 + random.nextInt(4)), 1 + random.nextInt(4), 256 * (1 + random.nextInt(4)), 100, 1000, CloudletScheduler.NULL);
+    }
+
+    private static int firstFit(final List<Host> hosts, final int start, final Vm vm) {
+        for (int i = 0; i < hosts.size(); i++) {
+            final int position = (start + i) % hosts.size();
+            if (hosts.get(position).isSuitableForVm(vm)) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+
+    @Test
+    void queriesMatchHostListScans() {
+        final Random random = new Random(42);
+        final List<Host> hosts = createHosts(random, 40);
+        final HostFreeCapacityIndex index = new HostFreeCapacityIndex(() -> hosts);
+        final Comparator<Host> mostFree = Comparator.comparing(Host::isActive).thenComparingLong(Host::getFreePesNumber);
+        final Comparator<Host> leastFree = Comparator.comparing(Host::isActive).reversed().thenComparingLong(Host::getFreePesNumber);
+
+        for (int id = 0; id < 300; id++) {
+            final Vm vm = createVm(random, id);
+            final Optional<Host> expectedMost = hosts.stream().filter(host -> host.isSuitableForVm(vm)).max(mostFree);
+            final Optional<Host> expectedLeast = hosts.stream().filter(host -> host.isSuitableForVm(vm)).min(leastFree);
+            assertEquals(expectedMost, index.findHostWithMostFreePes(vm, host -> host.isSuitableForVm(vm)));
+            assertEquals(expectedLeast, index.findHostWithLeastFreePes(vm, host -> host.isSuitableForVm(vm)));
+
+            final int start = random.nextInt(hosts.size());
+            final int first = index.findFirst(start, vm, position -> hosts.get(position).isSuitableForVm(vm));
+            assertEquals(firstFit(hosts, start, vm), first);
+
+            //Changes the Hosts outside the index, which must be notified about that
+            expectedMost.ifPresent(host -> host.createTemporaryVm(vm));
+            hosts.get(random.nextInt(hosts.size())).setActive(random.nextBoolean());
+        }
+    }
+
+    @Test
+    void rebuildsWhenHostListChanges() {
+        final Random random = new Random(1);
+        final List<Host> hosts = new ArrayList<>();
+        final HostFreeCapacityIndex index = new HostFreeCapacityIndex(() -> hosts);
+        final Vm vm = createVm(random, 0);
+        assertFalse(index.findHostWithMostFreePes(vm, host -> true).isPresent());
+
+        hosts.addAll(createHosts(random, 3));
+        assertEquals(0, index.findFirst(0, vm, position -> true));
+
+        final Host removed = hosts.remove(0);
+        assertEquals(0, index.findFirst(0, vm, position -> true));
+        assertNotSame(removed, index.findHostWithLeastFreePes(vm, host -> true).orElse(removed));
+    }
+
+    @Test
+    void rebuildsWhenAHostInTheMiddleIsReplaced() {
+        final List<Host> hosts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            hosts.add(HostSimpleTest.createHostSimple(i, 2, 1000, 4096, 4096, 100_000));
+        }
+
+        final HostFreeCapacityIndex index = new HostFreeCapacityIndex(() -> hosts);
+        final Vm vm = VmTestUtil.createVm(0, 1000, 1, 256, 100, 1000, CloudletScheduler.NULL);
+        assertTrue(index.findHostWithMostFreePes(vm, host -> true).isPresent());
+
+        final Host replacement = HostSimpleTest.createHostSimple(3, 8, 1000, 4096, 4096, 100_000);
+        final Host middle = hosts.set(1, replacement);
+        assertSame(replacement, index.findHostWithMostFreePes(vm, host -> true).orElse(middle));
+    }
+}
@@ -0,0 +1,68 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class HostSuitabilityCacheTest {
+    private static final long RAM = 1000;
+
+    private static HostSimple createHost() {
+        return HostSimpleTest.createHostSimple(0, 2, 1000, RAM, 1000, 1000);
+    }
+
+    private static Vm createVm(final int id, final int pes, final long ram) {
+        return VmTestUtil.createVm(id, 1000, pes, ram, 100, 100, CloudletScheduler.NULL);
+    }
+
+    @Test
+    void skipsHostUnsuitableForVmOfSameShape() {
+        final HostSuitabilityCache cache = new HostSuitabilityCache();
+        final HostSimple host = createHost();
+
+        assertFalse(cache.isSuitableForVm(0, host, createVm(0, 4, 100)));
+        assertTrue(cache.isKnownUnsuitable(0, host, createVm(1, 4, 100)));
+        assertFalse(cache.isKnownUnsuitable(0, host, createVm(2, 4, 200)));
+        assertFalse(cache.isKnownUnsuitable(1, host, createVm(3, 4, 100)));
+        assertFalse(cache.isKnownUnsuitable(0, createHost(), createVm(4, 4, 100)));
+
+        assertTrue(cache.isSuitableForVm(0, host, createVm(5, 1, 100)));
+        cache.clear();
+        assertFalse(cache.isKnownUnsuitable(0, host, createVm(6, 4, 100)));
+    }
+
+    @Test
+    void checksHostAgainAfterCapacityChanges() {
+        final HostSuitabilityCache cache = new HostSuitabilityCache();
+        final HostSimple host = createHost();
+        final Vm vm0 = createVm(0, 1, RAM);
+        assertTrue(host.createTemporaryVm(vm0).fully());
+
+        final long version = host.getCapacityVersion();
+        assertEquals(version, host.getCapacityVersion());
+        assertFalse(cache.isSuitableForVm(0, host, createVm(1, 1, RAM)));
+        assertTrue(cache.isKnownUnsuitable(0, host, createVm(2, 1, RAM)));
+
+        host.getRamProvisioner().deallocateResourceForVm(vm0);
+        assertNotEquals(version, host.getCapacityVersion());
+        assertFalse(cache.isKnownUnsuitable(0, host, createVm(2, 1, RAM)));
+        assertTrue(cache.isSuitableForVm(0, host, createVm(2, 1, RAM)));
+    }
+
+    @Test
+    void fastPathMatchesSuitabilityDetails() {
+        final HostSimple host = createHost();
+        final Vm[] vms = {createVm(0, 1, 100), createVm(1, 3, 100), createVm(2, 1, 2 * RAM), createVm(3, 2, RAM)};
+        for (final Vm vm : vms) {
+            assertEquals(host.getSuitabilityFor(vm).fully(), host.isSuitableForVm(vm), vm.toString());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class HostLoadIndexTest {
+    private static final int HOST_PES = 10;
+
+    private static List<Host> createHosts(final int hostsNumber) {
+        final List<Host> hostList = new ArrayList<>(hostsNumber);
+        for (int i = 0; i < hostsNumber; i++) {
+            hostList.add(HostSimpleTest.createHostSimple(i, HOST_PES, 1000, 100_000, 100_000, 1_000_000));
+        }
+
+        return hostList;
+    }
+
+    private static Vm createVm(final VmAllocationPolicyMigration policy, final DatacenterBroker broker, final Host host, final int id, final int pes) {
+        final Vm vm = new VmSimple(id, 1000, pes).setRam(512).setBw(100).setSize(1000);
+        vm.setBroker(broker);
+        assertTrue(policy.allocateHostForVm(vm, host).fully());
+        return vm;
+    }
+
+    @Test
+    void hostLoadIsJustEvaluatedWhenHostChanges() {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = createHosts(3);
+        final VmAllocationPolicyMigrationStaticThreshold policy =
+            new VmAllocationPolicyMigrationBestFitStaticThreshold(new VmSelectionPolicyMinimumUtilization(), 0.85);
+        new DatacenterSimple(simulation, hostList, policy);
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        createVm(policy, broker, hostList.get(1), 0, 5);
+        hostList.get(2).setActive(false);
+
+        final HostLoadIndex index = policy.getHostLoadIndex();
+        assertTrue(index.getHosts(HostLoadIndex.Load.UNDERLOADED).contains(hostList.get(0)));
+        assertTrue(index.getHosts(HostLoadIndex.Load.NORMAL).contains(hostList.get(1)));
+        assertTrue(index.getHosts(HostLoadIndex.Load.INACTIVE).contains(hostList.get(2)));
+        assertEquals(3, index.getEvaluationsNumber());
+
+        //Nothing has changed, so no Host is evaluated again
+        policy.getOptimizedAllocationMap(new ArrayList<>());
+        assertEquals(3, index.getEvaluationsNumber());
+
+        //Just the Host receiving the VM is evaluated again, when its PEs become busy and after the VM is placed
+        createVm(policy, broker, hostList.get(0), 1, 5);
+        assertEquals(5, index.getEvaluationsNumber());
+        assertTrue(index.getHosts(HostLoadIndex.Load.NORMAL).contains(hostList.get(0)));
+        assertTrue(index.getHosts(HostLoadIndex.Load.UNDERLOADED).isEmpty());
+
+        //Changing a threshold requires all Hosts to be evaluated again
+        policy.setUnderUtilizationThreshold(0.6);
+        assertEquals(8, index.getEvaluationsNumber());
+        assertEquals(2, index.getHosts(HostLoadIndex.Load.UNDERLOADED).size());
+    }
+
+    @Test
+    void migrationsArePlannedWithoutChangingHosts() {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = createHosts(3);
+        final VmAllocationPolicyMigrationStaticThreshold policy =
+            new VmAllocationPolicyMigrationBestFitStaticThreshold(new VmSelectionPolicyMinimumUtilization(), 0.85);
+        new DatacenterSimple(simulation, hostList, policy);
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+
+        //Host 0 is underloaded, but each other Host can receive just one of its VMs without becoming overloaded
+        final Vm vm0 = createVm(policy, broker, hostList.get(0), 0, 1);
+        final Vm vm1 = createVm(policy, broker, hostList.get(0), 1, 1);
+        final List<Vm> vmList = new ArrayList<>();
+        vmList.add(vm0);
+        vmList.add(vm1);
+        vmList.add(createVm(policy, broker, hostList.get(1), 2, 7));
+        vmList.add(createVm(policy, broker, hostList.get(2), 3, 7));
+
+        final Map<Vm, Host> migrationMap = policy.getOptimizedAllocationMap(vmList);
+        assertEquals(2, migrationMap.size());
+        assertNotEquals(hostList.get(0), migrationMap.get(vm0));
+        assertNotEquals(hostList.get(0), migrationMap.get(vm1));
+        assertNotEquals(migrationMap.get(vm0), migrationMap.get(vm1));
+        assertTrue(policy.areHostsUnderloaded());
+
+        //The VMs are kept into their Hosts until they are actually migrated
+        assertEquals(2, hostList.get(0).getVmList().size());
+        assertEquals(1, hostList.get(1).getVmList().size());
+        assertEquals(1, hostList.get(2).getVmList().size());
+        assertTrue(vm0.isCreated());
+        assertFalse(vm0.isInMigration());
+        assertEquals(hostList.get(0), vm1.getHost());
+    }
+}
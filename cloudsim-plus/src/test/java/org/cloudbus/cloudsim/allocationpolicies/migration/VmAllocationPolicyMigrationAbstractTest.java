@@ -0,0 +1,85 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSimple;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class VmAllocationPolicyMigrationAbstractTest {
+    private static final int HOSTS = 100;
+    private static final int HOST_PES = 8;
+
+    /**
+     * Computes the migration map for a Datacenter with VMs randomly placed according to a given seed.
+     * @return a map from the ID of each VM to migrate to the ID of its target Host
+     */
+    private static Map<Long, Long> computeMigrationMap(
+        final long seed, final VmAllocationPolicyMigrationAbstract policy, final boolean parallel)
+    {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final HostSimple host = HostSimpleTest.createHostSimple(i, HOST_PES, 1000, 100_000, 100_000, 1_000_000);
+            host.setPowerModel(new PowerModelHostSimple(250 + i % 7 * 10, 100 + i % 5 * 10));
+            hostList.add(host);
+        }
+
+        new DatacenterSimple(simulation, hostList, policy);
+        policy.setHostCountForParallelSearch(parallel ? 1 : Integer.MAX_VALUE);
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+
+        final Random random = new Random(seed);
+        final List<Vm> vmList = new ArrayList<>();
+        for (final Host host : hostList) {
+            final int vms = random.nextInt(HOST_PES);
+            for (int i = 0; i < vms; i++) {
+                final Vm vm = new VmSimple(vmList.size(), 250 * (1 + random.nextInt(4)), 1).setRam(512).setBw(100).setSize(1000);
+                vm.setBroker(broker);
+                assertTrue(policy.allocateHostForVm(vm, host).fully());
+                vmList.add(vm);
+            }
+        }
+
+        final Map<Long, Long> migrationMap = new TreeMap<>();
+        policy.getOptimizedAllocationMap(vmList).forEach((vm, host) -> migrationMap.put(vm.getId(), host.getId()));
+        return migrationMap;
+    }
+
+    private static void assertParallelSearchMatchesSequentialOne(final Supplier<VmAllocationPolicyMigrationAbstract> policySupplier) {
+        for (long seed = 1; seed <= 2; seed++) {
+            final Map<Long, Long> sequential = computeMigrationMap(seed, policySupplier.get(), false);
+            final Map<Long, Long> parallel = computeMigrationMap(seed, policySupplier.get(), true);
+            assertFalse(sequential.isEmpty());
+            assertEquals(sequential, parallel);
+            assertEquals(parallel, computeMigrationMap(seed, policySupplier.get(), true));
+        }
+    }
+
+    @Test
+    void parallelSearchSelectsTheSameHostsAsSequentialOne() {
+        assertParallelSearchMatchesSequentialOne(
+            () -> new VmAllocationPolicyMigrationStaticThreshold(new VmSelectionPolicyMinimumUtilization(), 0.8));
+        assertParallelSearchMatchesSequentialOne(
+            () -> new VmAllocationPolicyMigrationBestFitStaticThreshold(new VmSelectionPolicyMinimumUtilization(), 0.8));
+    }
+}
@@ -0,0 +1,118 @@
+package org.cloudbus.cloudsim.core;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import infrastructure.DatacenterSimpleDynamic;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class EventProfilerTest {
+    private static CloudSim runSimulation(final boolean profile) {
+        final CloudSim simulation = new CloudSim();
+        if (profile) {
+            simulation.enableEventProfiler();
+        }
+
+        final List<Pe> peList = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            peList.add(new PeSimple(1000));
+        }
+        final List<Host> hostList = new ArrayList<>();
+        hostList.add(new HostSimple(4096, 10000, 100000, peList));
+        new DatacenterSimpleDynamic(simulation, hostList).setSchedulingInterval(1);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final List<Vm> vmList = new ArrayList<>();
+        final List<Cloudlet> cloudletList = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            vmList.add(new VmSimple(i, 1000, 2).setRam(512).setBw(1000).setSize(1000));
+            cloudletList.add(new CloudletSimple(i, 2000, 1).setUtilizationModel(new UtilizationModelFull()));
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+        return simulation;
+    }
+
+    @Test
+    void profilerIsDisabledByDefault() {
+        assertFalse(runSimulation(false).getEventProfiler().isPresent());
+    }
+
+    @Test
+    void recordsEventsByEntityAndTag() {
+        final EventProfiler profiler = runSimulation(true).getEventProfiler().orElseThrow(AssertionError::new);
+
+        assertTrue(profiler.getEventsNumber() > 0);
+        assertTrue(profiler.getWallNanos() > 0);
+        assertEquals(profiler.getEventsNumber(), profiler.getTagStats().stream().mapToLong(EventProfiler.EventStats::getCount).sum());
+        assertTrue(profiler.getEntityStats().stream().anyMatch(stats -> stats.getName().startsWith("DatacenterBrokerSimple")));
+        assertTrue(profiler.getTagStats().stream().anyMatch(stats -> stats.getName().equals("CLOUDLET_SUBMIT")));
+
+        final List<EventProfiler.EventStats> entityStats = profiler.getEntityStats();
+        for (int i = 1; i < entityStats.size(); i++) {
+            assertTrue(entityStats.get(i - 1).getTotalNanos() >= entityStats.get(i).getTotalNanos());
+        }
+    }
+
+    @Test
+    void percentilesAreBoundedByMax() {
+        final EventProfiler profiler = runSimulation(true).enableEventProfiler();
+        for (final EventProfiler.EventStats stats : profiler.getTagStats()) {
+            assertTrue(stats.getPercentileNanos(50) <= stats.getPercentileNanos(99));
+            assertTrue(stats.getPercentileNanos(99) <= stats.getMaxNanos());
+        }
+    }
+
+    @Test
+    void invalidPercentileThrowsException() {
+        final EventProfiler.EventStats stats = runSimulation(true).enableEventProfiler().getTagStats().get(0);
+        assertThrows(IllegalArgumentException.class, () -> stats.getPercentileNanos(101));
+    }
+
+    @Test
+    void exportsJson() {
+        final EventProfiler profiler = runSimulation(true).enableEventProfiler();
+        final JsonObject json = new JsonParser().parse(profiler.toJson()).getAsJsonObject();
+        assertEquals(profiler.getEventsNumber(), json.get("events").getAsLong());
+        assertEquals(profiler.getEntityStats().size(), json.getAsJsonArray("entities").size());
+        assertEquals(profiler.getTagStats().size(), json.getAsJsonArray("tags").size());
+        assertTrue(json.get("maxFutureEvents").getAsLong() > 0);
+    }
+
+    @Test
+    void printsTables() throws UnsupportedEncodingException {
+        final EventProfiler profiler = runSimulation(true).enableEventProfiler();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        profiler.print(new PrintStream(bytes, true, "UTF-8"));
+
+        final String output = bytes.toString("UTF-8");
+        assertTrue(output.contains("Events processing by entity"));
+        assertTrue(output.contains("Events processing by tag"));
+        //The column subtitles are printed into the given stream too
+        assertTrue(output.contains("µs"));
+        assertTrue(output.contains(profiler.getTagStats().get(0).getName()));
+    }
+}
@@ -0,0 +1,236 @@
+package org.cloudbus.cloudsim.core;
+
+import allocation.DatacenterBrokerDynamic;
+import infrastructure.DatacenterSimpleDynamic;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmCreationBatch;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class SimulationCheckpointTest {
+    private static final int HOSTS = 2;
+    private static final int HOST_PES = 4;
+    private static final int VMS = 4;
+    private static final int CLOUDLETS = 8;
+    private static final double CHECKPOINT_TIME = 5;
+
+    private CloudSim simulation;
+    private DatacenterBroker broker;
+
+    private void buildScenario() {
+        buildScenario(false);
+    }
+
+    /**
+     * Builds the simulation scenario.
+     * @param delayedVms true to use a broker which batches VM creation requests
+     *                   and to submit some VMs after the checkpoint time,
+     *                   so that a batch of VMs is pending when the checkpoint is taken
+     */
+    private void buildScenario(final boolean delayedVms) {
+        simulation = new CloudSim();
+        final List<Host> hostList = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final List<Pe> peList = new ArrayList<>(HOST_PES);
+            for (int j = 0; j < HOST_PES; j++) {
+                peList.add(new PeSimple(1000));
+            }
+            hostList.add(new HostSimple(4096, 10000, 100000, peList));
+        }
+        new DatacenterSimpleDynamic(simulation, hostList).setSchedulingInterval(1);
+
+        broker = delayedVms ? new DatacenterBrokerDynamic(simulation) : new DatacenterBrokerSimple(simulation);
+        final List<Vm> vmList = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            final Vm vm = new VmSimple(i, 1000, 2).setRam(512).setBw(1000).setSize(1000);
+            if (delayedVms && i >= VMS / 2) {
+                vm.setSubmissionDelay(CHECKPOINT_TIME * 2);
+            }
+            vmList.add(vm);
+        }
+
+        final List<Cloudlet> cloudletList = new ArrayList<>(CLOUDLETS);
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Cloudlet cloudlet = new CloudletSimple(i, 5000L * (i + 1), 1);
+            cloudlet.setUtilizationModel(new UtilizationModelFull()).setSizes(1024);
+            cloudletList.add(cloudlet);
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+    }
+
+    private List<String> runAndGetResults() {
+        simulation.start();
+        return broker.getCloudletFinishedList()
+                     .stream()
+                     .sorted(Comparator.comparingLong(Cloudlet::getId))
+                     .map(cl -> String.format("%d %s %s %.4f %.4f", cl.getId(), cl.getStatus(), cl.getVm(), cl.getExecStartTime(), cl.getFinishTime()))
+                     .collect(toList());
+    }
+
+    private SimulationCheckpoint runAndTakeCheckpoint() {
+        return runAndTakeCheckpoint(false);
+    }
+
+    private SimulationCheckpoint runAndTakeCheckpoint(final boolean delayedVms) {
+        buildScenario(delayedVms);
+        final List<SimulationCheckpoint> checkpoints = new ArrayList<>();
+        simulation.checkpointAt(CHECKPOINT_TIME, checkpoints::add);
+        simulation.start();
+        assertEquals(1, checkpoints.size());
+        return checkpoints.get(0);
+    }
+
+    @Test
+    void restoredSimulationGivesSameResultsAsUninterruptedOne() {
+        buildScenario();
+        final List<String> expected = runAndGetResults();
+        assertEquals(CLOUDLETS, expected.size());
+
+        final SimulationCheckpoint checkpoint = runAndTakeCheckpoint();
+        assertTrue(checkpoint.getTime() <= CHECKPOINT_TIME);
+        assertTrue(checkpoint.getTime() > 0);
+
+        buildScenario();
+        simulation.restore(checkpoint);
+        assertEquals(checkpoint.getTime(), simulation.clock());
+        assertEquals(expected, runAndGetResults());
+    }
+
+    @Test
+    void pendingVmCreationBatchIsRestored() {
+        buildScenario(true);
+        final List<String> expected = runAndGetResults();
+        assertEquals(CLOUDLETS, expected.size());
+        assertEquals(VMS, broker.getVmCreatedList().size());
+
+        final SimulationCheckpoint checkpoint = runAndTakeCheckpoint(true);
+        buildScenario(true);
+        simulation.restore(checkpoint);
+        assertEquals(VMS / 2, broker.getVmCreatedList().size());
+        assertEquals(expected, runAndGetResults());
+        assertEquals(VMS, broker.getVmCreatedList().size());
+    }
+
+    @Test
+    void eventsWithUnsupportedDataAreNotStored() {
+        buildScenario();
+        final List<String> expected = runAndGetResults();
+
+        //The data of such an event is a Runnable, which can't be stored into a checkpoint
+        final int[] runs = {0};
+        buildScenario();
+        simulation.send(broker, broker, CHECKPOINT_TIME * 2, CloudSimTags.CLOUDLET_UPDATE_ATTRIBUTES, (Runnable) () -> runs[0]++);
+        final List<SimulationCheckpoint> checkpoints = new ArrayList<>();
+        simulation.checkpointAt(CHECKPOINT_TIME, checkpoints::add);
+        assertEquals(expected, runAndGetResults());
+        assertEquals(1, checkpoints.size());
+        assertEquals(1, runs[0]);
+
+        buildScenario();
+        assertEquals(expected, runAndGetResults(checkpoints.get(0)));
+        assertEquals(1, runs[0]);
+    }
+
+    @Test
+    void vmCreationBatchWithoutBrokerIsRestored() {
+        buildScenario();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final List<Vm> vmList = broker.getVmWaitingList();
+        final VmCreationBatch batch = new VmCreationBatch(DatacenterBroker.NULL, vmList, vmList.subList(0, 1), vmList.subList(1, 2));
+        new CheckpointWriter(bytes).writeData(batch);
+
+        final CheckpointReader reader = new CheckpointReader(new ByteArrayInputStream(bytes.toByteArray()), new CheckpointReader.Index(simulation));
+        final VmCreationBatch copy = (VmCreationBatch) reader.readData();
+        assertSame(DatacenterBroker.NULL, copy.getBroker());
+        assertEquals(vmList, copy.getVmList());
+        assertEquals(batch.getCreatedList(), copy.getCreatedList());
+        assertEquals(batch.getFailedList(), copy.getFailedList());
+    }
+
+    @Test
+    void writingUnsupportedDataThrowsException() {
+        final CheckpointWriter writer = new CheckpointWriter(new ByteArrayOutputStream());
+        assertFalse(CheckpointWriter.isDataSupported(new Object()));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeData(new Object()));
+    }
+
+    @Test
+    void checkpointCanBeRestoredManyTimes() {
+        final SimulationCheckpoint checkpoint = runAndTakeCheckpoint();
+
+        buildScenario();
+        final List<String> first = runAndGetResults(checkpoint);
+        buildScenario();
+        assertEquals(first, runAndGetResults(checkpoint));
+    }
+
+    private List<String> runAndGetResults(final SimulationCheckpoint checkpoint) {
+        simulation.restore(checkpoint);
+        return runAndGetResults();
+    }
+
+    @Test
+    void byteArrayRoundTrip() {
+        final SimulationCheckpoint checkpoint = runAndTakeCheckpoint();
+        final SimulationCheckpoint copy = SimulationCheckpoint.of(checkpoint.toByteArray());
+        assertEquals(checkpoint.getTime(), copy.getTime());
+        assertEquals(checkpoint.size(), copy.size());
+    }
+
+    @Test
+    void fileRoundTrip(@TempDir final Path dir) {
+        final SimulationCheckpoint checkpoint = runAndTakeCheckpoint();
+        final Path file = dir.resolve("simulation.ckp");
+        checkpoint.writeTo(file);
+        final SimulationCheckpoint copy = SimulationCheckpoint.readFrom(file);
+
+        buildScenario();
+        final List<String> expected = runAndGetResults(checkpoint);
+        buildScenario();
+        assertEquals(expected, runAndGetResults(copy));
+    }
+
+    @Test
+    void invalidBytesThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> SimulationCheckpoint.of(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void restoreIntoStartedSimulationThrowsException() {
+        final SimulationCheckpoint checkpoint = runAndTakeCheckpoint();
+        assertThrows(IllegalStateException.class, () -> simulation.restore(checkpoint));
+    }
+
+    @Test
+    void restoreIntoDifferentScenarioThrowsException() {
+        final SimulationCheckpoint checkpoint = runAndTakeCheckpoint();
+        simulation = new CloudSim();
+        broker = new DatacenterBrokerSimple(simulation);
+        assertThrows(IllegalStateException.class, () -> simulation.restore(checkpoint));
+    }
+}
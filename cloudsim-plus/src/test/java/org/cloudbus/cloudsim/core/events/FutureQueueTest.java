@@ -0,0 +1,103 @@
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FutureQueueTest {
+    private SimEntity entity;
+
+    @BeforeEach
+    public void setUp() {
+        entity = new CloudSim().getCloudInfoService();
+    }
+
+    private SimEvent newEvent(final double delay, final int tag) {
+        return new CloudSimEvent(delay, entity, tag);
+    }
+
+    /**
+     * Removes all events from a queue in the order they would be processed.
+     */
+    private static List<Double> drain(final FutureQueue queue) {
+        final List<Double> times = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            final SimEvent first = queue.first();
+            times.add(first.getTime());
+            assertTrue(queue.remove(first));
+        }
+
+        return times;
+    }
+
+    @Test
+    public void testTimerWheelKeepsEventsOrder() {
+        final FutureQueue sortedOnly = new FutureQueue();
+        final FutureQueue withWheel = new FutureQueue();
+        withWheel.enableTimerWheel(new TimerWheel(0.1, 4, 3));
+
+        final Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            //Includes events beyond the wheel horizon, which go to the sorted set
+            final double delay = random.nextInt(10) == 0 ? random.nextDouble() * 100 : random.nextDouble() * 5;
+            final int tag = random.nextInt(3);
+            sortedOnly.addEvent(newEvent(delay, tag));
+            withWheel.addEvent(newEvent(delay, tag));
+        }
+
+        assertEquals(sortedOnly.size(), withWheel.size());
+        assertTrue(withWheel.getTimerWheel().size() > 0);
+        assertEquals(drain(sortedOnly), drain(withWheel));
+        assertTrue(withWheel.getTimerWheel().getFiredBuckets() > 0);
+    }
+
+    @Test
+    public void testTimerWheelRemoveAndStream() {
+        final FutureQueue queue = new FutureQueue();
+        queue.enableTimerWheel(1);
+        final SimEvent evt1 = newEvent(10, 0);
+        final SimEvent evt2 = newEvent(5, 0);
+        final SimEvent evt3 = newEvent(5000, 0);
+        queue.addEvent(evt1);
+        queue.addEvent(evt2);
+        queue.addEvent(evt3);
+
+        assertEquals(3, queue.size());
+        final List<Double> expected = new ArrayList<>();
+        expected.add(5.0);
+        expected.add(10.0);
+        expected.add(5000.0);
+        assertEquals(expected, queue.stream().map(SimEvent::getTime).collect(Collectors.toList()));
+        assertEquals(3, queue.unorderedStream().count());
+        assertEquals(expected, queue.unorderedStream().map(SimEvent::getTime).sorted().collect(Collectors.toList()));
+
+        assertTrue(queue.remove(evt2));
+        assertFalse(queue.remove(evt2));
+        assertSame(evt1, queue.first());
+
+        assertTrue(queue.removeIf(evt -> evt.getTime() > 1000));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testTimerWheelRejectsPastEvents() {
+        final TimerWheel wheel = new TimerWheel(1, 4, 2);
+        final List<SimEvent> fired = new ArrayList<>();
+        assertTrue(wheel.add(newEvent(3, 0)));
+        assertEquals(1, wheel.fireNextBucket(fired));
+
+        assertFalse(wheel.add(newEvent(2, 0)), "Events before the wheel position must be rejected");
+        assertFalse(wheel.add(newEvent(100, 0)), "Events beyond the wheel horizon must be rejected");
+        assertTrue(wheel.add(newEvent(15, 0)));
+        assertEquals(1, wheel.fireNextBucket(fired));
+        assertEquals(15.0, fired.get(1).getTime());
+    }
+}
@@ -17,6 +17,7 @@ public class DatacenterTest {
         assertAll(
             () -> assertEquals(-1, instance.getId()),
             () -> assertEquals(0, instance.getSchedulingInterval()),
+            () -> assertEquals(0, instance.getCoalescedUpdatesNumber()),
             () -> assertTrue(instance.getHostList().isEmpty()),
             () -> assertEquals(Host.NULL, instance.getHost(0)),
             () -> assertEquals(VmAllocationPolicy.NULL, instance.getVmAllocationPolicy())
@@ -0,0 +1,112 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import infrastructure.DatacenterSimpleDynamic;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class DatacenterUpdateCoalescingTest {
+    private static final int VMS = 8;
+
+    private CloudSim simulation;
+    private Datacenter datacenter;
+    private DatacenterBroker broker;
+
+    private void buildScenario(final double tolerance, final long lengthIncrement) {
+        simulation = new CloudSim();
+        final List<Pe> peList = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            peList.add(new PeSimple(1000));
+        }
+        final List<Host> hostList = new ArrayList<>();
+        hostList.add(new HostSimple(16384, 100000, 1000000, peList));
+        datacenter = new DatacenterSimpleDynamic(simulation, hostList).setUpdateCoalescingTolerance(tolerance);
+
+        broker = new DatacenterBrokerSimple(simulation);
+        final List<Vm> vmList = new ArrayList<>(VMS);
+        final List<Cloudlet> cloudletList = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            vmList.add(new VmSimple(i, 1000, 1).setRam(512).setBw(1000).setSize(1000));
+            cloudletList.add(new CloudletSimple(i, 10000 + lengthIncrement * i, 1).setUtilizationModel(new UtilizationModelFull()));
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+    }
+
+    private List<Double> runAndGetFinishTimes() {
+        simulation.start();
+        assertEquals(VMS, broker.getCloudletFinishedList().size());
+        return broker.getCloudletFinishedList()
+                     .stream()
+                     .sorted(Comparator.comparingLong(Cloudlet::getId))
+                     .map(Cloudlet::getFinishTime)
+                     .collect(toList());
+    }
+
+    @Test
+    void updatesRequestedForSameTimeAreCoalescedByDefault() {
+        buildScenario(0, 0);
+        final List<Double> finishTimes = runAndGetFinishTimes();
+        assertEquals(0, datacenter.getUpdateCoalescingTolerance());
+        assertTrue(datacenter.getCoalescedUpdatesNumber() >= VMS - 1);
+        assertTrue(finishTimes.stream().allMatch(time -> time.equals(finishTimes.get(0))));
+    }
+
+    @Test
+    void largerToleranceCoalescesMoreUpdatesKeepingAccuracy() {
+        final double tolerance = 0.5;
+        buildScenario(0, 50);
+        final List<Double> exactTimes = runAndGetFinishTimes();
+        final long exactCoalesced = datacenter.getCoalescedUpdatesNumber();
+        final long exactEvents = simulation.getGeneratedEventsNumber();
+
+        buildScenario(tolerance, 50);
+        final List<Double> coalescedTimes = runAndGetFinishTimes();
+        assertTrue(datacenter.getCoalescedUpdatesNumber() > exactCoalesced);
+        assertTrue(simulation.getGeneratedEventsNumber() < exactEvents);
+        for (int i = 0; i < VMS; i++) {
+            assertEquals(exactTimes.get(i), coalescedTimes.get(i), tolerance + simulation.getMinTimeBetweenEvents());
+        }
+    }
+
+    @Test
+    void idleVmVerificationsRequestedByTheBrokerAreCoalesced() {
+        buildScenario(0, 0);
+        runAndGetFinishTimes();
+        final long coalescedWithoutVerification = datacenter.getCoalescedUpdatesNumber();
+
+        buildScenario(0, 0);
+        broker.setVmDestructionDelay(5);
+        runAndGetFinishTimes();
+
+        //All VMs become idle at the same time, thus their verifications are requested for the same time
+        assertTrue(datacenter.getCoalescedUpdatesNumber() >= coalescedWithoutVerification + VMS - 1);
+    }
+
+    @Test
+    void negativeToleranceThrowsException() {
+        buildScenario(0, 0);
+        assertThrows(IllegalArgumentException.class, () -> datacenter.setUpdateCoalescingTolerance(-1));
+    }
+}
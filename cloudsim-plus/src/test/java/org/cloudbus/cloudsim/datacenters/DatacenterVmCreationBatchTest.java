@@ -0,0 +1,106 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import allocation.DatacenterBrokerDynamic;
+import infrastructure.DatacenterSimpleDynamic;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class DatacenterVmCreationBatchTest {
+    private static final int VMS = 8;
+
+    private CloudSim simulation;
+    private DatacenterBrokerDynamic broker;
+
+    /** The number of VMs created when the broker was notified that the VM which doesn't fit was not created. */
+    private int createdVmsWhenFailureNotified;
+
+    private void runScenario(final boolean dynamicDatacenter, final boolean batch) {
+        simulation = new CloudSim();
+        final List<Pe> peList = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            peList.add(new PeSimple(1000));
+        }
+        final List<Host> hostList = new ArrayList<>();
+        hostList.add(new HostSimple(16384, 100000, 1000000, peList));
+        if (dynamicDatacenter) {
+            new DatacenterSimpleDynamic(simulation, hostList);
+        } else {
+            new DatacenterSimple(simulation, hostList);
+        }
+
+        broker = new DatacenterBrokerDynamic(simulation);
+        broker.setBatchVmCreationRequests(batch);
+        broker.setRetryFailedVms(false);
+        final List<Vm> vmList = new ArrayList<>(VMS + 1);
+        final List<Cloudlet> cloudletList = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            vmList.add(new VmSimple(i, 1000, 1).setRam(512).setBw(1000).setSize(1000));
+            cloudletList.add(new CloudletSimple(i, 10000, 1).setUtilizationModel(new UtilizationModelFull()));
+        }
+
+        //A VM that doesn't fit into the Host, requested in the middle of the others
+        final Vm bigVm = new VmSimple(VMS, 1000, 1).setRam(32768).setBw(1000).setSize(1000);
+        bigVm.addOnCreationFailureListener(info -> createdVmsWhenFailureNotified = broker.getVmCreatedList().size());
+        vmList.add(VMS / 2, bigVm);
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+    }
+
+    private List<Double> finishTimes() {
+        return broker.getCloudletFinishedList()
+                     .stream()
+                     .sorted(Comparator.comparingLong(Cloudlet::getId))
+                     .map(Cloudlet::getFinishTime)
+                     .collect(toList());
+    }
+
+    private void assertBatchedCreationHasSameResultWithLessEvents(final boolean dynamicDatacenter) {
+        runScenario(dynamicDatacenter, false);
+        final long unbatchedEvents = simulation.getGeneratedEventsNumber();
+        final List<Double> unbatchedTimes = finishTimes();
+        assertEquals(VMS, broker.getVmCreatedList().size());
+        assertEquals(1, broker.getVmFailedList().size());
+        assertEquals(VMS / 2, createdVmsWhenFailureNotified);
+
+        runScenario(dynamicDatacenter, true);
+        assertTrue(broker.isBatchVmCreationRequests());
+        assertEquals(VMS, broker.getVmCreatedList().size());
+        assertEquals(1, broker.getVmFailedList().size());
+        assertEquals(unbatchedTimes, finishTimes());
+        assertTrue(simulation.getGeneratedEventsNumber() < unbatchedEvents);
+
+        //The results in the batch are processed in the order the VMs were requested
+        assertEquals(VMS / 2, createdVmsWhenFailureNotified);
+    }
+
+    @Test
+    void batchedCreationHasSameResultWithLessEvents() {
+        assertBatchedCreationHasSameResultWithLessEvents(true);
+    }
+
+    @Test
+    void batchedCreationInDatacenterSimpleHasSameResultWithLessEvents() {
+        assertBatchedCreationHasSameResultWithLessEvents(false);
+    }
+}
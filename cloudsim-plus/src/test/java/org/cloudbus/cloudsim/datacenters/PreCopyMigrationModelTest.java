@@ -0,0 +1,144 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class PreCopyMigrationModelTest {
+    private static final double DELTA = 0.000001;
+    private static final long RAM = 1000;
+
+    /** The bandwidth (in MB/s) allowed for migration, from a 1000 Mb/s link. */
+    private static final double BW = 1000 / 8.0 / 2;
+
+    /**
+     * Creates a VM whose Cloudlets currently use a given amount of RAM (in MB).
+     */
+    private static Vm createVm(final long usedRam) {
+        final Vm vm = new VmSimple(0, 1000, 1) {
+            @Override
+            public long getCurrentRequestedRam() {
+                return usedRam;
+            }
+        };
+
+        return vm.setRam(RAM).setBw(100).setSize(1000);
+    }
+
+    private static Host createHost(final int id, final long bw) {
+        return HostSimpleTest.createHostSimple(id, 4, 1000, 10_000, bw, 100_000);
+    }
+
+    @Test
+    void idleVmIsCopiedInASingleRound() {
+        final MigrationCost cost =
+            new PreCopyMigrationModel().computeCost(createVm(0), createHost(0, 1000), 0.5);
+
+        assertEquals(1, cost.getRounds());
+        assertEquals(RAM / BW, cost.getMigrationTime(), DELTA);
+        assertEquals(0, cost.getDowntime(), DELTA);
+        assertEquals(RAM, cost.getTransferredMegabytes(), DELTA);
+        assertEquals(BW, cost.getBandwidth(), DELTA);
+    }
+
+    @Test
+    void dirtyPagesAreCopiedUntilTheDowntimeIsReached() {
+        final PreCopyMigrationModel model = new PreCopyMigrationModel().setMaxTransferFactor(10);
+        final MigrationCost cost = model.computeCost(createVm(500), createHost(0, 1000), 0.5);
+
+        //The 500 MB working set is dirtied at 50 MB/s, so each round after the second one copies 80% of the previous one
+        final double lastDirtyData = 500 * Math.pow(0.8, 15);
+        assertEquals(16, cost.getRounds());
+        assertEquals(lastDirtyData / BW, cost.getDowntime(), DELTA);
+        assertTrue(cost.getDowntime() <= model.getMaxDowntime());
+        assertEquals(RAM + 500 * (1 - Math.pow(0.8, 16)) / 0.2, cost.getTransferredMegabytes(), DELTA);
+        assertEquals(cost.getTransferredMegabytes() / BW, cost.getMigrationTime(), DELTA);
+
+        //Limiting the transferred data stops the pre-copy earlier, increasing the downtime
+        final MigrationCost limitedCost =
+            new PreCopyMigrationModel().computeCost(createVm(500), createHost(0, 1000), 0.5);
+        assertTrue(limitedCost.getRounds() < cost.getRounds());
+        assertTrue(limitedCost.getDowntime() > cost.getDowntime());
+        assertTrue(limitedCost.getTransferredMegabytes() < cost.getTransferredMegabytes());
+    }
+
+    @Test
+    void vmDirtyingPagesFasterThanTheLinkIsStoppedAfterTheFirstRound() {
+        final PreCopyMigrationModel model = new PreCopyMigrationModel().setDirtyRate(1);
+        final MigrationCost cost = model.computeCost(createVm(RAM), createHost(0, 1000), 0.5);
+
+        assertEquals(1, cost.getRounds());
+        assertEquals(RAM / BW, cost.getDowntime(), DELTA);
+        assertEquals(2 * RAM, cost.getTransferredMegabytes(), DELTA);
+    }
+
+    @Test
+    void migrationUsesTheBottleneckLinkAndIsAccountedByTheDatacenter() {
+        final CloudSim simulation = new CloudSim();
+        final Host source = createHost(0, 500);
+        final Host target = createHost(1, 1000);
+        final List<Host> hostList = new ArrayList<>();
+        hostList.add(source);
+        hostList.add(target);
+        final DatacenterSimple datacenter = new DatacenterSimple(simulation, hostList);
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+
+        final Vm vm = createVm(0);
+        vm.setBroker(broker);
+        assertTrue(source.createVm(vm).fully());
+
+        final PreCopyMigrationModel model = new PreCopyMigrationModel();
+        datacenter.setMigrationModel(model);
+        final MigrationCost cost = model.computeCost(vm, target, 0.5);
+        assertEquals(BW / 2, cost.getBandwidth(), DELTA);
+        assertEquals(0, model.getMigrationsNumber());
+
+        datacenter.requestVmMigration(vm, target);
+        assertEquals(1, model.getMigrationsNumber());
+        assertEquals(RAM, model.getTotalTransferredMegabytes(), DELTA);
+        assertEquals(0, model.getTotalDowntime(), DELTA);
+    }
+
+    @Test
+    void datacenterUsesTheSimpleModelByDefault() {
+        final CloudSim simulation = new CloudSim();
+        final Host source = createHost(0, 500);
+        final Host target = createHost(1, 1000);
+        final List<Host> hostList = new ArrayList<>();
+        hostList.add(source);
+        hostList.add(target);
+        final DatacenterSimple datacenter = new DatacenterSimple(simulation, hostList);
+        final Vm vm = createVm(RAM);
+        assertTrue(source.createVm(vm).fully());
+
+        //The VM RAM is copied once using the bandwidth of the target Host, regardless of the dirty pages
+        final MigrationModel model = datacenter.getMigrationModel();
+        assertTrue(model instanceof MigrationModelSimple);
+        final MigrationCost cost = model.computeCost(vm, target, 0.5);
+        assertEquals(RAM / BW, cost.getMigrationTime(), DELTA);
+        assertEquals(0, cost.getDowntime(), DELTA);
+        assertEquals(RAM, cost.getTransferredMegabytes(), DELTA);
+    }
+
+    @Test
+    void migrationWithoutBandwidthThrowsException() {
+        final Host source = createHost(0, 0);
+        final Vm vm = createVm(0);
+        vm.setBw(0);
+        assertTrue(source.createVm(vm).fully());
+        assertThrows(IllegalArgumentException.class, () -> new PreCopyMigrationModel().computeCost(vm, createHost(1, 1000), 0.5));
+    }
+}
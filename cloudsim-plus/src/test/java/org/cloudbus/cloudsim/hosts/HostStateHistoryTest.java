@@ -0,0 +1,81 @@
+package org.cloudbus.cloudsim.hosts;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class HostStateHistoryTest {
+    @Test
+    void keepsAllEntriesByDefaultAndReplacesEntryWithSameTime() {
+        final HostStateHistory history = new HostStateHistory();
+        for (int time = 0; time < 100; time++) {
+            history.add(time, 100, 200, true);
+        }
+        history.add(99, 150, 300, false);
+
+        final List<HostStateHistoryEntry> list = history.asList();
+        assertEquals(100, list.size());
+        assertEquals(0, list.get(0).getTime());
+        final HostStateHistoryEntry last = list.get(99);
+        assertAll(
+            () -> assertEquals(99, last.getTime()),
+            () -> assertEquals(150, last.getAllocatedMips()),
+            () -> assertEquals(300, last.getRequestedMips()),
+            () -> assertFalse(last.isActive())
+        );
+        assertThrows(UnsupportedOperationException.class, () -> list.add(last));
+    }
+
+    @Test
+    void ringBufferKeepsMostRecentEntries() {
+        final HostStateHistory history = new HostStateHistory();
+        for (int time = 0; time < 10; time++) {
+            history.add(time, time, time, true);
+        }
+
+        history.setCapacity(4);
+        assertEquals(4, history.asList().size());
+        assertEquals(6, history.asList().get(0).getTime());
+
+        for (int time = 10; time < 15; time++) {
+            history.add(time, time, time, true);
+        }
+        final List<HostStateHistoryEntry> list = history.asList();
+        assertEquals(4, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(11 + i, list.get(i).getTime());
+        }
+
+        history.setCapacity(0);
+        history.add(15, 15, 15, true);
+        assertEquals(5, list.size());
+        assertEquals(11, list.get(0).getTime());
+        assertEquals(15, list.get(4).getTime());
+    }
+
+    @Test
+    void downsamplesAndRecordsChangesOnly() {
+        final HostStateHistory history = new HostStateHistory();
+        history.setSamplingInterval(10);
+        for (int time = 0; time < 35; time++) {
+            history.add(time, 100, 100, true);
+        }
+        assertEquals(4, history.asList().size());
+        assertEquals(30, history.asList().get(3).getTime());
+
+        final HostStateHistory changes = new HostStateHistory();
+        changes.setChangesOnly(true);
+        changes.add(0, 100, 100, true);
+        changes.add(1, 100, 100, true);
+        changes.add(2, 50, 100, true);
+        changes.add(3, 50, 100, false);
+        changes.add(4, 50, 100, false);
+        assertEquals(3, changes.asList().size());
+        assertEquals(3, changes.asList().get(2).getTime());
+    }
+}
@@ -0,0 +1,69 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
+import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
+import org.cloudbus.cloudsim.network.topologies.TopologicalNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class DijkstraShortestPathsTest {
+    private static TopologicalGraph randomGraph(final int nodes, final int links, final long seed) {
+        final Random random = new Random(seed);
+        final TopologicalGraph graph = new TopologicalGraph();
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode(new TopologicalNode(i));
+        }
+
+        for (int i = 0; i < links; i++) {
+            final int src = random.nextInt(nodes);
+            final int dest = (src + 1 + random.nextInt(nodes - 1)) % nodes;
+            graph.addLink(new TopologicalLink(src, dest, 1 + random.nextInt(50), 10));
+        }
+
+        return graph;
+    }
+
+    @Test
+    void delaysMatchDelayMatrix() {
+        final int nodes = 150;
+        for (final boolean directed : new boolean[]{false, true}) {
+            final TopologicalGraph graph = randomGraph(nodes, 300, 7);
+            final DelayMatrix matrix = new DelayMatrix(graph, directed);
+            final DijkstraShortestPaths dijkstra = new DijkstraShortestPaths(graph, directed);
+            for (int src = 0; src < nodes; src++) {
+                for (int dest = 0; dest < nodes; dest++) {
+                    assertEquals(matrix.getDelay(src, dest), dijkstra.getDelay(src, dest), "directed=" + directed + " " + src + "->" + dest);
+                }
+            }
+        }
+    }
+
+    @Test
+    void delaysFromRecentSourcesAreCached() {
+        final DijkstraShortestPaths dijkstra = new DijkstraShortestPaths(randomGraph(50, 100, 3), false, 2);
+        dijkstra.getDelay(0, 10);
+        dijkstra.getDelay(0, 20);
+        dijkstra.getDelay(1, 20);
+        assertEquals(2, dijkstra.getComputedSourcesNumber());
+
+        //Node 0 is the least recently used one, so it's evicted
+        dijkstra.getDelay(2, 20);
+        dijkstra.getDelay(1, 5);
+        assertEquals(3, dijkstra.getComputedSourcesNumber());
+        dijkstra.getDelay(0, 5);
+        assertEquals(4, dijkstra.getComputedSourcesNumber());
+    }
+
+    @Test
+    void invalidNodeIdThrowsException() {
+        final DijkstraShortestPaths dijkstra = new DijkstraShortestPaths(randomGraph(5, 5, 1), false);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> dijkstra.getDelay(-1, 2));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> dijkstra.getDelay(0, 5));
+    }
+}
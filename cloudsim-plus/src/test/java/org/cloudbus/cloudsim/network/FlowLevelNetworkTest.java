@@ -0,0 +1,164 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.AggregateSwitch;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class FlowLevelNetworkTest {
+    private static final int HOSTS = 4;
+
+    /** The bandwidth of the links between Hosts and Edge Switches (in Megabits/s). */
+    private static final double HOST_LINK_BW = 800;
+    private static final double LATENCY = 2 * 0.00157 + AggregateSwitch.SWITCHING_DELAY;
+    private static final double DELTA = 1e-6;
+
+    private CloudSim simulation;
+    private NetworkDatacenter datacenter;
+    private List<Vm> vmList;
+    private Map<HostPacket, Double> deliveryTimes;
+
+    @BeforeEach
+    void setUp() {
+        simulation = new CloudSim();
+        deliveryTimes = new HashMap<>();
+        final List<Host> hostList = new ArrayList<>(HOSTS);
+        vmList = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final List<Pe> peList = new ArrayList<>(1);
+            peList.add(new PeSimple(1000));
+            final NetworkHost host = new NetworkHost(4096, 100_000, 1_000_000, peList) {
+                @Override
+                public void addReceivedNetworkPacket(final HostPacket hostPacket) {
+                    super.addReceivedNetworkPacket(hostPacket);
+                    deliveryTimes.put(hostPacket, simulation.clock());
+                }
+            };
+            hostList.add(host);
+
+            final Vm vm = new VmSimple(i, 1000, 1);
+            vm.setHost(host);
+            vmList.add(vm);
+        }
+
+        datacenter = new NetworkDatacenter(simulation, hostList, new VmAllocationPolicySimple());
+        datacenter.enableFlowLevelNetwork();
+
+        //Two Edge Switches with two Hosts each, connected to the same Aggregate Switch
+        final AggregateSwitch aggregateSwitch = new AggregateSwitch(simulation, datacenter);
+        datacenter.addSwitch(aggregateSwitch);
+        for (int i = 0; i < 2; i++) {
+            final EdgeSwitch edgeSwitch = new EdgeSwitch(simulation, datacenter);
+            datacenter.addSwitch(edgeSwitch);
+            edgeSwitch.getUplinkSwitches().add(aggregateSwitch);
+            aggregateSwitch.getDownlinkSwitches().add(edgeSwitch);
+            edgeSwitch.connectHost((NetworkHost) datacenter.getHost(i * 2));
+            edgeSwitch.connectHost((NetworkHost) datacenter.getHost(i * 2 + 1));
+        }
+    }
+
+    /**
+     * Creates a packet to be sent between the VMs in given Hosts.
+     * @param megabits the packet size in Megabits
+     */
+    private HostPacket packet(final int sourceHost, final int destinationHost, final double megabits) {
+        final Vm source = vmList.get(sourceHost);
+        final VmPacket vmPacket = new VmPacket(source, vmList.get(destinationHost), (long) (megabits * Conversion.MEGA / 8), Cloudlet.NULL, Cloudlet.NULL);
+        return new HostPacket((NetworkHost) source.getHost(), vmPacket);
+    }
+
+    @Test
+    void bandwidthIsSharedWithMaxMinFairness() {
+        final FlowLevelNetwork network = datacenter.getFlowLevelNetwork();
+        //Packets a and b share the uplink of Host 0, packets a and c share the downlink of Host 2
+        final HostPacket a = packet(0, 2, HOST_LINK_BW);
+        final HostPacket b = packet(0, 3, HOST_LINK_BW);
+        final HostPacket c = packet(1, 2, HOST_LINK_BW * 1.5);
+        network.startFlow(a);
+        network.startFlow(b);
+        network.startFlow(c);
+        assertEquals(3, network.getActiveFlowsNumber());
+
+        simulation.start();
+
+        assertEquals(0, network.getActiveFlowsNumber());
+        assertEquals(3, network.getFinishedFlowsNumber());
+
+        //Every flow gets half of the Host link bandwidth until a and b finish
+        assertEquals(2 + LATENCY, deliveryTimes.get(a), DELTA);
+        assertEquals(2 + LATENCY, deliveryTimes.get(b), DELTA);
+
+        //Then c gets the entire bandwidth for its remaining data
+        assertEquals(2.5 + LATENCY, deliveryTimes.get(c), DELTA);
+    }
+
+    @Test
+    void packetsInsideTheSameEdgeSwitchDontCrossTheAggregateSwitch() {
+        final FlowLevelNetwork network = datacenter.getFlowLevelNetwork();
+        final HostPacket packet = packet(0, 1, HOST_LINK_BW);
+        network.startFlow(packet);
+        simulation.start();
+
+        assertEquals(1, network.getFinishedFlowsNumber());
+        assertSame(datacenter.getHost(1), packet.getDestination());
+        assertEquals(1 + 0.00157, deliveryTimes.get(packet), DELTA);
+    }
+
+    @Test
+    void emptyPacketIsDeliveredAfterTheSwitchingDelay() {
+        final FlowLevelNetwork network = datacenter.getFlowLevelNetwork();
+        final HostPacket packet = packet(0, 3, 0);
+        network.startFlow(packet);
+        assertEquals(0, network.getActiveFlowsNumber());
+        simulation.start();
+
+        assertEquals(1, network.getFinishedFlowsNumber());
+        assertEquals(LATENCY, deliveryTimes.get(packet), DELTA);
+    }
+
+    @Test
+    void flowsFinishWhenTheRemainingTimeIsBelowTheClockPrecision() {
+        final FlowLevelNetwork network = datacenter.getFlowLevelNetwork();
+        final double startTime = 1e9;
+        //When a finishes, b has 1 byte left, which takes less time to be sent than the clock precision at such a time
+        final HostPacket a = packet(0, 2, 8);
+        final HostPacket b = new HostPacket(a.getSource(), new VmPacket(vmList.get(0), vmList.get(3), a.getSize() + 1, Cloudlet.NULL, Cloudlet.NULL));
+
+        //An ignored flow completion event just to advance the clock
+        simulation.send(datacenter, datacenter, startTime, CloudSimTags.NETWORK_FLOW_FINISH, -1L);
+        simulation.addOnEventProcessingListener(info -> {
+            if (info.getTime() >= startTime && network.getFinishedFlowsNumber() + network.getActiveFlowsNumber() == 0) {
+                network.startFlow(a);
+                network.startFlow(b);
+            }
+        });
+        assertTimeoutPreemptively(Duration.ofSeconds(10), simulation::start);
+
+        assertEquals(2, network.getFinishedFlowsNumber());
+        assertEquals(startTime + 8 / (HOST_LINK_BW / 2) + LATENCY, deliveryTimes.get(a), DELTA);
+        assertEquals(startTime + 8 / (HOST_LINK_BW / 2) + LATENCY, deliveryTimes.get(b), DELTA);
+    }
+}
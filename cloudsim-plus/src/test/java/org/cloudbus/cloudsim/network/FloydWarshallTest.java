@@ -0,0 +1,99 @@
+package org.cloudbus.cloudsim.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class FloydWarshallTest {
+    /**
+     * Creates a random delay matrix, where 0 means there is no link between two nodes.
+     */
+    static double[][] randomDelayMatrix(final int nodes, final double linkProbability, final long seed) {
+        final Random random = new Random(seed);
+        final double[][] matrix = new double[nodes][nodes];
+        for (int i = 0; i < nodes; i++) {
+            for (int j = 0; j < nodes; j++) {
+                if (i != j && random.nextDouble() < linkProbability) {
+                    matrix[i][j] = 1 + random.nextInt(100);
+                }
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Computes the shortest paths using the textbook triple loop, as a reference.
+     */
+    private static double[][] referenceShortestPaths(final double[][] original) {
+        final int n = original.length;
+        final double[][] d = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                d[i][j] = i == j ? 0 : original[i][j] == 0 ? Double.MAX_VALUE : original[i][j];
+            }
+        }
+
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (d[i][k] != Double.MAX_VALUE && d[k][j] != Double.MAX_VALUE && d[i][k] + d[k][j] < d[i][j]) {
+                        d[i][j] = d[i][k] + d[k][j];
+                    }
+                }
+            }
+        }
+
+        return d;
+    }
+
+    @Test
+    void smallGraphDelaysAndPredecessors() {
+        //0 -> 1 -> 2 is shorter than 0 -> 2; node 3 is unreachable
+        final double[][] original = {
+            {0, 1, 5, 0},
+            {0, 0, 1, 0},
+            {0, 0, 0, 0},
+            {0, 0, 0, 0}
+        };
+
+        final FloydWarshall floyd = new FloydWarshall(4);
+        final double[][] delays = floyd.computeShortestPaths(original);
+        assertEquals(2, delays[0][2]);
+        assertEquals(0, delays[3][3]);
+        assertEquals(Double.MAX_VALUE, delays[0][3]);
+        assertEquals(Double.MAX_VALUE, delays[2][0]);
+
+        final int[][] pk = floyd.getPk();
+        assertEquals(1, pk[0][2]);
+        assertEquals(0, pk[0][1]);
+        assertEquals(-1, pk[0][3]);
+        assertEquals(-1, pk[0][0]);
+    }
+
+    @Test
+    void blockedParallelComputationMatchesTextbookAlgorithm() {
+        //Larger than the parallel threshold and not a multiple of the block size
+        final int nodes = FloydWarshall.PARALLEL_THRESHOLD + FloydWarshall.BLOCK_SIZE / 2 + 3;
+        final double[][] original = randomDelayMatrix(nodes, 0.02, 42);
+        final double[][] expected = referenceShortestPaths(original);
+
+        final double[][] delays = new FloydWarshall(nodes).computeShortestPaths(original);
+        for (int i = 0; i < nodes; i++) {
+            assertArrayEquals(expected[i], delays[i], "Row " + i);
+        }
+    }
+
+    @Test
+    void predecessorMatrixIsNotAvailableWhenDisabled() {
+        final FloydWarshall floyd = new FloydWarshall(2, false);
+        final double[] delays = floyd.computeShortestPathsInPlace(new double[]{0, 3, 0, 0});
+        assertArrayEquals(new double[]{0, 3, Double.MAX_VALUE, 0}, delays);
+        assertThrows(IllegalStateException.class, floyd::getPk);
+    }
+}
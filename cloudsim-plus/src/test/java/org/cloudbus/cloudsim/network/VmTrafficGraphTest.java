@@ -0,0 +1,78 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class VmTrafficGraphTest {
+    private static Vm createVm(final int id, final int pes) {
+        return new VmSimple(id, 1000, pes).setRam(512).setBw(100).setSize(1000);
+    }
+
+    @Test
+    void trafficIsAccumulatedInBothDirections() {
+        final VmTrafficGraph graph = new VmTrafficGraph();
+        final Vm vm0 = createVm(0, 1);
+        final Vm vm1 = createVm(1, 1);
+        final Vm vm2 = createVm(2, 1);
+        graph.addPacket(new HostPacket(null, new VmPacket(vm0, vm1, 100, Cloudlet.NULL, Cloudlet.NULL)));
+        graph.addTraffic(vm1, vm0, 50);
+        graph.addTraffic(vm1, vm2, 10);
+        graph.addTraffic(vm2, vm2, 1000);
+
+        assertEquals(150, graph.getTraffic(vm0, vm1));
+        assertEquals(150, graph.getTraffic(vm1, vm0));
+        assertEquals(160, graph.getTotalTraffic(vm1));
+        assertEquals(10, graph.getTotalTraffic(vm2));
+        assertEquals(3, graph.getVmsNumber());
+
+        graph.remove(vm0);
+        assertEquals(0, graph.getTraffic(vm1, vm0));
+        assertEquals(10, graph.getTotalTraffic(vm1));
+        assertEquals(2, graph.getVmsNumber());
+        assertTrue(graph.getNeighbours(vm0).isEmpty());
+    }
+
+    @Test
+    void destroyedVmIsRemovedFromTheDatacenterGraph() {
+        final CloudSim simulation = new CloudSim();
+        final List<Pe> peList = new ArrayList<>();
+        peList.add(new PeSimple(1000));
+        final List<Host> hostList = new ArrayList<>();
+        hostList.add(new NetworkHost(4096, 100_000, 1_000_000, peList));
+        final NetworkDatacenter datacenter = new NetworkDatacenter(simulation, hostList, new VmAllocationPolicySimple());
+        datacenter.enableVmTrafficGraph();
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+
+        final Vm vm0 = createVm(0, 1);
+        final Vm vm1 = createVm(1, 1);
+        vm0.setBroker(broker);
+        final VmTrafficGraph graph = datacenter.getVmTrafficGraph();
+        graph.addTraffic(vm0, vm1, 100);
+
+        simulation.sendNow(broker, datacenter, CloudSimTags.VM_DESTROY, vm0);
+        simulation.start();
+
+        assertEquals(0, graph.getVmsNumber());
+        assertEquals(0, graph.getTotalTraffic(vm1));
+    }
+}
@@ -0,0 +1,182 @@
+package org.cloudbus.cloudsim.network.switches;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.VmPacket;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class EdgeSwitchTest {
+    private static final int HOSTS = 4;
+
+    /** The bandwidth of the links between Hosts and Edge Switches (in Megabits/s). */
+    private static final double HOST_LINK_BW = 800;
+    private static final double SWITCHING_DELAY = 0.00157;
+    private static final double DELTA = 1e-9;
+
+    private CloudSim simulation;
+    private NetworkDatacenter datacenter;
+    private List<Host> hostList;
+    private EdgeSwitch edgeSwitch;
+    private List<Vm> vmList;
+    private Map<HostPacket, Double> deliveryTimes;
+    private Map<HostPacket, Host> receivers;
+    private int hostEvents;
+
+    @BeforeEach
+    void setUp() {
+        simulation = new CloudSim();
+        deliveryTimes = new HashMap<>();
+        receivers = new HashMap<>();
+        hostList = new ArrayList<>(HOSTS);
+        vmList = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final List<Pe> peList = new ArrayList<>(1);
+            peList.add(new PeSimple(1000));
+            final NetworkHost host = new NetworkHost(4096, 100_000, 1_000_000, peList) {
+                @Override
+                public void addReceivedNetworkPacket(final HostPacket hostPacket) {
+                    super.addReceivedNetworkPacket(hostPacket);
+                    assertNull(deliveryTimes.put(hostPacket, simulation.clock()), "Packet delivered twice");
+                    receivers.put(hostPacket, this);
+                }
+            };
+            hostList.add(host);
+
+            final Vm vm = new VmSimple(i, 1000, 1);
+            vm.setHost(host);
+            vmList.add(vm);
+        }
+
+        datacenter = new NetworkDatacenter(simulation, hostList, new VmAllocationPolicySimple());
+        connectSwitch(new EdgeSwitch(simulation, datacenter));
+
+        simulation.addOnEventProcessingListener(evt -> {
+            if (evt.getTag() == CloudSimTags.NETWORK_EVENT_HOST || evt.getTag() == CloudSimTags.NETWORK_EVENT_HOST_BATCH) {
+                hostEvents++;
+            }
+        });
+    }
+
+    private void connectSwitch(final EdgeSwitch edgeSwitch) {
+        this.edgeSwitch = edgeSwitch;
+        datacenter.addSwitch(edgeSwitch);
+        hostList.forEach(host -> edgeSwitch.connectHost((NetworkHost) host));
+    }
+
+    /**
+     * Creates a packet to be sent between the VMs in given Hosts.
+     * @param megabits the packet size in Megabits
+     */
+    private HostPacket packet(final int sourceHost, final int destinationHost, final double megabits) {
+        final Vm source = vmList.get(sourceHost);
+        final VmPacket vmPacket = new VmPacket(source, vmList.get(destinationHost), (long) (megabits * Conversion.MEGA / 8), Cloudlet.NULL, Cloudlet.NULL);
+        return new HostPacket((NetworkHost) source.getHost(), vmPacket);
+    }
+
+    private void sendUp(final List<HostPacket> packets) {
+        AbstractSwitch.sendPackets(datacenter, edgeSwitch, 0, CloudSimTags.NETWORK_EVENT_UP, packets);
+        simulation.start();
+    }
+
+    @Test
+    void packetsWithTheSameDelayToTheSameHostAreSentInASingleEvent() {
+        final List<HostPacket> packets = Arrays.asList(
+            packet(0, 2, 8), packet(0, 2, 8),
+            packet(0, 3, 8), packet(0, 3, 8));
+        sendUp(packets);
+
+        //Each destination Host receives 2 packets sharing its downlink
+        final double expectedTime = SWITCHING_DELAY + 8 / (HOST_LINK_BW / 2);
+        for (final HostPacket pkt : packets) {
+            assertEquals(expectedTime, deliveryTimes.get(pkt), DELTA);
+            assertSame(pkt.getVmPacket().getDestination().getHost(), receivers.get(pkt));
+        }
+
+        assertEquals(2, hostEvents);
+    }
+
+    @Test
+    void packetsWithDifferentDelaysAreSentInSeparateEvents() {
+        final HostPacket small = packet(1, 3, 4);
+        final List<HostPacket> packets = Arrays.asList(
+            packet(1, 2, 8), packet(1, 3, 8), packet(1, 3, 8), small);
+        sendUp(packets);
+
+        assertEquals(packets.size(), deliveryTimes.size());
+        assertEquals(SWITCHING_DELAY + 8 / HOST_LINK_BW, deliveryTimes.get(packets.get(0)), DELTA);
+        assertEquals(SWITCHING_DELAY + 8 / (HOST_LINK_BW / 3), deliveryTimes.get(packets.get(1)), DELTA);
+        assertEquals(SWITCHING_DELAY + 8 / (HOST_LINK_BW / 3), deliveryTimes.get(packets.get(2)), DELTA);
+        assertEquals(SWITCHING_DELAY + 4 / (HOST_LINK_BW / 3), deliveryTimes.get(small), DELTA);
+
+        //One event for Host 2 and two events for Host 3: one for the 2 large packets and other for the small one
+        assertEquals(3, hostEvents);
+    }
+
+    @Test
+    void switchNotSupportingBatchingReceivesSinglePacketEvents() {
+        final List<Object> receivedData = new ArrayList<>();
+        connectSwitch(new EdgeSwitch(simulation, datacenter) {
+            @Override
+            protected void processPacketUp(final SimEvent evt) {
+                final HostPacket pkt = (HostPacket) evt.getData();
+                receivedData.add(pkt);
+                super.processPacketUp(evt);
+            }
+
+            @Override
+            protected boolean isPacketBatchingSupported() {
+                return false;
+            }
+        });
+
+        final List<HostPacket> packets = Arrays.asList(packet(0, 2, 8), packet(0, 2, 8), packet(0, 3, 8));
+        sendUp(packets);
+
+        assertEquals(packets, receivedData);
+        assertEquals(packets.size(), deliveryTimes.size());
+    }
+
+    @Test
+    void switchOverridingProcessEventKeepsBatching() {
+        final List<Integer> receivedTags = new ArrayList<>();
+        connectSwitch(new EdgeSwitch(simulation, datacenter) {
+            @Override
+            public void processEvent(final SimEvent evt) {
+                receivedTags.add(evt.getTag());
+                super.processEvent(evt);
+            }
+        });
+
+        final List<HostPacket> packets = Arrays.asList(packet(0, 2, 8), packet(0, 2, 8));
+        sendUp(packets);
+
+        assertTrue(receivedTags.contains(CloudSimTags.NETWORK_EVENT_UP_BATCH));
+        assertFalse(receivedTags.contains(CloudSimTags.NETWORK_EVENT_UP));
+        assertEquals(packets.size(), deliveryTimes.size());
+        assertEquals(1, hostEvents);
+    }
+}
@@ -0,0 +1,98 @@
+package org.cloudbus.cloudsim.network.topologies;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.network.DelayMatrix;
+import org.cloudbus.cloudsim.network.topologies.readers.TopologyReaderBrite;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class BriteNetworkTopologyTest {
+    private static final String TOPOLOGY =
+        "Topology: ( 5 Nodes, 8 Edges )\n" +
+        "Model (1 - RTWaxman):  5 5 5 1  2  0.15 0.2 1 1 10.0 1024.0\n\n" +
+        "Nodes: ( 5 )\n" +
+        "0\t1\t3\t3\t3\t-1\tRT_NODE\n" +
+        "1\t0\t3\t3\t3\t-1\tRT_NODE\n" +
+        "2\t4\t3\t3\t3\t-1\tRT_NODE\n" +
+        "3\t3\t1\t3\t3\t-1\tRT_NODE\n" +
+        "4\t3\t3\t4\t4\t-1\tRT_NODE\n\n\n" +
+        "Edges: ( 8 )\n" +
+        "0\t2\t0\t3.0\t1.1\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "1\t2\t1\t4.0\t2.1\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "2\t3\t0\t2.8\t3.9\t20.0\t-1\t-1\tE_RT\tU\n" +
+        "3\t3\t1\t3.6\t4.1\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "4\t4\t3\t2.0\t5.0\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "5\t4\t2\t1.0\t4.0\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "6\t0\t4\t2.0\t3.0\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "7\t1\t4\t3.0\t4.1\t10.0\t-1\t-1\tE_RT\tU\n";
+
+    private static InputStreamReader reader() {
+        return new InputStreamReader(new ByteArrayInputStream(TOPOLOGY.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void compactGraphHasSameNodesAndLinksOfTopologicalGraph() {
+        final TopologicalGraph graph = new TopologyReaderBrite().readGraphFile(reader());
+        final CompactTopologicalGraph compact = new TopologyReaderBrite().readCompactGraphFile(reader());
+        assertEquals(graph.getNumberOfNodes(), compact.getNumberOfNodes());
+        assertEquals(graph.getNumberOfLinks(), compact.getNumberOfLinks());
+
+        //Links from node 3, in the order they were read
+        assertEquals(2, compact.getLinksEnd(3) - compact.getLinksStart(3));
+        final int link = compact.getLinksStart(3);
+        assertEquals(0, compact.getLinkDestination(link));
+        assertEquals(3.9, compact.getLinkDelay(link));
+        assertEquals(20.0, compact.getLinkBw(link));
+
+        final TopologicalGraph rebuilt = compact.toTopologicalGraph();
+        assertEquals(graph.getNodeList(), rebuilt.getNodeList());
+        assertEquals(graph.getNumberOfLinks(), rebuilt.getNumberOfLinks());
+        assertEquals(new Point2D(3, 3).toString(), rebuilt.getNodeList().get(4).getWorldCoordinates().toString());
+    }
+
+    @Test
+    void delaysAreComputedWithoutMatrices(@TempDir final Path dir) throws IOException {
+        final Path file = dir.resolve("topology.brite");
+        Files.write(file, TOPOLOGY.getBytes(StandardCharsets.UTF_8));
+        final BriteNetworkTopology topology = new BriteNetworkTopology(file.toString());
+        assertTrue(topology.isNetworkEnabled());
+
+        final CloudSim simulation = new CloudSim();
+        final DatacenterBroker[] brokers = new DatacenterBroker[5];
+        for (int node = 0; node < brokers.length; node++) {
+            brokers[node] = new DatacenterBrokerSimple(simulation);
+            topology.mapNode(brokers[node], node);
+        }
+
+        assertEquals(3.9, topology.getDelay(brokers[0], brokers[3]), 1e-9);
+        //1 -> 2 -> 0 is shorter than the direct links from 1
+        assertEquals(3.2, topology.getDelay(brokers[1], brokers[0]), 1e-9);
+        assertEquals(0, topology.getDelay(brokers[0], new DatacenterBrokerSimple(simulation)));
+
+        final DelayMatrix matrix = topology.getDelayMatrix();
+        for (int src = 0; src < brokers.length; src++) {
+            for (int dest = 0; dest < brokers.length; dest++) {
+                assertEquals(matrix.getDelay(src, dest), topology.getDelay(brokers[src], brokers[dest]), 1e-9);
+            }
+        }
+
+        final double[][] bwMatrix = topology.getBwMatrix();
+        assertEquals(20.0, bwMatrix[0][3]);
+        assertEquals(20.0, bwMatrix[3][0]);
+        assertEquals(0.0, bwMatrix[0][1]);
+    }
+}
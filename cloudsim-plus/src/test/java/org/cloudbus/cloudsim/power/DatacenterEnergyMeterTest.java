@@ -0,0 +1,133 @@
+package org.cloudbus.cloudsim.power;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSimple;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSpec;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class DatacenterEnergyMeterTest {
+    private static final double DELTA = 1e-9;
+
+    /**
+     * A Host whose CPU utilization is defined directly.
+     */
+    private static class FixedUtilizationHost extends HostSimple {
+        private double utilization;
+
+        FixedUtilizationHost() {
+            super(1024, 1000, 1000, createPeList());
+        }
+
+        @Override
+        public double getCpuMipsUtilization() {
+            return utilization * getTotalMipsCapacity();
+        }
+    }
+
+    private static List<Pe> createPeList() {
+        final List<Pe> peList = new ArrayList<>(1);
+        peList.add(new PeSimple(1000));
+        return peList;
+    }
+
+    @Test
+    void energyIsIntegratedAtEachUpdate() {
+        final CloudSim simulation = new CloudSim();
+        final FixedUtilizationHost linear = new FixedUtilizationHost();
+        final FixedUtilizationHost spec = new FixedUtilizationHost();
+        final FixedUtilizationHost inactive = new FixedUtilizationHost();
+        linear.setPowerModel(new PowerModelHostSimple(200, 100));
+        spec.setPowerModel(new PowerModelHostSpec(Arrays.asList(50.0, 100.0, 150.0)));
+        inactive.setPowerModel(new PowerModelHostSimple(200, 100));
+        inactive.setActive(false);
+
+        final List<Host> hostList = Arrays.asList(linear, spec, inactive);
+        final DatacenterSimple datacenter = new DatacenterSimple(simulation, hostList, new VmAllocationPolicySimple());
+        final DatacenterEnergyMeter meter = datacenter.enableEnergyMeter();
+
+        linear.utilization = 0.5;
+        spec.utilization = 0.5;
+        inactive.utilization = 0.5;
+        meter.update(0);
+        assertEquals(150, meter.getPower(linear), DELTA);
+        assertEquals(100, meter.getPower(spec), DELTA);
+        assertEquals(0, meter.getPower(inactive), DELTA);
+        assertEquals(250, meter.getTotalPower(), DELTA);
+
+        linear.utilization = 1;
+        spec.utilization = 1;
+        meter.update(10);
+        assertEquals(150, meter.getPower(spec), DELTA);
+        assertEquals(350, meter.getTotalPower(), DELTA);
+        assertEquals(Conversion.wattSecondsToKWattHours(2500), meter.getTotalEnergyKWh(), DELTA);
+
+        meter.update(20);
+        assertEquals(Conversion.wattSecondsToKWattHours(3500), meter.getEnergyKWh(linear), DELTA);
+        assertEquals(Conversion.wattSecondsToKWattHours(2500), meter.getEnergyKWh(spec), DELTA);
+        assertEquals(0, meter.getEnergyKWh(inactive), DELTA);
+        assertEquals(Conversion.wattSecondsToKWattHours(6000), meter.getTotalEnergyKWh(), DELTA);
+    }
+
+    @Test
+    void replacedPowerModelIsUsedFromTheNextUpdate() {
+        final CloudSim simulation = new CloudSim();
+        final FixedUtilizationHost host = new FixedUtilizationHost();
+        host.setPowerModel(new PowerModelHostSimple(200, 100));
+        final DatacenterSimple datacenter = new DatacenterSimple(simulation, Arrays.asList(host), new VmAllocationPolicySimple());
+        final DatacenterEnergyMeter meter = datacenter.enableEnergyMeter();
+
+        host.utilization = 0.5;
+        meter.update(0);
+        assertEquals(150, meter.getPower(host), DELTA);
+
+        host.setPowerModel(new PowerModelHostSpec(Arrays.asList(50.0, 100.0, 150.0)));
+        meter.update(10);
+        assertEquals(100, meter.getPower(host), DELTA);
+
+        host.setPowerModel(new PowerModelHostSimple(300, 100));
+        meter.update(20);
+        assertEquals(200, meter.getPower(host), DELTA);
+        assertEquals(Conversion.wattSecondsToKWattHours(2500), meter.getEnergyKWh(host), DELTA);
+    }
+
+    @Test
+    void powerModelsAreEvaluatedAsTheirGetPowerMethod() {
+        final CloudSim simulation = new CloudSim();
+        final FixedUtilizationHost linear = new FixedUtilizationHost();
+        final FixedUtilizationHost spec = new FixedUtilizationHost();
+        final PowerModelHostSimple linearModel = new PowerModelHostSimple(250, 90);
+        final PowerModelHostSpec specModel = new PowerModelHostSpec(Arrays.asList(80.0, 95.0, 110.0, 130.0, 160.0, 200.0));
+        linear.setPowerModel(linearModel);
+        spec.setPowerModel(specModel);
+        final DatacenterSimple datacenter = new DatacenterSimple(simulation, Arrays.asList(linear, spec), new VmAllocationPolicySimple());
+        final DatacenterEnergyMeter meter = datacenter.enableEnergyMeter();
+
+        for (final double utilization : new double[]{0, 0.13, 0.37, 0.5, 0.82, 1}) {
+            linear.utilization = utilization;
+            spec.utilization = utilization;
+            meter.update(0);
+            assertEquals(linearModel.getPower(utilization), meter.getPower(linear), DELTA);
+            assertEquals(specModel.getPower(utilization), meter.getPower(spec), DELTA);
+        }
+
+        assertEquals(80, specModel.getPower(0), DELTA);
+        assertEquals(130, specModel.getPower(0.5), DELTA);
+        assertEquals(200, specModel.getPower(1), DELTA);
+    }
+}
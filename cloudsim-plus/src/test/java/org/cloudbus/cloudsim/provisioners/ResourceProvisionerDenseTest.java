@@ -0,0 +1,64 @@
+package org.cloudbus.cloudsim.provisioners;
+
+import org.cloudbus.cloudsim.resources.Ram;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cloudbus.cloudsim.vms.VmTestUtil.createVm;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class ResourceProvisionerDenseTest {
+    private static final long CAPACITY = 1000;
+
+    @Test
+    void allocatesAndDeallocatesResource() {
+        final ResourceProvisionerDense provisioner = new ResourceProvisionerDense(new Ram(CAPACITY));
+        final VmSimple vm0 = createVm(0, CAPACITY);
+        final VmSimple vm1 = createVm(1, CAPACITY);
+
+        assertTrue(provisioner.allocateResourceForVm(vm0, 600));
+        assertFalse(provisioner.isSuitableForVm(vm1, 500));
+        assertFalse(provisioner.allocateResourceForVm(vm1, 500));
+        assertTrue(provisioner.allocateResourceForVm(vm1, 400));
+        assertEquals(0, provisioner.getAvailableResource());
+        assertEquals(600, provisioner.getAllocatedResourceForVm(vm0));
+        assertEquals(400, vm1.getRam().getCapacity());
+
+        //The resource currently allocated to the VM is considered when changing its allocation
+        assertTrue(provisioner.isSuitableForVm(vm0, 600));
+        assertTrue(provisioner.allocateResourceForVm(vm0, 300));
+        assertEquals(300, provisioner.getAvailableResource());
+
+        assertTrue(provisioner.deallocateResourceForVm(vm0));
+        assertFalse(provisioner.isResourceAllocatedToVm(vm0));
+        assertEquals(0, provisioner.getAllocatedResourceForVm(vm0));
+        assertEquals(600, provisioner.getAvailableResource());
+        assertFalse(provisioner.deallocateResourceForVm(vm0));
+    }
+
+    @Test
+    void deallocatesResourceForAllVms() {
+        final ResourceProvisionerDense provisioner = new ResourceProvisionerDense(new Ram(CAPACITY));
+        final List<Vm> vms = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            final Vm vm = createVm(i, CAPACITY);
+            vms.add(vm);
+            assertTrue(provisioner.allocateResourceForVm(vm, 10));
+        }
+
+        assertEquals(500, provisioner.getTotalAllocatedResource());
+        assertEquals(50, provisioner.getResourceAllocationMap().size());
+
+        provisioner.deallocateResourceForAllVms();
+        assertEquals(CAPACITY, provisioner.getAvailableResource());
+        vms.forEach(vm -> assertFalse(provisioner.isResourceAllocatedToVm(vm)));
+        assertTrue(provisioner.getResourceAllocationMap().isEmpty());
+    }
+}
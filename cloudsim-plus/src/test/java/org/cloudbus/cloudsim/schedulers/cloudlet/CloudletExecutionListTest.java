@@ -0,0 +1,86 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class CloudletExecutionListTest {
+    private static CloudletExecution newCle(final int id) {
+        return new CloudletExecution(CloudletTestUtil.createCloudlet(id, 1000, 1));
+    }
+
+    private static CloudletExecutionList newList(final int size) {
+        final CloudletExecutionList list = new CloudletExecutionList();
+        for (int i = 0; i < size; i++) {
+            list.add(newCle(i));
+        }
+
+        return list;
+    }
+
+    @Test
+    void findAddedCloudlet() {
+        final CloudletExecutionList list = newList(5);
+        assertSame(list.get(3), list.find(3).orElseThrow(AssertionError::new));
+        assertFalse(list.find(5).isPresent());
+    }
+
+    @Test
+    void removedCloudletIsNotFound() {
+        final CloudletExecutionList list = newList(5);
+        assertTrue(list.remove(newCle(2)));
+        list.remove(0);
+        assertFalse(list.find(2).isPresent());
+        assertFalse(list.find(0).isPresent());
+        assertFalse(list.remove(newCle(2)));
+        assertEquals(3, list.size());
+        assertTrue(list.find(4).isPresent());
+    }
+
+    @Test
+    void removalThroughIteratorAndPredicateUpdatesIndex() {
+        final CloudletExecutionList list = newList(6);
+        final Iterator<CloudletExecution> iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+        list.removeIf(cle -> cle.getCloudletId() % 2 == 0);
+
+        assertFalse(list.find(0).isPresent());
+        assertFalse(list.find(4).isPresent());
+        assertTrue(list.find(5).isPresent());
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    void duplicatedIdFindsFirstRemainingElement() {
+        final CloudletExecutionList list = newList(2);
+        final CloudletExecution duplicate = newCle(1);
+        list.add(duplicate);
+
+        list.remove(1);
+        assertSame(duplicate, list.find(1).orElseThrow(AssertionError::new));
+        list.remove(duplicate);
+        assertFalse(list.find(1).isPresent());
+    }
+
+    @Test
+    void clearEmptiesIndex() {
+        final CloudletExecutionList list = newList(3);
+        list.clear();
+        assertFalse(list.find(0).isPresent());
+        assertFalse(list.contains(newCle(0)));
+    }
+
+    @Test
+    void subListIsReadOnly() {
+        final CloudletExecutionList list = newList(3);
+        assertThrows(UnsupportedOperationException.class, () -> list.subList(0, 2).clear());
+    }
+}
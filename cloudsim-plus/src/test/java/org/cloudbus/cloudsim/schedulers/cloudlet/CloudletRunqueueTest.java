@@ -0,0 +1,95 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class CloudletRunqueueTest {
+    private static CloudletExecution newCle(final int id, final double virtualRuntime, final int priority) {
+        final CloudletExecution cle = new CloudletExecution(CloudletTestUtil.createCloudlet(id, 1000, 1));
+        cle.getCloudlet().setPriority(priority);
+        cle.setVirtualRuntime(virtualRuntime);
+        return cle;
+    }
+
+    private static CloudletExecution add(final CloudletExecutionList list, final CloudletRunqueue runqueue, final CloudletExecution cle) {
+        final long previousAdditions = list.getAdditions();
+        list.add(cle);
+        runqueue.add(cle, previousAdditions);
+        return cle;
+    }
+
+    private static CloudletExecution first(final CloudletRunqueue runqueue) {
+        return runqueue.findFirst(cle -> true).orElseThrow(AssertionError::new);
+    }
+
+    @Test
+    void findsCloudletWithLowestVirtualRuntime() {
+        final CloudletExecutionList list = new CloudletExecutionList();
+        final CloudletRunqueue runqueue = new CloudletRunqueue(list);
+        add(list, runqueue, newCle(0, 5, 0));
+        final CloudletExecution expected = add(list, runqueue, newCle(1, 2, 0));
+        add(list, runqueue, newCle(2, 3, 0));
+
+        assertSame(expected, first(runqueue));
+        assertEquals(2, runqueue.findFirst(cle -> cle.getCloudletId() != 1).orElseThrow(AssertionError::new).getCloudletId());
+        assertFalse(runqueue.findFirst(cle -> false).isPresent());
+    }
+
+    @Test
+    void tiesAreBrokenByPriorityThenId() {
+        final CloudletExecutionList list = new CloudletExecutionList();
+        final CloudletRunqueue runqueue = new CloudletRunqueue(list);
+        add(list, runqueue, newCle(2, 1, 0));
+        add(list, runqueue, newCle(1, 1, 0));
+        final CloudletExecution expected = add(list, runqueue, newCle(3, 1, -1));
+
+        assertSame(expected, first(runqueue));
+        runqueue.remove(expected);
+        list.remove(expected);
+        assertEquals(1, first(runqueue).getCloudletId());
+    }
+
+    @Test
+    void changedVirtualRuntimeMovesCloudlet() {
+        final CloudletExecutionList list = new CloudletExecutionList();
+        final CloudletRunqueue runqueue = new CloudletRunqueue(list);
+        final CloudletExecution cle0 = add(list, runqueue, newCle(0, 1, 0));
+        final CloudletExecution cle1 = add(list, runqueue, newCle(1, 2, 0));
+
+        cle0.setVirtualRuntime(3);
+        runqueue.update(cle0);
+        assertSame(cle1, first(runqueue));
+
+        cle0.setVirtualRuntime(0);
+        runqueue.update(cle0);
+        assertSame(cle0, first(runqueue));
+
+        //Changes not notified to the runqueue are detected when the Cloudlet is reached
+        cle0.setVirtualRuntime(4);
+        assertSame(cle1, first(runqueue));
+    }
+
+    @Test
+    void tracksChangesMadeDirectlyIntoTheList() {
+        final CloudletExecutionList list = new CloudletExecutionList();
+        final CloudletRunqueue runqueue = new CloudletRunqueue(list);
+        final CloudletExecution cle0 = add(list, runqueue, newCle(0, 1, 0));
+        add(list, runqueue, newCle(1, 2, 0));
+
+        list.remove(cle0);
+        assertEquals(1, first(runqueue).getCloudletId());
+
+        final CloudletExecution cle2 = newCle(2, 0, 0);
+        list.add(cle2);
+        assertSame(cle2, first(runqueue));
+
+        list.clear();
+        assertFalse(runqueue.findFirst(cle -> true).isPresent());
+    }
+}
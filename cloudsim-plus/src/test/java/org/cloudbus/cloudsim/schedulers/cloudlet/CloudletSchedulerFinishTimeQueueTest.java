@@ -0,0 +1,100 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import infrastructure.DatacenterSimpleDynamic;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class CloudletSchedulerFinishTimeQueueTest {
+    private static final int VMS = 2;
+    private static final int CLOUDLETS = 20;
+
+    /**
+     * Runs a simulation where VMs have more Cloudlets than PEs,
+     * some of them arriving later and using a dynamic CPU utilization.
+     * @param queueEnabled true to enable the finish time queue for VM schedulers
+     * @return the finished Cloudlets sorted by id
+     */
+    private static List<Cloudlet> runSimulation(final boolean queueEnabled, final boolean dynamicUtilization) {
+        final CloudSim simulation = new CloudSim();
+        final List<Pe> peList = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            peList.add(new PeSimple(1000));
+        }
+        final List<Host> hostList = new ArrayList<>();
+        hostList.add(new HostSimple(16384, 100000, 1000000, peList));
+        new DatacenterSimpleDynamic(simulation, hostList).setSchedulingInterval(5);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final List<Vm> vmList = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            final CloudletSchedulerTimeShared scheduler = new CloudletSchedulerTimeShared();
+            scheduler.setFinishTimeQueueEnabled(queueEnabled);
+            vmList.add(new VmSimple(i, 1000, 2).setRam(2048).setBw(1000).setSize(1000).setCloudletScheduler(scheduler));
+        }
+
+        final List<Cloudlet> cloudletList = new ArrayList<>(CLOUDLETS);
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Cloudlet cloudlet = new CloudletSimple(i, 3000 + 1500L * (i % 7), 1);
+            cloudlet.setUtilizationModelCpu(dynamicUtilization && i % 3 == 0 ? new UtilizationModelDynamic(0.5) : new UtilizationModelFull())
+                    .setSubmissionDelay(i % 4 * 2);
+            cloudletList.add(cloudlet);
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+
+        final List<Cloudlet> finished = new ArrayList<>(broker.getCloudletFinishedList());
+        finished.sort(Comparator.comparingLong(Cloudlet::getId));
+        return finished;
+    }
+
+    private static void assertSameResults(final boolean dynamicUtilization) {
+        final List<Cloudlet> expected = runSimulation(false, dynamicUtilization);
+        final List<Cloudlet> actual = runSimulation(true, dynamicUtilization);
+        assertEquals(CLOUDLETS, expected.size());
+        assertEquals(CLOUDLETS, actual.size());
+        for (int i = 0; i < CLOUDLETS; i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getFinishTime(), actual.get(i).getFinishTime(), 0.2, "Cloudlet " + i + " finish time");
+        }
+    }
+
+    @Test
+    void queueGivesSameResultsForConstantUtilization() {
+        assertSameResults(false);
+    }
+
+    @Test
+    void queueGivesSameResultsWhenAllocatedMipsChange() {
+        assertSameResults(true);
+    }
+
+    @Test
+    void queueIsDisabledByDefault() {
+        final CloudletSchedulerTimeShared scheduler = new CloudletSchedulerTimeShared();
+        assertFalse(scheduler.isFinishTimeQueueEnabled());
+        assertTrue(scheduler.setFinishTimeQueueEnabled(true).isFinishTimeQueueEnabled());
+    }
+}
@@ -0,0 +1,114 @@
+package org.cloudbus.cloudsim.schedulers.vm;
+
+import org.cloudbus.cloudsim.schedulers.MipsShare;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.cloudbus.cloudsim.schedulers.vm.VmMipsTable.ALLOCATED;
+import static org.cloudbus.cloudsim.schedulers.vm.VmMipsTable.REQUESTED;
+import static java.util.stream.Collectors.toCollection;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class VmMipsTableTest {
+    @Test
+    void storesValuesByColumn() {
+        final VmMipsTable table = new VmMipsTable();
+        final Vm vm = VmTestUtil.createVm(0, 2);
+        table.set(REQUESTED, vm, 2, 1000);
+        table.set(ALLOCATED, vm, 2, 900);
+
+        final int slot = table.slotOf(vm);
+        assertEquals(1000, table.mips(REQUESTED, slot));
+        assertEquals(1800, table.totalMips(ALLOCATED, slot));
+        assertEquals(2, table.totalPes(ALLOCATED));
+
+        table.remove(ALLOCATED, vm);
+        assertNull(table.get(ALLOCATED, vm));
+        assertEquals(0, table.totalPes(ALLOCATED));
+        assertEquals(2, table.get(REQUESTED, vm).pes());
+    }
+
+    @Test
+    void releasedSlotsAreReused() {
+        final VmMipsTable table = new VmMipsTable();
+        for (int i = 0; i < 20; i++) {
+            table.set(REQUESTED, VmTestUtil.createVm(i, 1), 1, 1000);
+        }
+
+        final Vm removed = table.vm(5);
+        table.remove(REQUESTED, removed);
+        assertEquals(-1, table.slotOf(removed));
+        assertNull(table.vm(5));
+
+        final Vm added = VmTestUtil.createVm(20, 1);
+        table.set(REQUESTED, added, 1, 1000);
+        assertEquals(5, table.slotOf(added));
+        assertEquals(20, table.usedSlots());
+    }
+
+    @Test
+    void returnsSameShareUntilChanged() {
+        final VmMipsTable table = new VmMipsTable();
+        final Vm vm = VmTestUtil.createVm(0, 2);
+        final MipsShare share = new MipsShare(2, 1000);
+        table.put(ALLOCATED, vm, share);
+
+        final MipsShare stored = table.get(ALLOCATED, vm);
+        assertNotSame(share, stored);
+        assertSame(stored, table.get(ALLOCATED, vm));
+
+        table.set(ALLOCATED, vm, 1, 1000);
+        assertNotSame(stored, table.get(ALLOCATED, vm));
+        assertEquals(1, table.get(ALLOCATED, vm).pes());
+    }
+
+    @Test
+    void concurrentReadsReturnTheShareCreatedWhenSet() {
+        final VmMipsTable table = new VmMipsTable();
+        final Vm vm = VmTestUtil.createVm(0, 2);
+        table.set(REQUESTED, vm, 2, 1000);
+
+        final Set<MipsShare> shares = IntStream.range(0, 10_000).parallel()
+            .mapToObj(i -> table.get(REQUESTED, vm))
+            .collect(toCollection(() -> Collections.newSetFromMap(new IdentityHashMap<>())));
+        assertEquals(1, shares.size());
+        assertEquals(2000, shares.iterator().next().totalMips());
+    }
+
+    @Test
+    void mapViewReflectsTable() {
+        final VmMipsTable table = new VmMipsTable();
+        final Map<Vm, MipsShare> requested = table.mapView(REQUESTED);
+        final Map<Vm, MipsShare> allocated = table.mapView(ALLOCATED);
+        final Vm vm0 = VmTestUtil.createVm(0, 1);
+        final Vm vm1 = VmTestUtil.createVm(1, 1);
+        requested.put(vm0, new MipsShare(1, 1000));
+        requested.put(vm1, new MipsShare(1, 500));
+        table.set(ALLOCATED, vm1, 1, 500);
+
+        assertEquals(2, requested.size());
+        assertTrue(requested.containsKey(vm0));
+        assertFalse(allocated.containsKey(vm0));
+
+        final Iterator<Map.Entry<Vm, MipsShare>> it = requested.entrySet().iterator();
+        assertSame(vm0, it.next().getKey());
+        it.remove();
+        assertEquals(1, requested.size());
+        assertEquals(-1, table.slotOf(vm0));
+
+        requested.clear();
+        assertTrue(requested.isEmpty());
+        assertEquals(500, allocated.get(vm1).mips());
+    }
+}
@@ -143,6 +143,28 @@ public class VmSchedulerTimeSharedTest {
         assertEquals(expectedBusyPes, vmScheduler.getHost().getBusyPeList().size());
     }
 
+    /**
+     * The requested and allocated MIPS of a VM are stored separately,
+     * so that removing PEs from a VM reduces each one just once.
+     */
+    @Test
+    public void testDeallocatePartialPesReducesRequestedAndAllocatedPesOnce() {
+        final int HOST_PES = 8;
+        final int VM_PES = 4;
+        vmScheduler = createVmScheduler(MIPS, HOST_PES);
+        vm0 = VmTestUtil.createVm(0, MIPS, VM_PES);
+
+        vmScheduler.allocatePesForVm(vm0, new MipsShare(VM_PES, MIPS));
+        vmScheduler.deallocatePesFromVm(vm0, 1);
+
+        final MipsShare requested = vmScheduler.getRequestedMips(vm0);
+        final MipsShare allocated = vmScheduler.getAllocatedMips(vm0);
+        assertNotSame(requested, allocated);
+        assertEquals(VM_PES - 1, requested.pes());
+        assertEquals(VM_PES - 1, allocated.pes());
+        assertEquals(VM_PES - 1, vmScheduler.getHost().getBusyPeList().size());
+    }
+
     @Test
     public void testDeallocateAllPesFromVmOneArgMethod() {
         final int HOST_PES = 8;
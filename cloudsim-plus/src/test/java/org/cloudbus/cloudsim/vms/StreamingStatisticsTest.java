@@ -0,0 +1,61 @@
+package org.cloudbus.cloudsim.vms;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class StreamingStatisticsTest {
+    @Test
+    void matchesStoredStatistics() {
+        final StreamingStatistics streaming = new StreamingStatistics();
+        final DescriptiveStatistics stored = new DescriptiveStatistics();
+        final Random random = new Random(1);
+        for (int time = 1; time <= 10_000; time++) {
+            final double value = random.nextDouble();
+            streaming.add(time, value);
+            stored.addValue(value);
+        }
+
+        assertAll(
+            () -> assertEquals(stored.getN(), streaming.getCount()),
+            () -> assertEquals(stored.getMean(), streaming.getMean(), 1e-9),
+            () -> assertEquals(stored.getVariance(), streaming.getVariance(), 1e-9),
+            () -> assertEquals(stored.getStandardDeviation(), streaming.getStandardDeviation(), 1e-9),
+            () -> assertEquals(stored.getMin(), streaming.getMin()),
+            () -> assertEquals(stored.getMax(), streaming.getMax()),
+            () -> assertEquals(stored.getPercentile(50), streaming.getPercentile(50), 0.01),
+            () -> assertEquals(stored.getPercentile(95), streaming.getPercentile(95), 0.01),
+            () -> assertEquals(stored.getMin(), streaming.getPercentile(0))
+        );
+    }
+
+    @Test
+    void weightsValuesByElapsedTime() {
+        final StreamingStatistics stats = new StreamingStatistics();
+        stats.add(0, 0);
+        stats.add(1, 1);
+        stats.add(10, 0);
+
+        assertEquals(1/3.0, stats.getMean(), 1e-9);
+        assertEquals(0.1, stats.getTimeWeightedMean(), 1e-9);
+    }
+
+    @Test
+    void emptyAndSingleValue() {
+        final StreamingStatistics stats = new StreamingStatistics();
+        assertTrue(Double.isNaN(stats.getMean()));
+        assertTrue(Double.isNaN(stats.getVariance()));
+        assertTrue(Double.isNaN(stats.getPercentile(50)));
+
+        stats.add(5, 0.42);
+        assertEquals(0, stats.getVariance());
+        assertEquals(0.42, stats.getTimeWeightedMean());
+        assertEquals(0.42, stats.getPercentile(99));
+    }
+}
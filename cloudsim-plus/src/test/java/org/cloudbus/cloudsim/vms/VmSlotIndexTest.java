@@ -0,0 +1,39 @@
+package org.cloudbus.cloudsim.vms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cloudbus.cloudsim.vms.VmTestUtil.createVm;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class VmSlotIndexTest {
+    @Test
+    void reusesSlotsOfRemovedVms() {
+        final VmSlotIndex index = new VmSlotIndex();
+        final List<Vm> vms = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            final Vm vm = createVm(i, 1);
+            vms.add(vm);
+            assertEquals(i, index.add(vm));
+        }
+
+        //Removing VMs must keep the others reachable, even if they are into the same probe sequence
+        for (int i = 0; i < 40; i += 3) {
+            assertEquals(i, index.remove(vms.get(i)));
+        }
+
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i % 3 == 0 ? -1 : i, index.get(vms.get(i)));
+        }
+
+        final Vm vm = createVm(40, 1);
+        assertEquals(39, index.add(vm));
+        assertEquals(40, index.usedSlots());
+        assertNull(index.vm(0));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.testbeds;
+
+import infrastructure.DatacenterSimpleDynamic;
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicyFirstFit;
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Plus 6.3.0
+ */
+class ExperimentRunnerForkTest {
+    private static final double WARM_UP_TIME = 4;
+
+    private static final class ForkExperiment extends Experiment {
+        private double finishTime;
+
+        private ForkExperiment(final int index, final ExperimentRunner<ForkExperiment> runner) {
+            super(index, runner);
+            setHostsNumber(2);
+            setVmsByBrokerFunction(broker -> 4);
+        }
+
+        @Override
+        public void printResults() {/**/}
+
+        @Override
+        protected Datacenter createDatacenter(final int index) {
+            return new DatacenterSimpleDynamic(getSimulation(), createHosts(), newVmAllocationPolicy()).setSchedulingInterval(1);
+        }
+
+        @Override
+        protected DatacenterBroker createBroker() {
+            return new DatacenterBrokerSimple(getSimulation());
+        }
+
+        @Override
+        protected List<Cloudlet> createCloudlets(final DatacenterBroker broker) {
+            final List<Cloudlet> list = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                list.add(createCloudlet(broker));
+            }
+
+            return list;
+        }
+
+        @Override
+        protected Cloudlet createCloudlet(final DatacenterBroker broker) {
+            final int id = nextCloudletId();
+            return new CloudletSimple(id, 4000L * id, 1).setUtilizationModel(new UtilizationModelFull());
+        }
+
+        @Override
+        protected Vm createVm(final DatacenterBroker broker, final int id) {
+            return new VmSimple(id, 1000, 2).setRam(512).setBw(1000).setSize(1000);
+        }
+
+        @Override
+        protected Host createHost(final int id) {
+            final List<Pe> peList = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                peList.add(new PeSimple(1000));
+            }
+
+            return new HostSimple(4096, 10000, 100000, peList);
+        }
+    }
+
+    private static final class ForkRunner extends ExperimentRunner<ForkExperiment> {
+        private final List<ForkExperiment> created = new ArrayList<>();
+
+        private ForkRunner(final int branches) {
+            super(0, branches, false, true);
+        }
+
+        @Override
+        protected ForkExperiment createExperimentInternal(final int i) {
+            final ForkExperiment exp = new ForkExperiment(i, this);
+            exp.setVmAllocationPolicySupplier(() -> i % 2 == 0 ? new VmAllocationPolicySimple() : new VmAllocationPolicyFirstFit());
+            exp.setAfterExperimentFinish(e -> exp.finishTime = exp.getSimulation().clock());
+            created.add(exp);
+            return exp;
+        }
+
+        @Override
+        protected void printSimulationParameters() {/**/}
+    }
+
+    @Test
+    void branchesAreForkedFromWarmUpCheckpoint() {
+        final ForkRunner runner = new ForkRunner(4);
+        runner.forkFromWarmUp(WARM_UP_TIME);
+        runner.run();
+
+        assertNotNull(runner.getWarmUpCheckpoint());
+        assertTrue(runner.getWarmUpCheckpoint().getTime() <= WARM_UP_TIME);
+        assertEquals(4, runner.getFinishedRuns());
+        for (final ForkExperiment exp : runner.created) {
+            assertEquals(runner.getBaseSeed(), exp.getSeed());
+            assertTrue(exp.getCloudletList().stream().allMatch(Cloudlet::isFinished), exp + " cloudlets finished");
+        }
+
+        //Branches using the same policy as the first one must get the same results
+        assertEquals(runner.created.get(0).finishTime, runner.created.get(2).finishTime);
+    }
+
+    @Test
+    void forkAfterExperimentsCreatedThrowsException() {
+        final ForkRunner runner = new ForkRunner(2);
+        runner.forkFromWarmUp(WARM_UP_TIME);
+        runner.run();
+        assertThrows(IllegalStateException.class, () -> runner.forkFromWarmUp(WARM_UP_TIME));
+    }
+
+    @Test
+    void invalidWarmUpTimeThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ForkRunner(2).forkFromWarmUp(0));
+    }
+}